@@ -0,0 +1,327 @@
+package controllers;
+
+import usecases.GameTemplate;
+import usecases.IOInterfaces.GameIO;
+import usecases.usermanagement.UserManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * GameHost runs many games, called tables, at the same time. Every table runs its game's {@link GameTemplate#startGame()}
+ * loop on a thread of its own, which blocks whenever the game waits for a player.
+ * <p>
+ * Where the Java runtime has virtual threads, tables run on virtual threads. A table that is waiting for input then
+ * only costs the memory of its game and its stack, so one host can keep tens of thousands of mostly idle tables open.
+ * On older runtimes tables fall back to daemon platform threads with small stacks.
+ * <p>
+ * The number of open tables is bounded: once <code>maxTables</code> tables are open, opening another fails with a
+ * {@link HostFullException} until one of them ends. A table is cancelled by interrupting its thread. The game's IO
+ * object then returns empty input and the game ends through {@link GameTemplate.AbortGameException}, without recording
+ * a result.
+ */
+public class GameHost implements AutoCloseable {
+
+    private final Semaphore admission;
+    private final ThreadFactory threadFactory;
+    private final boolean virtual;
+    private final Map<Long, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    /**
+     * Create a host that keeps at most <code>maxTables</code> tables open at a time.
+     *
+     * @param maxTables the maximum number of open tables
+     */
+    public GameHost(int maxTables) {
+        this.admission = new Semaphore(maxTables);
+        ThreadFactory virtualThreads = virtualThreadFactory();
+        this.virtual = virtualThreads != null;
+        this.threadFactory = this.virtual ? virtualThreads : GameHost::platformThread;
+    }
+
+    /**
+     * Return a factory of virtual threads named "table-N", or <code>null</code> if this runtime has no virtual threads.
+     * The factory is looked up reflectively so that the code still compiles and runs on runtimes without them.
+     *
+     * @return a virtual thread factory, or <code>null</code>
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, "table-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a daemon platform thread with a small stack for a table.
+     *
+     * @param runnable the table's game loop
+     * @return a new unstarted thread
+     */
+    private static Thread platformThread(Runnable runnable) {
+        Thread thread = new Thread(null, runnable, "table", 256 * 1024);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Create a game and open a table for it.
+     *
+     * @param name        the game to create
+     * @param usernames   list of usernames to play the game
+     * @param userManager user management vessel
+     * @param gameIO      <code>gameIO</code> object for input to and output from the game
+     * @return the new table, whose game is already running
+     * @throws HostFullException if the maximum number of tables is already open
+     */
+    public Table open(String name, List<String> usernames, UserManager userManager, GameIO gameIO)
+            throws HostFullException {
+        if (!this.admission.tryAcquire()) {
+            throw new HostFullException();
+        }
+        try {
+            return this.start(GameTemplate.gameFactory(name, usernames, userManager, gameIO), table -> {
+            });
+        } catch (RuntimeException | Error e) {
+            this.admission.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a table for a game that has already been created.
+     *
+     * @param game the game to run
+     * @return the new table, whose game is already running
+     * @throws HostFullException if the maximum number of tables is already open
+     */
+    public Table open(GameTemplate game) throws HostFullException {
+        return this.open(game, table -> {
+        });
+    }
+
+    /**
+     * Open a table for a game that has already been created, and be told when it ends.
+     *
+     * @param game  the game to run
+     * @param onEnd called on the table's thread once its game has ended, been cancelled or failed
+     * @return the new table, whose game is already running
+     * @throws HostFullException if the maximum number of tables is already open
+     */
+    public Table open(GameTemplate game, Consumer<Table> onEnd) throws HostFullException {
+        if (!this.admission.tryAcquire()) {
+            throw new HostFullException();
+        }
+        try {
+            return this.start(game, onEnd);
+        } catch (RuntimeException | Error e) {
+            this.admission.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Start the thread of a new table. The caller must hold an admission permit, which is released when the table
+     * ends, or by the caller if this method throws.
+     *
+     * @param game  the game to run
+     * @param onEnd called once the table's game has ended
+     * @return the new table
+     */
+    private Table start(GameTemplate game, Consumer<Table> onEnd) {
+        Table table = new Table(this.nextId.incrementAndGet(), game, onEnd);
+        Thread thread = this.threadFactory.newThread(table::run);
+        table.thread = thread;
+        this.tables.put(table.id, table);
+        try {
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            this.tables.remove(table.id);
+            throw e;
+        }
+        return table;
+    }
+
+    /**
+     * Return the table with the given id.
+     *
+     * @param id the id of a table
+     * @return the table, or <code>null</code> if there is no open table with this id
+     */
+    public Table getTable(long id) {
+        return this.tables.get(id);
+    }
+
+    /**
+     * Return the open tables.
+     *
+     * @return a snapshot of the tables whose game has not ended yet
+     */
+    public List<Table> getTables() {
+        return new ArrayList<>(this.tables.values());
+    }
+
+    /**
+     * Return the number of open tables.
+     *
+     * @return the number of tables whose game has not ended yet
+     */
+    public int getOpenTables() {
+        return this.tables.size();
+    }
+
+    /**
+     * Return whether tables run on virtual threads.
+     *
+     * @return true if tables run on virtual threads, false if they run on platform threads
+     */
+    public boolean isVirtual() {
+        return this.virtual;
+    }
+
+    /**
+     * Cancel every open table and wait for them to end.
+     */
+    @Override
+    public void close() {
+        List<Table> open = new ArrayList<>(this.tables.values());
+        for (Table table : open) {
+            table.cancel();
+        }
+        for (Table table : open) {
+            try {
+                table.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A game running on a host.
+     */
+    public class Table {
+
+        private final long id;
+        private final GameTemplate game;
+        private final Consumer<Table> onEnd;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Thread thread;
+        private volatile Throwable failure;
+
+        /**
+         * @param id    the id of this table
+         * @param game  the game played at this table
+         * @param onEnd called once the game has ended
+         */
+        private Table(long id, GameTemplate game, Consumer<Table> onEnd) {
+            this.id = id;
+            this.game = game;
+            this.onEnd = onEnd;
+        }
+
+        /**
+         * Run the game of this table and leave the host once it ends.
+         */
+        private void run() {
+            try {
+                this.game.startGame();
+            } catch (RuntimeException | Error e) {
+                this.failure = e;
+            } finally {
+                GameHost.this.tables.remove(this.id);
+                GameHost.this.admission.release();
+                this.done.countDown();
+                this.onEnd.accept(this);
+            }
+        }
+
+        /**
+         * Returns the id of this table
+         *
+         * @return the id of this table, unique within its host
+         */
+        public long getId() {
+            return this.id;
+        }
+
+        /**
+         * Returns the game played at this table
+         *
+         * @return the game played at this table
+         */
+        public GameTemplate getGame() {
+            return this.game;
+        }
+
+        /**
+         * Cancel the game of this table. The game ends without a result at its next wait for input.
+         */
+        public void cancel() {
+            this.thread.interrupt();
+        }
+
+        /**
+         * Returns whether the game of this table has ended
+         *
+         * @return true if the game has ended, been cancelled or failed
+         */
+        public boolean isDone() {
+            return this.done.getCount() == 0;
+        }
+
+        /**
+         * Returns what made the game of this table fail
+         *
+         * @return the exception thrown by the game, or <code>null</code> if it has not failed
+         */
+        public Throwable getFailure() {
+            return this.failure;
+        }
+
+        /**
+         * Wait for the game of this table to end.
+         *
+         * @throws InterruptedException if the waiting thread is interrupted
+         */
+        public void await() throws InterruptedException {
+            this.done.await();
+        }
+
+        /**
+         * Wait at most <code>timeout</code> for the game of this table to end.
+         *
+         * @param timeout the maximum time to wait
+         * @param unit    the unit of <code>timeout</code>
+         * @return true if the game ended, false if the time ran out
+         * @throws InterruptedException if the waiting thread is interrupted
+         */
+        public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return this.done.await(timeout, unit);
+        }
+    }
+
+    /**
+     * <code>HostFullException</code> is thrown when a table is opened on a host that already has its maximum number of
+     * open tables.
+     */
+    public static class HostFullException extends Exception {
+
+    }
+}
@@ -0,0 +1,27 @@
+package controllers;
+
+import usecases.IOInterfaces.GameIO;
+
+/**
+ * This class defines an interface for creating the IO objects that <code>MainMenu</code> hands to games and to the
+ * user statistics display. Each presentation layer (GUI, console, ...) provides its own implementation, so the menu
+ * never depends on a particular one.
+ */
+public interface IOFactory {
+
+    /**
+     * Create a new IO object for the selected game.
+     *
+     * @param game the name of the selected game
+     * @return a <code>GameIO</code> object implementing the game specific IO interface of <code>game</code>
+     * @throws IllegalArgumentException if <code>game</code> is not a known game
+     */
+    GameIO createGameIO(String game);
+
+    /**
+     * Create a new IO object for displaying user statistics.
+     *
+     * @return a new <code>UserDisplayIO</code>
+     */
+    UserDisplayIO createUserDisplayIO();
+}
@@ -1,14 +1,14 @@
 package controllers;
 
-import presenters.gui.GameGUIFactory;
-import presenters.gui.UserDisplayGUI;
 import usecases.GameTemplate;
 import usecases.IOInterfaces.GameIO;
+import usecases.usermanagement.ResultRecorder;
 import usecases.usermanagement.UserDatabaseAccess;
 import usecases.usermanagement.UserManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * MainMenu is a class controlling the selection of games. It interacts with the main menu IO as well as the game
@@ -16,30 +16,63 @@ import java.util.List;
  */
 public class MainMenu {
 
+    /**
+     * Selection for displaying user statistics.
+     */
+    public static final int USER_STATISTICS = 9;
+
+    /**
+     * Selection for leaving the main menu.
+     */
+    public static final int EXIT = -1;
+
     private final String[] GAMES;
     private final MainMenuIO MM_IO;
+    private final IOFactory IO_FACTORY;
 
     /**
      * Instantiate a MainMenu.
      *
-     * @param mmIO  main menu IO to retrieve user selections and output information
-     * @param games Strings representing the Games to create
+     * @param mmIO      main menu IO to retrieve user selections and output information
+     * @param ioFactory factory for the IO objects of the games and the user statistics display
+     * @param games     Strings representing the Games to create
      */
     public MainMenu(MainMenuIO mmIO,
+                    IOFactory ioFactory,
                     String[] games) {
         this.MM_IO = mmIO;
+        this.IO_FACTORY = ioFactory;
         this.GAMES = games;
     }
 
     /**
      * Run this MainMenu.
      * <p>
-     * MainMenu allows a user to select the game they wish to play and runs that game.
+     * MainMenu allows a user to select the game they wish to play and runs that game, until the user selects
+     * {@link #EXIT}.
      *
      * @param userDatabase user database
      */
     public void run(UserDatabaseAccess userDatabase) {
-        UserManager userManager = UserManager.importFromUserDatabase(userDatabase);
+        this.run(CompletableFuture.completedFuture(userDatabase));
+    }
+
+    /**
+     * Run this MainMenu on a user database that may still be opening.
+     * <p>
+     * The menu is shown straight away. Users are imported from the database in the background once it is open, and
+     * the menu only waits for them when a selection actually needs user data. The result of every game is written to
+     * the database by a {@link ResultRecorder} as soon as the game ends.
+     *
+     * @param userDatabase user database, completed once it has been opened
+     */
+    public void run(CompletableFuture<? extends UserDatabaseAccess> userDatabase) {
+        CompletableFuture<ResultRecorder> recorder = userDatabase.thenApply(ResultRecorder::new);
+        CompletableFuture<UserManager> users = userDatabase.thenApplyAsync(UserManager::importFromUserDatabase)
+                .thenCombine(recorder, (userManager, results) -> {
+                    userManager.setResultListener(results);
+                    return userManager;
+                });
 
         while (true) {
             int sel = this.MM_IO.getUserSelection(this.GAMES);
@@ -48,16 +81,23 @@ public class MainMenu {
                 sel = this.MM_IO.getUserSelection(this.GAMES);
             }
 
-            if (sel == 9) {
-                UserDisplay userDisplay = new UserDisplay(userManager, new UserDisplayGUI());
+            if (sel == EXIT) {
+                // let a still running import finish before the caller closes the database under it
+                users.handle((userManager, e) -> null).join();
+                recorder.thenAccept(ResultRecorder::close).handle((v, e) -> null).join();
+                this.MM_IO.close();
+                return;
+            }
+
+            UserManager userManager = users.join();
+            if (sel == USER_STATISTICS) {
+                UserDisplay userDisplay = new UserDisplay(userManager, this.IO_FACTORY.createUserDisplayIO());
                 userDisplay.run();
             } else {
                 List<String> usernames = getUsernames(userManager, this.GAMES[sel]);
 
                 handleUserSelection(sel, usernames, userManager);
             }
-
-            userManager.exportToUserDatabase(userDatabase);
         }
     }
 
@@ -74,7 +114,7 @@ public class MainMenu {
     private void handleUserSelection(int sel, List<String> usernames, UserManager userManager) {
         String gameString = this.GAMES[sel];
 
-        GameIO gameIO = GameGUIFactory.gameGUIFactory(gameString);
+        GameIO gameIO = this.IO_FACTORY.createGameIO(gameString);
         GameTemplate game = GameTemplate.gameFactory(gameString, usernames, userManager, gameIO);
         game.startGame();
     }
@@ -86,7 +126,7 @@ public class MainMenu {
      * @return false when the selection is invalid or true when the selection is valid
      */
     private boolean checkValidity(int sel) {
-        return (sel == 9 || (sel <= this.GAMES.length && sel >= 0));
+        return (sel == EXIT || sel == USER_STATISTICS || (sel < this.GAMES.length && sel >= 0));
     }
 
     /**
@@ -10,7 +10,8 @@ public interface MainMenuIO {
      * Retrieve the user's selection.
      *
      * @param games array of games for the menu
-     * @return an integer representing the selection
+     * @return an integer representing the selection: the index of the selected game,
+     * {@link MainMenu#USER_STATISTICS} for user statistics or {@link MainMenu#EXIT} to leave the menu
      */
     int getUserSelection(String[] games);
 
@@ -1,5 +1,6 @@
 package controllers;
 
+import entities.User;
 import usecases.usermanagement.UserManager;
 
 import java.text.DecimalFormat;
@@ -37,9 +38,10 @@ public class UserDisplay {
             int ties;
 
             try {
-                gamesPlayed = this.userManager.getGamesPlayed(username);
-                wins = this.userManager.getWins(username);
-                ties = this.userManager.getGamesTied(username);
+                User stats = this.userManager.getSnapshot(username);
+                gamesPlayed = stats.getGamesPlayed();
+                wins = stats.getGamesWon();
+                ties = stats.getGamesTied();
             } catch (UserManager.UserNotFoundException e) {
                 this.displayIO.invalidUsername("The user was not found. Please enter a existing user.\n");
                 username = this.displayIO.getUsername();
@@ -0,0 +1,81 @@
+package drivers;
+
+import helpers.CardCodec;
+import presenters.bots.BuraBot;
+import presenters.remote.RemoteIO;
+import usecases.Bura;
+import usecases.BuraEndgameSolver;
+import usecases.BuraState;
+import usecases.IOInterfaces.BuraIO;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark of the {@link BuraBot}. The bot plays games of Bura against players that play random cards, taking turns
+ * to lead, and the benchmark reports how often it wins, how long its moves take, how many rollouts it plays per second
+ * and how long its endgame moves take.
+ * <p>
+ * Usage: <code>BuraBotBenchmark [games] [milliseconds per move] [players]</code>
+ */
+public class BuraBotBenchmark {
+
+    public static void main(String[] args) {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        long budgetMillis = args.length > 1 ? Long.parseLong(args[1]) : 200;
+        int playerCount = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        BuraIO io = (BuraIO) RemoteIO.headless("Bura");
+        BuraBot bot = new BuraBot(io, List.of("bot"), budgetMillis, ForkJoinPool.commonPool());
+        Random random = new Random(1);
+        int wins = 0;
+        int botMoves = 0;
+        long botNanos = 0;
+        long maxNanos = 0;
+        int solvedMoves = 0;
+        long solvedNanos = 0;
+        for (int i = 0; i < gameCount; i++) {
+            List<String> usernames = new ArrayList<>();
+            for (int j = 1; j < playerCount; j++) {
+                usernames.add("random" + j);
+            }
+            usernames.add(i % playerCount, "bot");
+            Bura game = new Bura(usernames, new UserManager(), io, new Random(random.nextLong()));
+            while (!game.isTerminal()) {
+                if (game.getCurrentPlayer().equals("bot")) {
+                    BuraState state = game.getState();
+                    long start = System.nanoTime();
+                    int card = bot.chooseCard(state);
+                    long nanos = System.nanoTime() - start;
+                    if (BuraEndgameSolver.isEndgame(state)
+                            && BuraEndgameSolver.isKnown(state, state.getCurrentPlayer())) {
+                        solvedMoves++;
+                        solvedNanos += nanos;
+                    }
+                    botNanos += nanos;
+                    maxNanos = Math.max(maxNanos, nanos);
+                    botMoves++;
+                    game.applyMove(Move.play(CardCodec.card(card).toString()));
+                } else {
+                    List<Move> moves = game.legalMoves();
+                    game.applyMove(moves.get(random.nextInt(moves.size())));
+                }
+            }
+            if (game.result().get(0).equals("bot")) {
+                wins++;
+            }
+        }
+
+        System.out.printf("bot won %d of %d games of %d players against random play%n", wins, gameCount, playerCount);
+        System.out.printf("%d moves, %.1f ms on average, %.1f ms at most, on %d workers%n", botMoves,
+                botNanos / 1e6 / botMoves, maxNanos / 1e6, ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("%d rollouts, %.0f rollouts per second, %.0f per searched move%n", bot.getRollouts(),
+                bot.getRolloutsPerSecond(), bot.getRolloutsPerSecond() * budgetMillis / 1000);
+        System.out.printf("%d endgame moves solved exactly, %.3f ms on average%n", solvedMoves,
+                solvedMoves == 0 ? 0 : solvedNanos / 1e6 / solvedMoves);
+    }
+}
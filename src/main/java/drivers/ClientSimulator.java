@@ -0,0 +1,347 @@
+package drivers;
+
+import controllers.GameHost;
+import usecases.usermanagement.UserManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Load test of a {@link GameServer}. The simulator opens many connections from a single {@link Selector} thread, and
+ * each connection plays one table after another, answering every prompt straight away with a legal move. It reports the
+ * number of moves and games played and the move latency, i.e. the time from sending an answer until the next prompt,
+ * or the end of the game, arrives.
+ * <p>
+ * Without a host argument the simulator starts its own server on a free local port.
+ * <p>
+ * Usage: <code>ClientSimulator [clients] [seconds] [host:port]</code>
+ */
+public class ClientSimulator {
+
+    private static final String[] GAMES = {"WAR", "GO_FISH", "BURA", "CRAZY_EIGHTS"};
+    private static final long TARGET_P99_NANOS = 1_000_000;
+    private static final int HISTOGRAM_MICROS = 100_000;
+
+    private final Selector selector;
+    private final List<Client> clients = new ArrayList<>();
+    private final int[] latencyMicros = new int[HISTOGRAM_MICROS + 1];
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private long moves = 0;
+    private long games = 0;
+    private long errors = 0;
+    private long maxLatency = 0;
+    private boolean stopping = false;
+
+    /**
+     * Connect <code>clientCount</code> clients to a server.
+     *
+     * @param address     the address of the server
+     * @param clientCount the number of clients
+     * @throws IOException if a connection cannot be made
+     */
+    public ClientSimulator(InetSocketAddress address, int clientCount) throws IOException {
+        this.selector = Selector.open();
+        for (int i = 0; i < clientCount; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Client client = new Client(i, channel, GAMES[i % GAMES.length]);
+            client.key = channel.register(this.selector, SelectionKey.OP_READ, client);
+            this.clients.add(client);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        GameServer server = null;
+        GameHost host = null;
+        InetSocketAddress address;
+        if (args.length > 2) {
+            String[] hostPort = args[2].split(":");
+            address = new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1]));
+        } else {
+            host = new GameHost(clientCount);
+            server = new GameServer(new InetSocketAddress("127.0.0.1", 0), host, new UserManager());
+            Thread serverThread = new Thread(server, "game-server");
+            serverThread.setDaemon(true);
+            serverThread.start();
+            address = new InetSocketAddress("127.0.0.1", server.getPort());
+            System.out.printf("Started a server on port %d with tables on %s threads%n", server.getPort(),
+                    host.isVirtual() ? "virtual" : "platform");
+        }
+
+        long start = System.nanoTime();
+        ClientSimulator simulator = new ClientSimulator(address, clientCount);
+        System.out.printf("%d clients connected in %.1f ms%n", clientCount, (System.nanoTime() - start) / 1e6);
+        simulator.run(seconds * 1_000_000_000L);
+
+        if (server != null) {
+            server.close();
+            host.close();
+        }
+    }
+
+    /**
+     * Play for <code>durationNanos</code>, then let every client finish its table and print the results.
+     *
+     * @param durationNanos how long to start new tables for
+     * @throws IOException if the selector fails
+     */
+    public void run(long durationNanos) throws IOException {
+        for (Client client : this.clients) {
+            client.startTable();
+        }
+
+        long start = System.nanoTime();
+        long stop = start + durationNanos;
+        int playing = this.clients.size();
+        while (playing > 0) {
+            long now = System.nanoTime();
+            if (!this.stopping && now >= stop) {
+                // War rarely ends by itself, so stop on a clock instead of waiting for every table to finish
+                this.stopping = true;
+                for (Client client : this.clients) {
+                    client.send("QUIT");
+                }
+            }
+            this.selector.select(100);
+            Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                Client client = (Client) key.attachment();
+                if (key.isWritable()) {
+                    client.flush();
+                }
+                if (key.isValid() && key.isReadable() && !this.read(client)) {
+                    key.cancel();
+                    client.channel.close();
+                    playing--;
+                }
+            }
+        }
+        this.report(System.nanoTime() - start);
+        this.selector.close();
+    }
+
+    /**
+     * Read what is available from a client's connection and handle every complete line.
+     *
+     * @param client a readable client
+     * @return false once the server has closed the connection
+     * @throws IOException if reading fails
+     */
+    private boolean read(Client client) throws IOException {
+        this.readBuffer.clear();
+        int read;
+        try {
+            read = client.channel.read(this.readBuffer);
+        } catch (IOException e) {
+            return false;
+        }
+        if (read < 0) {
+            return false;
+        }
+        long now = System.nanoTime();
+        this.readBuffer.flip();
+        while (this.readBuffer.hasRemaining()) {
+            byte b = this.readBuffer.get();
+            if (b == '\n') {
+                client.handle(client.line.toString(), now);
+                client.line.setLength(0);
+            } else {
+                client.line.append((char) (b & 0xff));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the latency of a move.
+     *
+     * @param nanos the time from sending the move until the next prompt arrived
+     */
+    private void record(long nanos) {
+        this.moves++;
+        this.maxLatency = Math.max(this.maxLatency, nanos);
+        this.latencyMicros[(int) Math.min(HISTOGRAM_MICROS, nanos / 1000)]++;
+    }
+
+    /**
+     * Return a percentile of the recorded move latencies.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in microseconds below which <code>percentile</code> percent of the moves fall
+     */
+    private int percentileMicros(double percentile) {
+        long rank = (long) Math.ceil(this.moves * percentile / 100);
+        long seen = 0;
+        for (int micros = 0; micros <= HISTOGRAM_MICROS; micros++) {
+            seen += this.latencyMicros[micros];
+            if (seen >= rank) {
+                return micros;
+            }
+        }
+        return HISTOGRAM_MICROS;
+    }
+
+    /**
+     * Print the results of a run.
+     *
+     * @param elapsed the length of the run in nanoseconds
+     */
+    private void report(long elapsed) {
+        int p99 = this.percentileMicros(99);
+        System.out.printf("%d clients: %d moves (%.0f moves/s), %d games finished, %d errors%n", this.clients.size(),
+                this.moves, this.moves / (elapsed / 1e9), this.games, this.errors);
+        System.out.printf("move latency: p50 %d us, p99 %d us, p99.9 %d us, max %.1f ms (target p99 %d us) %s%n",
+                this.percentileMicros(50), p99, this.percentileMicros(99.9), this.maxLatency / 1e6,
+                TARGET_P99_NANOS / 1000, p99 * 1000L < TARGET_P99_NANOS ? "OK" : "TOO SLOW");
+    }
+
+    /**
+     * A simulated client that plays every seat of its tables.
+     */
+    private final class Client {
+        private final int id;
+        private final SocketChannel channel;
+        private final String game;
+        private final StringBuilder line = new StringBuilder();
+        private final Queue<ByteBuffer> output = new ArrayDeque<>();
+        private SelectionKey key;
+        private String[] hand = new String[0];
+        private String topCard = "";
+        private long sentAt = 0;
+
+        /**
+         * @param id      the number of this client
+         * @param channel the connection of this client
+         * @param game    the game this client plays
+         */
+        private Client(int id, SocketChannel channel, String game) {
+            this.id = id;
+            this.channel = channel;
+            this.game = game;
+        }
+
+        /**
+         * Ask the server for a new hot seat table.
+         */
+        private void startTable() {
+            this.send("PLAY " + this.game + " s" + this.id + "a,s" + this.id + "b");
+        }
+
+        /**
+         * Handle a line from the server.
+         *
+         * @param line the line, without its line terminator
+         * @param now  the time the line was read
+         */
+        private void handle(String line, long now) {
+            if (line.startsWith("HAND")) {
+                this.hand = line.substring(4).replace("[", "").replace("]", "").replace(",", " ").trim()
+                        .split("\\s+");
+            } else if (line.startsWith("TOP ")) {
+                this.topCard = line.substring(4);
+            } else if (line.startsWith("PROMPT")) {
+                this.answered(now);
+                this.send(this.answer(line.substring(6).trim()));
+                this.sentAt = System.nanoTime();
+            } else if (line.equals("END")) {
+                this.answered(now);
+                ClientSimulator.this.games++;
+                if (!ClientSimulator.this.stopping) {
+                    this.startTable();
+                }
+            } else if (line.startsWith("ERROR")) {
+                ClientSimulator.this.errors++;
+            }
+        }
+
+        /**
+         * Record the latency of the last answer, if one is outstanding.
+         *
+         * @param now the time the reply to it arrived
+         */
+        private void answered(long now) {
+            if (this.sentAt != 0) {
+                ClientSimulator.this.record(now - this.sentAt);
+                this.sentAt = 0;
+            }
+        }
+
+        /**
+         * Choose a legal answer to a prompt from the last hand and top card seen.
+         *
+         * @param prompt what the server asks for
+         * @return the answer
+         */
+        private String answer(String prompt) {
+            String first = this.hand.length > 0 ? this.hand[0] : "";
+            if (prompt.startsWith("RANK")) {
+                return first.isEmpty() ? "" : first.substring(0, first.length() - 1);
+            } else if (prompt.startsWith("PLAYER")) {
+                return prompt.substring(6).trim().split(",")[0];
+            } else if (prompt.equals("DRAW")) {
+                return "n";
+            } else if (prompt.equals("SUIT")) {
+                return "H";
+            } else if (prompt.equals("CARD") && this.game.equals("CRAZY_EIGHTS")) {
+                String topRank = this.topCard.isEmpty() ? "" : this.topCard.substring(0, this.topCard.length() - 1);
+                char topSuit = this.topCard.isEmpty() ? 0 : this.topCard.charAt(this.topCard.length() - 1);
+                for (String card : this.hand) {
+                    String rank = card.substring(0, card.length() - 1);
+                    if (rank.equals("8") || rank.equals(topRank) || card.charAt(card.length() - 1) == topSuit) {
+                        return card;
+                    }
+                }
+            }
+            return prompt.equals("CARD") ? first : "f";
+        }
+
+        /**
+         * Send a line to the server.
+         *
+         * @param line the line to send, without its line terminator
+         */
+        private void send(String line) {
+            this.output.add(ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8)));
+            this.flush();
+        }
+
+        /**
+         * Write as much queued output as the socket takes.
+         */
+        private void flush() {
+            try {
+                ByteBuffer buffer;
+                while ((buffer = this.output.peek()) != null) {
+                    this.channel.write(buffer);
+                    if (buffer.hasRemaining()) {
+                        this.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                    this.output.poll();
+                }
+                this.key.interestOps(SelectionKey.OP_READ);
+            } catch (IOException e) {
+                this.output.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package drivers;
+
+import presenters.bots.CrazyEightsBot;
+import presenters.remote.RemoteIO;
+import usecases.CrazyEights;
+import usecases.CrazyEightsState;
+import usecases.IOInterfaces.CrazyEightsIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of the {@link CrazyEightsBot}. One seat of every game, in turn, is played by a bot with a fixed number of
+ * rollouts per move, and the others by greedy players that play a random card they can, and an eight only if they
+ * must. The benchmark reports how often the bot wins compared to a greedy player, and how fast it plays rollouts.
+ * <p>
+ * Usage: <code>CrazyEightsBotBenchmark [games] [players] [rollouts per move]</code>
+ */
+public class CrazyEightsBotBenchmark {
+
+    public static void main(String[] args) {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int rolloutsPerMove = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.headless("Crazy Eights");
+        CrazyEightsBot bot = new CrazyEightsBot(io, List.of("bot"), rolloutsPerMove, 1);
+        UserManager userManager = new UserManager();
+        Random random = new Random(2);
+        int wins = 0;
+        int ties = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < gameCount; i++) {
+            List<String> usernames = new ArrayList<>();
+            for (int j = 1; j < playerCount; j++) {
+                usernames.add("greedy" + j);
+            }
+            usernames.add(i % playerCount, "bot");
+            CrazyEights game = new CrazyEights(usernames, userManager, io, new Random(random.nextLong()));
+            while (!game.isTerminal()) {
+                CrazyEightsState state = game.getState();
+                int move = game.getCurrentPlayer().equals("bot") ? bot.chooseMove(state) : state.greedyMove(random);
+                game.applyMove(CrazyEightsState.toMove(move));
+            }
+            List<String> winners = game.result();
+            if (winners.equals(List.of("bot"))) {
+                wins++;
+            } else if (winners.contains("bot")) {
+                ties++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("bot won %d and tied %d of %d games of %d players (%.1f%% won, %.1f%% for an even share)%n",
+                wins, ties, gameCount, playerCount, 100.0 * wins / gameCount, 100.0 / playerCount);
+        System.out.printf("%.0f rollouts/s, %.1f games/s%n", bot.getRolloutsPerSecond(), gameCount / seconds);
+    }
+}
@@ -0,0 +1,128 @@
+package drivers;
+
+import presenters.remote.RemoteIO;
+import usecases.GameFuzzer;
+import usecases.GameTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fuzzes the game engines: plays random but legal games of every game on every core with a {@link GameFuzzer}, and
+ * reports how many games broke each rule, with the first game to break it shrunk to the moves that reproduce it. The
+ * number of players of a game cycles through every number the game allows.
+ * <p>
+ * Usage: <code>FuzzRunner [games per game] [game]</code>, where a game with spaces in its name may be written with
+ * underscores, like <code>CRAZY_EIGHTS</code>, and every game is fuzzed if none is given.
+ */
+public class FuzzRunner {
+
+    private static final int GAMES_PER_PART = 256;
+
+    public static void main(String[] args) {
+        long gameCount = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        List<String> games = args.length > 1 ? List.of(args[1].replace('_', ' '))
+                : List.of("WAR", "GO FISH", "CRAZY EIGHTS", "BURA");
+
+        for (String game : games) {
+            GameFuzzer fuzzer = new GameFuzzer(game, () -> RemoteIO.headless(game));
+            long start = System.nanoTime();
+            Findings findings = ForkJoinPool.commonPool().invoke(new Part(fuzzer, game, 0, gameCount));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s: %d games in %.1f s (%.0f games/s)%n", game, gameCount, seconds,
+                    gameCount / seconds);
+            for (Map.Entry<GameFuzzer.Rule, Long> broken : findings.counts.entrySet()) {
+                GameFuzzer.Failure first = findings.firsts.get(broken.getKey());
+                System.out.printf("  %s broken by %d games, first %s%n", broken.getKey(), broken.getValue(),
+                        fuzzer.shrink(first));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of players of the game of a seed
+     *
+     * @param game the name of the game
+     * @param seed the seed of the game
+     * @return a number of players the game allows, going through all of them as the seed goes up
+     */
+    private static int playerCount(String game, long seed) {
+        int min = GameTemplate.getMinPlayers(game);
+        return min + (int) (seed % (GameTemplate.getMaxPlayers(game) - min + 1));
+    }
+
+    /**
+     * The rules broken by a range of seeds: how many games broke each rule, and the first of them.
+     */
+    private static final class Findings {
+        private final Map<GameFuzzer.Rule, Long> counts = new EnumMap<>(GameFuzzer.Rule.class);
+        private final Map<GameFuzzer.Rule, GameFuzzer.Failure> firsts = new EnumMap<>(GameFuzzer.Rule.class);
+
+        /**
+         * Count a failure, which is the first of its rule if it comes before every failure counted so far.
+         *
+         * @param failure the failure
+         */
+        private void add(GameFuzzer.Failure failure) {
+            this.counts.merge(failure.getRule(), 1L, Long::sum);
+            this.firsts.merge(failure.getRule(), failure, (a, b) -> a.getSeed() <= b.getSeed() ? a : b);
+        }
+
+        /**
+         * Add the findings of another range to these.
+         *
+         * @param other the findings of another range
+         */
+        private void merge(Findings other) {
+            other.counts.forEach((rule, count) -> this.counts.merge(rule, count, Long::sum));
+            other.firsts.forEach((rule, failure) -> this.firsts.merge(rule, failure,
+                    (a, b) -> a.getSeed() <= b.getSeed() ? a : b));
+        }
+    }
+
+    /**
+     * A range of seeds, which splits itself in two until it is small enough to fuzz on one thread.
+     */
+    private static final class Part extends RecursiveTask<Findings> {
+        private final GameFuzzer fuzzer;
+        private final String game;
+        private final long firstSeed;
+        private final long seedCount;
+
+        /**
+         * @param fuzzer    the fuzzer of the game
+         * @param game      the name of the game
+         * @param firstSeed the seed of the first game of the part
+         * @param seedCount the number of games of the part
+         */
+        private Part(GameFuzzer fuzzer, String game, long firstSeed, long seedCount) {
+            this.fuzzer = fuzzer;
+            this.game = game;
+            this.firstSeed = firstSeed;
+            this.seedCount = seedCount;
+        }
+
+        @Override
+        protected Findings compute() {
+            if (this.seedCount <= GAMES_PER_PART) {
+                Findings findings = new Findings();
+                for (long seed = this.firstSeed; seed < this.firstSeed + this.seedCount; seed++) {
+                    GameFuzzer.Failure failure = this.fuzzer.check(playerCount(this.game, seed), seed);
+                    if (failure != null) {
+                        findings.add(failure);
+                    }
+                }
+                return findings;
+            }
+            long half = this.seedCount / 2;
+            Part right = new Part(this.fuzzer, this.game, this.firstSeed + half, this.seedCount - half);
+            right.fork();
+            Findings findings = new Part(this.fuzzer, this.game, this.firstSeed, half).compute();
+            findings.merge(right.join());
+            return findings;
+        }
+    }
+}
@@ -0,0 +1,878 @@
+package drivers;
+
+import controllers.GameHost;
+import gamelogs.BinaryGameLog;
+import gamelogs.Checkpoint;
+import helpers.UsernameCheck;
+import presenters.remote.RemoteIO;
+import presenters.remote.SpectatorFeed;
+import usecases.GameTemplate;
+import usecases.usermanagement.ResultRecorder;
+import usecases.usermanagement.UserManager;
+import userdatabases.SQLiteUserDatabase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A game server that lets players play War, Go Fish, Bura and Crazy Eights over TCP. All sockets are served by a single
+ * thread running a {@link Selector} event loop, while the games themselves run as tables of a {@link GameHost}.
+ * <p>
+ * The protocol is line based. Game names are written with an underscore instead of a space, e.g.
+ * <code>GO_FISH</code>. A client sends one of these commands:
+ * <ul>
+ *     <li><code>PLAY game user1,user2,...</code> starts a table at which this connection plays every seat, like the
+ *     GUI does.</li>
+ *     <li><code>JOIN game seats username</code> waits for <code>seats</code> players to join the same game and then
+ *     starts a table with one seat per connection.</li>
+ *     <li><code>WATCH username</code> watches the table at which <code>username</code> is playing, instead of any
+ *     table this connection was watching.</li>
+ *     <li><code>LEAVE</code> stops watching a table.</li>
+ *     <li><code>QUIT</code> leaves the server, cancelling the table of this connection.</li>
+ * </ul>
+ * The server answers <code>WAIT n</code> while a table is still missing <code>n</code> players,
+ * <code>SEATED game user1,user2,...</code> when a table starts, or <code>ERROR reason</code>. While a table is running,
+ * the game's IO calls are sent as the lines described in {@link RemoteIO}. <code>HAND</code> and <code>PROMPT</code>
+ * lines only go to the seat whose turn it is, which is the first seat until a <code>PLAYER</code> line says otherwise,
+ * and every other line goes to all seats. Any line from the seat whose turn it is answers the last prompt. Once the
+ * game is over the server sends <code>END</code>, and the connection may start another table.
+ * <p>
+ * Spectators get every line that goes to all seats through the table's {@link SpectatorFeed}, which the event loop
+ * drains every few milliseconds, never faster than a spectator's socket takes the lines. A spectator that falls behind
+ * gets a snapshot of the table instead of the lines it missed, so slow spectators cost neither the table nor the other
+ * connections anything. Spectators also get <code>END</code> once the game is over.
+ * <p>
+ * Results are recorded in the server's {@link UserManager}, which {@link #main(String[])} hands to a
+ * {@link ResultRecorder} that writes each to the user database as its game ends. Every table is dealt from a fresh
+ * seed and recorded to the server's {@link BinaryGameLog}, if it has one. When the server stops, every table still in
+ * progress is saved as a {@link Checkpoint}, and when the same players start the same game after a restart, they
+ * continue where they were. A resumed game is recorded to the game log again, starting from its checkpoint. Usage:
+ * <code>GameServer [port] [maximum tables]</code>
+ */
+public class GameServer implements Runnable, Closeable {
+
+    private static final int MAX_LINE_LENGTH = 1024;
+    private static final int READ_BUFFER_SIZE = 2048;
+    private static final int MAX_GATHER = 32;
+    private static final int SPECTATOR_INTERVAL_MILLIS = 10;
+    private static final int MAX_SPECTATOR_LINES = 64;
+    static final String GAME_LOG_PATH = "db/games.log";
+    static final String CHECKPOINT_PATH = "db/tables.ckpt";
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final GameHost host;
+    private final UserManager userManager;
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Map<String, Lobby> lobbies = new ConcurrentHashMap<>();
+    private final Map<String, Checkpoint> suspended = new ConcurrentHashMap<>();
+    private final Map<String, TableRouter> playing = new ConcurrentHashMap<>();
+    private final List<Connection> watchers = new ArrayList<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private volatile Thread loopThread;
+    private volatile BinaryGameLog gameLog;
+    private volatile Path checkpointFile;
+    private volatile boolean running = true;
+
+    /**
+     * Create a server listening on <code>address</code>. The server does not accept connections until it is run.
+     *
+     * @param address     address to listen on; port 0 picks a free port
+     * @param host        host running the tables of this server
+     * @param userManager manager the results of every table are recorded in
+     * @throws IOException if the server socket cannot be opened
+     */
+    public GameServer(InetSocketAddress address, GameHost host, UserManager userManager) throws IOException {
+        this.host = host;
+        this.userManager = userManager;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(address, 4096);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int maxTables = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        SQLiteUserDatabase database = new SQLiteUserDatabase(Main.DATABASE_PATH);
+        UserManager userManager = UserManager.importFromUserDatabase(database);
+        ResultRecorder recorder = new ResultRecorder(database);
+        userManager.setResultListener(recorder);
+        GameHost host = new GameHost(maxTables);
+        GameServer server = new GameServer(new InetSocketAddress(port), host, userManager);
+        BinaryGameLog gameLog = new BinaryGameLog(Paths.get(GAME_LOG_PATH));
+        server.setGameLog(gameLog);
+        Path checkpoints = Paths.get(CHECKPOINT_PATH);
+        if (Files.exists(checkpoints)) {
+            server.suspend(checkpoints);
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // the tables keep running until the host is closed, so they are checkpointed before that
+            server.close();
+            try {
+                Checkpoint.writeAll(checkpoints, server.checkpoint());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            host.close();
+            try {
+                gameLog.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            recorder.close();
+            database.close();
+        }));
+        System.out.printf("Listening on port %d with up to %d tables on %s threads%n", server.getPort(), maxTables,
+                host.isVirtual() ? "virtual" : "platform");
+        server.run();
+    }
+
+    /**
+     * Record every table opened from now on to a game log.
+     *
+     * @param gameLog the log to record tables to, or <code>null</code> to stop recording
+     */
+    public void setGameLog(BinaryGameLog gameLog) {
+        this.gameLog = gameLog;
+    }
+
+    /**
+     * Keep checkpointed games, to be resumed instead of dealing a new game the next time their players start a table
+     * of the same game together.
+     *
+     * @param checkpoints checkpoints of games that were in progress
+     */
+    public void suspend(List<Checkpoint> checkpoints) {
+        for (Checkpoint checkpoint : checkpoints) {
+            this.suspended.put(tableKey(checkpoint.getName(), checkpoint.getUsernames()), checkpoint);
+        }
+    }
+
+    /**
+     * Keep the checkpointed games in a file, as {@link #suspend(List)} does. The file is deleted once every one of its
+     * games has been resumed, so a crash before then loses none of them; it is replaced anyway when the server stops
+     * and the games that are still suspended are saved again.
+     *
+     * @param checkpoints a file written by {@link Checkpoint#writeAll(Path, List)}
+     * @throws IOException if the file cannot be read
+     */
+    public void suspend(Path checkpoints) throws IOException {
+        this.suspend(Checkpoint.readAll(checkpoints));
+        this.checkpointFile = checkpoints;
+    }
+
+    /**
+     * Take a checkpoint of every open table, and return it together with the suspended games that have not been
+     * resumed yet. The tables keep running, so this is best done once the server is closed.
+     *
+     * @return checkpoints of every game in progress
+     */
+    public List<Checkpoint> checkpoint() {
+        List<Checkpoint> checkpoints = new ArrayList<>(this.suspended.values());
+        for (GameHost.Table table : this.host.getTables()) {
+            checkpoints.add(Checkpoint.of(table.getGame()));
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Return the key of a table's suspended game, which does not depend on the order in which its players joined.
+     *
+     * @param game      the name of the game
+     * @param usernames the usernames of the players
+     * @return the key of the table
+     */
+    private static String tableKey(String game, List<String> usernames) {
+        List<String> sorted = new ArrayList<>(usernames);
+        Collections.sort(sorted);
+        return game.toUpperCase() + ' ' + String.join(",", sorted);
+    }
+
+    /**
+     * Return the number of lobbies with players waiting in them.
+     *
+     * @return the number of games and seat counts that players are waiting to start a table of
+     */
+    int getLobbyCount() {
+        return this.lobbies.size();
+    }
+
+    /**
+     * Return the port this server listens on.
+     *
+     * @return the local port of the server socket
+     */
+    public int getPort() {
+        return this.serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Run the event loop of this server until it is closed.
+     */
+    @Override
+    public void run() {
+        this.loopThread = Thread.currentThread();
+        try {
+            while (this.running) {
+                if (this.watchers.isEmpty()) {
+                    this.selector.select();
+                } else {
+                    this.selector.select(SPECTATOR_INTERVAL_MILLIS);
+                }
+                Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    this.handle(key);
+                }
+                this.feedSpectators();
+                Connection connection;
+                while ((connection = this.pendingWrites.poll()) != null) {
+                    connection.writeScheduled.set(false);
+                    this.flush(connection);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (this.running) {
+                e.printStackTrace();
+            }
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    // a server closed on purpose leaves its tables running, to be checkpointed before the host closes
+                    this.disconnect((Connection) key.attachment(), this.running);
+                }
+                closeQuietly(key.channel());
+            }
+            closeQuietly(this.selector);
+        }
+    }
+
+    /**
+     * Stop the event loop and close every connection, and wait for the loop to finish. The tables that are still
+     * running are left to the host, so that {@link #checkpoint()} can save them before the host is closed. May be
+     * called from any thread.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.selector.wakeup();
+        Thread loop = this.loopThread;
+        if (loop == null || loop == Thread.currentThread()) {
+            return;
+        }
+        boolean interrupted = false;
+        while (loop.isAlive()) {
+            try {
+                loop.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queue the lines waiting for every spectator whose previous lines have been sent, and forget the spectators whose
+     * table has ended.
+     */
+    private void feedSpectators() {
+        Iterator<Connection> iterator = this.watchers.iterator();
+        while (iterator.hasNext()) {
+            Connection connection = iterator.next();
+            SpectatorFeed.Spectator spectator = connection.spectator;
+            if (spectator != null && connection.output.isEmpty()) {
+                spectator.drain(MAX_SPECTATOR_LINES);
+            }
+            if (spectator == null || spectator.isEnded()) {
+                connection.spectator = null;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Handle a ready key of the selector.
+     *
+     * @param key a selected key
+     */
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            this.accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                this.read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                this.flush(connection);
+            }
+        } catch (IOException e) {
+            this.disconnect(connection);
+        }
+    }
+
+    /**
+     * Accept every pending connection.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = this.serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Read what is available from a connection and handle every complete line.
+     *
+     * @param connection a readable connection
+     * @throws IOException if reading fails
+     */
+    private void read(Connection connection) throws IOException {
+        this.readBuffer.clear();
+        int read = connection.channel.read(this.readBuffer);
+        if (read < 0) {
+            this.disconnect(connection);
+            return;
+        }
+        this.readBuffer.flip();
+        while (this.readBuffer.hasRemaining()) {
+            byte b = this.readBuffer.get();
+            if (b == '\n') {
+                String line = connection.line.toString().strip();
+                connection.line.setLength(0);
+                if (!this.handleLine(connection, line)) {
+                    return;
+                }
+            } else if (connection.line.length() >= MAX_LINE_LENGTH) {
+                connection.send("ERROR Line too long");
+                this.disconnect(connection);
+                return;
+            } else {
+                connection.line.append((char) (b & 0xff));
+            }
+        }
+    }
+
+    /**
+     * Handle a line sent by a client.
+     *
+     * @param connection the connection that sent the line
+     * @param line       the line, without its line terminator
+     * @return false if the connection was closed
+     */
+    private boolean handleLine(Connection connection, String line) {
+        String[] words = line.split("\\s+");
+        String command = words[0].toUpperCase();
+
+        if (command.equals("QUIT")) {
+            this.disconnect(connection);
+            return false;
+        }
+
+        TableRouter router = connection.router;
+        if (router != null) {
+            router.fromClient(connection, line);
+        } else if (connection.spectator != null) {
+            if (command.equals("LEAVE")) {
+                connection.spectator.cancel();
+                connection.send("END");
+            } else if (command.equals("WATCH") && words.length == 2) {
+                this.watch(connection, words[1]);
+            } else if (!line.isEmpty()) {
+                connection.send("ERROR Watching a table");
+            }
+        } else if (connection.lobby != null) {
+            connection.send("ERROR Waiting for players");
+        } else if (command.equals("PLAY") && words.length == 3) {
+            this.play(connection, words[1], Arrays.asList(words[2].split(",")));
+        } else if (command.equals("JOIN") && words.length == 4) {
+            this.join(connection, words[1], words[2], words[3]);
+        } else if (command.equals("WATCH") && words.length == 2) {
+            this.watch(connection, words[1]);
+        } else if (!line.isEmpty()) {
+            connection.send("ERROR Unknown command");
+        }
+        return true;
+    }
+
+    /**
+     * Start a table at which <code>connection</code> plays every seat.
+     *
+     * @param connection the connection that sent the command
+     * @param gameName   the game to play, with underscores for spaces
+     * @param usernames  the usernames of the seats
+     */
+    private void play(Connection connection, String gameName, List<String> usernames) {
+        String game = gameName.replace('_', ' ');
+        String error = checkTable(game, usernames.size());
+        if (error == null && new HashSet<>(usernames).size() != usernames.size()) {
+            error = "Usernames must be different";
+        }
+        for (String username : usernames) {
+            if (error == null && !UsernameCheck.checkUsername(username)) {
+                error = "Invalid username " + username;
+            }
+        }
+        if (error != null) {
+            connection.send("ERROR " + error);
+            return;
+        }
+
+        List<Connection> seats = new ArrayList<>();
+        for (int i = 0; i < usernames.size(); i++) {
+            seats.add(connection);
+        }
+        this.startTable(game, usernames, seats);
+    }
+
+    /**
+     * Add <code>connection</code> to the lobby of a game, and start a table once the lobby is full.
+     *
+     * @param connection the connection that sent the command
+     * @param gameName   the game to play, with underscores for spaces
+     * @param seatCount  the number of seats at the table
+     * @param username   the username of the player of this connection
+     */
+    private void join(Connection connection, String gameName, String seatCount, String username) {
+        String game = gameName.replace('_', ' ');
+        int seats;
+        try {
+            seats = Integer.parseInt(seatCount);
+        } catch (NumberFormatException e) {
+            connection.send("ERROR Invalid number of seats");
+            return;
+        }
+        String error = checkTable(game, seats);
+        if (error == null && !UsernameCheck.checkUsername(username)) {
+            error = "Invalid username " + username;
+        }
+        if (error != null) {
+            connection.send("ERROR " + error);
+            return;
+        }
+        String lobbyKey = game.toUpperCase() + '/' + seats;
+        Lobby lobby = this.lobbies.computeIfAbsent(lobbyKey, Lobby::new);
+        if (lobby.usernames.contains(username)) {
+            connection.send("ERROR Username already waiting");
+            return;
+        }
+
+        lobby.usernames.add(username);
+        lobby.connections.add(connection);
+        connection.lobby = lobby;
+        if (lobby.usernames.size() < seats) {
+            connection.send("WAIT " + (seats - lobby.usernames.size()));
+        } else {
+            this.lobbies.remove(lobbyKey);
+            for (Connection seat : lobby.connections) {
+                seat.lobby = null;
+            }
+            this.startTable(game, lobby.usernames, lobby.connections);
+        }
+    }
+
+    /**
+     * Let <code>connection</code> watch the table at which a user is playing, instead of any table it was watching.
+     *
+     * @param connection the connection that sent the command
+     * @param username   the username of a player at the table
+     */
+    private void watch(Connection connection, String username) {
+        TableRouter router = this.playing.get(username);
+        if (router == null) {
+            connection.send("ERROR Not playing " + username);
+            return;
+        }
+        if (connection.spectator != null) {
+            // already among the watchers, so only the subscription changes
+            connection.spectator.cancel();
+        } else {
+            this.watchers.add(connection);
+        }
+        connection.send("WATCHING " + String.join(",", router.usernames));
+        connection.spectator = router.feed.subscribe(spectated -> connection.send(spectated, false));
+    }
+
+    /**
+     * Check whether a table of a game can be started with <code>seats</code> seats.
+     *
+     * @param game  the name of the game
+     * @param seats the number of seats
+     * @return a reason why the table cannot be started, or <code>null</code> if it can
+     */
+    private static String checkTable(String game, int seats) {
+        try {
+            if (seats < GameTemplate.getMinPlayers(game) || seats > GameTemplate.getMaxPlayers(game)) {
+                return "Invalid number of seats";
+            }
+        } catch (IllegalArgumentException e) {
+            return "Unknown game";
+        }
+        return null;
+    }
+
+    /**
+     * Create a game, seat its players and open a table for it. If these players were in the middle of this game when
+     * the server last stopped, that game is resumed, with the seats in its turn order, instead.
+     *
+     * @param game      the name of the game
+     * @param usernames the usernames of the seats
+     * @param seats     the connection of every seat, in the same order as <code>usernames</code>
+     */
+    private void startTable(String game, List<String> usernames, List<Connection> seats) {
+        for (String username : usernames) {
+            this.userManager.login(username);
+        }
+
+        Checkpoint checkpoint = this.suspended.remove(tableKey(game, usernames));
+        if (checkpoint != null && this.suspended.isEmpty() && this.checkpointFile != null) {
+            try {
+                Files.deleteIfExists(this.checkpointFile);
+                this.checkpointFile = null;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        if (checkpoint != null) {
+            List<Connection> resumedSeats = new ArrayList<>();
+            for (String username : checkpoint.getUsernames()) {
+                resumedSeats.add(seats.get(usernames.indexOf(username)));
+            }
+            usernames = checkpoint.getUsernames();
+            seats = resumedSeats;
+        }
+
+        TableRouter router = new TableRouter(usernames, seats);
+        for (String username : usernames) {
+            this.playing.put(username, router);
+        }
+        for (Connection connection : router.members) {
+            connection.router = router;
+            connection.send("SEATED " + game.replace(' ', '_') + ' ' + String.join(",", usernames));
+        }
+        router.io = RemoteIO.create(game, router);
+        try {
+            GameTemplate template;
+            BinaryGameLog log = this.gameLog;
+            if (checkpoint != null) {
+                template = checkpoint.resume(this.userManager, router.io);
+                router.current = usernames.indexOf(template.getCurrentPlayer());
+                if (log != null) {
+                    log.recordResumed(template, checkpoint);
+                }
+            } else {
+                long seed = ThreadLocalRandom.current().nextLong();
+                template = GameTemplate.gameFactory(game, usernames, this.userManager, router.io, new Random(seed));
+                if (log != null) {
+                    log.record(template, seed);
+                }
+            }
+            router.table = this.host.open(template, router::tableEnded);
+        } catch (GameHost.HostFullException e) {
+            router.release("ERROR Server full");
+        }
+    }
+
+    /**
+     * Close a connection, leaving its lobby, which is forgotten once no one is left waiting in it, or cancelling its
+     * table.
+     *
+     * @param connection the connection to close
+     */
+    private void disconnect(Connection connection) {
+        this.disconnect(connection, true);
+    }
+
+    /**
+     * Close a connection, leaving its lobby, which is forgotten once no one is left waiting in it, and cancelling its
+     * table if asked to.
+     *
+     * @param connection  the connection to close
+     * @param cancelTable whether to cancel the table the connection is seated at
+     */
+    private void disconnect(Connection connection, boolean cancelTable) {
+        connection.key.cancel();
+        closeQuietly(connection.channel);
+
+        if (connection.lobby != null) {
+            int seat = connection.lobby.connections.indexOf(connection);
+            connection.lobby.connections.remove(seat);
+            connection.lobby.usernames.remove(seat);
+            if (connection.lobby.connections.isEmpty()) {
+                this.lobbies.remove(connection.lobby.key);
+            }
+            connection.lobby = null;
+        }
+        if (connection.spectator != null) {
+            connection.spectator.cancel();
+        }
+        TableRouter router = connection.router;
+        if (cancelTable && router != null && router.table != null) {
+            router.table.cancel();
+        }
+    }
+
+    /**
+     * Write as much of a connection's queued output as the socket takes, and wait for the socket to become writable
+     * if some is left.
+     *
+     * @param connection the connection to flush
+     */
+    private void flush(Connection connection) {
+        if (!connection.key.isValid()) {
+            connection.output.clear();
+            return;
+        }
+        ByteBuffer[] gather = connection.gather;
+        try {
+            while (true) {
+                int count = 0;
+                for (ByteBuffer buffer : connection.output) {
+                    gather[count++] = buffer;
+                    if (count == MAX_GATHER) {
+                        break;
+                    }
+                }
+                if (count == 0) {
+                    connection.key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                connection.channel.write(gather, 0, count);
+                for (int i = 0; i < count; i++) {
+                    if (gather[i].hasRemaining()) {
+                        connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        Arrays.fill(gather, null);
+                        return;
+                    }
+                    connection.output.poll();
+                }
+            }
+        } catch (IOException e) {
+            Arrays.fill(gather, null);
+            this.disconnect(connection);
+        }
+    }
+
+    /**
+     * Close a channel or selector, ignoring any error.
+     *
+     * @param closeable the channel or selector to close
+     */
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // nothing left to do with it
+        }
+    }
+
+    /**
+     * A client connected to this server.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final StringBuilder line = new StringBuilder();
+        private final Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+        private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+        private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+        private SelectionKey key;
+        private Lobby lobby;
+        private SpectatorFeed.Spectator spectator;
+        private volatile TableRouter router;
+
+        /**
+         * @param channel the socket of this connection
+         */
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Queue a line to be sent to this client and wake the event loop up to send it. May be called from any thread.
+         *
+         * @param line the line to send, without its line terminator
+         */
+        private void send(String line) {
+            this.send(line, true);
+        }
+
+        /**
+         * Queue a line to be sent to this client. May be called from any thread.
+         * <p>
+         * A game usually sends several lines per move and only then waits for input. Lines that are not
+         * <code>urgent</code> do not wake the event loop up, but are sent together with the next urgent line of any
+         * connection, which saves a wake up and a write for every line but the last.
+         *
+         * @param line   the line to send, without its line terminator
+         * @param urgent whether the event loop must be woken up to send the line
+         */
+        private void send(String line, boolean urgent) {
+            this.output.add(ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8)));
+            if (this.writeScheduled.compareAndSet(false, true)) {
+                GameServer.this.pendingWrites.add(this);
+            }
+            if (urgent && Thread.currentThread() != GameServer.this.loopThread) {
+                GameServer.this.selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Players waiting for a table of a game to fill up.
+     */
+    private static final class Lobby {
+        private final String key;
+        private final List<String> usernames = new ArrayList<>();
+        private final List<Connection> connections = new ArrayList<>();
+
+        /**
+         * @param key the key of this lobby in the server's lobbies
+         */
+        private Lobby(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Routes the lines of a table's remote IO to the connections of its seats, and the answers of the seat whose turn
+     * it is back to the remote IO.
+     */
+    private final class TableRouter implements Consumer<String> {
+        private final List<String> usernames;
+        private final List<Connection> seats;
+        private final Set<Connection> members;
+        private final SpectatorFeed feed = new SpectatorFeed();
+        private volatile RemoteIO io;
+        private volatile GameHost.Table table;
+        private volatile int current = 0;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        /**
+         * @param usernames the usernames of the seats
+         * @param seats     the connection of every seat
+         */
+        private TableRouter(List<String> usernames, List<Connection> seats) {
+            this.usernames = new ArrayList<>(usernames);
+            this.seats = new ArrayList<>(seats);
+            this.members = new LinkedHashSet<>(seats);
+        }
+
+        /**
+         * Send a line of the table's remote IO to the seats it is meant for. Called on the table's thread.
+         *
+         * @param line a line sent by the remote IO
+         */
+        @Override
+        public void accept(String line) {
+            this.feed.accept(line);
+            if (line.startsWith("PROMPT")) {
+                this.seats.get(this.current).send(line);
+                return;
+            } else if (line.startsWith("HAND")) {
+                this.seats.get(this.current).send(line, false);
+                return;
+            }
+            if (line.startsWith("PLAYER ")) {
+                int seat = this.usernames.indexOf(line.substring("PLAYER ".length()));
+                if (seat >= 0) {
+                    this.current = seat;
+                }
+            }
+            if (!line.equals("END")) {
+                for (Connection connection : this.members) {
+                    connection.send(line, false);
+                }
+            }
+        }
+
+        /**
+         * Hand a line from a client to the table, if it is that client's turn.
+         *
+         * @param connection the connection that sent the line
+         * @param line       the line sent
+         */
+        private void fromClient(Connection connection, String line) {
+            if (this.seats.get(this.current) == connection) {
+                this.io.receive(line);
+            } else {
+                connection.send("ERROR Not your turn");
+            }
+        }
+
+        /**
+         * Tell the seats that their table has ended. This is only done once the host has closed the table, so that the
+         * seats can start another table straight away.
+         *
+         * @param table the table that ended
+         */
+        private void tableEnded(GameHost.Table table) {
+            this.release("END");
+        }
+
+        /**
+         * Send a last line to every seat and free their connections for another table. Only the first call has any
+         * effect.
+         *
+         * @param line the last line to send
+         */
+        private void release(String line) {
+            if (this.released.compareAndSet(false, true)) {
+                this.feed.close();
+                for (String username : this.usernames) {
+                    GameServer.this.playing.remove(username, this);
+                }
+                // freed before the line is sent, so that a command sent as soon as it arrives finds the seat free
+                for (Connection connection : this.members) {
+                    connection.router = null;
+                    connection.send(line);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package drivers;
+
+import presenters.bots.GoFishBot;
+import presenters.remote.RemoteIO;
+import usecases.GoFish;
+import usecases.IOInterfaces.GoFishIO;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of the {@link GoFishBot}. Games of Go Fish are played first with every seat playing random asks, and then
+ * with one seat, in turn, played by the bot. The benchmark reports how many games and moves it plays per second, and
+ * how often the bot wins compared to a random player.
+ * <p>
+ * Usage: <code>GoFishBotBenchmark [games] [players]</code>
+ */
+public class GoFishBotBenchmark {
+
+    public static void main(String[] args) {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+
+        for (int round = 0; round < 2; round++) {
+            run(gameCount, playerCount, false);
+            run(gameCount, playerCount, true);
+        }
+    }
+
+    /**
+     * Play games and print how fast they were played and how often the first seat won.
+     *
+     * @param gameCount   the number of games
+     * @param playerCount the number of players of every game
+     * @param withBot     whether one seat is played by the bot
+     */
+    private static void run(int gameCount, int playerCount, boolean withBot) {
+        GoFishIO io = (GoFishIO) RemoteIO.headless("Go Fish");
+        UserManager userManager = new UserManager();
+        Random random = new Random(1);
+        double wins = 0;
+        long moves = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < gameCount; i++) {
+            List<String> usernames = new ArrayList<>();
+            for (int j = 1; j < playerCount; j++) {
+                usernames.add("random" + j);
+            }
+            usernames.add(i % playerCount, "bot");
+            GoFish game = new GoFish(usernames, userManager, io, new Random(random.nextLong()));
+            GoFishBot bot = new GoFishBot(io, List.of("bot"));
+            if (withBot) {
+                bot.setGame(game);
+            }
+            while (!game.isTerminal()) {
+                Move move;
+                if (withBot && game.getCurrentPlayer().equals("bot")) {
+                    move = bot.chooseMove();
+                } else {
+                    List<Move> legal = game.legalMoves();
+                    move = legal.get(random.nextInt(legal.size()));
+                }
+                game.applyMove(move);
+                moves++;
+            }
+            List<String> winners = game.result();
+            if (winners.contains("bot")) {
+                wins += 1.0 / winners.size();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %.0f games/s, %.0f moves/s, seat won %.1f%% of %d games of %d players%n",
+                withBot ? "bot      " : "all random", gameCount / seconds, moves / seconds, 100 * wins / gameCount,
+                gameCount, playerCount);
+    }
+}
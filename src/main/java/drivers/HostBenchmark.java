@@ -0,0 +1,52 @@
+package drivers;
+
+import controllers.GameHost;
+import presenters.remote.RemoteIO;
+import usecases.usermanagement.UserManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Benchmark of how many idle tables one {@link GameHost} can keep open. The benchmark opens Go Fish tables whose
+ * remote players never answer, so every table ends up waiting for input, and then reports the time taken, the heap
+ * used and the number of live platform threads. Finally every table is cancelled.
+ * <p>
+ * Usage: <code>HostBenchmark [number of tables]</code>
+ */
+public class HostBenchmark {
+
+    public static void main(String[] args) throws GameHost.HostFullException {
+        int tableCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<String> usernames = List.of("alpha", "beta", "gamma");
+        UserManager userManager = new UserManager();
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        GameHost host = new GameHost(tableCount);
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < tableCount; i++) {
+                host.open("Go Fish", usernames, userManager, RemoteIO.create("Go Fish", line -> {
+                }));
+            }
+            long opened = System.nanoTime() - start;
+
+            System.gc();
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+            System.out.printf("%d tables on %s threads opened in %.1f ms%n", host.getOpenTables(),
+                    host.isVirtual() ? "virtual" : "platform", opened / 1e6);
+            System.out.printf("heap: %.1f MB (%.1f KB per table), live platform threads: %d%n",
+                    (heapAfter - heapBefore) / 1e6, (heapAfter - heapBefore) / 1e3 / tableCount,
+                    ManagementFactory.getThreadMXBean().getThreadCount());
+
+        } finally {
+            long start = System.nanoTime();
+            host.close();
+            System.out.printf("cancelled in %.1f ms, %d tables left%n", (System.nanoTime() - start) / 1e6,
+                    host.getOpenTables());
+        }
+    }
+}
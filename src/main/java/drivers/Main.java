@@ -1,22 +1,79 @@
 package drivers;
 
+import controllers.IOFactory;
 import controllers.MainMenu;
 import controllers.MainMenuIO;
+import presenters.console.ConsoleFactory;
+import presenters.console.MainMenuConsole;
+import presenters.gui.GUIFactory;
 import presenters.gui.MainMenuGUI;
 import usecases.usermanagement.UserDatabaseAccess;
 import userdatabases.SQLiteUserDatabase;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * Entry point of the application. The games are played in a Swing GUI by default, or on standard input and output when
+ * started with <code>--console</code>. The console mode never loads AWT, so it also works on headless machines.
+ * <p>
+ * The user database is opened, and the card images are loaded, in the background while the main menu window is being
+ * created, so the menu responds as soon as it is shown.
+ */
 public class Main {
+
+    static final String[] GAMES = {"Crazy Eights", "War", "Go Fish", "Bura"};
+    static final String DATABASE_PATH = "db/users.db";
+
     public static void main(String[] args) {
-        MainMenuIO mainMenuGUI = new MainMenuGUI();
-        MainMenu mainMenu = new MainMenu(mainMenuGUI, new String[]{"Crazy Eights", "War", "Go Fish", "Bura"});
+        boolean console = Arrays.asList(args).contains("--console");
+
+        ExecutorService startup = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "startup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<UserDatabaseAccess> database = openDatabase(DATABASE_PATH, startup);
+        if (!console) {
+            GUIFactory.preloadCardImages(startup);
+        }
+
+        MainMenuIO mainMenuIO = console ? new MainMenuConsole() : new MainMenuGUI();
+        IOFactory ioFactory = console ? new ConsoleFactory() : new GUIFactory();
+
+        run(new MainMenu(mainMenuIO, ioFactory, GAMES), database);
+        startup.shutdown();
+    }
+
+    /**
+     * Start opening the user database at <code>path</code> on <code>executor</code>.
+     *
+     * @param path     path to the SQLite user database
+     * @param executor the executor to open the database on
+     * @return a future completed with the open database
+     */
+    static CompletableFuture<UserDatabaseAccess> openDatabase(String path, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> new SQLiteUserDatabase(path), executor);
+    }
 
-        try (UserDatabaseAccess db = new SQLiteUserDatabase("db/users.db")) {
-            mainMenu.run(db);
-        } catch (IOException e) {
-            e.printStackTrace();
+    /**
+     * Run <code>mainMenu</code> and close the user database once the menu is left.
+     *
+     * @param mainMenu the main menu to run
+     * @param database the user database, possibly still opening
+     */
+    static void run(MainMenu mainMenu, CompletableFuture<UserDatabaseAccess> database) {
+        try {
+            mainMenu.run(database);
+        } finally {
+            try {
+                database.join().close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package drivers;
+
+import gamelogs.BinaryGameLog;
+import gamelogs.GameRecord;
+import gamelogs.KeyframeIndex;
+import gamelogs.Replay;
+import presenters.console.ConsoleFactory;
+import presenters.gui.GameGUIFactory;
+import usecases.IOInterfaces.GameIO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Shows a game recorded in a game log on its game GUI, or on the console with <code>--console</code>. The viewer opens
+ * the game at a move and then reads commands from standard input: an empty line steps to the next move, a number jumps
+ * to that move and <code>q</code> quits. Jumps use the log's keyframe index, which is built the first time a log is
+ * viewed.
+ * <p>
+ * Usage: <code>ReplayViewer [log] [game number] [move] [--console]</code>
+ */
+public class ReplayViewer {
+
+    private static final int KEYFRAME_INTERVAL = 32;
+
+    public static void main(String[] args) throws IOException {
+        Path log = Paths.get(args.length > 0 ? args[0] : GameServer.GAME_LOG_PATH);
+        int gameNumber = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int move = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        boolean console = args.length > 3 && args[3].equals("--console");
+
+        List<GameRecord> games = BinaryGameLog.read(log);
+        KeyframeIndex index = KeyframeIndex.load(log, games, KEYFRAME_INTERVAL);
+        GameRecord record = games.get(gameNumber);
+        System.out.printf("%s between %s, %d moves, won by %s%n", record.getName(),
+                String.join(", ", record.getUsernames()), record.getMoves().size(),
+                record.isEnded() ? record.getWinners() : "nobody yet");
+
+        GameIO gameIO = console ? new ConsoleFactory().createGameIO(record.getName())
+                : GameGUIFactory.gameGUIFactory(record.getName());
+        Replay replay = new Replay(record, gameIO, index.getKeyframes(gameNumber));
+        replay.seek(move);
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        while (true) {
+            System.out.printf("move %d of %d> ", replay.getPosition(), replay.getMoveCount());
+            String line = in.readLine();
+            if (line == null || line.trim().equals("q")) {
+                break;
+            } else if (line.trim().isEmpty()) {
+                replay.step();
+            } else {
+                try {
+                    replay.seek(Integer.parseInt(line.trim()));
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    System.out.println("Enter a move from 0 to " + replay.getMoveCount() + ", or q to quit.");
+                }
+            }
+        }
+        gameIO.close();
+    }
+}
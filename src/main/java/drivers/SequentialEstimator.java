@@ -0,0 +1,66 @@
+package drivers;
+
+import usecases.WinRateEstimate;
+
+/**
+ * Estimates how often one seat wins a game by simulating games in batches until the estimate is precise enough, rather
+ * than for a fixed number of games. Every batch is played on every core by {@link SimulationWorker#simulate}, on the
+ * seeds that follow the last batch's, and added to a {@link WinRateEstimate}. The run stops after the first batch
+ * that makes the estimate precise, or once it has played the most games allowed.
+ * <p>
+ * Batches double in size, so the estimate is only looked at a few dozen times however long the run is. Looking after
+ * every game would stop on a lucky streak far more often than the confidence allows.
+ * <p>
+ * Usage: <code>SequentialEstimator [game] [players] [seat] [half width] [confidence] [max games]</code>, where a game
+ * with spaces in its name may be written with underscores, like <code>GO_FISH</code>.
+ */
+public class SequentialEstimator {
+
+    private static final int FIRST_BATCH = 1024;
+    private static final int LARGEST_BATCH = 1 << 20;
+
+    public static void main(String[] args) {
+        String game = args.length > 0 ? args[0].replace('_', ' ') : "BURA";
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seat = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        double halfWidth = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+        double confidence = args.length > 4 ? Double.parseDouble(args[4]) : 0.95;
+        long maxGames = args.length > 5 ? Long.parseLong(args[5]) : 10_000_000;
+
+        long start = System.nanoTime();
+        WinRateEstimate estimate = estimate(game, playerCount, seat, halfWidth, confidence, maxGames, 0);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(game + ", " + playerCount + " players: " + estimate.getResult());
+        System.out.printf("seat %d wins %.2f%%, %.0f%% interval %.2f%% to %.2f%%%s%n", seat,
+                100 * estimate.getWinRate(), 100 * confidence, 100 * estimate.getLower(), 100 * estimate.getUpper(),
+                estimate.isPrecise() ? "" : ", not as precise as asked for");
+        System.out.printf("%d games in %.1f s (%.0f games/s)%n", estimate.getGames(), seconds,
+                estimate.getGames() / seconds);
+    }
+
+    /**
+     * Simulate batches of games until the win rate of a seat is known to a precision.
+     *
+     * @param game        the name of the game
+     * @param playerCount the number of players of every game
+     * @param seat        the index in turn order of the seat whose win rate is estimated
+     * @param halfWidth   the most the interval may reach on either side of the estimate
+     * @param confidence  the confidence of the interval, such as 0.95
+     * @param maxGames    the most games to play if the estimate is still not precise
+     * @param firstSeed   the seed of the first game
+     * @return the estimate after the last batch
+     */
+    public static WinRateEstimate estimate(String game, int playerCount, int seat, double halfWidth,
+                                           double confidence, long maxGames, long firstSeed) {
+        WinRateEstimate estimate = new WinRateEstimate(seat, halfWidth, confidence);
+        long seed = firstSeed;
+        int batch = FIRST_BATCH;
+        while (!estimate.isPrecise() && estimate.getGames() < maxGames) {
+            int size = (int) Math.min(batch, maxGames - estimate.getGames());
+            estimate.add(SimulationWorker.simulate(game, playerCount, seed, size));
+            seed += size;
+            batch = Math.min(batch * 2, LARGEST_BATCH);
+        }
+        return estimate;
+    }
+}
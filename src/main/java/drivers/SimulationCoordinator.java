@@ -0,0 +1,290 @@
+package drivers;
+
+import usecases.SimulationResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a sweep of simulated games over a range of seeds on worker JVMs of the same machine, so that no single heap has
+ * to hold the whole sweep. The range is split into chunks, and every worker, a {@link SimulationWorker} in a JVM of its
+ * own, is sent one chunk at a time over a local socket and answers with the {@link SimulationResult} of the chunk,
+ * which the coordinator merges into the result of the sweep.
+ * <p>
+ * A worker that fails, by closing its connection, exiting or taking too long over a chunk, is stopped and replaced by
+ * a new JVM, and its chunk is sent again before any other. A sweep fails if a chunk fails three times. Workers are
+ * started on the first sweep and kept for the next ones until the coordinator is closed.
+ * <p>
+ * Usage: <code>SimulationCoordinator [game] [players] [seeds] [workers] [seeds per chunk]</code>, where a game with
+ * spaces in its name may be written with underscores, like <code>GO_FISH</code>.
+ */
+public class SimulationCoordinator implements Closeable {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+    private static final int CHUNK_TIMEOUT_MILLIS = 10 * 60_000;
+
+    private final List<Worker> workers = new ArrayList<>();
+    private final List<String> workerArgs;
+    private final AtomicInteger retries = new AtomicInteger();
+
+    /**
+     * Create a coordinator. Its workers are started when they are first needed.
+     *
+     * @param workerCount the number of worker JVMs
+     * @param workerArgs  options passed to every worker after its port
+     */
+    public SimulationCoordinator(int workerCount, List<String> workerArgs) {
+        this.workerArgs = new ArrayList<>(workerArgs);
+        for (int i = 0; i < workerCount; i++) {
+            this.workers.add(new Worker());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String game = args.length > 0 ? args[0].replace('_', ' ') : "GO FISH";
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seedCount = args.length > 2 ? Long.parseLong(args[2]) : 100_000;
+        int workerCount = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int chunkSize = args.length > 4 ? Integer.parseInt(args[4]) : 5000;
+
+        try (SimulationCoordinator coordinator = new SimulationCoordinator(workerCount, List.of())) {
+            long start = System.nanoTime();
+            SimulationResult result = coordinator.run(game, playerCount, 0, seedCount, chunkSize);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(game + ", " + playerCount + " players: " + result);
+            System.out.printf("%d workers: %.1f s, %.0f games/s, %d chunks retried%n", workerCount, seconds,
+                    result.getGames() / seconds, coordinator.getRetries());
+        }
+    }
+
+    /**
+     * Returns the number of times a chunk was sent again
+     *
+     * @return the number of chunks that failed and were retried, over every sweep
+     */
+    public int getRetries() {
+        return this.retries.get();
+    }
+
+    /**
+     * Simulate the games of a range of seeds on the workers.
+     *
+     * @param game        the name of the game
+     * @param playerCount the number of players of every game
+     * @param firstSeed   the seed of the first game
+     * @param seedCount   the number of games
+     * @param chunkSize   the number of games sent to a worker at a time
+     * @return the totals of every game of the range
+     * @throws IOException          if a chunk failed on every attempt
+     * @throws InterruptedException if the thread is interrupted while waiting for the workers
+     */
+    public SimulationResult run(String game, int playerCount, long firstSeed, long seedCount, int chunkSize)
+            throws IOException, InterruptedException {
+        LinkedBlockingDeque<Chunk> chunks = new LinkedBlockingDeque<>();
+        for (long seed = firstSeed; seed < firstSeed + seedCount; seed += chunkSize) {
+            chunks.add(new Chunk(seed, (int) Math.min(chunkSize, firstSeed + seedCount - seed)));
+        }
+        Sweep sweep = new Sweep(game, playerCount, chunks);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < this.workers.size(); i++) {
+            Worker worker = this.workers.get(i);
+            Thread thread = new Thread(() -> sweep.work(worker), "simulation-worker-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (sweep.failure != null) {
+            throw sweep.failure;
+        }
+        return sweep.result;
+    }
+
+    /**
+     * Stop every worker.
+     */
+    @Override
+    public void close() {
+        for (Worker worker : this.workers) {
+            worker.stop();
+        }
+    }
+
+    /**
+     * A range of seeds sent to a worker at once.
+     */
+    private static final class Chunk {
+        private final long firstSeed;
+        private final int seedCount;
+        private int attempts = 0;
+
+        /**
+         * @param firstSeed the seed of the first game of the chunk
+         * @param seedCount the number of games of the chunk
+         */
+        private Chunk(long firstSeed, int seedCount) {
+            this.firstSeed = firstSeed;
+            this.seedCount = seedCount;
+        }
+    }
+
+    /**
+     * The chunks of one sweep that are left, and the result of the ones that are done.
+     */
+    private final class Sweep {
+        private final String game;
+        private final int playerCount;
+        private final LinkedBlockingDeque<Chunk> chunks;
+        private final AtomicInteger pending;
+        private final SimulationResult result;
+        private volatile IOException failure;
+
+        /**
+         * @param game        the name of the game
+         * @param playerCount the number of players of every game
+         * @param chunks      every chunk of the sweep
+         */
+        private Sweep(String game, int playerCount, LinkedBlockingDeque<Chunk> chunks) {
+            this.game = game;
+            this.playerCount = playerCount;
+            this.chunks = chunks;
+            this.pending = new AtomicInteger(chunks.size());
+            this.result = new SimulationResult(playerCount);
+        }
+
+        /**
+         * Send chunks to a worker until none are left or the sweep fails.
+         *
+         * @param worker the worker to send chunks to
+         */
+        private void work(Worker worker) {
+            while (this.pending.get() > 0 && this.failure == null) {
+                Chunk chunk;
+                try {
+                    chunk = this.chunks.poll(50, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (chunk == null) {
+                    continue;
+                }
+                try {
+                    SimulationResult done = worker.simulate(this.game, this.playerCount, chunk);
+                    synchronized (this.result) {
+                        this.result.merge(done);
+                    }
+                    this.pending.decrementAndGet();
+                } catch (IOException e) {
+                    worker.stop();
+                    chunk.attempts++;
+                    if (chunk.attempts >= MAX_ATTEMPTS) {
+                        this.failure = new IOException("The games from seed " + chunk.firstSeed + " failed "
+                                + chunk.attempts + " times.", e);
+                    } else {
+                        SimulationCoordinator.this.retries.incrementAndGet();
+                        this.chunks.addFirst(chunk);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A worker JVM and the connection to it, or nothing until it is started.
+     */
+    private final class Worker {
+        private Process process;
+        private Socket socket;
+        private DataInputStream in;
+        private DataOutputStream out;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+        /**
+         * Start the worker JVM and wait for it to connect.
+         *
+         * @throws IOException if the worker cannot be started or does not connect in time
+         */
+        private void start() throws IOException {
+            try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+                List<String> command = new ArrayList<>();
+                command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(SimulationWorker.class.getName());
+                command.add(String.valueOf(server.getLocalPort()));
+                command.addAll(SimulationCoordinator.this.workerArgs);
+                this.process = new ProcessBuilder(command)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                this.socket = server.accept();
+            }
+            this.socket.setSoTimeout(CHUNK_TIMEOUT_MILLIS);
+            this.socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(this.socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(this.socket.getOutputStream()));
+        }
+
+        /**
+         * Have the worker simulate a chunk, starting it first if it is not running.
+         *
+         * @param game        the name of the game
+         * @param playerCount the number of players of every game
+         * @param chunk       the chunk to simulate
+         * @return the result of the chunk
+         * @throws IOException if the worker fails
+         */
+        private SimulationResult simulate(String game, int playerCount, Chunk chunk) throws IOException {
+            if (this.socket == null) {
+                this.start();
+            }
+            this.out.writeUTF(game);
+            this.out.writeInt(playerCount);
+            this.out.writeLong(chunk.firstSeed);
+            this.out.writeInt(chunk.seedCount);
+            this.out.flush();
+
+            int length = this.in.readInt();
+            this.buffer.clear();
+            this.in.readFully(this.buffer.array(), 0, length);
+            this.buffer.limit(length);
+            return SimulationResult.read(this.buffer);
+        }
+
+        /**
+         * Close the connection and stop the worker JVM, if it is running.
+         */
+        private void stop() {
+            if (this.socket != null) {
+                try {
+                    this.socket.close();
+                } catch (IOException ignored) {
+                    // the worker is stopped anyway
+                }
+                this.socket = null;
+            }
+            if (this.process != null) {
+                this.process.destroyForcibly();
+                this.process = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package drivers;
+
+import presenters.bots.CrazyEightsBot;
+import presenters.bots.GoFishBot;
+import presenters.remote.RemoteIO;
+import usecases.Bura;
+import usecases.BuraState;
+import usecases.CrazyEights;
+import usecases.CrazyEightsState;
+import usecases.GameListener;
+import usecases.GameTemplate;
+import usecases.GoFish;
+import usecases.IOInterfaces.BuraIO;
+import usecases.IOInterfaces.CrazyEightsIO;
+import usecases.IOInterfaces.GoFishIO;
+import usecases.Move;
+import usecases.SimulationResult;
+import usecases.WarBatch;
+import usecases.usermanagement.UserManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A worker of a {@link SimulationCoordinator}, run in its own JVM. It connects to the coordinator on a local port,
+ * and then simulates every range of seeds it is sent and answers with the {@link SimulationResult} of the range,
+ * until the coordinator closes the connection.
+ * <p>
+ * Games are played headless, without anybody to show them to. The seed of a game seeds its deal and its players, so
+ * every seed always gives the same game. Every seat plays the same way:
+ * <ul>
+ *     <li>War has nothing to decide, and is played on a {@link WarBatch};</li>
+ *     <li>Go Fish is played by {@link GoFishBot}s;</li>
+ *     <li>Crazy Eights is played by {@link CrazyEightsBot}s on their heuristic alone, and a game in which a player has
+ *     to draw from an empty deck is unfinished;</li>
+ *     <li>Bura is played with random cards, as its bot searches for far too long per move for a sweep.</li>
+ * </ul>
+ * A game still going after {@value #MAX_MOVES} moves is unfinished. A game of War found in a cycle is stopped and
+ * counted as such, and the final books of every player of Go Fish and points of every player of Bura are counted as
+ * scores.
+ * <p>
+ * A range of seeds is split between the threads of the common fork-join pool. Every part of the range counts its games
+ * in a result of its own, and the parts are merged as they finish, so the threads share nothing while they play.
+ * Every part plays its games of each kind on one instance, dealt again with {@link GameTemplate#reset(long)} for every
+ * seed.
+ * <p>
+ * Usage: <code>SimulationWorker port [--exit-after chunks]</code>, where the option makes the worker exit without an
+ * answer when it is sent one more chunk, to see the coordinator retry it.
+ */
+public class SimulationWorker {
+
+    static final int MAX_MOVES = 5000;
+    private static final int WAR_LANES = 4096;
+    private static final int GAMES_PER_PART = 256;
+    private static final GameListener NO_LISTENER = new GameListener() {
+    };
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.parseInt(args[0]);
+        int exitAfter = args.length > 2 && args[1].equals("--exit-after") ? Integer.parseInt(args[2]) : -1;
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            for (int chunks = 0; ; chunks++) {
+                String game;
+                try {
+                    game = in.readUTF();
+                } catch (EOFException e) {
+                    return;
+                }
+                int playerCount = in.readInt();
+                long firstSeed = in.readLong();
+                int seedCount = in.readInt();
+                if (chunks == exitAfter) {
+                    System.exit(1);
+                }
+
+                SimulationResult result = simulate(game, playerCount, firstSeed, seedCount);
+                buffer.clear();
+                result.write(buffer);
+                out.writeInt(buffer.position());
+                out.write(buffer.array(), 0, buffer.position());
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Simulate the games of a range of seeds.
+     *
+     * @param game        the name of the game, as passed to {@link GameTemplate#getMaxPlayers(String)}
+     * @param playerCount the number of players of every game
+     * @param firstSeed   the seed of the first game
+     * @param seedCount   the number of games
+     * @return the totals of the games
+     */
+    public static SimulationResult simulate(String game, int playerCount, long firstSeed, int seedCount) {
+        if (playerCount < GameTemplate.getMinPlayers(game) || playerCount > GameTemplate.getMaxPlayers(game)) {
+            throw new IllegalArgumentException(game + " cannot be played by " + playerCount + " players.");
+        }
+        return ForkJoinPool.commonPool().invoke(new Part(game.toUpperCase(), playerCount, firstSeed, seedCount));
+    }
+
+    /**
+     * Simulate the games of a range of seeds on the current thread.
+     *
+     * @param game        the name of the game, in upper case
+     * @param playerCount the number of players of every game
+     * @param firstSeed   the seed of the first game
+     * @param seedCount   the number of games
+     * @return the totals of the games
+     */
+    private static SimulationResult simulatePart(String game, int playerCount, long firstSeed, int seedCount) {
+        SimulationResult result = new SimulationResult(playerCount);
+        if (game.equals("WAR")) {
+            simulateWar(result, firstSeed, seedCount);
+            return result;
+        }
+
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            usernames.add("seat" + i);
+        }
+        UserManager userManager = new UserManager();
+        CrazyEightsIO crazyEightsIO = (CrazyEightsIO) RemoteIO.headless("Crazy Eights");
+        GoFishIO goFishIO = (GoFishIO) RemoteIO.headless("Go Fish");
+        GoFishBot goFishBot = new GoFishBot(goFishIO, usernames);
+        GoFish goFish = null;
+        CrazyEights crazyEights = null;
+        Bura bura = null;
+        Random random = new Random();
+        for (long seed = firstSeed; seed < firstSeed + seedCount; seed++) {
+            switch (game) {
+                case "GO FISH":
+                    if (goFish == null) {
+                        goFish = new GoFish(usernames, userManager, goFishIO, new Random(seed));
+                    } else {
+                        goFish.reset(seed);
+                        // drop the bot's knowledge of the last game before it follows this one
+                        goFish.setListener(NO_LISTENER);
+                    }
+                    goFishBot.setGame(goFish);
+                    playGoFish(result, goFish, goFishBot);
+                    break;
+                case "CRAZY EIGHTS":
+                    if (crazyEights == null) {
+                        crazyEights = new CrazyEights(usernames, userManager, crazyEightsIO, new Random(seed));
+                    } else {
+                        crazyEights.reset(seed);
+                    }
+                    playCrazyEights(result, crazyEights, crazyEightsIO, seed);
+                    break;
+                case "BURA":
+                    if (bura == null) {
+                        bura = new Bura(usernames, userManager, (BuraIO) RemoteIO.headless("Bura"), new Random(seed));
+                    } else {
+                        bura.reset(seed);
+                    }
+                    random.setSeed(seed);
+                    playBura(result, bura, random);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Illegal game selection of " + game + '.');
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Play the games of War of a range of seeds, a batch of lanes at a time.
+     */
+    private static void simulateWar(SimulationResult result, long firstSeed, int seedCount) {
+        WarBatch full = new WarBatch(Math.max(1, Math.min(WAR_LANES, seedCount)));
+        for (long batchStart = firstSeed; batchStart < firstSeed + seedCount; batchStart += full.getLanes()) {
+            int lanes = (int) Math.min(full.getLanes(), firstSeed + seedCount - batchStart);
+            WarBatch batch = lanes == full.getLanes() ? full : new WarBatch(lanes);
+            for (int lane = 0; lane < lanes; lane++) {
+                batch.deal(lane, batchStart + lane);
+            }
+            batch.run(MAX_MOVES);
+            for (int lane = 0; lane < lanes; lane++) {
+                int winner = batch.getWinner(lane);
+                if (winner == WarBatch.NONE) {
+                    result.addUnfinished(batch.getRounds(lane));
+                } else if (winner == WarBatch.CYCLE) {
+                    result.addCycle(batch.getRounds(lane), batch.getCycleLength(lane));
+                } else if (winner == WarBatch.TIE) {
+                    result.addTie(batch.getRounds(lane));
+                } else {
+                    result.addWin(winner, batch.getRounds(lane));
+                }
+            }
+        }
+    }
+
+    /**
+     * Play a game of Go Fish that has just been dealt with a bot in every seat.
+     */
+    private static void playGoFish(SimulationResult result, GoFish game, GoFishBot bot) {
+        int moves = 0;
+        while (!game.isTerminal() && moves < MAX_MOVES) {
+            game.applyMove(bot.chooseMove());
+            moves++;
+        }
+        addResult(result, game, moves);
+        for (int i = 0; i < game.getUsernames().size(); i++) {
+            result.addScore(game.getBooks(i));
+        }
+    }
+
+    /**
+     * Play a game of Crazy Eights that has just been dealt with a bot in every seat.
+     */
+    private static void playCrazyEights(SimulationResult result, CrazyEights game, CrazyEightsIO io, long seed) {
+        CrazyEightsBot bot = new CrazyEightsBot(io, game.getUsernames(), 0, seed);
+        int moves = 0;
+        while (!game.isTerminal() && moves < MAX_MOVES) {
+            CrazyEightsState state = game.getState();
+            game.applyMove(CrazyEightsState.toMove(bot.chooseMove(state)));
+            moves++;
+        }
+        addResult(result, game, moves);
+    }
+
+    /**
+     * Play a game of Bura that has just been dealt with random cards in every seat.
+     */
+    private static void playBura(SimulationResult result, Bura game, Random random) {
+        int moves = 0;
+        while (!game.isTerminal() && moves < MAX_MOVES) {
+            List<Move> legal = game.legalMoves();
+            game.applyMove(legal.get(random.nextInt(legal.size())));
+            moves++;
+        }
+        addResult(result, game, moves);
+        BuraState state = game.getState();
+        for (int i = 0; i < game.getUsernames().size(); i++) {
+            result.addScore(state.getScore(i));
+        }
+    }
+
+    /**
+     * Count a game that has been played as far as it will go.
+     */
+    private static void addResult(SimulationResult result, GameTemplate game, int moves) {
+        if (!game.isTerminal()) {
+            result.addUnfinished(moves);
+            return;
+        }
+        List<String> winners = game.result();
+        if (winners.size() == 1) {
+            result.addWin(game.getUsernames().indexOf(winners.get(0)), moves);
+        } else {
+            result.addTie(moves);
+        }
+    }
+
+    /**
+     * A part of a range of seeds, which splits itself in two until it is small enough to play on one thread.
+     */
+    private static final class Part extends RecursiveTask<SimulationResult> {
+        private final String game;
+        private final int playerCount;
+        private final long firstSeed;
+        private final int seedCount;
+
+        /**
+         * @param game        the name of the game, in upper case
+         * @param playerCount the number of players of every game
+         * @param firstSeed   the seed of the first game of the part
+         * @param seedCount   the number of games of the part
+         */
+        private Part(String game, int playerCount, long firstSeed, int seedCount) {
+            this.game = game;
+            this.playerCount = playerCount;
+            this.firstSeed = firstSeed;
+            this.seedCount = seedCount;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            int smallest = this.game.equals("WAR") ? WAR_LANES : GAMES_PER_PART;
+            if (this.seedCount <= smallest) {
+                return simulatePart(this.game, this.playerCount, this.firstSeed, this.seedCount);
+            }
+            int half = this.seedCount / 2;
+            Part right = new Part(this.game, this.playerCount, this.firstSeed + half, this.seedCount - half);
+            right.fork();
+            SimulationResult result = new Part(this.game, this.playerCount, this.firstSeed, half).compute();
+            result.merge(right.join());
+            return result;
+        }
+    }
+}
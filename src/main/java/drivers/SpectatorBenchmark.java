@@ -0,0 +1,72 @@
+package drivers;
+
+import presenters.remote.SpectatorFeed;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of what spectators cost the table they watch. A table thread publishes lines to a {@link SpectatorFeed},
+ * once with no spectators and once with many, which another thread drains as fast as it can. The benchmark reports the
+ * time the table spends publishing each line, the lines delivered and how often a spectator fell behind and got a
+ * snapshot instead.
+ * <p>
+ * Usage: <code>SpectatorBenchmark [spectators] [lines]</code>
+ */
+public class SpectatorBenchmark {
+
+    private static final String[] LINES = {"PLAYER alpha", "BOARD AH,10S|", "MESSAGE alpha played AH",
+            "PLAYER beta", "BOARD AH,10S|KD", "TOP 10S", "MESSAGE beta played KD"};
+
+    public static void main(String[] args) throws InterruptedException {
+        int spectatorCount = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int lineCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        run(0, lineCount);
+        run(spectatorCount, lineCount);
+    }
+
+    /**
+     * Publish lines to a feed with some spectators and print the publishing latency.
+     *
+     * @param spectatorCount the number of spectators
+     * @param lineCount      the number of lines to publish
+     * @throws InterruptedException if interrupted while waiting for the spectators
+     */
+    private static void run(int spectatorCount, int lineCount) throws InterruptedException {
+        SpectatorFeed feed = new SpectatorFeed();
+        AtomicLong received = new AtomicLong();
+        SpectatorFeed.Spectator[] spectators = new SpectatorFeed.Spectator[spectatorCount];
+        for (int i = 0; i < spectatorCount; i++) {
+            spectators[i] = feed.subscribe(line -> received.incrementAndGet());
+        }
+        Thread drainer = new Thread(() -> {
+            while (!feed.getSpectators().isEmpty()) {
+                feed.deliver();
+            }
+        });
+        drainer.start();
+
+        long[] latencies = new long[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            long start = System.nanoTime();
+            feed.accept(LINES[i % LINES.length]);
+            latencies[i] = System.nanoTime() - start;
+        }
+        feed.close();
+        drainer.join();
+
+        Arrays.sort(latencies);
+        System.out.printf("%d spectators: publish p50 %d ns, p99 %d ns, p99.9 %d ns; %d lines delivered%n",
+                spectatorCount, latencies[lineCount / 2], latencies[lineCount * 99 / 100],
+                latencies[lineCount * 999 / 1000], received.get());
+        if (spectatorCount > 0) {
+            long snapshots = 0;
+            for (SpectatorFeed.Spectator spectator : spectators) {
+                snapshots += spectator.getSnapshots();
+            }
+            System.out.printf("lines per spectator: %.0f of %d, snapshots per spectator: %.1f%n",
+                    (double) received.get() / spectatorCount, lineCount, (double) snapshots / spectatorCount);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package drivers;
+
+import controllers.MainMenu;
+import controllers.MainMenuIO;
+import presenters.gui.GUIFactory;
+import presenters.gui.MainMenuGUI;
+import usecases.usermanagement.UserDatabaseAccess;
+import usecases.usermanagement.UserManager;
+import userdatabases.SQLiteUserDatabase;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Benchmark of the application's time-to-interactive: the time from the start of <code>main</code> until the main
+ * menu window is shown with its games and ready for the user's first selection. The benchmark fills a temporary user
+ * database with many users and then starts the application the same way {@link Main} does, opening the database and
+ * preloading the card images while the real main menu window is created. For comparison it also reports how long the
+ * old, eager startup would have taken, i.e. opening the database and importing every user before showing the menu.
+ * <p>
+ * The main menu window needs a display, so the benchmark does nothing on a headless machine.
+ * <p>
+ * Usage: <code>StartupBenchmark [number of users] [repetitions]</code>
+ */
+public class StartupBenchmark {
+
+    private static final long TARGET_MILLIS = 300;
+
+    public static void main(String[] args) throws IOException, SQLException, InterruptedException {
+        int userCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("The main menu window needs a display; time-to-interactive cannot be measured here.");
+            return;
+        }
+
+        File dbFile = Files.createTempFile("startup-benchmark", ".db").toFile();
+        dbFile.deleteOnExit();
+        fillDatabase(dbFile.getAbsolutePath(), userCount);
+        System.out.printf("Database with %d users: %s%n", userCount, dbFile);
+
+        long worstInteractive = 0;
+        for (int i = 0; i < repetitions; i++) {
+            long interactive = timeToInteractive(dbFile.getAbsolutePath());
+            long eager = eagerStartup(dbFile.getAbsolutePath());
+            worstInteractive = Math.max(worstInteractive, interactive);
+            System.out.printf("run %d: time-to-interactive %.1f ms, eager open + import %.1f ms%n",
+                    i + 1, interactive / 1e6, eager / 1e6);
+        }
+
+        System.out.printf("worst time-to-interactive: %.1f ms (target %d ms) %s%n", worstInteractive / 1e6,
+                TARGET_MILLIS, worstInteractive / 1_000_000 < TARGET_MILLIS ? "OK" : "TOO SLOW");
+    }
+
+    /**
+     * Create the users table and insert <code>userCount</code> users with random statistics in one transaction.
+     *
+     * @param path      path of the database file
+     * @param userCount the number of users to insert
+     * @throws SQLException if the users could not be inserted
+     */
+    private static void fillDatabase(String path, int userCount) throws SQLException {
+        new SQLiteUserDatabase(path).close();
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + path)) {
+            conn.setAutoCommit(false);
+            String insert = "INSERT INTO users (username, gamesPlayed, gamesWon, gamesTied) VALUES(?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                for (int i = 0; i < userCount; i++) {
+                    stmt.setString(1, "user" + i);
+                    stmt.setInt(2, i % 1000);
+                    stmt.setInt(3, i % 500);
+                    stmt.setInt(4, i % 50);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            conn.commit();
+        }
+    }
+
+    /**
+     * Start the application like {@link Main} does, with the real main menu window, and return the time until the
+     * window is shown with its games and the EDT is free to take the user's first selection. The menu is then left.
+     *
+     * @param path path of the database file
+     * @return the time-to-interactive in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the menu
+     */
+    private static long timeToInteractive(String path) throws InterruptedException {
+        long start = System.nanoTime();
+        long[] interactive = new long[1];
+        CountDownLatch ready = new CountDownLatch(1);
+
+        ExecutorService startup = Executors.newCachedThreadPool();
+        CompletableFuture<UserDatabaseAccess> database = Main.openDatabase(path, startup);
+        GUIFactory.preloadCardImages(startup);
+        MainMenuIO menuIO = new TimedMainMenuGUI(() -> {
+            interactive[0] = System.nanoTime() - start;
+            ready.countDown();
+        });
+
+        Thread menu = new Thread(() -> Main.run(new MainMenu(menuIO, new GUIFactory(), Main.GAMES), database),
+                "main menu");
+        menu.start();
+        ready.await();
+        // an interrupted main menu window answers EXIT
+        menu.interrupt();
+        menu.join();
+        startup.shutdown();
+        return interactive[0];
+    }
+
+    /**
+     * Open the database and import every user before returning, the way startup worked before it was made lazy.
+     *
+     * @param path path of the database file
+     * @return the time taken in nanoseconds
+     * @throws IOException if the database could not be closed
+     */
+    private static long eagerStartup(String path) throws IOException {
+        long start = System.nanoTime();
+        try (UserDatabaseAccess db = new SQLiteUserDatabase(path)) {
+            UserManager.importFromUserDatabase(db);
+            return System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * A main menu window that tells when it is interactive: once it has been asked for a selection, its game buttons
+     * have been added, and it is showing on screen with no changes or repaints still queued before it on the EDT.
+     */
+    private static final class TimedMainMenuGUI extends MainMenuGUI {
+        private final Runnable onInteractive;
+        private volatile boolean asked;
+
+        /**
+         * @param onInteractive run on the EDT once the window is interactive
+         */
+        private TimedMainMenuGUI(Runnable onInteractive) {
+            super();
+            this.onInteractive = onInteractive;
+        }
+
+        @Override
+        public int getUserSelection(String[] games) {
+            this.asked = true;
+            return super.getUserSelection(games);
+        }
+
+        @Override
+        protected void update() {
+            super.update();
+            if (this.asked) {
+                // queued after the game buttons, so it runs in the same batch once they are added
+                onEdt(() -> SwingUtilities.invokeLater(this::awaitShown));
+            }
+        }
+
+        /**
+         * Run the interactive callback if the window is showing, or check again after everything now on the EDT's
+         * queue, such as the window's first paint. Must only be run on the EDT.
+         */
+        private void awaitShown() {
+            if (this.frame.isShowing() && this.frame.isValid()) {
+                this.onInteractive.run();
+            } else {
+                SwingUtilities.invokeLater(this::awaitShown);
+            }
+        }
+    }
+}
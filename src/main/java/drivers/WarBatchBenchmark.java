@@ -0,0 +1,62 @@
+package drivers;
+
+import usecases.WarBatch;
+
+/**
+ * Benchmark of {@link WarBatch}. Plays War on every lane of a batch for a number of seconds, dealing a lane again
+ * whenever its game is over or has played the most rounds allowed, and reports how many rounds it plays per minute and
+ * how the games ended, counting the games found in a cycle apart from the ones that were won or tied. The ranks are
+ * compared on the Vector API only when the JVM is started with <code>--add-modules jdk.incubator.vector</code>.
+ * <p>
+ * Usage: <code>WarBatchBenchmark [lanes] [seconds] [max rounds per game]</code>
+ */
+public class WarBatchBenchmark {
+
+    private static final int STEPS_BETWEEN_DEALS = 16;
+
+    public static void main(String[] args) {
+        int lanes = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 10;
+        int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+
+        WarBatch batch = new WarBatch(lanes);
+        long seed = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            batch.deal(lane, seed++);
+        }
+        long[] outcomes = new long[4];
+        long stopped = 0;
+        long finishedRounds = 0;
+
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < STEPS_BETWEEN_DEALS; i++) {
+                batch.step();
+            }
+            for (int lane = 0; lane < lanes; lane++) {
+                if (batch.isOver(lane)) {
+                    int winner = batch.getWinner(lane);
+                    outcomes[winner]++;
+                    if (winner != WarBatch.CYCLE) {
+                        finishedRounds += batch.getRounds(lane);
+                    }
+                    batch.deal(lane, seed++);
+                } else if (batch.getRounds(lane) >= maxRounds) {
+                    stopped++;
+                    batch.deal(lane, seed++);
+                }
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long finished = outcomes[0] + outcomes[1] + outcomes[2];
+        System.out.printf("%d lanes, %s compare: %.2f billion rounds/min (%.0f M rounds/s)%n", lanes,
+                batch.isVectorized() ? "vector" : "scalar",
+                batch.getTotalRounds() / elapsed * 60 / 1e9, batch.getTotalRounds() / elapsed / 1e6);
+        System.out.printf("%d games over in %.0f rounds on average: first %d, second %d, ties %d; "
+                        + "%d found in a cycle, %d stopped after %d rounds%n", finished,
+                (double) finishedRounds / Math.max(1, finished), outcomes[0], outcomes[1], outcomes[2],
+                outcomes[WarBatch.CYCLE], stopped, maxRounds);
+    }
+}
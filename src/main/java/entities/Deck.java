@@ -5,10 +5,14 @@ import java.util.*;
 /**
  * A collection of cards in a queue format. Usually initialized with 52 Card objects, each representing 1 of the 52 unique cards in a
  * standard deck. However, can be initialized with other collections of cards
+ * <p>
+ * The cards are kept in a list from the top down, and cards are drawn by moving past the top rather than removing it,
+ * so that a deck can be drawn, shuffled and refilled again and again without allocating.
  */
 public class Deck {
 
-    private final Queue<Card> cards;
+    private final ArrayList<Card> cards;
+    private int top = 0;
 
     /**
      * Constructs a deck and initializes it with a list of Card objects passed to it
@@ -16,8 +20,20 @@ public class Deck {
      * @param cards list of Card objects
      */
     public Deck(List<Card> cards) {
-        this.cards = new LinkedList<>();
-        this.cards.addAll(cards);
+        this.cards = new ArrayList<>(cards);
+    }
+
+    /**
+     * Replace the cards of this deck, without allocating once the deck has held as many cards before.
+     *
+     * @param cards the new cards of the deck, from the top down
+     */
+    public void reset(List<Card> cards) {
+        this.cards.clear();
+        this.top = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            this.cards.add(cards.get(i));
+        }
     }
 
     /**
@@ -26,7 +42,12 @@ public class Deck {
      * @return the Card that was just removed
      */
     public Card drawCard() {
-        return cards.remove();
+        if (this.top == this.cards.size()) {
+            throw new NoSuchElementException();
+        }
+        Card card = this.cards.get(this.top);
+        this.cards.set(this.top++, null);
+        return card;
     }
 
     /**
@@ -42,16 +63,20 @@ public class Deck {
      * @param rand Random object used to seed the shuffle
      */
     public void shuffle(Random rand) {
-        Collections.shuffle((List<?>) this.cards, rand);
+        // the same swaps as Collections.shuffle, over the cards left
+        for (int i = this.cards.size() - this.top; i > 1; i--) {
+            int j = this.top + rand.nextInt(i);
+            this.cards.set(j, this.cards.set(this.top + i - 1, this.cards.get(j)));
+        }
     }
 
     /**
      * Returns the top card of the deck
      *
-     * @return the first Card object in the instance attribute 'cards'
+     * @return the top Card object, or null if the deck is empty
      */
     public Card peek() {
-        return cards.peek();
+        return this.isEmpty() ? null : this.cards.get(this.top);
     }
 
     /**
@@ -60,7 +85,7 @@ public class Deck {
      * @return a boolean for if deck is empty or not
      */
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return this.top == this.cards.size();
     }
 
     /**
@@ -69,17 +94,30 @@ public class Deck {
      * @param card the Card object to be added to the end of the instance attribute 'cards'
      */
     public void addCard(Card card) {
-        cards.add(card);
+        if (this.isEmpty()) {
+            this.cards.clear();
+            this.top = 0;
+        }
+        this.cards.add(card);
     }
 
 
+    /**
+     * Returns the cards in the deck
+     *
+     * @return a copy of the cards in the deck, from the top down
+     */
+    public List<Card> getCards() {
+        return new ArrayList<>(this.cards.subList(this.top, this.cards.size()));
+    }
+
     /**
      * Returns the number of cards in the deck
      *
-     * @return the size of the instance attribute 'cards'
+     * @return the number of cards left to draw
      */
     public int getSize() {
-        return cards.size();
+        return this.cards.size() - this.top;
     }
 
 }
@@ -112,6 +112,13 @@ public class Hand implements Iterable<Card> {
         return toReturn;
     }
 
+    /**
+     * Removes every card from the hand
+     */
+    public void clear() {
+        this.cards.clear();
+    }
+
     /**
      * Returns the number of cards in the hand
      *
@@ -1,15 +1,21 @@
 package entities;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Class that represents a specific user. This object tracks the username and the stats associated with that username,
  * such as the number of games they have won, tied, or lost.
+ * <p>
+ * Each statistic is a <code>LongAdder</code>, so games on many threads can add to it without losing a count or
+ * waiting on each other. Reading several statistics does not see them at one instant; a consistent snapshot comes from
+ * {@link usecases.usermanagement.UserManager#getSnapshot(String)}.
  */
 public class User {
 
     private final String username;
-    private int gamesWon;
-    private int gamesPlayed;
-    private int gamesTied;
+    private final LongAdder gamesWon = new LongAdder();
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder gamesTied = new LongAdder();
 
     /**
      * Constructs a User with the given username.
@@ -18,9 +24,6 @@ public class User {
      */
     public User(String username) {
         this.username = username;
-        this.gamesWon = 0;
-        this.gamesPlayed = 0;
-        this.gamesTied = 0;
     }
 
     /**
@@ -33,9 +36,9 @@ public class User {
      */
     public User(String username, int gamesPlayed, int gamesWon, int gamesTied) {
         this.username = username;
-        this.gamesWon = gamesWon;
-        this.gamesPlayed = gamesPlayed;
-        this.gamesTied = gamesTied;
+        this.gamesWon.add(gamesWon);
+        this.gamesPlayed.add(gamesPlayed);
+        this.gamesTied.add(gamesTied);
     }
 
     /**
@@ -53,8 +56,8 @@ public class User {
      * @return the current number of wins of the User
      */
     public int addWin() {
-        this.gamesWon += 1;
-        return this.gamesWon;
+        this.gamesWon.increment();
+        return this.gamesWon.intValue();
     }
 
     /**
@@ -63,8 +66,8 @@ public class User {
      * @return the current number of games played of the User
      */
     public int addPlayed() {
-        this.gamesPlayed += 1;
-        return this.gamesPlayed;
+        this.gamesPlayed.increment();
+        return this.gamesPlayed.intValue();
     }
 
     /**
@@ -73,8 +76,8 @@ public class User {
      * @return the current number of ties of the User
      */
     public int addTied() {
-        this.gamesTied += 1;
-        return this.gamesTied;
+        this.gamesTied.increment();
+        return this.gamesTied.intValue();
     }
 
     /**
@@ -83,7 +86,7 @@ public class User {
      * @return number of games won by the User
      */
     public int getGamesWon() {
-        return this.gamesWon;
+        return this.gamesWon.intValue();
     }
 
     /**
@@ -92,7 +95,7 @@ public class User {
      * @return number of games played by the User
      */
     public int getGamesPlayed() {
-        return this.gamesPlayed;
+        return this.gamesPlayed.intValue();
     }
 
     /**
@@ -101,6 +104,6 @@ public class User {
      * @return number of ties of the User
      */
     public int getGamesTied() {
-        return this.gamesTied;
+        return this.gamesTied.intValue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,552 @@
+package gamelogs;
+
+import entities.Card;
+import helpers.CardCodec;
+import usecases.GameListener;
+import usecases.GameTemplate;
+import usecases.Move;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An append-only binary log of every game recorded to it. Many games, on many threads, can be recorded to one log.
+ * <p>
+ * A game is recorded from the moment it is dealt: the log writes the game's name, the seed of its Random object, its
+ * players and the deal, and then listens to the game for every move, every card drawn during play and its end. A game
+ * resumed from a {@link Checkpoint} is recorded the same way, except that its first event holds the checkpoint and the
+ * hands and deck it was resumed with instead of a seed and a deal. Cards
+ * are written as single byte ordinals and numbers as varints (see {@link CardCodec}), so a move takes three to five
+ * bytes including the id of its game.
+ * <p>
+ * Events are collected in a buffer that is written to the file whenever it fills up and otherwise every
+ * <code>flushMillis</code>, so recording a move costs no system call. There are two buffers: a full one is swapped for
+ * the empty one while holding the log's lock and handed to a writer thread of the log's own, so games keep recording
+ * into the other buffer while the file is being written. The writer thread never takes the lock, so a game waiting
+ * under the lock for the other buffer to be written always gets it. The file is only forced to the disk when the log
+ * is closed. A
+ * failure to write does not disturb the games being recorded; it is thrown by the next {@link #flush()} or
+ * {@link #close()}.
+ * <p>
+ * The file starts with the bytes "CMLG" and a version. Each event after that is the varint id of its game, a varint tag
+ * holding the index of its player shifted left by four bits and its kind in the low four bits, and the kind's fields.
+ * Logs of version 1, which had no pass events, kept the kind in three bits, and can still be read.
+ * Game ids count up from 1 each time a log is opened, so a new game can reuse the id of a game from an earlier run;
+ * a start event always begins a new game.
+ */
+public class BinaryGameLog implements Closeable {
+
+    private static final byte[] MAGIC = {'C', 'M', 'L', 'G'};
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int START = 0;
+    private static final int FLIP = 1;
+    private static final int ASK = 2;
+    private static final int PLAY = 3;
+    private static final int PLAY_SUIT = 4;
+    private static final int DRAW = 5;
+    private static final int DRAWN = 6;
+    private static final int END = 7;
+    private static final int PASS = 8;
+    private static final int RESUME = 9;
+
+    private final FileChannel channel;
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService writer;
+    // the buffers that have been written and can be filled again
+    private final BlockingQueue<ByteBuffer> written = new ArrayBlockingQueue<>(2);
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private ByteBuffer buffer;
+    private long nextId = 1;
+
+    /**
+     * Open a log that is flushed every second.
+     *
+     * @param path the file to append to, which is created if it does not exist
+     * @throws IOException if the file cannot be opened
+     */
+    public BinaryGameLog(Path path) throws IOException {
+        this(path, 1000);
+    }
+
+    /**
+     * Open a log.
+     *
+     * @param path        the file to append to, which is created if it does not exist
+     * @param flushMillis how often buffered events are written to the file, in milliseconds
+     * @throws IOException if the file cannot be opened
+     */
+    public BinaryGameLog(Path path, long flushMillis) throws IOException {
+        this(path, flushMillis, BUFFER_SIZE);
+    }
+
+    /**
+     * Open a log with buffers of a given size, which only tests need to choose.
+     *
+     * @param path        the file to append to, which is created if it does not exist
+     * @param flushMillis how often buffered events are written to the file, in milliseconds
+     * @param bufferSize  the size of each of the two buffers, in bytes
+     * @throws IOException if the file cannot be opened
+     */
+    BinaryGameLog(Path path, long flushMillis, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        if (this.channel.size() == 0) {
+            this.buffer.put(MAGIC);
+            CardCodec.writeVarint(this.buffer, VERSION);
+        }
+        this.written.add(ByteBuffer.allocateDirect(bufferSize));
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start recording a game that has just been created. The deal is written straight away, and the game's listener is
+     * replaced by one that writes its events to this log.
+     *
+     * @param game a game that has been dealt, but in which no move has been made yet
+     * @param seed the seed of the Random object the game was created with
+     * @return the id of the game within this log
+     */
+    public synchronized long record(GameTemplate game, long seed) {
+        long id = this.nextId++;
+        List<String> usernames = game.getUsernames();
+        List<byte[]> names = new ArrayList<>();
+        int size = 32 + 2 * CardCodec.DECK_SIZE;
+        for (String username : usernames) {
+            names.add(username.getBytes(StandardCharsets.UTF_8));
+            size += 5 + names.get(names.size() - 1).length;
+        }
+        byte[] gameName = game.toString().getBytes(StandardCharsets.UTF_8);
+        size += 5 + gameName.length;
+
+        ByteBuffer start = ByteBuffer.allocate(size);
+        writeHeader(start, id, 0, START);
+        writeBytes(start, gameName);
+        CardCodec.writeSignedVarint(start, seed);
+        CardCodec.writeVarint(start, names.size());
+        for (byte[] name : names) {
+            writeBytes(start, name);
+        }
+        writeDeal(start, game);
+        start.flip();
+        this.reserve(start.remaining());
+        this.buffer.put(start);
+
+        game.setListener(new Recorder(id));
+        return id;
+    }
+
+    /**
+     * Start recording a game that has just been resumed from a checkpoint. The checkpoint and the cards the game was
+     * resumed with are written straight away, and the game's listener is replaced by one that writes its events to
+     * this log.
+     *
+     * @param game       a game returned by {@link Checkpoint#resume}, in which no move has been made yet
+     * @param checkpoint the checkpoint the game was resumed from
+     * @return the id of the game within this log
+     */
+    public synchronized long recordResumed(GameTemplate game, Checkpoint checkpoint) {
+        long id = this.nextId++;
+        byte[] bytes = checkpoint.toBytes();
+        ByteBuffer resume = ByteBuffer.allocate(32 + 2 * CardCodec.DECK_SIZE + 5 * game.getUsernames().size()
+                + bytes.length);
+        writeHeader(resume, id, 0, RESUME);
+        writeBytes(resume, bytes);
+        writeDeal(resume, game);
+        resume.flip();
+        this.reserve(resume.remaining());
+        this.buffer.put(resume);
+
+        game.setListener(new Recorder(id));
+        return id;
+    }
+
+    /**
+     * Write every buffered event to the file.
+     *
+     * @throws IOException if writing failed, now or since the last flush
+     */
+    public void flush() throws IOException {
+        Future<?> done;
+        synchronized (this) {
+            done = this.handOver();
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                throw new IOException("Writing the game log failed.", e.getCause());
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        IOException e = this.failure.getAndSet(null);
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Stop flushing periodically, write every buffered event and force the file to the disk.
+     *
+     * @throws IOException if writing failed, now or since the last flush
+     */
+    @Override
+    public void close() throws IOException {
+        this.flusher.shutdown();
+        try {
+            this.flush();
+            this.channel.force(false);
+        } finally {
+            this.writer.shutdown();
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Read every game in a log file. A log that ends in the middle of an event, because its writer stopped while
+     * writing, is read up to the last whole event.
+     *
+     * @param path a file written by a <code>BinaryGameLog</code>
+     * @return the games in the log, in the order they were started
+     * @throws IOException if the file cannot be read or is not a game log
+     */
+    public static List<GameRecord> read(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        List<GameRecord> games = new ArrayList<>();
+        Map<Long, GameRecord> open = new HashMap<>();
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            long version = Arrays.equals(magic, MAGIC) ? CardCodec.readVarint(in) : 0;
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Not a game log: " + path);
+            }
+            int kindBits = version == 1 ? 3 : 4;
+            while (in.hasRemaining()) {
+                long id = CardCodec.readVarint(in);
+                long tag = CardCodec.readVarint(in);
+                int kind = (int) (tag & ((1 << kindBits) - 1));
+                int player = (int) (tag >>> kindBits);
+                if (kind == START || kind == RESUME && version == VERSION) {
+                    GameRecord game = kind == START ? readStart(in, id) : readResume(in, id);
+                    games.add(game);
+                    open.put(id, game);
+                    continue;
+                }
+                GameRecord game = open.get(id);
+                if (game == null) {
+                    throw new IOException("Event of unknown game " + id + " in " + path);
+                }
+                switch (kind) {
+                    case FLIP:
+                        game.addEvent(player, Move.flip(), null);
+                        break;
+                    case ASK:
+                        int asked = (int) CardCodec.readVarint(in);
+                        game.addEvent(player, Move.ask(CardCodec.rank(asked % 13),
+                                game.getUsernames().get(asked / 13)), null);
+                        break;
+                    case PLAY:
+                        game.addEvent(player, Move.play(CardCodec.card(in.get()).toString()), null);
+                        break;
+                    case PLAY_SUIT:
+                        String card = CardCodec.card(in.get()).toString();
+                        game.addEvent(player, Move.play(card, CardCodec.suit(in.get())), null);
+                        break;
+                    case DRAW:
+                        game.addEvent(player, Move.draw(), null);
+                        break;
+                    case DRAWN:
+                        game.addEvent(player, null, CardCodec.card(in.get()));
+                        break;
+                    case PASS:
+                        game.addEvent(player, Move.pass(), null);
+                        break;
+                    case END:
+                        int count = (int) CardCodec.readVarint(in);
+                        List<String> winners = new ArrayList<>();
+                        for (int i = 0; i < count; i++) {
+                            winners.add(game.getUsernames().get((int) CardCodec.readVarint(in)));
+                        }
+                        game.end(winners);
+                        open.remove(id);
+                        break;
+                    default:
+                        throw new IOException("Event of unknown kind " + kind + " in " + path);
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            // the last event was cut off
+        }
+        return games;
+    }
+
+    /**
+     * Read the fields of a start event.
+     *
+     * @param in the log, just after the tag of a start event
+     * @param id the id of the game
+     * @return the game started
+     */
+    private static GameRecord readStart(ByteBuffer in, long id) {
+        String name = readString(in);
+        long seed = CardCodec.readSignedVarint(in);
+        int playerCount = (int) CardCodec.readVarint(in);
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            usernames.add(readString(in));
+        }
+        List<List<Card>> hands = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            hands.add(CardCodec.readCards(in));
+        }
+        return new GameRecord(id, name, seed, usernames, hands, CardCodec.readCards(in));
+    }
+
+    /**
+     * Read the fields of a resume event.
+     *
+     * @param in the log, just after the tag of a resume event
+     * @param id the id of the game
+     * @return the game resumed
+     */
+    private static GameRecord readResume(ByteBuffer in, long id) {
+        byte[] bytes = new byte[(int) CardCodec.readVarint(in)];
+        in.get(bytes);
+        Checkpoint checkpoint = Checkpoint.fromBytes(bytes);
+        List<List<Card>> hands = new ArrayList<>();
+        for (int i = 0; i < checkpoint.getUsernames().size(); i++) {
+            hands.add(CardCodec.readCards(in));
+        }
+        return new GameRecord(id, checkpoint.getName(), 0, checkpoint.getUsernames(), hands,
+                CardCodec.readCards(in), checkpoint);
+    }
+
+    /**
+     * Write the hand of every player of a game and then its deck.
+     *
+     * @param out  the buffer to write to
+     * @param game the game whose cards are written
+     */
+    private static void writeDeal(ByteBuffer out, GameTemplate game) {
+        for (int i = 0; i < game.getUsernames().size(); i++) {
+            CardCodec.writeCards(out, game.getHand(i));
+        }
+        CardCodec.writeCards(out, game.getDeckCards());
+    }
+
+    /**
+     * Make room for <code>length</code> bytes in the buffer, handing it to the writer thread if necessary.
+     *
+     * @param length the number of bytes about to be put in the buffer
+     */
+    private void reserve(int length) {
+        if (this.buffer.remaining() < length) {
+            this.handOver();
+            if (this.buffer.remaining() < length) {
+                throw new IllegalArgumentException("Event of " + length + " bytes is too large for a game log.");
+            }
+        }
+    }
+
+    /**
+     * Hand the buffered events to the writer thread, unless there are none. Called periodically by the flusher thread.
+     */
+    private synchronized void flushQuietly() {
+        if (this.buffer.position() > 0) {
+            this.handOver();
+        }
+    }
+
+    /**
+     * Hand the buffer to the writer thread and continue in the other one, which must be called while holding the log's
+     * lock. This waits until the other buffer has been written; that cannot deadlock, because the writer thread never
+     * takes the lock. The single writer thread writes buffers in the order they were handed over.
+     *
+     * @return a future that completes once the buffer and every buffer handed over before it have been written
+     */
+    private Future<?> handOver() {
+        ByteBuffer full = this.buffer;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                this.buffer = this.written.take();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        full.flip();
+        try {
+            return this.writer.submit(() -> this.write(full));
+        } catch (RejectedExecutionException e) {
+            // the log has been closed, so writing fails and is remembered
+            this.write(full);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Write a buffer handed over by {@link #handOver()} to the file and let it be filled again, remembering rather than
+     * throwing a failure. This does not take the log's lock.
+     *
+     * @param full the buffer to write
+     */
+    private void write(ByteBuffer full) {
+        try {
+            while (full.hasRemaining()) {
+                this.channel.write(full);
+            }
+        } catch (IOException e) {
+            this.failure.compareAndSet(null, e);
+        } finally {
+            full.clear();
+            this.written.add(full);
+        }
+    }
+
+    /**
+     * Write the id and tag that begin every event.
+     *
+     * @param out    the buffer to write to
+     * @param id     the id of the game
+     * @param player the index of the player
+     * @param kind   the kind of event
+     */
+    private static void writeHeader(ByteBuffer out, long id, int player, int kind) {
+        CardCodec.writeVarint(out, id);
+        CardCodec.writeVarint(out, ((long) player << 4) | kind);
+    }
+
+    /**
+     * Write a length followed by that many bytes.
+     *
+     * @param out   the buffer to write to
+     * @param bytes the bytes to write
+     */
+    private static void writeBytes(ByteBuffer out, byte[] bytes) {
+        CardCodec.writeVarint(out, bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * Read a string written by {@link #writeBytes(ByteBuffer, byte[])}.
+     *
+     * @param in the buffer to read from
+     * @return the string read
+     */
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[(int) CardCodec.readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The listener of a recorded game, which writes its events to this log.
+     */
+    private class Recorder implements GameListener {
+
+        private final long id;
+
+        /**
+         * @param id the id of the recorded game
+         */
+        private Recorder(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void moveMade(GameTemplate game, int playerIndex, Move move) {
+            synchronized (BinaryGameLog.this) {
+                reserve(32);
+                switch (move.getType()) {
+                    case FLIP:
+                        writeHeader(buffer, this.id, playerIndex, FLIP);
+                        break;
+                    case ASK:
+                        writeHeader(buffer, this.id, playerIndex, ASK);
+                        CardCodec.writeVarint(buffer, game.getUsernames().indexOf(move.getUsername()) * 13L
+                                + CardCodec.rankIndex(move.getRank()));
+                        break;
+                    case PLAY:
+                        writeHeader(buffer, this.id, playerIndex, move.getSuit() == 0 ? PLAY : PLAY_SUIT);
+                        buffer.put((byte) CardCodec.ordinal(move.getCard()));
+                        if (move.getSuit() != 0) {
+                            buffer.put((byte) CardCodec.suitIndex(move.getSuit()));
+                        }
+                        break;
+                    case DRAW:
+                        writeHeader(buffer, this.id, playerIndex, DRAW);
+                        break;
+                    default:
+                        writeHeader(buffer, this.id, playerIndex, PASS);
+                }
+            }
+        }
+
+        @Override
+        public void cardDrawn(GameTemplate game, int playerIndex, Card card) {
+            synchronized (BinaryGameLog.this) {
+                reserve(32);
+                writeHeader(buffer, this.id, playerIndex, DRAWN);
+                buffer.put((byte) CardCodec.ordinal(card));
+            }
+        }
+
+        @Override
+        public void gameEnded(GameTemplate game, List<String> winners) {
+            synchronized (BinaryGameLog.this) {
+                reserve(32 + 5 * winners.size());
+                writeHeader(buffer, this.id, 0, END);
+                CardCodec.writeVarint(buffer, winners.size());
+                for (String winner : winners) {
+                    CardCodec.writeVarint(buffer, game.getUsernames().indexOf(winner));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package gamelogs;
+
+import helpers.CardCodec;
+import usecases.GameTemplate;
+import usecases.IOInterfaces.GameIO;
+import usecases.usermanagement.UserManager;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A snapshot of a game in progress, from which the game can be resumed, for example after the process running it has
+ * restarted. A checkpoint holds the name of the game, its players and its state (see
+ * {@link GameTemplate#saveState()}), and takes a few hundred bytes.
+ * <p>
+ * A game that is run by {@link GameTemplate#startGame()} can be checkpointed from any thread at any time, and the
+ * checkpoint is always taken between two moves. A resumed game shows nothing until it asks its current player for the
+ * move they were about to make.
+ * <p>
+ * Checkpoints of many games are kept in one file, which starts with the bytes "CMCP" and a version, followed by the
+ * number of checkpoints and each checkpoint's length and bytes.
+ */
+public class Checkpoint {
+
+    private static final byte[] MAGIC = {'C', 'M', 'C', 'P'};
+    private static final int VERSION = 2;
+
+    private final String name;
+    private final List<String> usernames;
+    private final byte[] state;
+
+    /**
+     * @param name      the name of the game
+     * @param usernames the usernames of the players, in turn order
+     * @param state     the state of the game
+     */
+    private Checkpoint(String name, List<String> usernames, byte[] state) {
+        this.name = name;
+        this.usernames = usernames;
+        this.state = state;
+    }
+
+    /**
+     * Take a checkpoint of a game.
+     *
+     * @param game a game, which may be running on another thread
+     * @return a checkpoint of the game
+     */
+    public static Checkpoint of(GameTemplate game) {
+        return new Checkpoint(game.toString(), new ArrayList<>(game.getUsernames()), game.saveState());
+    }
+
+    /**
+     * Returns the name of the game
+     *
+     * @return the name of the game, such as "Go Fish"
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the usernames of the players of the game
+     *
+     * @return the usernames of the players, in turn order
+     */
+    public List<String> getUsernames() {
+        return Collections.unmodifiableList(this.usernames);
+    }
+
+    /**
+     * Create a game in the state of this checkpoint. The game is dealt and moved into the saved state without showing
+     * anything through <code>gameIO</code>.
+     *
+     * @param userManager manager the result of the game will be recorded in
+     * @param gameIO      <code>gameIO</code> object for input to and output from the game
+     * @return a game that continues where the checkpointed game was
+     */
+    public GameTemplate resume(UserManager userManager, GameIO gameIO) {
+        MutableIO io = new MutableIO(gameIO);
+        GameTemplate game = GameTemplate.gameFactory(this.name, this.usernames, userManager, io.proxy(this.name),
+                new Random());
+        game.loadState(this.state);
+        io.setMuted(false);
+        return game;
+    }
+
+    /**
+     * Returns this checkpoint as bytes.
+     *
+     * @return the bytes of this checkpoint, which {@link #fromBytes(byte[])} reads
+     */
+    public byte[] toBytes() {
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(this.name.getBytes(StandardCharsets.UTF_8));
+        for (String username : this.usernames) {
+            strings.add(username.getBytes(StandardCharsets.UTF_8));
+        }
+        int size = 10 + this.state.length;
+        for (byte[] string : strings) {
+            size += 5 + string.length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        CardCodec.writeVarint(out, this.usernames.size());
+        for (byte[] string : strings) {
+            CardCodec.writeVarint(out, string.length);
+            out.put(string);
+        }
+        out.put(this.state);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /**
+     * Read a checkpoint from bytes returned by {@link #toBytes()}.
+     *
+     * @param bytes the bytes of a checkpoint
+     * @return the checkpoint
+     */
+    public static Checkpoint fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int playerCount = (int) CardCodec.readVarint(in);
+        String name = readString(in);
+        List<String> usernames = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            usernames.add(readString(in));
+        }
+        byte[] state = new byte[in.remaining()];
+        in.get(state);
+        return new Checkpoint(name, usernames, state);
+    }
+
+    /**
+     * Write checkpoints to a file, replacing it. The file is written next to its final place and then moved there, so
+     * a crash while writing leaves the old file in place.
+     *
+     * @param path        the file to write
+     * @param checkpoints the checkpoints to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAll(Path path, List<Checkpoint> checkpoints) throws IOException {
+        List<byte[]> encoded = new ArrayList<>();
+        int size = 16;
+        for (Checkpoint checkpoint : checkpoints) {
+            encoded.add(checkpoint.toBytes());
+            size += 5 + encoded.get(encoded.size() - 1).length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(MAGIC);
+        CardCodec.writeVarint(out, VERSION);
+        CardCodec.writeVarint(out, encoded.size());
+        for (byte[] checkpoint : encoded) {
+            CardCodec.writeVarint(out, checkpoint.length);
+            out.put(checkpoint);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, Arrays.copyOf(out.array(), out.position()));
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read the checkpoints in a file written by {@link #writeAll(Path, List)}.
+     *
+     * @param path the file to read
+     * @return the checkpoints in the file
+     * @throws IOException if the file cannot be read or is not a checkpoint file
+     */
+    public static List<Checkpoint> readAll(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || CardCodec.readVarint(in) != VERSION) {
+                throw new IOException("Not a checkpoint file: " + path);
+            }
+            int count = (int) CardCodec.readVarint(in);
+            List<Checkpoint> checkpoints = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] checkpoint = new byte[(int) CardCodec.readVarint(in)];
+                in.get(checkpoint);
+                checkpoints.add(fromBytes(checkpoint));
+            }
+            return checkpoints;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated checkpoint file: " + path, e);
+        }
+    }
+
+    /**
+     * Read a string written as its length followed by its UTF-8 bytes.
+     *
+     * @param in the buffer to read from
+     * @return the string read
+     */
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[(int) CardCodec.readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,221 @@
+package gamelogs;
+
+import entities.Card;
+import usecases.Move;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A game read back from a {@link BinaryGameLog}: how it was created and dealt, and every event that followed, in order.
+ * <p>
+ * Events are kept as parallel lists. Each event is either a move, in which case its card is <code>null</code>, or a
+ * card drawn from the deck during play, in which case its move is <code>null</code>. Either way the event records the
+ * index of the player it belongs to.
+ */
+public class GameRecord {
+
+    private final long id;
+    private final String name;
+    private final long seed;
+    private final List<String> usernames;
+    private final List<List<Card>> hands;
+    private final List<Card> deck;
+    private final Checkpoint checkpoint;
+    private final List<Move> moves = new ArrayList<>();
+    private final List<Card> draws = new ArrayList<>();
+    private final List<Integer> players = new ArrayList<>();
+    private List<String> winners;
+
+    /**
+     * @param id        the id of the game within its log
+     * @param name      the name of the game, as accepted by <code>GameTemplate.gameFactory</code>
+     * @param seed      the seed of the game's Random object
+     * @param usernames the usernames of the players, in turn order
+     * @param hands     the hands of the players after the deal
+     * @param deck      the cards left in the deck after the deal, from the top down
+     */
+    GameRecord(long id, String name, long seed, List<String> usernames, List<List<Card>> hands, List<Card> deck) {
+        this(id, name, seed, usernames, hands, deck, null);
+    }
+
+    /**
+     * @param id         the id of the game within its log
+     * @param name       the name of the game, as accepted by <code>GameTemplate.gameFactory</code>
+     * @param seed       the seed of the game's Random object, or 0 if the game was resumed
+     * @param usernames  the usernames of the players, in turn order
+     * @param hands      the hands of the players after the deal, or when the game was resumed
+     * @param deck       the cards left in the deck after the deal, or when the game was resumed, from the top down
+     * @param checkpoint the checkpoint the game was resumed from, or <code>null</code> if it was dealt
+     */
+    GameRecord(long id, String name, long seed, List<String> usernames, List<List<Card>> hands, List<Card> deck,
+               Checkpoint checkpoint) {
+        this.id = id;
+        this.name = name;
+        this.seed = seed;
+        this.usernames = usernames;
+        this.hands = hands;
+        this.deck = deck;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Add a move or a draw to the end of this game.
+     *
+     * @param playerIndex the index of the player the event belongs to
+     * @param move        the move made, or <code>null</code>
+     * @param card        the card drawn, or <code>null</code>
+     */
+    void addEvent(int playerIndex, Move move, Card card) {
+        this.players.add(playerIndex);
+        this.moves.add(move);
+        this.draws.add(card);
+    }
+
+    /**
+     * Record that this game is over.
+     *
+     * @param winners the usernames of the winners, or an empty list if the game was aborted
+     */
+    void end(List<String> winners) {
+        this.winners = winners;
+    }
+
+    /**
+     * Returns the id of this game
+     *
+     * @return the id of this game within its log
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the name of this game
+     *
+     * @return the name of this game, such as "Go Fish"
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the seed of this game
+     *
+     * @return the seed of the Random object this game was created with, or 0 if it was resumed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns the usernames of the players of this game
+     *
+     * @return the usernames of the players, in turn order
+     */
+    public List<String> getUsernames() {
+        return Collections.unmodifiableList(this.usernames);
+    }
+
+    /**
+     * Returns the hand of a player after the deal
+     *
+     * @param playerIndex the index of a player in turn order
+     * @return the cards dealt to the player, or held by them when the game was resumed
+     */
+    public List<Card> getHand(int playerIndex) {
+        return Collections.unmodifiableList(this.hands.get(playerIndex));
+    }
+
+    /**
+     * Returns the deck after the deal
+     *
+     * @return the cards left in the deck after the deal, or when the game was resumed, from the top down
+     */
+    public List<Card> getDeck() {
+        return Collections.unmodifiableList(this.deck);
+    }
+
+    /**
+     * Returns the checkpoint this game was resumed from
+     *
+     * @return the checkpoint, or <code>null</code> if this game was dealt rather than resumed
+     */
+    public Checkpoint getCheckpoint() {
+        return this.checkpoint;
+    }
+
+    /**
+     * Returns the number of events of this game
+     *
+     * @return the number of moves and draws
+     */
+    public int getEventCount() {
+        return this.players.size();
+    }
+
+    /**
+     * Returns the move of an event
+     *
+     * @param event the index of an event
+     * @return the move made, or <code>null</code> if the event is a draw
+     */
+    public Move getMove(int event) {
+        return this.moves.get(event);
+    }
+
+    /**
+     * Returns the card of an event
+     *
+     * @param event the index of an event
+     * @return the card drawn, or <code>null</code> if the event is a move
+     */
+    public Card getDraw(int event) {
+        return this.draws.get(event);
+    }
+
+    /**
+     * Returns the player of an event
+     *
+     * @param event the index of an event
+     * @return the index of the player who made the move or drew the card
+     */
+    public int getPlayer(int event) {
+        return this.players.get(event);
+    }
+
+    /**
+     * Returns the moves of this game, without its draws
+     *
+     * @return every move made, in order
+     */
+    public List<Move> getMoves() {
+        List<Move> result = new ArrayList<>();
+        for (Move move : this.moves) {
+            if (move != null) {
+                result.add(move);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns whether this game is over
+     *
+     * @return true if the log records the end of this game, false if it stops while the game was being played
+     */
+    public boolean isEnded() {
+        return this.winners != null;
+    }
+
+    /**
+     * Returns the winners of this game
+     *
+     * @return the usernames of the winners, an empty list if the game was aborted, or <code>null</code> if it has not
+     * ended
+     */
+    public List<String> getWinners() {
+        return this.winners;
+    }
+}
@@ -0,0 +1,220 @@
+package gamelogs;
+
+import helpers.CardCodec;
+import usecases.GameTemplate;
+import usecases.Move;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A sidecar index of a {@link BinaryGameLog} that holds keyframes: snapshots of the state of each game, taken every
+ * <code>interval</code> moves, so that a {@link Replay} can jump to any move by restoring the nearest keyframe at or
+ * before it and replaying at most <code>interval - 1</code> moves.
+ * <p>
+ * Games are identified by their position in the list returned by {@link BinaryGameLog#read(Path)}. The index of a log
+ * is kept next to it, with ".idx" added to its name, and is rebuilt whenever the log has gained games since the index
+ * was written. The index file starts with the bytes "CMLX", a version and the interval, followed by each game's number
+ * of keyframes and, for every keyframe, its move number, the length of its state and the state.
+ */
+public class KeyframeIndex {
+
+    private static final byte[] MAGIC = {'C', 'M', 'L', 'X'};
+    private static final int VERSION = 2;
+
+    private final int interval;
+    private final List<List<Keyframe>> games;
+
+    /**
+     * @param interval the number of moves between keyframes
+     * @param games    the keyframes of every game, in log order
+     */
+    private KeyframeIndex(int interval, List<List<Keyframe>> games) {
+        this.interval = interval;
+        this.games = games;
+    }
+
+    /**
+     * Build the index of the games of a log by replaying each of them once.
+     *
+     * @param games    the games of a log
+     * @param interval the number of moves between keyframes
+     * @return the index of the games
+     */
+    public static KeyframeIndex build(List<GameRecord> games, int interval) {
+        List<List<Keyframe>> keyframes = new ArrayList<>();
+        for (GameRecord record : games) {
+            List<Keyframe> game = new ArrayList<>();
+            GameTemplate replay = Replay.deal(record, null);
+            List<Move> moves = record.getMoves();
+            game.add(new Keyframe(0, replay.saveState()));
+            for (int move = 1; move <= moves.size(); move++) {
+                replay.applyMove(moves.get(move - 1));
+                if (move % interval == 0) {
+                    game.add(new Keyframe(move, replay.saveState()));
+                }
+            }
+            keyframes.add(game);
+        }
+        return new KeyframeIndex(interval, keyframes);
+    }
+
+    /**
+     * Return the index of a log, reading it from its sidecar file if that is up to date, or building it and writing
+     * the sidecar file otherwise.
+     *
+     * @param log      the path of a game log
+     * @param games    the games read from the log
+     * @param interval the number of moves between keyframes of a new index
+     * @return the index of the log
+     * @throws IOException if the sidecar file cannot be written
+     */
+    public static KeyframeIndex load(Path log, List<GameRecord> games, int interval) throws IOException {
+        Path sidecar = sidecar(log);
+        if (Files.exists(sidecar)) {
+            KeyframeIndex index = read(sidecar);
+            if (index != null && index.games.size() == games.size()) {
+                return index;
+            }
+        }
+        KeyframeIndex index = build(games, interval);
+        index.write(sidecar);
+        return index;
+    }
+
+    /**
+     * Returns the path of the sidecar index file of a log.
+     *
+     * @param log the path of a game log
+     * @return the path of its index
+     */
+    public static Path sidecar(Path log) {
+        return log.resolveSibling(log.getFileName() + ".idx");
+    }
+
+    /**
+     * Read an index file.
+     *
+     * @param path the path of an index file
+     * @return the index, or <code>null</code> if the file is not a complete index
+     * @throws IOException if the file cannot be read
+     */
+    public static KeyframeIndex read(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || CardCodec.readVarint(in) != VERSION) {
+                return null;
+            }
+            int interval = (int) CardCodec.readVarint(in);
+            int gameCount = (int) CardCodec.readVarint(in);
+            List<List<Keyframe>> games = new ArrayList<>(gameCount);
+            for (int i = 0; i < gameCount; i++) {
+                int keyframeCount = (int) CardCodec.readVarint(in);
+                List<Keyframe> game = new ArrayList<>(keyframeCount);
+                for (int j = 0; j < keyframeCount; j++) {
+                    int move = (int) CardCodec.readVarint(in);
+                    byte[] state = new byte[(int) CardCodec.readVarint(in)];
+                    in.get(state);
+                    game.add(new Keyframe(move, state));
+                }
+                games.add(game);
+            }
+            return new KeyframeIndex(interval, games);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write this index to a file, replacing the file if it exists.
+     *
+     * @param path the path to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        int size = 32;
+        for (List<Keyframe> game : this.games) {
+            size += 5;
+            for (Keyframe keyframe : game) {
+                size += 10 + keyframe.state.length;
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(MAGIC);
+        CardCodec.writeVarint(out, VERSION);
+        CardCodec.writeVarint(out, this.interval);
+        CardCodec.writeVarint(out, this.games.size());
+        for (List<Keyframe> game : this.games) {
+            CardCodec.writeVarint(out, game.size());
+            for (Keyframe keyframe : game) {
+                CardCodec.writeVarint(out, keyframe.move);
+                CardCodec.writeVarint(out, keyframe.state.length);
+                out.put(keyframe.state);
+            }
+        }
+        Files.write(path, Arrays.copyOf(out.array(), out.position()));
+    }
+
+    /**
+     * Returns the number of moves between keyframes
+     *
+     * @return the interval of this index
+     */
+    public int getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Returns the keyframes of a game
+     *
+     * @param game the position of a game in its log
+     * @return the keyframes of the game, ordered by move number
+     */
+    public List<Keyframe> getKeyframes(int game) {
+        return this.games.get(game);
+    }
+
+    /**
+     * The state of a game after a number of moves.
+     */
+    public static class Keyframe {
+
+        private final int move;
+        private final byte[] state;
+
+        /**
+         * @param move  the number of moves made before the state was taken
+         * @param state the state, as returned by {@link GameTemplate#saveState()}
+         */
+        public Keyframe(int move, byte[] state) {
+            this.move = move;
+            this.state = state;
+        }
+
+        /**
+         * Returns the move number of this keyframe
+         *
+         * @return the number of moves made before this keyframe was taken
+         */
+        public int getMove() {
+            return this.move;
+        }
+
+        /**
+         * Returns the state of this keyframe
+         *
+         * @return the state, as returned by {@link GameTemplate#saveState()}
+         */
+        public byte[] getState() {
+            return this.state;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package gamelogs;
+
+import usecases.IOInterfaces.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Forwards every IO call of a game to the game's real IO object, unless it is muted. A muted game shows nothing and
+ * gets empty answers to its prompts. This lets a game be rebuilt, by dealing it and moving it into a saved state,
+ * without its players seeing any of it.
+ * <p>
+ * The game sees this object through a proxy implementing the IO interface of its kind of game.
+ */
+class MutableIO implements InvocationHandler {
+
+    private final GameIO target;
+    private volatile boolean muted = true;
+
+    /**
+     * Create a muted IO object.
+     *
+     * @param target the IO object to forward calls to, or <code>null</code> to drop all calls
+     */
+    MutableIO(GameIO target) {
+        this.target = target;
+    }
+
+    /**
+     * Mute or unmute this object.
+     *
+     * @param muted true to drop calls, false to forward them
+     */
+    void setMuted(boolean muted) {
+        this.muted = muted;
+    }
+
+    /**
+     * Return a proxy of this object implementing the IO interface of a game.
+     *
+     * @param name the name of a game
+     * @return an IO object for the game
+     */
+    GameIO proxy(String name) {
+        Class<?> ioInterface;
+        switch (name.toUpperCase()) {
+            case "BURA":
+                ioInterface = BuraIO.class;
+                break;
+            case "CRAZY EIGHTS":
+                ioInterface = CrazyEightsIO.class;
+                break;
+            case "WAR":
+                ioInterface = WarIO.class;
+                break;
+            case "GO FISH":
+                ioInterface = GoFishIO.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal game selection of " + name + '.');
+        }
+        return (GameIO) Proxy.newProxyInstance(GameIO.class.getClassLoader(), new Class<?>[]{ioInterface}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+        if (!this.muted && this.target != null) {
+            try {
+                return method.invoke(this.target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        if (method.getReturnType() == boolean.class) {
+            return false;
+        } else if (method.getReturnType() == char.class) {
+            return (char) 0;
+        } else if (method.getReturnType() == String.class) {
+            return "";
+        }
+        return null;
+    }
+}
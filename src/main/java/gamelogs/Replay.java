@@ -0,0 +1,178 @@
+package gamelogs;
+
+import usecases.GameTemplate;
+import usecases.IOInterfaces.GameIO;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A replay of a recorded game that can be stepped through and jump to any move. The game is rebuilt from its seed, or
+ * from its checkpoint if it was resumed, and shown through a game IO object, such as one of the game GUIs, exactly as
+ * it was shown to its players; the replay only shows, and never asks the IO object for input.
+ * <p>
+ * Jumping to a move restores the nearest keyframe at or before it, from a {@link KeyframeIndex}, and silently replays
+ * the moves from there, so the cost of a jump does not grow with the length of the game. Without keyframes, jumps
+ * replay from the start of the game, or from the current move when jumping forward.
+ */
+public class Replay {
+
+    private final GameRecord record;
+    private final List<Move> moves;
+    private final List<KeyframeIndex.Keyframe> keyframes;
+    private final MutableIO viewer;
+    private final GameTemplate game;
+    private int position = 0;
+
+    /**
+     * Create a replay without keyframes, positioned before the first move.
+     *
+     * @param record the game to replay
+     * @param gameIO the IO object to show the game on, matching the kind of game
+     */
+    public Replay(GameRecord record, GameIO gameIO) {
+        this(record, gameIO, Collections.emptyList());
+    }
+
+    /**
+     * Create a replay, positioned before the first move.
+     *
+     * @param record    the game to replay
+     * @param gameIO    the IO object to show the game on, matching the kind of game
+     * @param keyframes the keyframes of the game, ordered by move number
+     * @throws IllegalArgumentException if dealing the game from its seed does not give the recorded deal
+     */
+    public Replay(GameRecord record, GameIO gameIO, List<KeyframeIndex.Keyframe> keyframes) {
+        this.record = record;
+        this.moves = record.getMoves();
+        this.keyframes = keyframes;
+        this.viewer = new MutableIO(gameIO);
+        this.game = deal(record, this.viewer);
+        for (int i = 0; i < record.getUsernames().size(); i++) {
+            if (!this.game.getHand(i).equals(record.getHand(i))) {
+                throw new IllegalArgumentException("The seed of game " + record.getId() + " does not give its deal.");
+            }
+        }
+        if (!this.game.getDeckCards().equals(record.getDeck())) {
+            throw new IllegalArgumentException("The seed of game " + record.getId() + " does not give its deal.");
+        }
+        this.viewer.setMuted(false);
+        this.game.showState();
+    }
+
+    /**
+     * Deal a recorded game again from its seed, or resume it from its checkpoint, with all its output going to a muted
+     * IO object.
+     *
+     * @param record the game to deal
+     * @param viewer the IO object of the game, or <code>null</code> to drop all output
+     * @return a new game in the state in which the recorded game was dealt or resumed
+     */
+    static GameTemplate deal(GameRecord record, MutableIO viewer) {
+        if (viewer == null) {
+            viewer = new MutableIO(null);
+        }
+        viewer.setMuted(true);
+        if (record.getCheckpoint() != null) {
+            return record.getCheckpoint().resume(new UserManager(), viewer.proxy(record.getName()));
+        }
+        return GameTemplate.gameFactory(record.getName(), record.getUsernames(), new UserManager(),
+                viewer.proxy(record.getName()), new Random(record.getSeed()));
+    }
+
+    /**
+     * Returns the game being replayed
+     *
+     * @return the game, in its state after the current number of moves
+     */
+    public GameTemplate getGame() {
+        return this.game;
+    }
+
+    /**
+     * Returns the current move number
+     *
+     * @return the number of moves made so far
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Returns the number of moves of the recorded game
+     *
+     * @return the number of moves that can be replayed
+     */
+    public int getMoveCount() {
+        return this.moves.size();
+    }
+
+    /**
+     * Make the next move, showing everything the game shows while it is made, and then show the new state.
+     *
+     * @return false if there was no move left to make
+     */
+    public boolean step() {
+        if (this.position == this.moves.size()) {
+            return false;
+        }
+        this.game.applyMove(this.moves.get(this.position++));
+        this.game.showState();
+        return true;
+    }
+
+    /**
+     * Jump to the state after <code>move</code> moves and show it.
+     *
+     * @param move the number of moves to have made, from 0 to the number of moves of the game
+     */
+    public void seek(int move) {
+        if (move < 0 || move > this.moves.size()) {
+            throw new IndexOutOfBoundsException("Move " + move + " of a game of " + this.moves.size() + " moves.");
+        }
+        KeyframeIndex.Keyframe keyframe = this.nearestKeyframe(move);
+        this.viewer.setMuted(true);
+        try {
+            if (move < this.position || keyframe != null && keyframe.getMove() > this.position) {
+                if (keyframe != null) {
+                    this.game.loadState(keyframe.getState());
+                    this.position = keyframe.getMove();
+                } else {
+                    this.game.loadState(deal(this.record, null).saveState());
+                    this.position = 0;
+                }
+            }
+            while (this.position < move) {
+                this.game.applyMove(this.moves.get(this.position++));
+            }
+        } finally {
+            this.viewer.setMuted(false);
+        }
+        this.game.showState();
+    }
+
+    /**
+     * Return the last keyframe at or before a move.
+     *
+     * @param move a move number
+     * @return the keyframe with the highest move number that is at most <code>move</code>, or <code>null</code>
+     */
+    private KeyframeIndex.Keyframe nearestKeyframe(int move) {
+        int low = 0;
+        int high = this.keyframes.size() - 1;
+        KeyframeIndex.Keyframe nearest = null;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.keyframes.get(middle).getMove() <= move) {
+                nearest = this.keyframes.get(middle);
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,195 @@
+package helpers;
+
+import entities.Card;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CardCodec defines a compact binary encoding of cards and numbers.
+ * <p>
+ * Every card of a standard deck has an ordinal from 0 to 51, which is four times the index of its rank in A, 2, ..., 10,
+ * J, Q, K plus the index of its suit in H, S, D, C. This is the order in which a new deck is created. Numbers are
+ * written as unsigned varints: seven bits per byte, least significant first, with the high bit set on every byte but
+ * the last, so that a card ordinal or any other number below 128 takes a single byte.
+ */
+public class CardCodec {
+
+    /**
+     * The number of cards in a standard deck.
+     */
+    public static final int DECK_SIZE = 52;
+
+    private static final String[] RANKS = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
+    private static final char[] SUITS = {'H', 'S', 'D', 'C'};
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (int i = 0; i < DECK_SIZE; i++) {
+            CARDS[i] = new Card(RANKS[i / SUITS.length], SUITS[i % SUITS.length]);
+        }
+    }
+
+    /**
+     * Returns the ordinal of a card.
+     *
+     * @param card a card of a standard deck
+     * @return the ordinal of the card, from 0 to 51
+     */
+    public static int ordinal(Card card) {
+        return rankIndex(card.getRank()) * SUITS.length + suitIndex(card.getSuit());
+    }
+
+    /**
+     * Returns the ordinal of a card given as a string, such as "10H".
+     *
+     * @param card the string representation of a card of a standard deck
+     * @return the ordinal of the card, from 0 to 51
+     */
+    public static int ordinal(String card) {
+        return rankIndex(card.substring(0, card.length() - 1)) * SUITS.length
+                + suitIndex(card.charAt(card.length() - 1));
+    }
+
+    /**
+     * Returns the card with an ordinal.
+     *
+     * @param ordinal the ordinal of a card, from 0 to 51
+     * @return the card with this ordinal
+     */
+    public static Card card(int ordinal) {
+        return CARDS[ordinal];
+    }
+
+    /**
+     * Returns the index of a rank in A, 2, ..., 10, J, Q, K.
+     *
+     * @param rank a rank of a standard deck
+     * @return the index of the rank, from 0 to 12
+     */
+    public static int rankIndex(String rank) {
+        for (int i = 0; i < RANKS.length; i++) {
+            if (RANKS[i].equals(rank)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Illegal rank " + rank + '.');
+    }
+
+    /**
+     * Returns the rank with an index.
+     *
+     * @param index the index of a rank, from 0 to 12
+     * @return the rank with this index
+     */
+    public static String rank(int index) {
+        return RANKS[index];
+    }
+
+    /**
+     * Returns the index of a suit in H, S, D, C.
+     *
+     * @param suit a suit of a standard deck
+     * @return the index of the suit, from 0 to 3
+     */
+    public static int suitIndex(char suit) {
+        for (int i = 0; i < SUITS.length; i++) {
+            if (SUITS[i] == suit) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Illegal suit " + suit + '.');
+    }
+
+    /**
+     * Returns the suit with an index.
+     *
+     * @param index the index of a suit, from 0 to 3
+     * @return the suit with this index
+     */
+    public static char suit(int index) {
+        return SUITS[index];
+    }
+
+    /**
+     * Write a non-negative number as a varint.
+     *
+     * @param buffer the buffer to write to
+     * @param value  a number that is at least 0
+     */
+    public static void writeVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Write any number as a varint, after mapping small negative numbers to small positive ones by zigzag encoding.
+     *
+     * @param buffer the buffer to write to
+     * @param value  any number
+     */
+    public static void writeSignedVarint(ByteBuffer buffer, long value) {
+        writeVarint(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Read a varint written by {@link #writeVarint(ByteBuffer, long)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the number read
+     */
+    public static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    /**
+     * Read a varint written by {@link #writeSignedVarint(ByteBuffer, long)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the number read
+     */
+    public static long readSignedVarint(ByteBuffer buffer) {
+        long value = readVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Write a number of cards as a varint followed by the ordinal of each card.
+     *
+     * @param buffer the buffer to write to
+     * @param cards  the cards to write
+     */
+    public static void writeCards(ByteBuffer buffer, List<Card> cards) {
+        writeVarint(buffer, cards.size());
+        for (Card card : cards) {
+            buffer.put((byte) ordinal(card));
+        }
+    }
+
+    /**
+     * Read cards written by {@link #writeCards(ByteBuffer, List)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the cards read, in the order they were written
+     */
+    public static List<Card> readCards(ByteBuffer buffer) {
+        int count = (int) readVarint(buffer);
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(card(buffer.get()));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,195 @@
+package helpers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A histogram of non-negative values in a fixed amount of memory, whatever the number of values or their size. Values
+ * below 32 are counted exactly. Larger values are counted in buckets that split every power of two into 16, so a
+ * bucket is never wider than a sixteenth of the values in it, as in an HDR histogram.
+ * <p>
+ * Histograms are merged by adding up their buckets, so that every thread can count into a histogram of its own and
+ * the histograms are merged at the end, and they are written to a buffer as varints of the buckets that are not
+ * empty.
+ */
+public final class LogHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int EXACT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = EXACT / 2;
+    private static final int BUCKETS = EXACT + (Long.SIZE - SUB_BUCKET_BITS) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * Returns the number of values
+     *
+     * @return the number of values recorded
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the largest value
+     *
+     * @return the largest value recorded, or 0 if there is none
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the mean of the values
+     *
+     * @return the exact mean of the values recorded, or 0 if there is none
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * Count a value.
+     *
+     * @param value a value, which must not be negative
+     */
+    public void record(long value) {
+        this.record(value, 1);
+    }
+
+    /**
+     * Count a value a number of times.
+     *
+     * @param value a value, which must not be negative
+     * @param times the number of times to count it
+     */
+    public void record(long value, long times) {
+        if (value < 0) {
+            throw new IllegalArgumentException("A histogram cannot count the negative value " + value + '.');
+        }
+        this.counts[index(value)] += times;
+        this.count += times;
+        this.sum += value * times;
+        this.max = Math.max(this.max, value);
+    }
+
+    /**
+     * Returns the number of values equal to a value, or counted in the same bucket
+     *
+     * @param value a value
+     * @return the count of the bucket of the value
+     */
+    public long getCountAt(long value) {
+        return this.counts[index(value)];
+    }
+
+    /**
+     * Return a percentile of the values.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the largest value of the bucket at which <code>percentile</code> percent of the values are reached, and
+     * no more than the largest value recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long rank = Math.max(1, (long) Math.ceil(this.count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValue(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Add the values of another histogram to this one.
+     *
+     * @param other the histogram to add
+     */
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.counts[i] += other.counts[i];
+        }
+        this.count += other.count;
+        this.sum += other.sum;
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Write the buckets that are not empty, each as the distance from the last one and its count.
+     *
+     * @param out the buffer to write to
+     */
+    public void write(ByteBuffer out) {
+        int used = 0;
+        for (long bucket : this.counts) {
+            if (bucket != 0) {
+                used++;
+            }
+        }
+        CardCodec.writeVarint(out, used);
+        int last = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (this.counts[i] != 0) {
+                CardCodec.writeVarint(out, i - last);
+                CardCodec.writeVarint(out, this.counts[i]);
+                last = i;
+            }
+        }
+        CardCodec.writeVarint(out, this.sum);
+        CardCodec.writeVarint(out, this.max);
+    }
+
+    /**
+     * Read a histogram written by {@link #write(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     * @return the histogram
+     */
+    public static LogHistogram read(ByteBuffer in) {
+        LogHistogram histogram = new LogHistogram();
+        int used = (int) CardCodec.readVarint(in);
+        int index = 0;
+        for (int i = 0; i < used; i++) {
+            index += (int) CardCodec.readVarint(in);
+            histogram.counts[index] = CardCodec.readVarint(in);
+            histogram.count += histogram.counts[index];
+        }
+        histogram.sum = CardCodec.readVarint(in);
+        histogram.max = CardCodec.readVarint(in);
+        return histogram;
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value a value that is not negative
+     * @return the index of its bucket
+     */
+    private static int index(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        // keep the top SUB_BUCKET_BITS bits of the value, whose highest bit is always set
+        int shift = Long.SIZE - SUB_BUCKET_BITS - Long.numberOfLeadingZeros(value);
+        return EXACT + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    /**
+     * Returns the largest value of a bucket.
+     *
+     * @param index the index of a bucket
+     * @return the largest value counted in the bucket
+     */
+    private static long highestValue(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int shift = (index - EXACT) / HALF + 1;
+        long top = (index - EXACT) % HALF + HALF;
+        return ((top + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,273 @@
+package presenters.bots;
+
+import helpers.CardCodec;
+import usecases.Bura;
+import usecases.BuraEndgameSolver;
+import usecases.BuraState;
+import usecases.IOInterfaces.BuraIO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A Bura IO object that plays some of the seats itself, and passes everything else on to the IO object of the human
+ * players, for example to let a single user play against the computer.
+ * <p>
+ * The bot only knows what its player can see: its own hand, the playing field, the trump suit and the cards already
+ * played. Before each of its moves, it repeatedly deals the cards it cannot see again at random, plays every card of
+ * its hand on that deal and finishes the game with random moves, a rollout. It plays the card that won the most
+ * rollouts. Rollouts run on a fork-join pool until the time budget of the move is spent.
+ * <p>
+ * Once the deck can no longer restock the hands, the bot switches to a {@link BuraEndgameSolver}. If it can work out
+ * every hand, as in every endgame of two players, it plays the rest of the game perfectly. Otherwise it still deals
+ * the unseen cards at random, but solves each deal exactly instead of finishing it with random moves.
+ */
+public class BuraBot implements BuraIO {
+
+    private static final long DEFAULT_BUDGET_MILLIS = 200;
+
+    private final BuraIO players;
+    private final Set<String> botUsernames;
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final AtomicLong rollouts = new AtomicLong();
+    private final AtomicLong searchNanos = new AtomicLong();
+    private final BuraEndgameSolver solver = new BuraEndgameSolver();
+    private final AtomicLong solvedMoves = new AtomicLong();
+    private volatile Bura game;
+    private volatile String currentUsername;
+
+    /**
+     * Create a bot that takes 200 ms per move on the common fork-join pool.
+     *
+     * @param players      the IO object of the human players
+     * @param botUsernames the usernames of the seats played by the bot
+     */
+    public BuraBot(BuraIO players, Collection<String> botUsernames) {
+        this(players, botUsernames, DEFAULT_BUDGET_MILLIS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a bot.
+     *
+     * @param players      the IO object of the human players
+     * @param botUsernames the usernames of the seats played by the bot
+     * @param budgetMillis the time the bot takes to choose a move
+     * @param pool         the pool the rollouts run on
+     */
+    public BuraBot(BuraIO players, Collection<String> botUsernames, long budgetMillis, ForkJoinPool pool) {
+        this.players = players;
+        this.botUsernames = new HashSet<>(botUsernames);
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.pool = pool;
+    }
+
+    /**
+     * Set the game the bot plays. Must be called before the game is started.
+     *
+     * @param game a game that was created with this bot as its IO object
+     */
+    public void setGame(Bura game) {
+        this.game = game;
+    }
+
+    /**
+     * Returns the number of rollouts played so far
+     *
+     * @return the number of rollouts of every move the bot has chosen
+     */
+    public long getRollouts() {
+        return this.rollouts.get();
+    }
+
+    /**
+     * Returns the rate at which the bot plays rollouts
+     *
+     * @return the number of rollouts per second of search so far, or 0 before the first search
+     */
+    public double getRolloutsPerSecond() {
+        long nanos = this.searchNanos.get();
+        return nanos == 0 ? 0 : this.rollouts.get() * 1e9 / nanos;
+    }
+
+    /**
+     * Returns the number of moves chosen by solving the endgame
+     *
+     * @return the number of moves the bot has chosen with its endgame solver
+     */
+    public long getSolvedMoves() {
+        return this.solvedMoves.get();
+    }
+
+    /**
+     * Choose the card to play in a state of the game.
+     *
+     * @param state the state of the game, in which it is the turn of a seat of this bot
+     * @return the ordinal of the card to play
+     */
+    public int chooseCard(BuraState state) {
+        long hand = state.getHand(state.getCurrentPlayer());
+        int[] candidates = new int[Long.bitCount(hand)];
+        for (int i = 0; i < candidates.length; i++, hand &= hand - 1) {
+            candidates[i] = Long.numberOfTrailingZeros(hand);
+        }
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        if (BuraEndgameSolver.isEndgame(state) && BuraEndgameSolver.isKnown(state, state.getCurrentPlayer())) {
+            this.solvedMoves.incrementAndGet();
+            synchronized (this.solver) {
+                return this.solver.bestCard(state);
+            }
+        }
+
+        long start = System.nanoTime();
+        Search search = new Search(state, candidates, start + this.budgetNanos, 0,
+                Math.max(1, this.pool.getParallelism()));
+        long[] scores = this.pool.invoke(search);
+        this.searchNanos.addAndGet(System.nanoTime() - start);
+
+        int best = 0;
+        for (int i = 1; i < candidates.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return candidates[best];
+    }
+
+    @Override
+    public void changePlayer(String username) {
+        this.currentUsername = username;
+        this.players.changePlayer(username);
+    }
+
+    @Override
+    public void sendPopup(String message) {
+        this.players.sendPopup(message);
+    }
+
+    @Override
+    public void sendPopup(Supplier<String> message) {
+        this.players.sendPopup(message);
+    }
+
+    @Override
+    public void showCardToBeat(String card) {
+        this.players.showCardToBeat(card);
+    }
+
+    @Override
+    public void showTrumpSuit(char trump) {
+        this.players.showTrumpSuit(trump);
+    }
+
+    /**
+     * Show a hand to the human players, unless it is the hand of a seat of this bot.
+     *
+     * @param hand a string representation of a hand of cards.
+     */
+    @Override
+    public void showHand(String hand) {
+        if (!this.botUsernames.contains(this.currentUsername)) {
+            this.players.showHand(hand);
+        }
+    }
+
+    /**
+     * Choose a card for a seat of this bot, or ask the human players for one.
+     *
+     * @return a string representation of the card to play
+     */
+    @Override
+    public String getCard() {
+        Bura game = this.game;
+        if (game == null || !this.botUsernames.contains(game.getCurrentPlayer())) {
+            return this.players.getCard();
+        }
+        return CardCodec.card(this.chooseCard(game.getState())).toString();
+    }
+
+    @Override
+    public void close() {
+        this.players.close();
+    }
+
+    @Override
+    public void closeMessage(String message) {
+        this.players.closeMessage(message);
+    }
+
+    /**
+     * Rollouts from one state until a deadline, split into one task per worker of the pool. Every task returns, for
+     * each candidate card, the number of rollouts won after playing it or, in an endgame, the sum of its exact final
+     * margins over the deals.
+     */
+    private final class Search extends RecursiveTask<long[]> {
+        private final BuraState root;
+        private final int[] candidates;
+        private final long deadline;
+        private final int from;
+        private final int to;
+
+        /**
+         * @param root       the state to choose a card in
+         * @param candidates the ordinals of the cards that may be played
+         * @param deadline   the value of {@link System#nanoTime()} at which to stop
+         * @param from       the first worker of this task
+         * @param to         the worker after the last worker of this task
+         */
+        private Search(BuraState root, int[] candidates, long deadline, int from, int to) {
+            this.root = root;
+            this.candidates = candidates;
+            this.deadline = deadline;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (this.to - this.from > 1) {
+                int middle = (this.from + this.to) >>> 1;
+                Search right = new Search(this.root, this.candidates, this.deadline, middle, this.to);
+                right.fork();
+                long[] scores = new Search(this.root, this.candidates, this.deadline, this.from, middle).compute();
+                long[] rightScores = right.join();
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] += rightScores[i];
+                }
+                return scores;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int me = this.root.getCurrentPlayer();
+            BuraEndgameSolver solver = BuraEndgameSolver.isEndgame(this.root) ? new BuraEndgameSolver() : null;
+            BuraState deal = new BuraState(this.root);
+            BuraState rollout = new BuraState(this.root);
+            long[] scores = new long[this.candidates.length];
+            long count = 0;
+            do {
+                deal.copyFrom(this.root);
+                deal.redeal(me, random);
+                for (int i = 0; i < this.candidates.length; i++) {
+                    rollout.copyFrom(deal);
+                    rollout.play(this.candidates[i]);
+                    if (solver != null) {
+                        scores[i] += solver.solve(rollout, me);
+                    } else if (rollout.playOut(random) == me) {
+                        scores[i]++;
+                    }
+                    count++;
+                }
+            } while (System.nanoTime() < this.deadline);
+            BuraBot.this.rollouts.addAndGet(count);
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package presenters.bots;
+
+import helpers.CardCodec;
+import usecases.CrazyEights;
+import usecases.CrazyEightsState;
+import usecases.IOInterfaces.CrazyEightsIO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A Crazy Eights IO object that plays some of the seats itself, and passes everything else on to the IO object of the
+ * human players.
+ * <p>
+ * The bot only knows what its player can see: its own hand, the top card and the size of the other hands and of the
+ * deck. It orders its legal moves with a simple heuristic, keeping eights for last and changing the suit to the one it
+ * holds the most of, and then plays rollouts: it deals the cards it cannot see again at random, makes each move on
+ * that deal and finishes the game with {@link CrazyEightsState#greedyMove(Random)}. Every few rounds, moves that are
+ * clearly worse than the best move so far are pruned, so that later rollouts go to the moves still in question. The
+ * bot makes the move that won the most rollouts, and the earliest in heuristic order among equal moves.
+ * <p>
+ * A bot either searches each move for a fixed time, or plays a fixed number of rollouts per move from a seeded source
+ * of randomness, which makes every move it chooses reproducible.
+ */
+public class CrazyEightsBot implements CrazyEightsIO {
+
+    private static final long DEFAULT_BUDGET_MILLIS = 100;
+    private static final int PRUNE_INTERVAL = 16;
+    private static final double PRUNE_LOG_CONFIDENCE = Math.log(100);
+
+    private final CrazyEightsIO players;
+    private final Set<String> botUsernames;
+    private final long budgetNanos;
+    private final int rolloutsPerMove;
+    private final Random random;
+    private final int[] moves = new int[32];
+    private long rollouts = 0;
+    private long searchNanos = 0;
+    private volatile CrazyEights game;
+    private volatile String currentUsername;
+    private volatile int chosen = CrazyEightsState.DRAW;
+
+    /**
+     * Create a bot that searches each move for 100 ms.
+     *
+     * @param players      the IO object of the human players
+     * @param botUsernames the usernames of the seats played by the bot
+     */
+    public CrazyEightsBot(CrazyEightsIO players, Collection<String> botUsernames) {
+        this(players, botUsernames, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Create a bot that searches each move for a fixed time.
+     *
+     * @param players      the IO object of the human players
+     * @param botUsernames the usernames of the seats played by the bot
+     * @param budgetMillis the time the bot takes to choose a move
+     */
+    public CrazyEightsBot(CrazyEightsIO players, Collection<String> botUsernames, long budgetMillis) {
+        this(players, botUsernames, budgetMillis * 1_000_000, 0, new Random());
+    }
+
+    /**
+     * Create a bot that plays a fixed number of rollouts per move.
+     *
+     * @param players         the IO object of the human players
+     * @param botUsernames    the usernames of the seats played by the bot
+     * @param rolloutsPerMove the number of rollouts the bot plays to choose a move, or 0 to follow its heuristic alone
+     * @param seed            the seed of the bot's randomness; a bot with the same seed makes the same moves
+     */
+    public CrazyEightsBot(CrazyEightsIO players, Collection<String> botUsernames, int rolloutsPerMove, long seed) {
+        this(players, botUsernames, 0, rolloutsPerMove, new Random(seed));
+    }
+
+    /**
+     * Create a bot.
+     *
+     * @param players         the IO object of the human players
+     * @param botUsernames    the usernames of the seats played by the bot
+     * @param budgetNanos     the time the bot takes to choose a move, or 0 to play a fixed number of rollouts
+     * @param rolloutsPerMove the number of rollouts per move if there is no time budget
+     * @param random          the source of randomness
+     */
+    private CrazyEightsBot(CrazyEightsIO players, Collection<String> botUsernames, long budgetNanos,
+                           int rolloutsPerMove, Random random) {
+        this.players = players;
+        this.botUsernames = new HashSet<>(botUsernames);
+        this.budgetNanos = budgetNanos;
+        this.rolloutsPerMove = rolloutsPerMove;
+        this.random = random;
+    }
+
+    /**
+     * Set the game the bot plays. Must be called before the game is started.
+     *
+     * @param game a game that was created with this bot as its IO object
+     */
+    public void setGame(CrazyEights game) {
+        this.game = game;
+    }
+
+    /**
+     * Returns the number of rollouts played so far
+     *
+     * @return the number of rollouts of every move the bot has chosen
+     */
+    public synchronized long getRollouts() {
+        return this.rollouts;
+    }
+
+    /**
+     * Returns the rate at which the bot plays rollouts
+     *
+     * @return the number of rollouts per second of search so far, or 0 before the first search
+     */
+    public synchronized double getRolloutsPerSecond() {
+        return this.searchNanos == 0 ? 0 : this.rollouts * 1e9 / this.searchNanos;
+    }
+
+    /**
+     * Choose the move of the current player in a state of the game.
+     *
+     * @param state the state of the game, in which it is the turn of a seat of this bot
+     * @return a legal move, as described in {@link CrazyEightsState}
+     */
+    public synchronized int chooseMove(CrazyEightsState state) {
+        int me = state.getCurrentPlayer();
+        long hand = state.getHand(me);
+        int count = state.legalMoves(this.moves);
+        if (count == 1) {
+            return this.moves[0];
+        }
+        int[] candidates = new int[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            int move = this.moves[i];
+            int score = heuristic(move, hand);
+            int j = i;
+            while (j > 0 && order[j - 1] < score) {
+                candidates[j] = candidates[j - 1];
+                order[j] = order[j - 1];
+                j--;
+            }
+            candidates[j] = move;
+            order[j] = score;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + this.budgetNanos;
+        boolean[] pruned = new boolean[count];
+        // two points for a rollout won, one for a rollout tied
+        int[] points = new int[count];
+        int alive = count;
+        int rounds = 0;
+        CrazyEightsState deal = new CrazyEightsState(state);
+        CrazyEightsState rollout = new CrazyEightsState(state);
+        long played = 0;
+        while (alive > 1 && (this.budgetNanos > 0 ? System.nanoTime() < deadline : played < this.rolloutsPerMove)) {
+            deal.copyFrom(state);
+            deal.redeal(me, this.random);
+            for (int i = 0; i < count; i++) {
+                if (!pruned[i]) {
+                    rollout.copyFrom(deal);
+                    rollout.play(candidates[i]);
+                    int winners = rollout.playOut(this.random);
+                    if (winners == 1 << me) {
+                        points[i] += 2;
+                    } else if ((winners & 1 << me) != 0) {
+                        points[i]++;
+                    }
+                    played++;
+                }
+            }
+            rounds++;
+            if (rounds % PRUNE_INTERVAL == 0) {
+                alive = prune(points, pruned, rounds);
+            }
+        }
+        this.rollouts += played;
+        this.searchNanos += System.nanoTime() - start;
+
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            if (!pruned[i] && (best < 0 || points[i] > points[best])) {
+                best = i;
+            }
+        }
+        return candidates[best];
+    }
+
+    /**
+     * Prune the moves whose mean score is, with high confidence, below the mean score of the best move. A rollout
+     * scores two points if it was won, one if it was tied and none if it was lost. Moves still in the search have all
+     * played the same number of rollouts.
+     *
+     * @param points the points scored by the rollouts of every move
+     * @param pruned whether every move has been pruned, which is updated
+     * @param rounds the number of rollouts played by every move still in the search
+     * @return the number of moves still in the search
+     */
+    private static int prune(int[] points, boolean[] pruned, int rounds) {
+        int best = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (!pruned[i]) {
+                best = Math.max(best, points[i]);
+            }
+        }
+        // Hoeffding's bound on the mean scores of two moves at once, with scores scaled to between 0 and 1
+        double margin = 2 * Math.sqrt(PRUNE_LOG_CONFIDENCE / (2.0 * rounds));
+        int alive = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (!pruned[i] && (double) (best - points[i]) / (2 * rounds) > margin) {
+                pruned[i] = true;
+            }
+            if (!pruned[i]) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * Returns how promising a move looks before any rollout: eights are kept for when nothing else can be played,
+     * drawing comes last, and otherwise the suit left to follow should be one the hand holds many cards of.
+     *
+     * @param move a legal move
+     * @param hand the hand the move is made from
+     * @return a higher score for a more promising move
+     */
+    private static int heuristic(int move, long hand) {
+        if (move == CrazyEightsState.DRAW) {
+            return -100;
+        }
+        int card = CrazyEightsState.card(move);
+        int score = CrazyEightsState.suitCount(hand & ~(1L << card), CrazyEightsState.suit(move));
+        return CrazyEightsState.isEight(card) ? score - 20 : score;
+    }
+
+    /**
+     * Returns whether the current player of the game is a seat of this bot.
+     *
+     * @return true if the bot plays the current turn
+     */
+    private boolean isBotTurn() {
+        CrazyEights game = this.game;
+        return game != null && this.botUsernames.contains(game.getCurrentPlayer());
+    }
+
+    @Override
+    public void changePlayer(String username) {
+        this.currentUsername = username;
+        this.players.changePlayer(username);
+    }
+
+    @Override
+    public void showTopCard(String card) {
+        this.players.showTopCard(card);
+    }
+
+    /**
+     * Show a hand to the human players, unless it is the hand of a seat of this bot.
+     *
+     * @param hand a string representation of a hand of cards.
+     */
+    @Override
+    public void showHand(String hand) {
+        if (!this.botUsernames.contains(this.currentUsername)) {
+            this.players.showHand(hand);
+        }
+    }
+
+    @Override
+    public void sendPopup(String message) {
+        this.players.sendPopup(message);
+    }
+
+    @Override
+    public void sendPopup(Supplier<String> message) {
+        this.players.sendPopup(message);
+    }
+
+    /**
+     * Choose the move of a seat of this bot, which is asked for first, or ask the human players whether to draw.
+     *
+     * @return true if the move is drawing a card
+     */
+    @Override
+    public boolean drawCard() {
+        if (!this.isBotTurn()) {
+            return this.players.drawCard();
+        }
+        this.chosen = this.chooseMove(this.game.getState());
+        return this.chosen == CrazyEightsState.DRAW;
+    }
+
+    /**
+     * Return the card chosen for a seat of this bot, or ask the human players for one.
+     *
+     * @return a string representation of the card to play
+     */
+    @Override
+    public String getCard() {
+        if (!this.isBotTurn()) {
+            return this.players.getCard();
+        }
+        return CardCodec.card(CrazyEightsState.card(this.chosen)).toString();
+    }
+
+    /**
+     * Return the suit chosen along with an eight for a seat of this bot, or ask the human players for one.
+     *
+     * @return a char representation of the suit to follow
+     */
+    @Override
+    public char getSuit() {
+        if (!this.isBotTurn()) {
+            return this.players.getSuit();
+        }
+        return CardCodec.suit(CrazyEightsState.suit(this.chosen));
+    }
+
+    @Override
+    public void close() {
+        this.players.close();
+    }
+
+    @Override
+    public void closeMessage(String message) {
+        this.players.closeMessage(message);
+    }
+}
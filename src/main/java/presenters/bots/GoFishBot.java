@@ -0,0 +1,213 @@
+package presenters.bots;
+
+import entities.Card;
+import helpers.CardCodec;
+import usecases.GoFish;
+import usecases.GoFishKnowledge;
+import usecases.IOInterfaces.GoFishIO;
+import usecases.Move;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A Go Fish IO object that plays some of the seats itself, and passes everything else on to the IO object of the
+ * human players.
+ * <p>
+ * The bot remembers everything that happens in public with a {@link GoFishKnowledge}, and asks the player most likely
+ * to hold a rank of its hand for it. A player known to hold the rank is asked first, and a player known not to hold it
+ * is never asked. Among ranks that are as likely to be caught, the bot asks for the one it holds the most cards of, as
+ * that is closest to a book.
+ */
+public class GoFishBot implements GoFishIO {
+
+    private static final int RANK_COUNT = 13;
+
+    private final GoFishIO players;
+    private final Set<String> botUsernames;
+    private volatile GoFish game;
+    private volatile GoFishKnowledge knowledge;
+    private volatile String currentUsername;
+    private volatile Move chosen;
+
+    /**
+     * Create a bot.
+     *
+     * @param players      the IO object of the human players
+     * @param botUsernames the usernames of the seats played by the bot
+     */
+    public GoFishBot(GoFishIO players, Collection<String> botUsernames) {
+        this.players = players;
+        this.botUsernames = new HashSet<>(botUsernames);
+    }
+
+    /**
+     * Set the game the bot plays, and start following it. Must be called before the game is started.
+     *
+     * @param game a game that was created with this bot as its IO object
+     */
+    public void setGame(GoFish game) {
+        this.knowledge = new GoFishKnowledge(game);
+        game.addListener(this.knowledge);
+        this.game = game;
+    }
+
+    /**
+     * Returns what the bot knows about the game
+     *
+     * @return the knowledge of the game the bot plays
+     */
+    public GoFishKnowledge getKnowledge() {
+        return this.knowledge;
+    }
+
+    /**
+     * Choose the move of the current player of the game, which must be a seat of this bot.
+     *
+     * @return the ask the bot makes, or a draw if its hand is empty
+     */
+    public Move chooseMove() {
+        GoFish game = this.game;
+        GoFishKnowledge knowledge = this.knowledge;
+        List<String> usernames = game.getUsernames();
+        int me = usernames.indexOf(game.getCurrentPlayer());
+        int[] mine = new int[RANK_COUNT];
+        List<Card> hand = game.getHand(me);
+        if (hand.isEmpty()) {
+            return Move.draw();
+        }
+        for (Card card : hand) {
+            mine[CardCodec.rankIndex(card.getRank())]++;
+        }
+
+        // cards nobody but their holder has seen, including the deck
+        int hidden = CardCodec.DECK_SIZE - 4 * Integer.bitCount(knowledge.getBooks()) - hand.size();
+        for (int i = 0; i < usernames.size(); i++) {
+            if (i != me) {
+                hidden -= knowledge.getHandSize(i) - knowledge.getUnknownCount(i);
+            }
+        }
+
+        int bestRank = -1;
+        int bestPlayer = -1;
+        double bestScore = -1;
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            if (mine[rank] == 0) {
+                continue;
+            }
+            // cards of the rank that may still be anywhere hidden
+            int unseen = 4 - mine[rank];
+            for (int i = 0; i < usernames.size(); i++) {
+                if (i != me) {
+                    unseen -= knowledge.getKnownCount(i, rank);
+                }
+            }
+            for (int i = 0; i < usernames.size(); i++) {
+                if (i == me) {
+                    continue;
+                }
+                double score;
+                if ((knowledge.getHeld(i) & 1 << rank) != 0) {
+                    score = 1 + knowledge.getKnownCount(i, rank);
+                } else if ((knowledge.getAbsent(i) & 1 << rank) != 0 || hidden == 0) {
+                    score = 0;
+                } else {
+                    double share = (double) knowledge.getUnknownCount(i) / hidden;
+                    score = 1 - Math.pow(1 - share, Math.max(0, unseen));
+                }
+                score += mine[rank] * 1e-3;
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestRank = rank;
+                    bestPlayer = i;
+                }
+            }
+        }
+        return Move.ask(CardCodec.rank(bestRank), usernames.get(bestPlayer));
+    }
+
+    @Override
+    public void changePlayer(String username) {
+        this.currentUsername = username;
+        this.players.changePlayer(username);
+    }
+
+    /**
+     * Show a hand to the human players, unless it is the hand of a seat of this bot.
+     *
+     * @param hand a string representation of a hand of cards.
+     */
+    @Override
+    public void showHand(String hand) {
+        if (!this.botUsernames.contains(this.currentUsername)) {
+            this.players.showHand(hand);
+        }
+    }
+
+    /**
+     * Show a hand to the human players, unless it is the hand of a seat of this bot, in which case it is never made.
+     *
+     * @param hand makes a string representation of a hand of cards.
+     */
+    @Override
+    public void showHand(Supplier<String> hand) {
+        if (!this.botUsernames.contains(this.currentUsername)) {
+            this.players.showHand(hand);
+        }
+    }
+
+    /**
+     * Choose a rank for a seat of this bot, or ask the human players for one.
+     *
+     * @return the rank to ask for
+     */
+    @Override
+    public String getRank() {
+        GoFish game = this.game;
+        if (game == null || !this.botUsernames.contains(game.getCurrentPlayer())) {
+            return this.players.getRank();
+        }
+        this.chosen = this.chooseMove();
+        return this.chosen.getRank();
+    }
+
+    /**
+     * Return the player chosen along with the rank for a seat of this bot, or ask the human players for one.
+     *
+     * @param currPlayer the username of the current player
+     * @param usernames  the usernames of every player of the game
+     * @return the username of the player to ask
+     */
+    @Override
+    public String getPlayerUsername(String currPlayer, List<String> usernames) {
+        Move chosen = this.chosen;
+        if (chosen == null || !this.botUsernames.contains(currPlayer)) {
+            return this.players.getPlayerUsername(currPlayer, usernames);
+        }
+        this.chosen = null;
+        return chosen.getUsername();
+    }
+
+    @Override
+    public void sendPopup(String message) {
+        this.players.sendPopup(message);
+    }
+
+    @Override
+    public void sendPopup(Supplier<String> message) {
+        this.players.sendPopup(message);
+    }
+
+    @Override
+    public void closeMessage(String message) {
+        this.players.closeMessage(message);
+    }
+
+    @Override
+    public void close() {
+        this.players.close();
+    }
+}
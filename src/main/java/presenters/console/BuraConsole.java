@@ -0,0 +1,41 @@
+package presenters.console;
+
+import usecases.IOInterfaces.BuraIO;
+
+/**
+ * This class implements the BuraIO interface on standard input and output.
+ */
+public class BuraConsole extends ConsoleIO implements BuraIO {
+
+    /**
+     * This method should display the top card to the user and indicate that this is the card to beat.
+     *
+     * @param card a string representation of the card to beat.
+     */
+    @Override
+    public void showCardToBeat(String card) {
+        if (!card.isEmpty()) {
+            Terminal.println("Card to beat: " + card);
+        }
+    }
+
+    /**
+     * This method should display to the user which suit is the trump suit.
+     *
+     * @param trump a char representation of a suit
+     */
+    @Override
+    public void showTrumpSuit(char trump) {
+        Terminal.println("Trump suit: " + trump);
+    }
+
+    /**
+     * This method should return a string representation of the card that is selected by the user.
+     *
+     * @return a string representation of the card selected by the user, or the empty string if the input has ended.
+     */
+    @Override
+    public String getCard() {
+        return this.readCard();
+    }
+}
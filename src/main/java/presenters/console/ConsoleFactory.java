@@ -0,0 +1,44 @@
+package presenters.console;
+
+import controllers.IOFactory;
+import controllers.UserDisplayIO;
+import usecases.IOInterfaces.GameIO;
+
+/**
+ * Class that makes console IO objects for the main menu. None of the console classes use AWT or Swing, so they can be
+ * used on machines without a display.
+ */
+public class ConsoleFactory implements IOFactory {
+
+    /**
+     * Create a new console game IO object based on the selected game.
+     *
+     * @param game selected game
+     * @return a console <code>GameIO</code> object
+     */
+    @Override
+    public GameIO createGameIO(String game) {
+        switch (game.toUpperCase()) {
+            case "BURA":
+                return new BuraConsole();
+            case "CRAZY EIGHTS":
+                return new CrazyEightsConsole();
+            case "GO FISH":
+                return new GoFishConsole();
+            case "WAR":
+                return new WarConsole();
+            default:
+                throw new IllegalArgumentException("Illegal game selection of " + game + '.');
+        }
+    }
+
+    /**
+     * Create a new console user statistics display.
+     *
+     * @return a new <code>UserDisplayConsole</code>
+     */
+    @Override
+    public UserDisplayIO createUserDisplayIO() {
+        return new UserDisplayConsole();
+    }
+}
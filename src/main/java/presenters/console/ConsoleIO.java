@@ -0,0 +1,75 @@
+package presenters.console;
+
+import helpers.CardCheck;
+import usecases.IOInterfaces.GameIO;
+
+/**
+ * Class that implements the basic game IO on standard input and output. Game specific console IO classes extend this
+ * class and gain its functionality.
+ */
+public class ConsoleIO implements GameIO {
+
+    /**
+     * This method should send a popup to the user containing a <code>message</code>. The message is printed.
+     *
+     * @param message a string that is to be sent to the user
+     */
+    @Override
+    public void sendPopup(String message) {
+        String line = message.strip();
+        if (!line.isEmpty()) {
+            Terminal.println(line);
+        }
+    }
+
+    /**
+     * This method should display a <code>message</code> to the user and then close the GUI.
+     *
+     * @param message a string that is to be sent to the user.
+     */
+    @Override
+    public void closeMessage(String message) {
+        this.sendPopup(message);
+        this.close();
+    }
+
+    /**
+     * This method should close the GUI when called. There is nothing to close on the console.
+     */
+    @Override
+    public void close() {
+        Terminal.println("");
+    }
+
+    /**
+     * Tell the players whose turn it is.
+     *
+     * @param username the username of the next player
+     */
+    public void changePlayer(String username) {
+        Terminal.println("");
+        Terminal.println("It is now " + username + "'s turn");
+    }
+
+    /**
+     * Print the given hand.
+     *
+     * @param hand a string representation of a hand of cards.
+     */
+    public void showHand(String hand) {
+        Terminal.println("Your hand: " + hand);
+    }
+
+    /**
+     * Prompt for a card until a string that looks like a card is entered.
+     *
+     * @return an uppercase string representation of the card, or the empty string if the input has ended
+     */
+    protected String readCard() {
+        String card = Terminal.readLine("Choose a card (e.g. 10H): ");
+        while (card != null && !CardCheck.checkCard(card)) {
+            card = Terminal.readLine("That is not a card. Choose a card (e.g. 10H): ");
+        }
+        return card == null ? "" : card.toUpperCase();
+    }
+}
@@ -0,0 +1,54 @@
+package presenters.console;
+
+import usecases.IOInterfaces.CrazyEightsIO;
+
+/**
+ * This class implements the CrazyEightsIO interface on standard input and output.
+ */
+public class CrazyEightsConsole extends ConsoleIO implements CrazyEightsIO {
+
+    /**
+     * This method should display the new top card to the user.
+     *
+     * @param card a string representation of the card to be displayed.
+     */
+    @Override
+    public void showTopCard(String card) {
+        Terminal.println("Top card: " + card);
+    }
+
+    /**
+     * This method prompts the user to see if they want to draw a new card from the deck.
+     *
+     * @return true if the user wants to draw a card, false if the user does not want to draw a card.
+     */
+    @Override
+    public boolean drawCard() {
+        String answer = Terminal.readLine("Would you like to draw a card? [y/N] ");
+        return answer != null && answer.toLowerCase().startsWith("y");
+    }
+
+    /**
+     * This method should return a string representation of the card that is selected by the user.
+     *
+     * @return a string representation of the card selected by the user, or the empty string if the input has ended.
+     */
+    @Override
+    public String getCard() {
+        return this.readCard();
+    }
+
+    /**
+     * This method should prompt the user to pick a suit
+     *
+     * @return a char representation of the chosen suit
+     */
+    @Override
+    public char getSuit() {
+        String suit = Terminal.readLine("Choose a suit [S/C/D/H]: ");
+        while (suit != null && (suit.length() != 1 || "SCDH".indexOf(Character.toUpperCase(suit.charAt(0))) == -1)) {
+            suit = Terminal.readLine("That is not a suit. Choose a suit [S/C/D/H]: ");
+        }
+        return suit == null ? 'S' : Character.toUpperCase(suit.charAt(0));
+    }
+}
@@ -0,0 +1,80 @@
+package presenters.console;
+
+import usecases.IOInterfaces.GoFishIO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class implements the GoFishIO interface on standard input and output.
+ */
+public class GoFishConsole extends ConsoleIO implements GoFishIO {
+
+    private static final Set<String> RANKS = Set.of("A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K");
+
+    /**
+     * This method should ask the user which rank of card they would like to request from the other players.
+     *
+     * @return a string representation of the chosen rank, or the empty string if the input has ended
+     */
+    @Override
+    public String getRank() {
+        String rank = Terminal.readLine("Which rank would you like to ask for? ");
+        while (rank != null && !RANKS.contains(normalizeRank(rank))) {
+            rank = Terminal.readLine("That is not a rank. Which rank would you like to ask for? ");
+        }
+        return rank == null ? "" : normalizeRank(rank);
+    }
+
+    /**
+     * This method should ask the user to choose a player to request the chosen rank from. Players can be chosen by
+     * username or by their number in the printed list.
+     *
+     * @param currPlayer a string representation of the current player's username and is not in the list of usernames
+     *                   displayed to the user
+     * @param usernames  a list of all the player usernames in the game
+     * @return a string representation of the username selected by the user, or the empty string if the input has ended
+     */
+    @Override
+    public String getPlayerUsername(String currPlayer, List<String> usernames) {
+        List<String> userList = new ArrayList<>(usernames);
+        userList.remove(currPlayer);
+
+        for (int i = 0; i < userList.size(); i++) {
+            Terminal.println("[" + (i + 1) + "] " + userList.get(i));
+        }
+
+        while (true) {
+            String choice = Terminal.readLine("Which player would you like to ask? ");
+            if (choice == null) {
+                return "";
+            }
+            if (userList.contains(choice)) {
+                return choice;
+            }
+            try {
+                int index = Integer.parseInt(choice) - 1;
+                if (index >= 0 && index < userList.size()) {
+                    return userList.get(index);
+                }
+            } catch (NumberFormatException ignored) {
+                // not a number, fall through and ask again
+            }
+        }
+    }
+
+    /**
+     * Convert a rank or rank name such as "queen" into one of the rank strings used by the game.
+     *
+     * @param rank the rank entered by the user
+     * @return the rank string
+     */
+    private static String normalizeRank(String rank) {
+        String upper = rank.toUpperCase();
+        if (upper.equals("10") || upper.isEmpty()) {
+            return upper;
+        }
+        return upper.substring(0, 1);
+    }
+}
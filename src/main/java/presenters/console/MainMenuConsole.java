@@ -0,0 +1,66 @@
+package presenters.console;
+
+import controllers.MainMenu;
+import controllers.MainMenuIO;
+
+/**
+ * This class implements the MainMenuIO interface on standard input and output.
+ */
+public class MainMenuConsole implements MainMenuIO {
+
+    /**
+     * Retrieve the user's selection.
+     *
+     * @param games array of games for the menu
+     * @return an integer representing the selection
+     */
+    @Override
+    public int getUserSelection(String[] games) {
+        Terminal.println("");
+        Terminal.println("MAIN MENU");
+        for (int i = 0; i < games.length; i++) {
+            Terminal.println("[" + i + "] " + games[i]);
+        }
+        Terminal.println("[" + MainMenu.USER_STATISTICS + "] User Statistics");
+        Terminal.println("[q] Quit");
+
+        String choice = Terminal.readLine("Select an option: ");
+        if (choice == null || choice.equalsIgnoreCase("q")) {
+            return MainMenu.EXIT;
+        }
+        try {
+            return Integer.parseInt(choice);
+        } catch (NumberFormatException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Retrieve a username of a player that is to be playing the selected game.
+     *
+     * @return a valid username representation or "done" if the user does not want to enter another username.
+     */
+    @Override
+    public String getUsername() {
+        String username = Terminal.readLine("Enter a username (or 'done' to finish): ");
+        return username == null ? "done" : username;
+    }
+
+    /**
+     * Send a popup to the user containing <code>message</code>. The message is printed.
+     *
+     * @param message the message to send to the user
+     */
+    @Override
+    public void sendPopup(String message) {
+        Terminal.println(message.strip());
+    }
+
+    /**
+     * This method should close the GUI when called. There is nothing to close on the console.
+     */
+    @Override
+    public void close() {
+        Terminal.println("Goodbye!");
+    }
+}
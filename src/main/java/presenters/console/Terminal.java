@@ -0,0 +1,47 @@
+package presenters.console;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Standard input and output shared by all console IO classes. Every console object must read through this class, since
+ * separate readers on <code>System.in</code> would each buffer input meant for the others.
+ */
+final class Terminal {
+
+    private static final BufferedReader IN = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    private static final PrintStream OUT = System.out;
+
+    private Terminal() {
+    }
+
+    /**
+     * Print <code>message</code> on its own line.
+     *
+     * @param message the message to print
+     */
+    static void println(String message) {
+        OUT.println(message);
+    }
+
+    /**
+     * Print <code>prompt</code> and read the next line of input.
+     *
+     * @param prompt the prompt to print before reading
+     * @return the line read with surrounding whitespace removed, or <code>null</code> if the input has ended
+     */
+    static String readLine(String prompt) {
+        OUT.print(prompt);
+        OUT.flush();
+        try {
+            String line = IN.readLine();
+            return line == null ? null : line.strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package presenters.console;
+
+import controllers.UserDisplayIO;
+
+import java.util.List;
+
+/**
+ * This class implements the UserDisplayIO interface on standard input and output.
+ */
+public class UserDisplayConsole implements UserDisplayIO {
+
+    /**
+     * Prompt the user for a username to get the statistics for.
+     *
+     * @return a username to retrieve various gameplay statistics for, or "exit" to leave the display
+     */
+    @Override
+    public String getUsername() {
+        String username = Terminal.readLine("Enter a username to view statistics for (or 'exit'): ");
+        return username == null ? "exit" : username;
+    }
+
+    /**
+     * Show a message telling the user that they have entered an invalid username.
+     *
+     * @param username the invalid username
+     */
+    @Override
+    public void invalidUsername(String username) {
+        Terminal.println(username.strip());
+    }
+
+    /**
+     * Display the specified statistics, one per line.
+     *
+     * @param statistics list containing arrays of statistic names to their values.
+     */
+    @Override
+    public void showStats(List<String[]> statistics) {
+        for (String[] stat : statistics) {
+            Terminal.println(stat[0] + ": " + stat[1]);
+        }
+    }
+
+    /**
+     * This method should close the GUI when called. There is nothing to close on the console.
+     */
+    @Override
+    public void close() {
+    }
+}
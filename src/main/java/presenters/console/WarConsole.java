@@ -0,0 +1,35 @@
+package presenters.console;
+
+import usecases.IOInterfaces.WarIO;
+
+/**
+ * This class implements the WarIO interface on standard input and output.
+ */
+public class WarConsole extends ConsoleIO implements WarIO {
+
+    /**
+     * This method should display the top of both of the War piles.
+     *
+     * @param card1     a string representation of the card on the first War pile to be displayed.
+     * @param card2     a string representation of the card on the second War pile to be displayed.
+     * @param pileSize  an int representation of the size of the War piles.
+     * @param username1 a string representation of the one of the player's username.
+     * @param username2 a string representation of the other player's username.
+     */
+    @Override
+    public void displayBoard(String card1, String card2, int pileSize, String username1, String username2) {
+        if (card1.isEmpty() && card2.isEmpty()) {
+            Terminal.println(username1 + ": --   " + username2 + ": --   (piles: " + pileSize + ")");
+        } else {
+            Terminal.println(username1 + ": " + card1 + "   " + username2 + ": " + card2 + "   (piles: " + pileSize + ")");
+        }
+    }
+
+    /**
+     * This method takes a keyboard input from the user and continues the game once the input is received.
+     */
+    @Override
+    public void stall() {
+        Terminal.readLine("Press enter to flip. ");
+    }
+}
@@ -3,50 +3,54 @@ package presenters.gui;
 import usecases.IOInterfaces.BuraIO;
 
 import javax.swing.*;
-import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * This class implements the BuraIO interface using Swing to create a GUI to play the game.
  */
 public class BuraGUI extends GUI implements BuraIO, ActionListener {
 
-    private final JLabel cardToBeat = new JLabel();
-    private final JLabel trumpSuit = new JLabel();
-
-    private JButton[] buttons = new JButton[0];
-    private volatile boolean card_selected;
-    private String selected_card = "";
+    private final BlockingQueue<Boolean> card_selected = new ArrayBlockingQueue<>(1);
+    private final TableCanvas table;
+    private volatile String selected_card = "";
+    private String cardToBeat = "blank";
+    private String trumpSuit = "blank";
 
+    /**
+     * Creates a new instance of Bura GUI. This will cause a GUI window to open. All implemented methods will do
+     * user interaction through this window or popups.
+     */
     public BuraGUI() {
-        this.frame.setTitle("Bura");
-
-        this.panel.add(cardToBeat);
-        this.panel.add(trumpSuit);
-
-
-        this.trumpSuit.setText("Trump Suit");
-        this.trumpSuit.setHorizontalTextPosition(SwingConstants.CENTER);
-        this.trumpSuit.setVerticalTextPosition(SwingConstants.TOP);
-        this.trumpSuit.setFont(new Font("Serif", Font.PLAIN, 24));
-
+        this.table = this.createTable();
+        onEdt(this::setUpComponents);
+        this.update();
+    }
 
-        this.cardToBeat.setText("Card To Beat");
-        this.cardToBeat.setHorizontalTextPosition(SwingConstants.CENTER);
-        this.cardToBeat.setVerticalTextPosition(SwingConstants.TOP);
-        this.cardToBeat.setFont(new Font("Serif", Font.PLAIN, 24));
-        ImageIcon icon = new ImageIcon(this.stringToImage("blank"));
-        this.cardToBeat.setIcon(icon);
+    /**
+     * Lay out the components that stay on screen for the whole game. Must only be run on the EDT.
+     */
+    private void setUpComponents() {
+        this.frame.setTitle("Bura");
 
+        this.table.setCardListener(card -> this.selected_card = card);
+        this.showTable();
 
         JButton send_card = new JButton("Send Card");
         send_card.setActionCommand("final");
         send_card.addActionListener(this);
         this.panel.add(send_card);
+    }
 
-
-        this.update();
+    /**
+     * Show the card to beat and the trump suit on the table. Must only be run on the EDT.
+     */
+    private void showTable() {
+        this.table.setRow("table", "Table", List.of(this.cardToBeat, this.trumpSuit),
+                List.of("Card To Beat", "Trump Suit"), false);
     }
 
     /**
@@ -57,9 +61,7 @@ public class BuraGUI extends GUI implements BuraIO, ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         if (e.getActionCommand().equals("final")) {
-            this.card_selected = true;
-        } else {
-            this.selected_card = e.getActionCommand();
+            this.card_selected.offer(Boolean.TRUE);
         }
     }
 
@@ -81,17 +83,12 @@ public class BuraGUI extends GUI implements BuraIO, ActionListener {
      */
     @Override
     public void showCardToBeat(String card) {
-        card = card.toLowerCase();
-
-        ImageIcon icon;
+        String lowerCard = card.equals("") ? "blank" : card.toLowerCase();
 
-        if (card.equals("")) {
-            icon = new ImageIcon(this.stringToImage("blank"));
-        } else {
-            icon = new ImageIcon(this.stringToImage(card));
-        }
-
-        this.cardToBeat.setIcon(icon);
+        onEdt(() -> {
+            this.cardToBeat = lowerCard;
+            this.showTable();
+        });
         this.update();
     }
 
@@ -103,8 +100,10 @@ public class BuraGUI extends GUI implements BuraIO, ActionListener {
     @Override
     public void showTrumpSuit(char trump) {
         String trumpString = "a" + String.valueOf(trump).toLowerCase();
-        ImageIcon icon = new ImageIcon(this.stringToImage(trumpString));
-        this.trumpSuit.setIcon(icon);
+        onEdt(() -> {
+            this.trumpSuit = trumpString;
+            this.showTable();
+        });
         this.update();
     }
 
@@ -115,27 +114,8 @@ public class BuraGUI extends GUI implements BuraIO, ActionListener {
      */
     @Override
     public void showHand(String hand) {
-        //First clean the old hand
-        for (JButton button : this.buttons) {
-            this.panel.remove(button);
-        }
-
-        hand = hand.toLowerCase();
-
-        String[] cards_strings = hand.split(" ");
-
-        this.buttons = new JButton[cards_strings.length];
-
-        //Create and add new buttons
-        for (int i = 0; i < cards_strings.length; i++) {
-            ImageIcon icon = new ImageIcon(this.stringToImage(cards_strings[i]));
-            this.buttons[i] = new JButton(icon);
-
-            this.buttons[i].setActionCommand(cards_strings[i]);
-            this.buttons[i].addActionListener(this);
-
-            this.panel.add(this.buttons[i]);
-        }
+        List<String> cards_strings = splitCards(hand);
+        onEdt(() -> this.table.setRow("hand", "Your Hand", cards_strings, null, true));
 
         //This code sets up the window itself and should be done last
         this.update();
@@ -148,10 +128,9 @@ public class BuraGUI extends GUI implements BuraIO, ActionListener {
      */
     @Override
     public String getCard() {
-        while (!card_selected) {
-            Thread.onSpinWait();
+        if (awaitInput(this.card_selected) == null) {
+            return "";
         }
-        this.card_selected = false;
         return this.selected_card.toUpperCase();
     }
 }
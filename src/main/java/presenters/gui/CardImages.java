@@ -0,0 +1,86 @@
+package presenters.gui;
+
+import javax.swing.*;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Class that loads the card images once and shares them between all windows. Images can be preloaded in the
+ * background while the first window is being created; an image that is requested before it has been preloaded is
+ * simply loaded on demand.
+ */
+final class CardImages {
+
+    private static final String IMAGE_DIRECTORY = "cards/";
+    private static final String BLANK_IMAGE = "back-blue.png";
+    private static final Map<String, String> STRING_TO_IMAGE = createStringToImage();
+    private static final Map<String, ImageIcon> ICONS = new ConcurrentHashMap<>();
+
+    private CardImages() {
+    }
+
+    /**
+     * Create the map from cards as lowercase strings to their image file names.
+     *
+     * @return the map from card strings to image file names
+     */
+    private static Map<String, String> createStringToImage() {
+        final String[] CARDS_STRINGS = {"as", "2s", "3s", "4s", "5s", "6s", "7s", "8s", "9s", "10s", "js", "qs", "ks",
+                "ac", "2c", "3c", "4c", "5c", "6c", "7c", "8c", "9c", "10c", "jc", "qc", "kc",
+                "ad", "2d", "3d", "4d", "5d", "6d", "7d", "8d", "9d", "10d", "jd", "qd", "kd",
+                "ah", "2h", "3h", "4h", "5h", "6h", "7h", "8h", "9h", "10h", "jh", "qh", "kh"};
+        final String[] CARD_IMAGES = {
+                "1_spade.png", "2_spade.png", "3_spade.png", "4_spade.png", "5_spade.png", "6_spade.png", "7_spade.png", "8_spade.png", "9_spade.png", "10_spade.png", "jack_spade.png", "queen_spade.png", "king_spade.png",
+                "1_club.png", "2_club.png", "3_club.png", "4_club.png", "5_club.png", "6_club.png", "7_club.png", "8_club.png", "9_club.png", "10_club.png", "jack_club.png", "queen_club.png", "king_club.png",
+                "1_diamond.png", "2_diamond.png", "3_diamond.png", "4_diamond.png", "5_diamond.png", "6_diamond.png", "7_diamond.png", "8_diamond.png", "9_diamond.png", "10_diamond.png", "jack_diamond.png", "queen_diamond.png", "king_diamond.png",
+                "1_heart.png", "2_heart.png", "3_heart.png", "4_heart.png", "5_heart.png", "6_heart.png", "7_heart.png", "8_heart.png", "9_heart.png", "10_heart.png", "jack_heart.png", "queen_heart.png", "king_heart.png"
+        };
+
+        Map<String, String> stringToImage = new HashMap<>();
+        for (int i = 0; i < CARD_IMAGES.length; i++) {
+            stringToImage.put(CARDS_STRINGS[i], CARD_IMAGES[i]);
+        }
+        stringToImage.put("blank", BLANK_IMAGE);
+        return stringToImage;
+    }
+
+    /**
+     * Start loading every card image on <code>executor</code>.
+     *
+     * @param executor the executor to load the images on
+     */
+    static void preload(Executor executor) {
+        for (String cardString : STRING_TO_IMAGE.keySet()) {
+            executor.execute(() -> icon(cardString));
+        }
+    }
+
+    /**
+     * Return the image of a card.
+     *
+     * @param cardString the lowercase String representation of the card, or "blank" for the back of a card. Anything
+     *                   that is not a card is shown as the back of a card.
+     * @return the image of that card
+     */
+    static ImageIcon icon(String cardString) {
+        return ICONS.computeIfAbsent(cardString, CardImages::load);
+    }
+
+    /**
+     * Load the image of a card, from the classpath if possible and from the source tree otherwise.
+     *
+     * @param cardString the lowercase String representation of the card, or "blank" for the back of a card
+     * @return the image of that card
+     */
+    private static ImageIcon load(String cardString) {
+        String fileName = STRING_TO_IMAGE.getOrDefault(cardString, BLANK_IMAGE);
+        URL resource = CardImages.class.getClassLoader().getResource(IMAGE_DIRECTORY + fileName);
+        if (resource != null) {
+            return new ImageIcon(resource);
+        }
+        return new ImageIcon("src/main/resources/" + IMAGE_DIRECTORY + fileName);
+    }
+}
@@ -3,19 +3,20 @@ package presenters.gui;
 import usecases.IOInterfaces.CrazyEightsIO;
 
 import javax.swing.*;
-import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * This class implements the CrazyEightsIO interface using Swing to create a GUI to play the game.
  */
 public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener {
 
-    private final JLabel topCard = new JLabel();
-    private JButton[] buttons = new JButton[0];
-    private volatile boolean card_selected;
-    private String selected_card = "";
+    private final BlockingQueue<Boolean> card_selected = new ArrayBlockingQueue<>(1);
+    private final TableCanvas table;
+    private volatile String selected_card = "";
 
     /**
      * Creates a new instance of CrazyEights GUI. This will cause a GUI window to open. All implemented methods will do
@@ -23,23 +24,23 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
      */
     public CrazyEightsGUI() {
         super();
-        this.frame.setTitle("Crazy Eights");
-
+        this.table = this.createTable();
+        onEdt(this::setUpComponents);
+        this.update();
+    }
 
-        this.topCard.setText("Top Card");
-        this.topCard.setFont(new Font("Serif", Font.PLAIN, 24));
-        this.topCard.setVerticalTextPosition(SwingConstants.TOP);
-        this.topCard.setHorizontalTextPosition(SwingConstants.CENTER);
-        this.panel.add(this.topCard);
+    /**
+     * Lay out the components that stay on screen for the whole game. Must only be run on the EDT.
+     */
+    private void setUpComponents() {
+        this.frame.setTitle("Crazy Eights");
 
+        this.table.setCardListener(card -> this.selected_card = card);
 
         JButton send_card = new JButton("Send Card");
         send_card.setActionCommand("final");
         send_card.addActionListener(this);
         this.panel.add(send_card);
-
-
-        this.update();
     }
 
     /**
@@ -50,9 +51,7 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
     @Override
     public void actionPerformed(ActionEvent e) {
         if (e.getActionCommand().equals("final")) {
-            this.card_selected = true;
-        } else {
-            this.selected_card = e.getActionCommand();
+            this.card_selected.offer(Boolean.TRUE);
         }
     }
 
@@ -73,10 +72,9 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
      */
     @Override
     public void showTopCard(String card) {
-        card = card.toLowerCase();
+        String lowerCard = card.toLowerCase();
 
-        ImageIcon icon = new ImageIcon(this.stringToImage(card));
-        this.topCard.setIcon(icon);
+        onEdt(() -> this.table.setRow("table", "Table", List.of(lowerCard), List.of("Top Card"), false));
         this.update();
     }
 
@@ -87,27 +85,8 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
      */
     @Override
     public void showHand(String hand) {
-        //First clean the old hand
-        for (JButton button : this.buttons) {
-            this.panel.remove(button);
-        }
-
-        hand = hand.toLowerCase();
-
-        String[] cards_strings = hand.split(" ");
-
-        this.buttons = new JButton[cards_strings.length];
-
-        //Create and add new buttons
-        for (int i = 0; i < cards_strings.length; i++) {
-            ImageIcon icon = new ImageIcon(this.stringToImage(cards_strings[i]));
-            this.buttons[i] = new JButton(icon);
-
-            this.buttons[i].setActionCommand(cards_strings[i]);
-            this.buttons[i].addActionListener(this);
-
-            this.panel.add(this.buttons[i]);
-        }
+        List<String> cards_strings = splitCards(hand);
+        onEdt(() -> this.table.setRow("hand", "Your Hand", cards_strings, null, true));
 
         //This code sets up the window itself and should be done last
         this.update();
@@ -120,9 +99,9 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
      */
     @Override
     public boolean drawCard() {
-        int selection = JOptionPane.showConfirmDialog(new JFrame(), "Would you like to draw a card?");
+        Integer selection = callOnEdt(() -> JOptionPane.showConfirmDialog(this.frame, "Would you like to draw a card?"));
 
-        return selection == 0;
+        return selection != null && selection == 0;
     }
 
     /**
@@ -132,10 +111,9 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
      */
     @Override
     public String getCard() {
-        while (!card_selected) {
-            Thread.onSpinWait();
+        if (awaitInput(this.card_selected) == null) {
+            return "";
         }
-        this.card_selected = false;
         return this.selected_card;
     }
 
@@ -151,17 +129,20 @@ public class CrazyEightsGUI extends GUI implements CrazyEightsIO, ActionListener
                 "Clubs",
                 "Diamond",
                 "Hearts"};
-        int n = JOptionPane.showOptionDialog(frame,
+        Integer n = callOnEdt(() -> JOptionPane.showOptionDialog(frame,
                 "Please Select A Suit",
                 "Suit Selection",
                 JOptionPane.YES_NO_CANCEL_OPTION,
                 JOptionPane.QUESTION_MESSAGE,
                 null,
                 options,
-                options[2]);
+                options[2]));
 
         char[] suits = {'s', 'c', 'd', 'h'};
 
+        if (n == null || n < 0) {
+            return suits[0];
+        }
         return suits[n];
     }
 }
@@ -3,94 +3,292 @@ package presenters.gui;
 import usecases.IOInterfaces.GameIO;
 
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Class that instantiates a basic GUI. Game specific GUIs extend this class and gain its functionality. This class
  * creates menus and windows which the users will view and interact with
+ * <p>
+ * The game loop talks to a GUI from its own thread, while Swing components may only be touched on the event dispatch
+ * thread (EDT). Every change to a component is therefore queued with {@link #onEdt(Runnable)} and applied on the EDT
+ * in batches, and user input travels back to the game thread through blocking queues. Components are created on the EDT
+ * too, with {@link #createOnEdt(Supplier)}, whichever thread constructs the GUI.
+ * <p>
+ * Messages from the game are appended to an event log at the bottom of the window rather than shown in modal popups,
+ * so they neither block the game thread nor need to be dismissed one by one. The log keeps only the most recent
+ * {@value #MAX_LOG_LINES} lines. The latest message can optionally also be flashed as a toast over the window.
  */
 public class GUI implements GameIO {
 
-    protected final JFrame frame = new JFrame();
+    private static final int MAX_LOG_LINES = 200;
 
-    protected final JPanel panel = new JPanel();
+    private static final int TOAST_MILLIS = 2500;
 
-    private final Map<String, String> stringToImage;
+    protected final JFrame frame;
+
+    protected final JPanel panel;
+
+    private final JTextArea eventLog;
+
+    private final JLabel toast;
+
+    private final Timer toastTimer;
+
+    private volatile boolean toastsEnabled = false;
+
+    private final Queue<Runnable> pendingUpdates = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
 
     /**
      * This creates a new instance of GUI. This will just make a blank window appear. For more detailed GUI's, see this
      * classes subclasses.
      */
     GUI() {
+        this(createOnEdt(Components::new));
+    }
+
+    /**
+     * Take the components of a new window, which were created on the EDT, and show the window.
+     *
+     * @param components the components of the window
+     */
+    private GUI(Components components) {
+        this.frame = components.frame;
+        this.panel = components.panel;
+        this.eventLog = components.eventLog;
+        this.toast = components.toast;
+        this.toastTimer = components.toastTimer;
+        update();
+    }
 
-        final String[] CARDS_STRINGS = {"as", "2s", "3s", "4s", "5s", "6s", "7s", "8s", "9s", "10s", "js", "qs", "ks",
-                "ac", "2c", "3c", "4c", "5c", "6c", "7c", "8c", "9c", "10c", "jc", "qc", "kc",
-                "ad", "2d", "3d", "4d", "5d", "6d", "7d", "8d", "9d", "10d", "jd", "qd", "kd",
-                "ah", "2h", "3h", "4h", "5h", "6h", "7h", "8h", "9h", "10h", "jh", "qh", "kh"};
-        final String[] CARD_IMAGES = {
-                "1_spade.png", "2_spade.png", "3_spade.png", "4_spade.png", "5_spade.png", "6_spade.png", "7_spade.png", "8_spade.png", "9_spade.png", "10_spade.png", "jack_spade.png", "queen_spade.png", "king_spade.png",
-                "1_club.png", "2_club.png", "3_club.png", "4_club.png", "5_club.png", "6_club.png", "7_club.png", "8_club.png", "9_club.png", "10_club.png", "jack_club.png", "queen_club.png", "king_club.png",
-                "1_diamond.png", "2_diamond.png", "3_diamond.png", "4_diamond.png", "5_diamond.png", "6_diamond.png", "7_diamond.png", "8_diamond.png", "9_diamond.png", "10_diamond.png", "jack_diamond.png", "queen_diamond.png", "king_diamond.png",
-                "1_heart.png", "2_heart.png", "3_heart.png", "4_heart.png", "5_heart.png", "6_heart.png", "7_heart.png", "8_heart.png", "9_heart.png", "10_heart.png", "jack_heart.png", "queen_heart.png", "king_heart.png"
-        };
-
-        //Creates the map from cards as strings to their images file names
-        this.stringToImage = new HashMap<>();
-        for (int i = 0; i < CARD_IMAGES.length; i++) {
-            this.stringToImage.put(CARDS_STRINGS[i], CARD_IMAGES[i]);
+    /**
+     * Create a component, or anything else that must be created on the EDT, on the EDT and wait for it. Changes queued
+     * with {@link #onEdt(Runnable)} before this call are applied first. The wait is not interrupted, so a component
+     * is never created twice.
+     *
+     * @param factory creates the component
+     * @param <T>     the type of the component
+     * @return the new component
+     */
+    protected static <T> T createOnEdt(Supplier<T> factory) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return factory.get();
+        }
+        CompletableFuture<T> created = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                created.complete(factory.get());
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        });
+        try {
+            return created.join();
+        } catch (CompletionException e) {
+            // rethrow what the factory threw, such as a HeadlessException, as if it had run on this thread
+            throw (RuntimeException) e.getCause();
         }
+    }
 
-        this.panel.setBorder(BorderFactory.createEmptyBorder(100, 100, 100, 100));
-        this.frame.setTitle("GUI");
-        Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
-        this.frame.setBounds(0, 0, (int) (screenSize.width * 0.9), (int) (screenSize.height * 0.9));
-        update();
+    /**
+     * Create a table for painting cards on and put it in the middle of the window. The panel is moved above the table
+     * and is left for the controls of the game.
+     *
+     * @return the new table
+     */
+    protected TableCanvas createTable() {
+        TableCanvas table = createOnEdt(TableCanvas::new);
+        onEdt(() -> {
+            this.panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+            this.frame.add(this.panel, BorderLayout.PAGE_START);
+            this.frame.add(table, BorderLayout.CENTER);
+        });
+        return table;
     }
 
     /**
-     * This method updates the window and redraws everything on the screen. This should be called whenever you want
-     * changes to be seen by the user.
+     * Split a space separated string representation of a hand into lowercase card strings.
+     *
+     * @param hand a string representation of a hand of cards.
+     * @return the lowercase string representations of the cards in the hand
      */
-    protected void update() {
-        this.frame.add(this.panel, BorderLayout.CENTER);
-        this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+    protected static List<String> splitCards(String hand) {
+        List<String> cards = new ArrayList<>();
+        for (String card : hand.toLowerCase().split(" ")) {
+            if (!card.isEmpty()) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Set whether messages are also flashed as a toast over the window, in addition to being added to the event log.
+     *
+     * @param enabled true to show toasts, false to only use the event log
+     */
+    public void setToastsEnabled(boolean enabled) {
+        this.toastsEnabled = enabled;
+    }
+
+    /**
+     * Append <code>message</code> to the event log, dropping the oldest lines once the log is full, and flash it as a
+     * toast if toasts are enabled. Must only be run on the EDT.
+     *
+     * @param message the message to log
+     */
+    private void logMessage(String message) {
+        String line = message.strip();
+        if (line.isEmpty()) {
+            return;
+        }
+
+        this.eventLog.append(line + "\n");
+        int excess = this.eventLog.getLineCount() - 1 - MAX_LOG_LINES;
+        if (excess > 0) {
+            try {
+                this.eventLog.replaceRange("", 0, this.eventLog.getLineEndOffset(excess - 1));
+            } catch (BadLocationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        this.eventLog.setCaretPosition(this.eventLog.getDocument().getLength());
+
+        if (this.toastsEnabled) {
+            this.toast.setText(line.replace('\n', ' '));
+            Dimension size = this.toast.getPreferredSize();
+            JLayeredPane layeredPane = this.frame.getLayeredPane();
+            this.toast.setBounds((layeredPane.getWidth() - size.width) / 2, layeredPane.getHeight() / 8,
+                    size.width, size.height);
+            this.toast.setVisible(true);
+            this.toastTimer.restart();
+        }
+    }
+
+    /**
+     * Queue a change to the Swing components of this GUI. Changes are applied on the EDT, in the order they were
+     * queued, and all changes queued before the EDT gets around to them are applied together in a single batch
+     * followed by one relayout and repaint.
+     *
+     * @param change the change to apply on the EDT
+     */
+    protected void onEdt(Runnable change) {
+        this.pendingUpdates.add(change);
+        if (this.flushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::flushUpdates);
+        }
+    }
+
+    /**
+     * Apply every queued change. Must only be run on the EDT.
+     */
+    private void flushUpdates() {
+        this.flushScheduled.set(false);
+        Runnable change;
+        while ((change = this.pendingUpdates.poll()) != null) {
+            change.run();
+        }
+        this.frame.revalidate();
         this.frame.repaint();
-        this.frame.setVisible(true);
     }
 
     /**
-     * Takes a string representation of a card and returns the address of the image for that card.
+     * Run <code>task</code> on the EDT and wait for its result. Any changes queued before this call are applied first.
+     * This is meant for modal dialogs, which must be shown from the EDT but whose answer the game thread needs.
      *
-     * @param cardString the String representation of the card you want an image of
-     * @return the address of a the image of that card.
-     */
-    protected String stringToImage(String cardString) {
-        if (cardString.equals("blank")) {
-            return "src/main/resources/cards/" + "back-blue.png";
-        } else {
-            return "src/main/resources/cards/" + this.stringToImage.get(cardString);
+     * @param task the task to run on the EDT
+     * @param <T>  the type of the result
+     * @return the result of <code>task</code>, or <code>null</code> if the calling thread was interrupted
+     */
+    protected <T> T callOnEdt(Callable<T> task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
         }
+
+        Object[] result = new Object[1];
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    result[0] = task.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        @SuppressWarnings("unchecked")
+        T t = (T) result[0];
+        return t;
     }
 
+    /**
+     * Block the game thread until the EDT hands over a piece of user input.
+     *
+     * @param inputs the queue the EDT offers user input to
+     * @param <T>    the type of the input
+     * @return the next input, or <code>null</code> if the waiting thread was interrupted
+     */
+    protected static <T> T awaitInput(BlockingQueue<T> inputs) {
+        try {
+            return inputs.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * This method updates the window and redraws everything on the screen. This should be called whenever you want
+     * changes to be seen by the user.
+     */
+    protected void update() {
+        onEdt(() -> this.frame.setVisible(true));
+    }
 
     /**
-     * This method should send a popup to the user containing a <code>message</code>.
+     * This method should send a popup to the user containing a <code>message</code>. The message is added to this
+     * window's event log without blocking the game.
      *
      * @param message a string that is to be sent to the user
      */
     public void sendPopup(String message) {
-        JOptionPane.showMessageDialog(new JFrame(), message);
+        onEdt(() -> this.logMessage(message));
     }
 
     /**
-     * This method should display a <code>message</code> to the user and then close the GUI.
+     * This method should display a <code>message</code> to the user and then close the GUI. Since the window is about
+     * to close, the message is shown in a dialog that the user has to dismiss.
      *
      * @param message a string that is to be sent to the user.
      */
     public void closeMessage(String message) {
         this.sendPopup(message);
+        callOnEdt(() -> {
+            JOptionPane.showMessageDialog(this.frame, message);
+            return null;
+        });
         this.close();
     }
 
@@ -98,6 +296,45 @@ public class GUI implements GameIO {
      * This method should close the GUI when called.
      */
     public void close() {
-        this.frame.dispose();
+        onEdt(this.frame::dispose);
+    }
+
+    /**
+     * The components every window has, laid out and created together on the EDT.
+     */
+    private static class Components {
+
+        private final JFrame frame = new JFrame();
+        private final JPanel panel = new JPanel();
+        private final JTextArea eventLog = new JTextArea(6, 0);
+        private final JLabel toast = new JLabel();
+        private final Timer toastTimer = new Timer(TOAST_MILLIS, e -> this.toast.setVisible(false));
+
+        /**
+         * Create and lay out the components of a blank window. Must only be run on the EDT.
+         */
+        private Components() {
+            this.panel.setBorder(BorderFactory.createEmptyBorder(100, 100, 100, 100));
+            this.frame.setTitle("GUI");
+            this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+            this.frame.setBounds(0, 0, (int) (screenSize.width * 0.9), (int) (screenSize.height * 0.9));
+            this.frame.add(this.panel, BorderLayout.CENTER);
+
+            this.eventLog.setEditable(false);
+            this.eventLog.setLineWrap(true);
+            this.eventLog.setWrapStyleWord(true);
+            this.eventLog.setFont(new Font("Serif", Font.PLAIN, 18));
+            this.frame.add(new JScrollPane(this.eventLog), BorderLayout.PAGE_END);
+
+            this.toast.setOpaque(true);
+            this.toast.setBackground(new Color(0, 0, 0, 200));
+            this.toast.setForeground(Color.WHITE);
+            this.toast.setFont(new Font("Serif", Font.PLAIN, 24));
+            this.toast.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+            this.toast.setVisible(false);
+            this.frame.getLayeredPane().add(this.toast, JLayeredPane.POPUP_LAYER);
+            this.toastTimer.setRepeats(false);
+        }
     }
 }
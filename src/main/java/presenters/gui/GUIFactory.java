@@ -0,0 +1,44 @@
+package presenters.gui;
+
+import controllers.IOFactory;
+import controllers.UserDisplayIO;
+import usecases.IOInterfaces.GameIO;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Class that makes the Swing GUI objects for the main menu.
+ */
+public class GUIFactory implements IOFactory {
+
+    /**
+     * Start loading the card images on <code>executor</code>, so that they are ready by the time a game window needs
+     * them.
+     *
+     * @param executor the executor to load the images on
+     */
+    public static void preloadCardImages(Executor executor) {
+        CardImages.preload(executor);
+    }
+
+    /**
+     * Create a new game GUI object based on the selected game.
+     *
+     * @param game selected game
+     * @return a <code>GameGUI</code> object
+     */
+    @Override
+    public GameIO createGameIO(String game) {
+        return GameGUIFactory.gameGUIFactory(game);
+    }
+
+    /**
+     * Create a new window displaying user statistics.
+     *
+     * @return a new <code>UserDisplayGUI</code>
+     */
+    @Override
+    public UserDisplayIO createUserDisplayIO() {
+        return new UserDisplayGUI();
+    }
+}
@@ -11,7 +11,7 @@ import java.util.List;
  */
 public class GoFishGUI extends GUI implements GoFishIO {
 
-    JLabel[] hand = new JLabel[0];
+    private final TableCanvas table;
 
     /**
      * This creates a new GoFishGUI object. Calling this method will create a blank GUI window on the screen through
@@ -21,7 +21,8 @@ public class GoFishGUI extends GUI implements GoFishIO {
     public GoFishGUI() {
 
         super();
-        this.frame.setTitle("Go Fish");
+        this.table = this.createTable();
+        onEdt(() -> this.frame.setTitle("Go Fish"));
     }
 
     /**
@@ -42,21 +43,8 @@ public class GoFishGUI extends GUI implements GoFishIO {
      */
     @Override
     public void showHand(String hand) {
-        for (JLabel card : this.hand) {
-            this.panel.remove(card);
-        }
-
-        hand = hand.toLowerCase();
-
-        String[] cardStrings = hand.split(" ");
-
-        this.hand = new JLabel[cardStrings.length];
-
-        for (int i = 0; i < cardStrings.length; i++) {
-            ImageIcon icon = new ImageIcon(this.stringToImage(cardStrings[i]));
-            this.hand[i] = new JLabel(icon);
-            this.panel.add(this.hand[i]);
-        }
+        List<String> cardStrings = splitCards(hand);
+        onEdt(() -> this.table.setRow("hand", "Your Hand", cardStrings, null, false));
 
         this.update();
     }
@@ -83,16 +71,16 @@ public class GoFishGUI extends GUI implements GoFishIO {
                 "Queen",
                 "King",
                 "Ace"};
-        int n = JOptionPane.showOptionDialog(frame,
+        Integer n = callOnEdt(() -> JOptionPane.showOptionDialog(frame,
                 "Please Select A Rank",
                 "Rank Selection",
                 JOptionPane.YES_NO_CANCEL_OPTION,
                 JOptionPane.QUESTION_MESSAGE,
                 null,
                 options,
-                options[2]);
+                options[2]));
 
-        if (n == -1) {
+        if (n == null || n == -1) {
             this.close();
             return "";
         }
@@ -123,15 +111,18 @@ public class GoFishGUI extends GUI implements GoFishIO {
             userArray[i] = userList.get(i);
         }
 
-        int n = JOptionPane.showOptionDialog(frame,
+        Integer n = callOnEdt(() -> JOptionPane.showOptionDialog(frame,
                 "Please Select A Player",
                 "Player Selection",
                 JOptionPane.YES_NO_CANCEL_OPTION,
                 JOptionPane.QUESTION_MESSAGE,
                 null,
                 userArray,
-                0);
+                0));
 
+        if (n == null || n == -1) {
+            return "";
+        }
         return userArray[n];
     }
 }
@@ -1,5 +1,6 @@
 package presenters.gui;
 
+import controllers.MainMenu;
 import controllers.MainMenuIO;
 import helpers.UsernameCheck;
 
@@ -9,6 +10,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * This class implements the MainMenuIO interface using Swing to create a GUI to display stats to the user.
@@ -16,10 +19,9 @@ import java.util.List;
 public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
 
     private final JButton userStatButton;
-    private List<String> games;
-    private volatile boolean ready = false;
+    private final BlockingQueue<Integer> selections = new ArrayBlockingQueue<>(1);
+    private volatile List<String> games;
     private JButton[] gameButtons;
-    private int sel;
 
     /**
      * This creates a new MainMenuGUI object. This creates a new window with the user will interact with.
@@ -27,12 +29,14 @@ public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
     public MainMenuGUI() {
         super();
 
-        this.frame.setTitle("Main Menu");
+        this.userStatButton = createOnEdt(JButton::new);
+        onEdt(() -> {
+            this.frame.setTitle("Main Menu");
 
-        this.userStatButton = new JButton();
-        this.userStatButton.setText("USER STATISTICS");
-        this.userStatButton.setActionCommand("userStat");
-        this.userStatButton.addActionListener(this);
+            this.userStatButton.setText("USER STATISTICS");
+            this.userStatButton.setActionCommand("userStat");
+            this.userStatButton.addActionListener(this);
+        });
 
         this.update();
     }
@@ -48,13 +52,11 @@ public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
 
         int sel = this.games.indexOf(event);
         if (sel != -1) {
-            this.ready = true;
-            this.sel = sel;
+            this.selections.offer(sel);
         }
 
         if (event.equals("userStat")) {
-            this.ready = true;
-            this.sel = 9;
+            this.selections.offer(MainMenu.USER_STATISTICS);
         }
     }
 
@@ -63,7 +65,7 @@ public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
      */
     @Override
     public void close() {
-        this.frame.dispose();
+        onEdt(this.frame::dispose);
     }
 
     /**
@@ -78,25 +80,26 @@ public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
             this.games = Arrays.asList(games);
 
             this.gameButtons = new JButton[this.games.size()];
-            for (int i = 0; i < games.length; i++) {
-                JButton button = new JButton();
-                button.setText(this.games.get(i));
-                button.setActionCommand(this.games.get(i));
-                button.addActionListener(this);
-
-                gameButtons[i] = button;
-                this.panel.add(button, BorderLayout.PAGE_START);
-            }
-
-            this.panel.add(this.userStatButton, BorderLayout.PAGE_END);
+            List<String> menuGames = this.games;
+            JButton[] menuButtons = this.gameButtons;
+            onEdt(() -> {
+                for (int i = 0; i < menuButtons.length; i++) {
+                    JButton button = new JButton();
+                    button.setText(menuGames.get(i));
+                    button.setActionCommand(menuGames.get(i));
+                    button.addActionListener(this);
+
+                    menuButtons[i] = button;
+                    this.panel.add(button, BorderLayout.PAGE_START);
+                }
+
+                this.panel.add(this.userStatButton, BorderLayout.PAGE_END);
+            });
             this.update();
         }
 
-        while (!this.ready) {
-            Thread.onSpinWait();
-        }
-        this.ready = false;
-        return this.sel;
+        Integer sel = awaitInput(this.selections);
+        return sel == null ? MainMenu.EXIT : sel;
     }
 
     /**
@@ -107,7 +110,7 @@ public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
      */
     @Override
     public String getUsername() {
-        String user = JOptionPane.showInputDialog("Please Enter A Username (Press cancel if you are done)");
+        String user = callOnEdt(() -> JOptionPane.showInputDialog("Please Enter A Username (Press cancel if you are done)"));
 
         if (user == null) {
             return "done";
@@ -124,6 +127,9 @@ public class MainMenuGUI extends GUI implements MainMenuIO, ActionListener {
      */
     @Override
     public void sendPopup(String message) {
-        JOptionPane.showMessageDialog(new JFrame(), message);
+        callOnEdt(() -> {
+            JOptionPane.showMessageDialog(this.frame, message);
+            return null;
+        });
     }
 }
@@ -0,0 +1,248 @@
+package presenters.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A single component on which a game table is painted. The table is made up of named rows stacked from top to bottom,
+ * each holding a title and a line of cards that may have a caption above them. Cards in a row that do not fit the
+ * width of the table are overlapped.
+ * <p>
+ * The table is painted into a back buffer. Changing a row only redraws that row into the buffer and repaints its
+ * region of the screen, so the cost of an update does not depend on the rest of the table. Clicks on a selectable
+ * row are hit-tested against the painted cards and reported to a listener.
+ * <p>
+ * Like every Swing component, a <code>TableCanvas</code> must only be used on the event dispatch thread.
+ */
+class TableCanvas extends JComponent {
+
+    private static final int CARD_WIDTH = 169;
+    private static final int CARD_HEIGHT = 245;
+    private static final int CAPTION_HEIGHT = 30;
+    private static final int TITLE_HEIGHT = 36;
+    private static final int PADDING = 20;
+    private static final int RAISE = 20;
+    private static final int ROW_HEIGHT = TITLE_HEIGHT + CAPTION_HEIGHT + RAISE + CARD_HEIGHT + PADDING;
+    private static final Color TABLE_COLOR = new Color(0, 100, 0);
+    private static final Font TITLE_FONT = new Font("Serif", Font.PLAIN, 30);
+    private static final Font CAPTION_FONT = new Font("Serif", Font.PLAIN, 24);
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+    private BufferedImage backBuffer;
+    private Consumer<String> cardListener = card -> {
+    };
+
+    /**
+     * Create an empty table.
+     */
+    TableCanvas() {
+        this.setOpaque(true);
+        this.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                TableCanvas.this.handleClick(e.getX(), e.getY());
+            }
+        });
+    }
+
+    /**
+     * Set the listener that is told the string representation of a card when it is clicked in a selectable row.
+     *
+     * @param cardListener the listener to notify of clicked cards
+     */
+    void setCardListener(Consumer<String> cardListener) {
+        this.cardListener = cardListener;
+    }
+
+    /**
+     * Add a row to the bottom of the table, or change the contents of an existing row.
+     *
+     * @param name       the name of the row
+     * @param title      text shown above the row
+     * @param cards      lowercase string representations of the cards in the row; "blank" is the back of a card
+     * @param captions   text shown above each card, or <code>null</code> for no captions
+     * @param selectable whether the cards of this row can be clicked
+     */
+    void setRow(String name, String title, List<String> cards, List<String> captions, boolean selectable) {
+        Row row = this.rows.get(name);
+        if (row == null) {
+            row = new Row(this.rows.size());
+            this.rows.put(name, row);
+            this.revalidate();
+        }
+        row.title = title;
+        row.cards = new ArrayList<>(cards);
+        row.captions = captions == null ? null : new ArrayList<>(captions);
+        row.selectable = selectable;
+        row.selected = -1;
+        this.redrawRow(row);
+    }
+
+    /**
+     * Change the title of an existing row.
+     *
+     * @param name  the name of the row
+     * @param title text shown above the row
+     */
+    void setRowTitle(String name, String title) {
+        Row row = this.rows.get(name);
+        row.title = title;
+        this.redrawRow(row);
+    }
+
+    /**
+     * Return the preferred size of this table, which is wide enough for four cards and tall enough for all its rows.
+     *
+     * @return the preferred size of this table
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(4 * (CARD_WIDTH + PADDING) + PADDING, Math.max(1, this.rows.size()) * ROW_HEIGHT);
+    }
+
+    /**
+     * Copy the damaged part of the back buffer to the screen, redrawing the whole buffer first if the size of this
+     * table has changed.
+     *
+     * @param g the graphics context to paint into
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (this.backBuffer == null
+                || this.backBuffer.getWidth() != this.getWidth() || this.backBuffer.getHeight() != this.getHeight()) {
+            this.backBuffer = new BufferedImage(Math.max(1, this.getWidth()), Math.max(1, this.getHeight()),
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D bg = this.backBuffer.createGraphics();
+            bg.setColor(TABLE_COLOR);
+            bg.fillRect(0, 0, this.backBuffer.getWidth(), this.backBuffer.getHeight());
+            for (Row row : this.rows.values()) {
+                this.drawRow(bg, row);
+            }
+            bg.dispose();
+        }
+        g.drawImage(this.backBuffer, 0, 0, null);
+    }
+
+    /**
+     * Redraw a row into the back buffer and repaint only the region of the screen it covers.
+     *
+     * @param row the row to redraw
+     */
+    private void redrawRow(Row row) {
+        if (this.backBuffer != null && row.bounds().y + ROW_HEIGHT <= this.backBuffer.getHeight()) {
+            Graphics2D bg = this.backBuffer.createGraphics();
+            this.drawRow(bg, row);
+            bg.dispose();
+            this.repaint(row.bounds());
+        } else {
+            // the row does not fit the current buffer, so the buffer is rebuilt at the new size
+            this.backBuffer = null;
+            this.repaint();
+        }
+    }
+
+    /**
+     * Draw a row, including its background, into a graphics context.
+     *
+     * @param g   the graphics context of the back buffer
+     * @param row the row to draw
+     */
+    private void drawRow(Graphics2D g, Row row) {
+        Rectangle bounds = row.bounds();
+        g.setColor(TABLE_COLOR);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        g.setColor(Color.WHITE);
+        g.setFont(TITLE_FONT);
+        g.drawString(row.title, PADDING, bounds.y + TITLE_HEIGHT - 8);
+
+        g.setFont(CAPTION_FONT);
+        for (int i = 0; i < row.cards.size(); i++) {
+            Rectangle card = row.cardBounds(i);
+            if (row.captions != null && i < row.captions.size()) {
+                g.setColor(Color.WHITE);
+                g.drawString(row.captions.get(i), card.x, bounds.y + TITLE_HEIGHT + CAPTION_HEIGHT - 6);
+            }
+            g.drawImage(CardImages.icon(row.cards.get(i)).getImage(), card.x, card.y, CARD_WIDTH, CARD_HEIGHT, null);
+            if (i == row.selected) {
+                g.setColor(Color.YELLOW);
+                g.setStroke(new BasicStroke(4));
+                g.drawRect(card.x, card.y, CARD_WIDTH, CARD_HEIGHT);
+            }
+        }
+    }
+
+    /**
+     * Find the card under a click and report it to the card listener if its row is selectable. Cards drawn later are
+     * on top, so they are tested first.
+     *
+     * @param x the x coordinate of the click
+     * @param y the y coordinate of the click
+     */
+    private void handleClick(int x, int y) {
+        for (Row row : this.rows.values()) {
+            if (!row.selectable || !row.bounds().contains(x, y)) {
+                continue;
+            }
+            for (int i = row.cards.size() - 1; i >= 0; i--) {
+                if (row.cardBounds(i).contains(x, y)) {
+                    row.selected = i;
+                    this.redrawRow(row);
+                    this.cardListener.accept(row.cards.get(i));
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A line of cards on the table.
+     */
+    private class Row {
+        private final int index;
+        private String title = "";
+        private List<String> cards = new ArrayList<>();
+        private List<String> captions;
+        private boolean selectable;
+        private int selected = -1;
+
+        /**
+         * @param index the position of this row from the top of the table
+         */
+        private Row(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Return the region of the table covered by this row.
+         *
+         * @return the bounds of this row
+         */
+        private Rectangle bounds() {
+            return new Rectangle(0, this.index * ROW_HEIGHT, Math.max(1, TableCanvas.this.getWidth()), ROW_HEIGHT);
+        }
+
+        /**
+         * Return the region covered by a card of this row. Cards are spaced evenly, and overlap if the row is too
+         * narrow to fit them side by side. The selected card is raised.
+         *
+         * @param i the index of the card in this row
+         * @return the bounds of the card
+         */
+        private Rectangle cardBounds(int i) {
+            int available = Math.max(CARD_WIDTH, TableCanvas.this.getWidth() - 2 * PADDING - CARD_WIDTH);
+            int step = this.cards.size() <= 1 ? 0 : Math.min(CARD_WIDTH + PADDING, available / (this.cards.size() - 1));
+            int y = this.index * ROW_HEIGHT + TITLE_HEIGHT + CAPTION_HEIGHT + (i == this.selected ? 0 : RAISE);
+            return new Rectangle(PADDING + i * step, y, CARD_WIDTH, CARD_HEIGHT);
+        }
+    }
+}
@@ -7,14 +7,16 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * This class implements the UserDisplayIO interface using Swing to create a GUI to display stats to the user.
  */
 public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener {
 
-    private final JTextField input = new JTextField(20);
-    private volatile boolean ready = false;
+    private final JTextField input = createOnEdt(() -> new JTextField(20));
+    private final BlockingQueue<String> submissions = new ArrayBlockingQueue<>(1);
 
     /**
      * This creates a new UserDisplayGUI object. This creates a new window with the user will interact with.
@@ -22,16 +24,18 @@ public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener
     public UserDisplayGUI() {
         super();
 
-        this.frame.setTitle("User Stats");
+        onEdt(() -> {
+            this.frame.setTitle("User Stats");
 
-        this.panel.add(input, BorderLayout.PAGE_START);
+            this.panel.add(input, BorderLayout.PAGE_START);
 
-        JButton submit = new JButton();
-        submit.setText("Submit");
-        submit.setActionCommand("submit");
-        submit.addActionListener(this);
+            JButton submit = new JButton();
+            submit.setText("Submit");
+            submit.setActionCommand("submit");
+            submit.addActionListener(this);
 
-        this.panel.add(submit, BorderLayout.CENTER);
+            this.panel.add(submit, BorderLayout.CENTER);
+        });
 
         this.update();
     }
@@ -45,7 +49,8 @@ public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener
     public void actionPerformed(ActionEvent e) {
         String event = e.getActionCommand();
         if (event.equals("submit")) {
-            this.ready = true;
+            // runs on the EDT, so the text field can be read here and handed over to the waiting thread
+            this.submissions.offer(this.input.getText());
         }
     }
 
@@ -56,11 +61,8 @@ public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener
      */
     @Override
     public String getUsername() {
-        while (!this.ready) {
-            Thread.onSpinWait();
-        }
-        this.ready = false;
-        return this.input.getText();
+        String username = awaitInput(this.submissions);
+        return username == null ? "exit" : username;
     }
 
     /**
@@ -72,7 +74,10 @@ public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener
     public void invalidUsername(String username) {
         String message = "Username " + username + " doesn't exist";
 
-        JOptionPane.showMessageDialog(new JFrame(), message);
+        callOnEdt(() -> {
+            JOptionPane.showMessageDialog(this.frame, message);
+            return null;
+        });
     }
 
     /**
@@ -98,7 +103,10 @@ public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener
             message.append(stat[0]).append(": ").append(stat[1]).append("\n");
         }
 
-        JOptionPane.showMessageDialog(new JFrame(), message.toString());
+        callOnEdt(() -> {
+            JOptionPane.showMessageDialog(this.frame, message.toString());
+            return null;
+        });
     }
 
     /**
@@ -106,7 +114,7 @@ public class UserDisplayGUI extends GUI implements UserDisplayIO, ActionListener
      */
     @Override
     public void close() {
-        this.frame.dispose();
+        onEdt(this.frame::dispose);
     }
 
 }
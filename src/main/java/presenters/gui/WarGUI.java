@@ -3,20 +3,20 @@ package presenters.gui;
 import usecases.IOInterfaces.WarIO;
 
 import javax.swing.*;
-import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * This class implements the WarIO interface using Swing to create a GUI to play the game.
  */
 public class WarGUI extends GUI implements WarIO, ActionListener {
 
-    private final JButton flipButton = new JButton();
-    private final JLabel pileSize = new JLabel();
-    private volatile boolean flip = false;
-    private HashMap<String, JLabel> piles = null;
+    private final JButton flipButton = createOnEdt(JButton::new);
+    private final BlockingQueue<Boolean> flips = new ArrayBlockingQueue<>(1);
+    private final TableCanvas table;
 
     /**
      * This creates a new GUI window through which the user will interact with to play War.
@@ -24,12 +24,15 @@ public class WarGUI extends GUI implements WarIO, ActionListener {
     public WarGUI() {
         super();
 
-        this.frame.setTitle("War");
-
-        this.flipButton.addActionListener(this);
-        this.flipButton.setText("Flip!");
-        this.flipButton.setActionCommand("flip");
+        this.table = this.createTable();
+        onEdt(() -> {
+            this.frame.setTitle("War");
 
+            this.flipButton.addActionListener(this);
+            this.flipButton.setText("Flip!");
+            this.flipButton.setActionCommand("flip");
+            this.panel.add(this.flipButton);
+        });
 
         this.update();
     }
@@ -43,7 +46,7 @@ public class WarGUI extends GUI implements WarIO, ActionListener {
     @Override
     public void actionPerformed(ActionEvent e) {
         if (e.getActionCommand().equals("flip")) {
-            this.flip = true;
+            this.flips.offer(Boolean.TRUE);
         }
     }
 
@@ -68,61 +71,15 @@ public class WarGUI extends GUI implements WarIO, ActionListener {
      */
     @Override
     public void displayBoard(String card1, String card2, int pileSize, String username1, String username2) {
-        card1 = card1.toLowerCase();
-        card2 = card2.toLowerCase();
-
-        if (this.piles == null) {
-            this.piles = new HashMap<>();
-            Font font = new Font("Serif", Font.PLAIN, 24);
-
-
-            ImageIcon icon = new ImageIcon(this.stringToImage(card1));
-            JLabel first = new JLabel(icon);
-            first.setText(username1);
-            first.setFont(font);
-            first.setHorizontalTextPosition(SwingConstants.CENTER);
-            first.setVerticalTextPosition(SwingConstants.TOP);
-            this.piles.put(username1, first);
-
-
-            icon = new ImageIcon(this.stringToImage(card2));
-            JLabel second = new JLabel(icon);
-            second.setFont(font);
-            second.setText(username2);
-            second.setHorizontalTextPosition(SwingConstants.CENTER);
-            second.setVerticalTextPosition(SwingConstants.TOP);
-            this.piles.put(username2, second);
-
-
-            this.pileSize.setFont(new Font("Serif", Font.PLAIN, 50));
-            this.pileSize.setText(String.valueOf(pileSize));
-
-            this.panel.add(this.pileSize);
-            this.panel.add(this.piles.get(username1));
-            this.panel.add(flipButton);
-            this.panel.add(this.piles.get(username2));
-
-        } else {
-            ImageIcon icon = new ImageIcon(this.stringToImage(card1));
-            this.piles.get(username1).setIcon(icon);
-
-            icon = new ImageIcon(this.stringToImage(card2));
-            this.piles.get(username2).setIcon(icon);
-
-            this.pileSize.setText(String.valueOf(pileSize));
-
-        }
-
+        List<String> cards;
         if (card1.equals("") && card2.equals("")) {
-            ImageIcon icon = new ImageIcon(this.stringToImage("blank"));
-            this.piles.get(username1).setIcon(icon);
-
-            this.piles.get(username2).setIcon(icon);
-
-            this.pileSize.setText(String.valueOf(pileSize));
+            cards = List.of("blank", "blank");
+        } else {
+            cards = List.of(card1.toLowerCase(), card2.toLowerCase());
         }
 
-
+        onEdt(() -> this.table.setRow("piles", "Cards in each War pile: " + pileSize, cards,
+                List.of(username1, username2), false));
         this.update();
     }
 
@@ -132,9 +89,6 @@ public class WarGUI extends GUI implements WarIO, ActionListener {
      */
     @Override
     public void stall() {
-        while (!this.flip) {
-            Thread.onSpinWait();
-        }
-        this.flip = false;
+        awaitInput(this.flips);
     }
 }
@@ -0,0 +1,51 @@
+package presenters.remote;
+
+import usecases.IOInterfaces.BuraIO;
+
+import java.util.function.Consumer;
+
+/**
+ * This class implements the BuraIO interface for a remote player.
+ */
+public class RemoteBuraIO extends RemoteIO implements BuraIO {
+
+    /**
+     * Create remote Bura IO that sends its lines to <code>output</code>.
+     *
+     * @param output receiver of the lines sent to the remote player
+     */
+    public RemoteBuraIO(Consumer<String> output) {
+        super(output);
+    }
+
+    /**
+     * This method should display the top card to the user and indicate that this is the card to beat. The card is
+     * sent as a <code>BEAT</code> line, with a "-" if there is no card to beat.
+     *
+     * @param card a string representation of the card to beat.
+     */
+    @Override
+    public void showCardToBeat(String card) {
+        this.send("BEAT", card.isEmpty() ? "-" : card);
+    }
+
+    /**
+     * This method should display to the user which suit is the trump suit.
+     *
+     * @param trump a char representation of a suit
+     */
+    @Override
+    public void showTrumpSuit(char trump) {
+        this.send("TRUMP", String.valueOf(trump));
+    }
+
+    /**
+     * This method should return a string representation of the card that is selected by the user.
+     *
+     * @return an upper case string representation of the card, or the empty string if the game thread was interrupted
+     */
+    @Override
+    public String getCard() {
+        return this.prompt("CARD").toUpperCase();
+    }
+}
@@ -0,0 +1,61 @@
+package presenters.remote;
+
+import usecases.IOInterfaces.CrazyEightsIO;
+
+import java.util.function.Consumer;
+
+/**
+ * This class implements the CrazyEightsIO interface for a remote player.
+ */
+public class RemoteCrazyEightsIO extends RemoteIO implements CrazyEightsIO {
+
+    /**
+     * Create remote Crazy Eights IO that sends its lines to <code>output</code>.
+     *
+     * @param output receiver of the lines sent to the remote player
+     */
+    public RemoteCrazyEightsIO(Consumer<String> output) {
+        super(output);
+    }
+
+    /**
+     * This method should display the new top card to the user.
+     *
+     * @param card a string representation of the card to be displayed.
+     */
+    @Override
+    public void showTopCard(String card) {
+        this.send("TOP", card);
+    }
+
+    /**
+     * This method asks the remote player whether they want to draw a new card from the deck.
+     *
+     * @return true if the answer starts with "y", false otherwise.
+     */
+    @Override
+    public boolean drawCard() {
+        return this.prompt("DRAW").toLowerCase().startsWith("y");
+    }
+
+    /**
+     * This method should return a string representation of the card that is selected by the user.
+     *
+     * @return an upper case string representation of the card, or the empty string if the game thread was interrupted
+     */
+    @Override
+    public String getCard() {
+        return this.prompt("CARD").toUpperCase();
+    }
+
+    /**
+     * This method should prompt the user to pick a suit
+     *
+     * @return a char representation of the chosen suit, or 0 if no suit was sent
+     */
+    @Override
+    public char getSuit() {
+        String suit = this.prompt("SUIT");
+        return suit.isEmpty() ? 0 : Character.toUpperCase(suit.charAt(0));
+    }
+}
@@ -0,0 +1,50 @@
+package presenters.remote;
+
+import usecases.IOInterfaces.GoFishIO;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This class implements the GoFishIO interface for a remote player.
+ */
+public class RemoteGoFishIO extends RemoteIO implements GoFishIO {
+
+    /**
+     * Create remote Go Fish IO that sends its lines to <code>output</code>.
+     *
+     * @param output receiver of the lines sent to the remote player
+     */
+    public RemoteGoFishIO(Consumer<String> output) {
+        super(output);
+    }
+
+    /**
+     * This method should return a string representation of the rank chosen by the remote player.
+     *
+     * @return an upper case rank, or the empty string if the game thread was interrupted
+     */
+    @Override
+    public String getRank() {
+        return this.prompt("RANK").toUpperCase();
+    }
+
+    /**
+     * This method should return the username of the player chosen by the remote player. The usernames that can be
+     * chosen are sent with the prompt, separated by commas.
+     *
+     * @param currPlayer the username of the current player, who cannot be chosen
+     * @param usernames  the usernames of all players
+     * @return the chosen username, or the empty string if the game thread was interrupted
+     */
+    @Override
+    public String getPlayerUsername(String currPlayer, List<String> usernames) {
+        StringBuilder choices = new StringBuilder();
+        for (String username : usernames) {
+            if (!username.equals(currPlayer)) {
+                choices.append(choices.length() == 0 ? "" : ",").append(username);
+            }
+        }
+        return this.prompt("PLAYER " + choices);
+    }
+}
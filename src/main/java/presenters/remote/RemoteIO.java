@@ -0,0 +1,186 @@
+package presenters.remote;
+
+import usecases.IOInterfaces.GameIO;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Class that implements the basic game IO for a player at a remote table. Game specific remote IO classes extend this
+ * class and gain its functionality.
+ * <p>
+ * Remote IO speaks a line protocol. Everything the game shows is sent to an output as one line starting with an upper
+ * case keyword, such as <code>POPUP It is now alice's turn</code>. Whenever the game needs input, a
+ * <code>PROMPT</code> line is sent and the game thread waits for the next line handed to {@link #receive(String)}.
+ * Waiting is done on a blocking queue, so on a virtual thread an idle table costs no platform thread.
+ * <p>
+ * If the waiting thread is interrupted, prompts return the empty string, which makes the game abort.
+ * <p>
+ * Remote IO made by {@link #headless(String)} has no output. It sends nothing and never builds a message passed to it
+ * as a supplier, so that simulations and bots can drive games without formatting text nobody reads.
+ */
+public class RemoteIO implements GameIO {
+
+    private final BlockingQueue<String> input = new LinkedBlockingQueue<>();
+    private final Consumer<String> output;
+
+    /**
+     * Create remote IO that sends its lines to <code>output</code>.
+     *
+     * @param output receiver of the lines sent to the remote player; called on the game thread, or null to send
+     *               nothing
+     */
+    public RemoteIO(Consumer<String> output) {
+        this.output = output;
+    }
+
+    /**
+     * Create a new remote game IO object based on the selected game.
+     *
+     * @param game   selected game
+     * @param output receiver of the lines sent to the remote player
+     * @return a remote <code>GameIO</code> object
+     */
+    public static RemoteIO create(String game, Consumer<String> output) {
+        switch (game.toUpperCase()) {
+            case "BURA":
+                return new RemoteBuraIO(output);
+            case "CRAZY EIGHTS":
+                return new RemoteCrazyEightsIO(output);
+            case "GO FISH":
+                return new RemoteGoFishIO(output);
+            case "WAR":
+                return new RemoteWarIO(output);
+            default:
+                throw new IllegalArgumentException("Illegal game selection of " + game + '.');
+        }
+    }
+
+    /**
+     * Create a new remote game IO object based on the selected game that shows nothing, for games played by bots
+     * alone. Prompts still wait for input handed to {@link #receive(String)}.
+     *
+     * @param game selected game
+     * @return a remote <code>GameIO</code> object without output
+     */
+    public static RemoteIO headless(String game) {
+        return create(game, null);
+    }
+
+    /**
+     * Hand a line of input from the remote player to the game. Lines are answered to prompts in the order they arrive.
+     *
+     * @param line a line of input, without its line terminator
+     */
+    public void receive(String line) {
+        this.input.add(line.strip());
+    }
+
+    /**
+     * Send a line to the remote player. Line breaks inside <code>text</code> are replaced with spaces so that every
+     * call sends exactly one line.
+     *
+     * @param keyword the keyword the line starts with
+     * @param text    the rest of the line
+     */
+    protected void send(String keyword, String text) {
+        if (this.output == null) {
+            return;
+        }
+        String line = text.strip().replace("\r", "").replace('\n', ' ');
+        this.output.accept(line.isEmpty() ? keyword : keyword + " " + line);
+    }
+
+    /**
+     * Ask the remote player for input and wait for their answer.
+     *
+     * @param question what is asked for, such as <code>CARD</code>
+     * @return the answer of the remote player, or the empty string if the waiting thread was interrupted
+     */
+    protected String prompt(String question) {
+        this.send("PROMPT", question);
+        try {
+            return this.input.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    /**
+     * This method should send a popup to the user containing a <code>message</code>. The message is sent as a
+     * <code>POPUP</code> line.
+     *
+     * @param message a string that is to be sent to the user
+     */
+    @Override
+    public void sendPopup(String message) {
+        if (!message.isBlank()) {
+            this.send("POPUP", message);
+        }
+    }
+
+    /**
+     * Send a popup made by <code>message</code>, unless this IO object has no output.
+     *
+     * @param message makes the string that is to be sent to the user
+     */
+    @Override
+    public void sendPopup(Supplier<String> message) {
+        if (this.output != null) {
+            this.sendPopup(message.get());
+        }
+    }
+
+    /**
+     * This method should display a <code>message</code> to the user and then close the GUI. The message is sent as a
+     * <code>CLOSE</code> line.
+     *
+     * @param message a string that is to be sent to the user.
+     */
+    @Override
+    public void closeMessage(String message) {
+        this.send("CLOSE", message);
+        this.close();
+    }
+
+    /**
+     * This method should close the GUI when called. An <code>END</code> line tells the remote player that the game is
+     * over.
+     */
+    @Override
+    public void close() {
+        this.send("END", "");
+    }
+
+    /**
+     * Tell the remote player whose turn it is.
+     *
+     * @param username the username of the next player
+     */
+    public void changePlayer(String username) {
+        this.send("PLAYER", username);
+    }
+
+    /**
+     * Send the given hand.
+     *
+     * @param hand a string representation of a hand of cards.
+     */
+    public void showHand(String hand) {
+        this.send("HAND", hand);
+    }
+
+    /**
+     * Send the hand made by <code>hand</code>, unless this IO object has no output.
+     *
+     * @param hand makes a string representation of a hand of cards.
+     */
+    public void showHand(Supplier<String> hand) {
+        if (this.output != null) {
+            this.showHand(hand.get());
+        }
+    }
+}
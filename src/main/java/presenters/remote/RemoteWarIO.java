@@ -0,0 +1,44 @@
+package presenters.remote;
+
+import usecases.IOInterfaces.WarIO;
+
+import java.util.function.Consumer;
+
+/**
+ * This class implements the WarIO interface for a remote player.
+ */
+public class RemoteWarIO extends RemoteIO implements WarIO {
+
+    /**
+     * Create remote War IO that sends its lines to <code>output</code>.
+     *
+     * @param output receiver of the lines sent to the remote player
+     */
+    public RemoteWarIO(Consumer<String> output) {
+        super(output);
+    }
+
+    /**
+     * This method should display the two cards at the top of each War pile, as well as the pile size. The board is
+     * sent as a <code>BOARD</code> line, with a "-" for a missing card.
+     *
+     * @param card1     the card at the top of player 1's pile
+     * @param card2     the card at the top of player 2's pile
+     * @param pileSize  the number of cards in each pile
+     * @param username1 the username of player 1
+     * @param username2 the username of player 2
+     */
+    @Override
+    public void displayBoard(String card1, String card2, int pileSize, String username1, String username2) {
+        this.send("BOARD", String.join(" ", card1.isEmpty() ? "-" : card1, card2.isEmpty() ? "-" : card2,
+                String.valueOf(pileSize), username1, username2));
+    }
+
+    /**
+     * This method should wait until the remote player flips, which they do by sending any line.
+     */
+    @Override
+    public void stall() {
+        this.prompt("FLIP");
+    }
+}
@@ -0,0 +1,225 @@
+package presenters.remote;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * The lines of one table that spectators may see, published once by the table and read by any number of spectators.
+ * <p>
+ * A feed is a ring buffer with a single writer, the table's thread, which calls {@link #accept(String)} for every line
+ * of the table's {@link RemoteIO}. Publishing a line stores it in a preallocated slot and then advances a sequence
+ * number, so it costs the table the same whether nobody or thousands are watching, and it never waits for a spectator.
+ * <p>
+ * Every {@link Spectator} reads the ring at its own pace, on its own thread or on one thread shared by many spectators.
+ * A spectator that falls more than the size of the ring behind does not get the lines it missed. It gets a snapshot
+ * instead, made of the latest line of every keyword that describes the table, such as <code>PLAYER</code> or
+ * <code>BOARD</code>, and carries on with the live lines from there. New spectators start with a snapshot too.
+ * <p>
+ * Spectators do not see the lines meant for the player whose turn it is, <code>HAND</code> and <code>PROMPT</code>.
+ * Once the table is over and its feed closed, every spectator receives <code>END</code> after the last line.
+ */
+public class SpectatorFeed implements Consumer<String> {
+
+    private static final String[] STATE_KEYWORDS = {"PLAYER", "BOARD", "TOP", "BEAT", "TRUMP"};
+
+    private final String[] ring;
+    private final int mask;
+    private final String[] latest = new String[STATE_KEYWORDS.length];
+    private final AtomicLong published = new AtomicLong(-1);
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private long next = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Create a feed that keeps the last 256 lines.
+     */
+    public SpectatorFeed() {
+        this(256);
+    }
+
+    /**
+     * Create a feed.
+     *
+     * @param capacity the number of lines kept for spectators that are behind, rounded up to a power of two
+     */
+    public SpectatorFeed(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.ring = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publish a line of the table. Must only be called by the table's thread.
+     *
+     * @param line a line sent by the table's remote IO
+     */
+    @Override
+    public void accept(String line) {
+        if (line.startsWith("HAND") || line.startsWith("PROMPT") || line.equals("END")) {
+            return;
+        }
+        for (int i = 0; i < STATE_KEYWORDS.length; i++) {
+            if (line.startsWith(STATE_KEYWORDS[i])) {
+                this.latest[i] = line;
+            }
+        }
+        long sequence = this.next++;
+        this.ring[(int) sequence & this.mask] = line;
+        this.published.lazySet(sequence);
+    }
+
+    /**
+     * Close this feed once the table is over. Spectators receive <code>END</code> after the last line.
+     */
+    public void close() {
+        this.closed = true;
+    }
+
+    /**
+     * Start watching the table.
+     *
+     * @param sink receiver of the lines for the new spectator
+     * @return the new spectator, which has not received anything yet
+     */
+    public Spectator subscribe(Consumer<String> sink) {
+        Spectator spectator = new Spectator(sink);
+        this.spectators.add(spectator);
+        return spectator;
+    }
+
+    /**
+     * Returns the spectators of this feed
+     *
+     * @return the spectators that have not stopped watching
+     */
+    public List<Spectator> getSpectators() {
+        return this.spectators;
+    }
+
+    /**
+     * Returns the number of lines published so far
+     *
+     * @return the number of lines published
+     */
+    public long getPublished() {
+        return this.published.get() + 1;
+    }
+
+    /**
+     * Deliver every line that is waiting for any spectator of this feed. Spectators that read at their own pace can
+     * instead be drained one at a time with {@link Spectator#drain(int)}.
+     *
+     * @return the number of lines delivered
+     */
+    public int deliver() {
+        int delivered = 0;
+        for (Spectator spectator : this.spectators) {
+            delivered += spectator.drain(Integer.MAX_VALUE);
+        }
+        return delivered;
+    }
+
+    /**
+     * A spectator of a table, with its own position in the feed. A spectator must only be drained by one thread at a
+     * time.
+     */
+    public class Spectator {
+
+        private final Consumer<String> sink;
+        private long position = -1;
+        private long snapshots = 0;
+        private boolean ended = false;
+
+        /**
+         * @param sink receiver of the lines for this spectator
+         */
+        private Spectator(Consumer<String> sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Deliver up to <code>maxLines</code> waiting lines to this spectator. A spectator that has fallen too far
+         * behind gets a snapshot of the table first.
+         *
+         * @param maxLines the maximum number of live lines to deliver
+         * @return the number of lines delivered, including those of a snapshot
+         */
+        public int drain(int maxLines) {
+            if (this.ended) {
+                return 0;
+            }
+            boolean wasClosed = SpectatorFeed.this.closed;
+            int delivered = 0;
+            long head = SpectatorFeed.this.published.get();
+            if (this.position < 0 || head - this.position >= SpectatorFeed.this.ring.length) {
+                delivered += this.snapshot(head);
+            }
+            while (delivered < maxLines && this.position <= head) {
+                String line = SpectatorFeed.this.ring[(int) this.position & SpectatorFeed.this.mask];
+                if (SpectatorFeed.this.published.get() - this.position >= SpectatorFeed.this.ring.length) {
+                    // the slot was overwritten while it was read
+                    head = SpectatorFeed.this.published.get();
+                    delivered += this.snapshot(head);
+                    continue;
+                }
+                this.sink.accept(line);
+                this.position++;
+                delivered++;
+            }
+            if (wasClosed && this.position > head) {
+                this.sink.accept("END");
+                this.cancel();
+            }
+            return delivered;
+        }
+
+        /**
+         * Send the latest state of the table and continue after <code>head</code>.
+         *
+         * @param head the sequence number of the last published line
+         * @return the number of lines sent
+         */
+        private int snapshot(long head) {
+            int sent = 0;
+            for (String line : SpectatorFeed.this.latest) {
+                if (line != null) {
+                    this.sink.accept(line);
+                    sent++;
+                }
+            }
+            if (this.position >= 0) {
+                this.snapshots++;
+            }
+            this.position = head + 1;
+            return sent;
+        }
+
+        /**
+         * Returns how often this spectator fell behind
+         *
+         * @return the number of snapshots this spectator got because it fell too far behind
+         */
+        public long getSnapshots() {
+            return this.snapshots;
+        }
+
+        /**
+         * Returns whether this spectator has stopped watching
+         *
+         * @return true once the table has ended or the spectator was cancelled
+         */
+        public boolean isEnded() {
+            return this.ended;
+        }
+
+        /**
+         * Stop watching the table.
+         */
+        public void cancel() {
+            this.ended = true;
+            SpectatorFeed.this.spectators.remove(this);
+        }
+    }
+}
@@ -2,10 +2,11 @@ package usecases;
 
 
 import entities.Card;
-import entities.Deck;
+import helpers.CardCodec;
 import usecases.IOInterfaces.BuraIO;
 import usecases.usermanagement.UserManager;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -22,13 +23,15 @@ public class Bura extends GameTemplate {
     protected static final String[] RANKS = {"A", "6", "7", "8", "9", "10", "J", "Q", "K"};
     private final static int MIN_PLAYERS = 2;
     private final static int MAX_PLAYERS = 6;
-    private static char TRUMP_SUIT;
     protected final HashMap<Player, Integer> SCORE_TRACKER = new HashMap<>();
-    protected final Map<String, Integer> ranks = Map.of("A", 11, "K", 4, "10", 10, "Q", 3,
+    protected static final Map<String, Integer> ranks = Map.of("A", 11, "K", 4, "10", 10, "Q", 3,
             "J", 2, "9", 0, "8", 0, "7", 0, "6", 0);
     private final BuraIO BURA_IO;
     private final Stack<Card> PLAYING_FIELD = new Stack<>();
-    private final Map<String, Integer> rankToPoint = Map.of("A", 9, "K", 8, "10", 5, "Q", 7,
+    private char trumpSuit;
+    private int leadPlayerIndex;
+    private int winningPlayerIndex;
+    static final Map<String, Integer> rankToPoint = Map.of("A", 9, "K", 8, "10", 5, "Q", 7,
             "J", 6, "9", 4, "8", 3, "7", 2, "6", 1);
 
     /**
@@ -51,17 +54,20 @@ public class Bura extends GameTemplate {
      * @param rand        a Random object for creating deterministic behaviour.
      */
     public Bura(List<String> usernames, UserManager userManager, BuraIO buraIO, Random rand) {
-        super(usernames, userManager, buraIO);
+        super(usernames, userManager, buraIO, RANKS);
         this.BURA_IO = buraIO;
-        this.currPlayerIndex = 0;
-        List<Card> cardList = new ArrayList<>();
-        for (String i : RANKS) {
-            for (char j : SUITS) {
-                cardList.add(new Card(i, j));
-            }
-        }
-        this.deck = new Deck(cardList);
-        this.deck.shuffle(rand);
+        this.deal(rand);
+    }
+
+    /**
+     * Shuffle the deck and deal three cards to each player, then take the trump suit from the top card and shuffle
+     * the rest of the deck again.
+     *
+     * @param random where the shuffles are drawn from
+     */
+    @Override
+    protected void deal(Random random) {
+        this.deck.shuffle(random);
         for (Player player : this.players) {
             for (int i = 0; i < 3; i++) {
                 player.addToHand(this.deck.drawCard());
@@ -69,10 +75,12 @@ public class Bura extends GameTemplate {
             this.SCORE_TRACKER.put(player, 0);
         }
 
-        TRUMP_SUIT = this.deck.peek().getSuit();
-        this.deck.shuffle(rand);
+        this.trumpSuit = this.deck.peek().getSuit();
+        this.deck.shuffle(random);
 
-        this.currPlayerIndex = 0;
+        this.PLAYING_FIELD.clear();
+        this.leadPlayerIndex = 0;
+        this.winningPlayerIndex = 0;
     }
 
     /**
@@ -93,6 +101,16 @@ public class Bura extends GameTemplate {
         return MIN_PLAYERS;
     }
 
+    /**
+     * Returns the cards on the playing field
+     *
+     * @return a copy of the cards played in the current round, in the order they were played
+     */
+    @Override
+    public List<Card> getFieldCards() {
+        return new ArrayList<>(this.PLAYING_FIELD);
+    }
+
     /**
      * Return a String representation of this class.
      *
@@ -103,78 +121,194 @@ public class Bura extends GameTemplate {
     }
 
     /**
-     * The main part of the game that shows players their hands, takes in their answers, determines if a move is valid
-     * or invalid, plays the move, and determines a winner.
+     * Return every move the current player may make, which is playing any card in their hand.
+     *
+     * @return the legal moves of the current player
      */
     @Override
-    public void startGame() {
-        while (!gameEnd()) {
-            playRound();
+    public List<Move> legalMoves() {
+        List<Move> moves = new ArrayList<>();
+        if (!this.isTerminal()) {
+            for (Card card : this.currPlayer.getHand()) {
+                moves.add(Move.play(card.toString()));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Play a card from the current player's hand onto the playing field. Once every player has played a card, the
+     * player that played the highest card takes all the cards on the playing field, every hand is restocked, and that
+     * player leads the next round.
+     *
+     * @param move a play move with a card in the current player's hand
+     */
+    @Override
+    public void applyMove(Move move) {
+        this.checkLegal(move);
+        if (addCard(move.getCard())) {
+            this.winningPlayerIndex = this.currPlayerIndex;
+        }
+
+        this.currPlayerIndex = (this.currPlayerIndex + 1) % this.players.length;
+        if (this.currPlayerIndex == this.leadPlayerIndex) {
+            Player winner = this.players[this.winningPlayerIndex];
+            this.BURA_IO.sendPopup(() -> winner.getUsername() + " wins the round! \n");
+            this.currPlayerIndex = this.winningPlayerIndex;
+            this.leadPlayerIndex = this.winningPlayerIndex;
             updateScore();
             restockHands();
         }
-        outputWinner();
+        this.currPlayer = this.players[this.currPlayerIndex];
     }
 
     /**
-     * Plays one round of the game. This means that each player plays a card and the player that played the highest card
-     * takes all the cards on the playing field.
-     * <p>
-     * Precondition: this.currPlayerIndex refers to the index of the player that won the previous round
-     * Post-condition: this.currPlayerIndex refers to the index of the player that just won the round
+     * Checks if the game has ended. The game ends between rounds if a player reaches 31 points or there are no cards
+     * remaining to be played.
+     *
+     * @return true if game has ended, false otherwise
      */
-    private void playRound() {
-        int startIndex = this.currPlayerIndex;
-        int winningPlayerIndex = this.currPlayerIndex;
-        String crd;
-        boolean loopedRankChoice = false;
-
-        do {
-            this.currPlayer = this.players[this.currPlayerIndex];
-            this.BURA_IO.changePlayer(this.currPlayer.getUsername());
-
-            if (PLAYING_FIELD.empty()) {
-                this.BURA_IO.showCardToBeat("");
-                this.BURA_IO.sendPopup("New round started. Play the first card.\n");
-            } else {
-                this.BURA_IO.showCardToBeat(this.PLAYING_FIELD.peek().toString());
+    @Override
+    public boolean isTerminal() {
+        int max_score = Collections.max(this.SCORE_TRACKER.values());
+        return this.PLAYING_FIELD.empty() && (max_score >= 31 || this.currPlayer.getHand().isEmpty());
+    }
+
+    /**
+     * Return the username of the player with the most points. If players tie, the first of them in turn order wins.
+     *
+     * @return a list holding the username of the winner
+     */
+    @Override
+    public List<String> result() {
+        return Collections.singletonList(this.leader().getUsername());
+    }
+
+    /**
+     * Shows the current player their hand and the card they have to beat, and asks them for a card to play until
+     * they choose one in their hand.
+     *
+     * @return the play move chosen by the current player
+     * @throws AbortGameException if the IO object gives up on the game
+     */
+    @Override
+    protected Move requestMove() throws AbortGameException {
+        this.showState();
+        if (PLAYING_FIELD.empty()) {
+            this.BURA_IO.sendPopup("New round started. Play the first card.\n");
+        }
+
+        Move move = Move.play(this.BURA_IO.getCard());
+        while (!this.legalMoves().contains(move)) {
+            if (move.getCard().equals("")) {
+                throw new AbortGameException();
             }
+            this.BURA_IO.sendPopup("Invalid card chosen. Try again.");
+            move = Move.play(this.BURA_IO.getCard());
+        }
+        return move;
+    }
 
-            this.BURA_IO.showTrumpSuit(TRUMP_SUIT);
-            this.BURA_IO.showHand(this.currPlayer.getHandStringFormatted());
+    /**
+     * Show the current player the card to beat, the trump suit and their hand.
+     */
+    @Override
+    public void showState() {
+        this.BURA_IO.changePlayer(this.currPlayer.getUsername());
+        this.BURA_IO.showCardToBeat(PLAYING_FIELD.empty() ? "" : this.PLAYING_FIELD.peek().toString());
+        this.BURA_IO.showTrumpSuit(this.trumpSuit);
+        this.BURA_IO.showHand(this.currPlayer.getHandStringFormatted());
+    }
 
-            do {
-                if (loopedRankChoice) {
-                    this.BURA_IO.sendPopup("Invalid card chosen. Try again.");
-                }
+    /**
+     * Write the playing field, the trump suit, who leads and who is winning the round, and the score of every player.
+     *
+     * @param out the buffer to write to
+     */
+    @Override
+    protected void writeGameState(ByteBuffer out) {
+        CardCodec.writeCards(out, this.PLAYING_FIELD);
+        out.put((byte) CardCodec.suitIndex(this.trumpSuit));
+        CardCodec.writeVarint(out, this.leadPlayerIndex);
+        CardCodec.writeVarint(out, this.winningPlayerIndex);
+        for (Player player : this.players) {
+            CardCodec.writeVarint(out, this.SCORE_TRACKER.get(player));
+        }
+    }
 
-                crd = this.BURA_IO.getCard();
-                if (invalidMove(crd)) {
-                    loopedRankChoice = true;
-                }
-            } while (invalidMove(crd));
+    /**
+     * Read the state written by {@link #writeGameState(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     */
+    @Override
+    protected void readGameState(ByteBuffer in) {
+        this.PLAYING_FIELD.clear();
+        this.PLAYING_FIELD.addAll(CardCodec.readCards(in));
+        this.trumpSuit = CardCodec.suit(in.get());
+        this.leadPlayerIndex = (int) CardCodec.readVarint(in);
+        this.winningPlayerIndex = (int) CardCodec.readVarint(in);
+        for (Player player : this.players) {
+            this.SCORE_TRACKER.put(player, (int) CardCodec.readVarint(in));
+        }
+    }
 
-            if (addCard(crd)) {
-                winningPlayerIndex = currPlayerIndex;
-            }
+    /**
+     * Return the message shown to the players once the game is over.
+     *
+     * @return a message announcing the winner and their number of points
+     */
+    @Override
+    protected String resultMessage() {
+        Player winner = this.leader();
+        return String.format("Winner is %s with %s points!\n", winner.getUsername(), this.SCORE_TRACKER.get(winner));
+    }
 
-            this.currPlayerIndex = (this.currPlayerIndex + 1) % this.players.length;
+    /**
+     * Return the trump suit of this game.
+     *
+     * @return a char representation of the trump suit
+     */
+    public char getTrumpSuit() {
+        return this.trumpSuit;
+    }
 
-        } while (currPlayerIndex != startIndex);
+    /**
+     * Returns a copy of the state of this game, which bots can play ahead on without changing this game.
+     *
+     * @return the state of this game
+     */
+    public BuraState getState() {
+        long[] hands = new long[this.players.length];
+        int[] scores = new int[this.players.length];
+        for (int i = 0; i < this.players.length; i++) {
+            for (Card card : this.players[i].getHand()) {
+                hands[i] |= 1L << CardCodec.ordinal(card);
+            }
+            scores[i] = this.SCORE_TRACKER.get(this.players[i]);
+        }
+        int[] deckCards = this.deck.getCards().stream().mapToInt(CardCodec::ordinal).toArray();
+        int[] field = this.PLAYING_FIELD.stream().mapToInt(CardCodec::ordinal).toArray();
 
-        this.BURA_IO.sendPopup(this.players[winningPlayerIndex].getUsername() + " wins the round! \n");
-        this.currPlayerIndex = winningPlayerIndex;
+        BuraState state = new BuraState(this.players.length, RANKS.length * SUITS.length);
+        state.set(hands, deckCards, CardCodec.suitIndex(this.trumpSuit), field, this.currPlayerIndex,
+                this.leadPlayerIndex, this.winningPlayerIndex, scores);
+        return state;
     }
 
     /**
-     * Checks if the game has ended. The game ends if a player reaches 31 points or there are no cards
-     * remaining to be played.
+     * Return the first player, in turn order, with the most points.
      *
-     * @return true if game has ended, false otherwise
+     * @return the player with the most points
      */
-    private boolean gameEnd() {
-        int max_score = Collections.max(this.SCORE_TRACKER.values());
-        return max_score >= 31 || this.currPlayer.getHand().isEmpty();
+    private Player leader() {
+        Player leader = this.players[0];
+        for (Player player : this.players) {
+            if (this.SCORE_TRACKER.get(player) > this.SCORE_TRACKER.get(leader)) {
+                leader = player;
+            }
+        }
+        return leader;
     }
 
     /**
@@ -206,9 +340,9 @@ public class Bura extends GameTemplate {
      */
     private void restockHands() {
         this.BURA_IO.sendPopup("Round ended! Restocking every player's hand.\n");
-        while (this.currPlayer.getHand().getSize() < 3 && this.deck.getSize() >= this.players.length) {
+        while (this.players[this.currPlayerIndex].getHand().getSize() < 3 && this.deck.getSize() >= this.players.length) {
             for (Player player : this.players) {
-                player.addToHand(this.deck.drawCard());
+                this.drawCard(player);
             }
         }
     }
@@ -222,25 +356,7 @@ public class Bura extends GameTemplate {
      */
     boolean beatsCard(Card card1, Card card2) {
         return (card1.getSuit() == (card2.getSuit()) && rankToPoint.get(card1.getRank()) >
-                rankToPoint.get(card2.getRank())) || (card1.getSuit() == TRUMP_SUIT && card2.getSuit() != TRUMP_SUIT);
-    }
-
-    /**
-     * Checks whether the move made was valid. A move is valid if the card is in the player's hand.
-     *
-     * @param crd move made by the current player
-     * @return True if the move is valid, false otherwise
-     */
-    private boolean invalidMove(String crd) {
-        List<Card> cards = this.currPlayer.getHand().getCards();
-        for (Card card : cards) {
-            String str = card.toString();
-
-            if (str.equals(crd)) {
-                return false;
-            }
-        }
-        return true;
+                rankToPoint.get(card2.getRank())) || (card1.getSuit() == this.trumpSuit && card2.getSuit() != this.trumpSuit);
     }
 
     /**
@@ -256,23 +372,4 @@ public class Bura extends GameTemplate {
         this.SCORE_TRACKER.put(this.players[this.currPlayerIndex],
                 this.SCORE_TRACKER.get(this.players[this.currPlayerIndex]) + sumScore);
     }
-
-    /**
-     * Outputs the winner based on number of points collected. Also updates user statistics by incrementing
-     * games played by 1 and whether it's a win or a loss.
-     */
-    private void outputWinner() {
-        int currMaxScore = 0;
-        Player winner = null;
-        for (Player player : this.players) {
-            if (this.SCORE_TRACKER.get(player) > currMaxScore) {
-                currMaxScore = this.SCORE_TRACKER.get(player);
-                winner = player;
-            }
-        }
-        assert winner != null;
-        this.addUserStats(winner.getUsername());
-        this.BURA_IO.closeMessage(String.format("Winner is %s with %s points!\n", winner.getUsername(), currMaxScore));
-    }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,308 @@
+package usecases;
+
+import java.util.Arrays;
+
+/**
+ * Solves the end of a game of {@link Bura} exactly. Once the deck can no longer restock the hands, no new card comes
+ * into play, and a game whose hands are all known is a game of perfect information: the best card to play can be found
+ * by searching every way the game can go on.
+ * <p>
+ * The solver searches the final score of one player minus the best final score of the others, assuming that all the
+ * others play against that player. With two players this is the usual minimax value of the game. The search is an
+ * alpha-beta search, positions reached by different orders of play are looked up in a transposition table, and cards
+ * that take the lead of the round are tried first, since they are the most likely to cut the search short.
+ * <p>
+ * A solver keeps its table between searches and is not thread safe.
+ */
+public class BuraEndgameSolver {
+
+    private static final int MAX_PLAYERS = 6;
+    private static final int KEY_LENGTH = MAX_PLAYERS + 2;
+    private static final int MAX_DEPTH = MAX_PLAYERS * 3 + 1;
+    private static final int EXACT = 0;
+    private static final int LOWER_BOUND = 1;
+    private static final int UPPER_BOUND = 2;
+
+    private final int mask;
+    private final long[] keys;
+    private final int[] values;
+    private final long[] key = new long[KEY_LENGTH];
+    private final BuraState[] stack = new BuraState[MAX_DEPTH];
+    private final int[][] orders = new int[MAX_DEPTH][3];
+    private int player;
+    private long nodes = 0;
+
+    /**
+     * Create a solver with a table of 4096 positions.
+     */
+    public BuraEndgameSolver() {
+        this(1 << 12);
+    }
+
+    /**
+     * Create a solver.
+     *
+     * @param tableSize the number of positions kept in the transposition table, rounded up to a power of two
+     */
+    public BuraEndgameSolver(int tableSize) {
+        int size = Integer.highestOneBit(Math.max(2, tableSize - 1)) << 1;
+        this.mask = size - 1;
+        this.keys = new long[size * KEY_LENGTH];
+        this.values = new int[size];
+        // no position has a negative turn, so no empty entry matches a position
+        for (int i = 0; i < size; i++) {
+            this.keys[i * KEY_LENGTH + MAX_PLAYERS] = -1;
+        }
+    }
+
+    /**
+     * Returns whether a state is an endgame, in which the deck can no longer restock the hands.
+     *
+     * @param state the state of a game
+     * @return true if the deck has fewer cards than there are players
+     */
+    public static boolean isEndgame(BuraState state) {
+        return state.getDeckSize() < state.getPlayerCount();
+    }
+
+    /**
+     * Returns whether a player can work out every hand of an endgame from what they have seen. This is the case once
+     * the deck is empty and at most one other player has cards left, which is every endgame of two players.
+     *
+     * @param state  an endgame
+     * @param player the index of a player
+     * @return true if the hands of the other players follow from the cards already played
+     */
+    public static boolean isKnown(BuraState state, int player) {
+        if (state.getDeckSize() > 0) {
+            return false;
+        }
+        int holding = 0;
+        for (int i = 0; i < state.getPlayerCount(); i++) {
+            if (i != player && state.getHand(i) != 0) {
+                holding++;
+            }
+        }
+        return holding <= 1;
+    }
+
+    /**
+     * Returns the number of positions searched so far
+     *
+     * @return the number of positions this solver has visited
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Return the final margin of a player if everybody plays perfectly from a state.
+     *
+     * @param state  an endgame
+     * @param player the index of the player
+     * @return the player's final score minus the best final score of the other players
+     */
+    public int solve(BuraState state, int player) {
+        this.start(state, player);
+        this.copy(0, state);
+        return this.search(0, Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return the best card for the current player to play.
+     *
+     * @param state an endgame that is not over
+     * @return the ordinal of a card that gives the current player the best final margin
+     */
+    public int bestCard(BuraState state) {
+        this.start(state, state.getCurrentPlayer());
+        int count = this.order(state, this.orders[0]);
+        int best = this.orders[0][0];
+        int alpha = Integer.MIN_VALUE + 1;
+        for (int i = 0; i < count; i++) {
+            this.copy(1, state).play(this.orders[0][i]);
+            int value = this.search(1, alpha, Integer.MAX_VALUE);
+            if (value > alpha) {
+                alpha = value;
+                best = this.orders[0][i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Check that a state can be solved and set the player to solve it for.
+     *
+     * @param state  a state of a game
+     * @param player the index of the player to solve the state for
+     */
+    private void start(BuraState state, int player) {
+        if (!isEndgame(state) || state.getPlayerCount() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Only games whose deck cannot restock the hands can be solved.");
+        }
+        this.player = player;
+    }
+
+    /**
+     * Copy a state into the preallocated state of a depth.
+     *
+     * @param depth the depth of the search
+     * @param state the state to copy
+     * @return the state of the depth
+     */
+    private BuraState copy(int depth, BuraState state) {
+        if (this.stack[depth] == null || this.stack[depth].getPlayerCount() != state.getPlayerCount()) {
+            this.stack[depth] = new BuraState(state);
+        } else {
+            this.stack[depth].copyFrom(state);
+        }
+        return this.stack[depth];
+    }
+
+    /**
+     * Search the state at a depth of the stack.
+     *
+     * @param depth the depth of the state to search
+     * @param alpha the margin the player is already sure of
+     * @param beta  the margin the other players can already hold the player to
+     * @return the final margin under perfect play, exact if it is between alpha and beta
+     */
+    private int search(int depth, int alpha, int beta) {
+        this.nodes++;
+        BuraState state = this.stack[depth];
+        if (state.isTerminal()) {
+            return this.margin(state);
+        }
+
+        int slot = this.lookUp(state);
+        if (slot < 0) {
+            slot = ~slot;
+            int value = this.values[slot] >> 2;
+            int bound = this.values[slot] & 3;
+            if (bound == EXACT || bound == LOWER_BOUND && value >= beta || bound == UPPER_BOUND && value <= alpha) {
+                return value;
+            }
+        }
+
+        boolean maximizing = state.getCurrentPlayer() == this.player;
+        int[] order = this.orders[depth];
+        int count = this.order(state, order);
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? Integer.MIN_VALUE + 1 : Integer.MAX_VALUE;
+        for (int i = 0; i < count && alpha < beta; i++) {
+            this.copy(depth + 1, state).play(order[i]);
+            int value = this.search(depth + 1, alpha, beta);
+            if (maximizing) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, value);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, value);
+            }
+        }
+
+        this.fillKey(state);
+        System.arraycopy(this.key, 0, this.keys, slot * KEY_LENGTH, KEY_LENGTH);
+        int bound = best <= originalAlpha ? UPPER_BOUND : best >= originalBeta ? LOWER_BOUND : EXACT;
+        this.values[slot] = best << 2 | bound;
+        return best;
+    }
+
+    /**
+     * Returns the margin of the player the search is for.
+     *
+     * @param state a state
+     * @return the player's score minus the best score of the other players
+     */
+    private int margin(BuraState state) {
+        int others = Integer.MIN_VALUE;
+        for (int i = 0; i < state.getPlayerCount(); i++) {
+            if (i != this.player) {
+                others = Math.max(others, state.getScore(i));
+            }
+        }
+        return state.getScore(this.player) - others;
+    }
+
+    /**
+     * Find the slot of a state in the transposition table.
+     *
+     * @param state a state
+     * @return <code>~slot</code> if the state is stored in the slot, or the slot to store it in otherwise
+     */
+    private int lookUp(BuraState state) {
+        this.fillKey(state);
+        long hash = 0;
+        for (long part : this.key) {
+            hash = (hash ^ part) * 0x9E3779B97F4A7C15L;
+        }
+        int slot = (int) (hash ^ hash >>> 32) & this.mask;
+        return Arrays.equals(this.keys, slot * KEY_LENGTH, (slot + 1) * KEY_LENGTH, this.key, 0, KEY_LENGTH)
+                ? ~slot : slot;
+    }
+
+    /**
+     * Describe a state, and the player the search is for, in the key buffer.
+     *
+     * @param state a state
+     */
+    private void fillKey(BuraState state) {
+        int players = state.getPlayerCount();
+        for (int i = 0; i < MAX_PLAYERS; i++) {
+            this.key[i] = i < players ? state.getHand(i) : 0;
+        }
+        this.key[MAX_PLAYERS] = state.getCurrentPlayer()
+                | state.getLeadPlayer() << 3
+                | this.player << 6
+                | players << 9
+                | (state.getCardToBeat() + 1) << 12
+                | (long) state.getFieldPoints() << 18;
+        long scores = 0;
+        for (int i = 0; i < players; i++) {
+            scores |= (long) state.getScore(i) << 8 * i;
+        }
+        this.key[MAX_PLAYERS + 1] = scores;
+    }
+
+    /**
+     * Put the cards of the current player in the order to search them: first the cards that take the lead of the
+     * round, then the others, each from the most to the fewest points.
+     *
+     * @param state a state that is not over
+     * @param order the array to put the cards in
+     * @return the number of cards
+     */
+    private int order(BuraState state, int[] order) {
+        long hand = state.getHand(state.getCurrentPlayer());
+        long beating = state.beating(hand);
+        int count = 0;
+        for (long cards = beating; cards != 0; cards &= cards - 1) {
+            count = insert(order, count, Long.numberOfTrailingZeros(cards), 0);
+        }
+        int start = count;
+        for (long cards = hand & ~beating; cards != 0; cards &= cards - 1) {
+            count = insert(order, count, Long.numberOfTrailingZeros(cards), start);
+        }
+        return count;
+    }
+
+    /**
+     * Insert a card into the part of an array that starts at <code>start</code>, keeping it ordered by points.
+     *
+     * @param order the array of cards
+     * @param count the number of cards in the array
+     * @param card  the card to insert
+     * @param start the first index of the part
+     * @return the new number of cards
+     */
+    private static int insert(int[] order, int count, int card, int start) {
+        int i = count;
+        while (i > start && BuraState.points(order[i - 1]) < BuraState.points(card)) {
+            order[i] = order[i - 1];
+            i--;
+        }
+        order[i] = card;
+        return count + 1;
+    }
+}
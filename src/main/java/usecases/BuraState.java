@@ -0,0 +1,357 @@
+package usecases;
+
+import helpers.CardCodec;
+
+import java.util.Random;
+
+/**
+ * A compact copy of the state of a game of {@link Bura}, for bots that play many games ahead. It follows exactly the
+ * rules of <code>Bura</code>, but holds every hand as a bit set of card ordinals (see {@link CardCodec}) and the deck
+ * as an array, so that it can be copied, played and thrown away without allocating anything and without showing
+ * anything to the players.
+ * <p>
+ * Only the top card and the points of the playing field are kept, which is all the rules look at. Which cards beat
+ * which is looked up in a table computed once for every trump suit.
+ */
+public final class BuraState {
+
+    private static final int SUIT_COUNT = 4;
+    private static final int[] POINTS = new int[CardCodec.DECK_SIZE];
+    private static final int[] POWER = new int[CardCodec.DECK_SIZE];
+    private static final long[][] BEATEN_BY = new long[SUIT_COUNT][CardCodec.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < CardCodec.DECK_SIZE; i++) {
+            String rank = CardCodec.card(i).getRank();
+            POINTS[i] = Bura.ranks.getOrDefault(rank, 0);
+            POWER[i] = Bura.rankToPoint.getOrDefault(rank, 0);
+        }
+        // BEATEN_BY[trump][card] holds the cards that beat card when trump is the trump suit
+        for (int trump = 0; trump < SUIT_COUNT; trump++) {
+            for (int toBeat = 0; toBeat < CardCodec.DECK_SIZE; toBeat++) {
+                for (int card = 0; card < CardCodec.DECK_SIZE; card++) {
+                    int suit = card % SUIT_COUNT;
+                    int suitToBeat = toBeat % SUIT_COUNT;
+                    if (suit == suitToBeat && POWER[card] > POWER[toBeat] || suit == trump && suitToBeat != trump) {
+                        BEATEN_BY[trump][toBeat] |= 1L << card;
+                    }
+                }
+            }
+        }
+    }
+
+    private final int playerCount;
+    private final long[] hands;
+    private final int[] scores;
+    private final int[] deck;
+    private final int[] hidden;
+    private int deckTop;
+    private int trump;
+    private int current;
+    private int lead;
+    private int winning;
+    private int fieldTop;
+    private int fieldSize;
+    private int fieldPoints;
+
+    /**
+     * Create the state of a game with no cards dealt.
+     *
+     * @param playerCount the number of players
+     * @param deckSize    the number of cards of the deck
+     */
+    BuraState(int playerCount, int deckSize) {
+        this.playerCount = playerCount;
+        this.hands = new long[playerCount];
+        this.scores = new int[playerCount];
+        this.deck = new int[deckSize];
+        this.hidden = new int[deckSize];
+    }
+
+    /**
+     * Create a copy of another state.
+     *
+     * @param other the state to copy
+     */
+    public BuraState(BuraState other) {
+        this(other.playerCount, other.deck.length);
+        this.copyFrom(other);
+    }
+
+    /**
+     * Make this state a copy of another state of a game with the same number of players.
+     *
+     * @param other the state to copy
+     */
+    public void copyFrom(BuraState other) {
+        System.arraycopy(other.hands, 0, this.hands, 0, this.playerCount);
+        System.arraycopy(other.scores, 0, this.scores, 0, this.playerCount);
+        System.arraycopy(other.deck, other.deckTop, this.deck, other.deckTop, other.deck.length - other.deckTop);
+        this.deckTop = other.deckTop;
+        this.trump = other.trump;
+        this.current = other.current;
+        this.lead = other.lead;
+        this.winning = other.winning;
+        this.fieldTop = other.fieldTop;
+        this.fieldSize = other.fieldSize;
+        this.fieldPoints = other.fieldPoints;
+    }
+
+    /**
+     * Set the cards of this state. Used by {@link Bura} to describe itself.
+     *
+     * @param hands   the cards in the hand of every player
+     * @param deck    the cards of the deck, from the top down
+     * @param trump   the index of the trump suit
+     * @param field   the cards of the playing field, with the card to beat last
+     * @param current the index of the player whose turn it is
+     * @param lead    the index of the player who led the round
+     * @param winning the index of the player winning the round
+     * @param scores  the score of every player
+     */
+    void set(long[] hands, int[] deck, int trump, int[] field, int current, int lead, int winning, int[] scores) {
+        System.arraycopy(hands, 0, this.hands, 0, this.playerCount);
+        System.arraycopy(scores, 0, this.scores, 0, this.playerCount);
+        this.deckTop = this.deck.length - deck.length;
+        System.arraycopy(deck, 0, this.deck, this.deckTop, deck.length);
+        this.trump = trump;
+        this.current = current;
+        this.lead = lead;
+        this.winning = winning;
+        this.fieldSize = field.length;
+        this.fieldTop = field.length == 0 ? -1 : field[field.length - 1];
+        this.fieldPoints = 0;
+        for (int card : field) {
+            this.fieldPoints += POINTS[card];
+        }
+    }
+
+    /**
+     * Returns the number of players
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return this.playerCount;
+    }
+
+    /**
+     * Returns the index of the player whose turn it is
+     *
+     * @return the index of the current player
+     */
+    public int getCurrentPlayer() {
+        return this.current;
+    }
+
+    /**
+     * Returns the cards in a player's hand
+     *
+     * @param player the index of a player
+     * @return a bit set with bit <code>i</code> set if the card with ordinal <code>i</code> is in the hand
+     */
+    public long getHand(int player) {
+        return this.hands[player];
+    }
+
+    /**
+     * Returns a player's score
+     *
+     * @param player the index of a player
+     * @return the points the player has won
+     */
+    public int getScore(int player) {
+        return this.scores[player];
+    }
+
+    /**
+     * Returns the number of cards left in the deck
+     *
+     * @return the number of cards in the deck
+     */
+    public int getDeckSize() {
+        return this.deck.length - this.deckTop;
+    }
+
+    /**
+     * Returns the index of the player who led the round
+     *
+     * @return the index of the player who played the first card of the round
+     */
+    public int getLeadPlayer() {
+        return this.lead;
+    }
+
+    /**
+     * Returns the points on the playing field
+     *
+     * @return the points the winner of the round will get for the cards played so far
+     */
+    public int getFieldPoints() {
+        return this.fieldPoints;
+    }
+
+    /**
+     * Returns the cards of a hand that would take the lead of the round if played now.
+     *
+     * @param hand a bit set of card ordinals
+     * @return the cards of <code>hand</code> that beat the card to beat, or all of them if the round has not started
+     */
+    public long beating(long hand) {
+        return this.fieldSize == 0 ? hand : hand & BEATEN_BY[this.trump][this.fieldTop];
+    }
+
+    /**
+     * Returns the points a card is worth
+     *
+     * @param card the ordinal of a card
+     * @return the points the winner of a round gets for the card
+     */
+    public static int points(int card) {
+        return POINTS[card];
+    }
+
+    /**
+     * Returns the card to beat
+     *
+     * @return the ordinal of the highest card on the playing field, or -1 if it is empty
+     */
+    public int getCardToBeat() {
+        return this.fieldTop;
+    }
+
+    /**
+     * Returns whether the game is over, which is between two rounds once a player has 31 points or the hands are
+     * empty.
+     *
+     * @return true if the game is over
+     */
+    public boolean isTerminal() {
+        if (this.fieldSize > 0) {
+            return false;
+        }
+        if (this.hands[this.current] == 0) {
+            return true;
+        }
+        for (int score : this.scores) {
+            if (score >= 31) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the winner, who is the first player in turn order with the most points.
+     *
+     * @return the index of the winner
+     */
+    public int getWinner() {
+        int winner = 0;
+        for (int i = 1; i < this.playerCount; i++) {
+            if (this.scores[i] > this.scores[winner]) {
+                winner = i;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Play a card of the current player, as {@link Bura#applyMove(Move)} does.
+     *
+     * @param card the ordinal of a card in the current player's hand
+     */
+    public void play(int card) {
+        this.hands[this.current] &= ~(1L << card);
+        if (this.fieldSize == 0 || (BEATEN_BY[this.trump][this.fieldTop] & 1L << card) != 0) {
+            this.fieldTop = card;
+            this.winning = this.current;
+        }
+        this.fieldSize++;
+        this.fieldPoints += POINTS[card];
+
+        this.current = (this.current + 1) % this.playerCount;
+        if (this.current == this.lead) {
+            this.current = this.winning;
+            this.lead = this.winning;
+            this.scores[this.winning] += this.fieldPoints;
+            this.fieldSize = 0;
+            this.fieldPoints = 0;
+            this.fieldTop = -1;
+            while (Long.bitCount(this.hands[this.current]) < 3 && this.getDeckSize() >= this.playerCount) {
+                for (int i = 0; i < this.playerCount; i++) {
+                    this.hands[i] |= 1L << this.deck[this.deckTop++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Play random cards until the game is over.
+     *
+     * @param random the source of randomness
+     * @return the index of the winner
+     */
+    public int playOut(Random random) {
+        while (!this.isTerminal()) {
+            this.play(randomCard(this.hands[this.current], random));
+        }
+        return this.getWinner();
+    }
+
+    /**
+     * Deal the cards that <code>viewer</code> cannot see again at random. The hands of the other players keep their
+     * size and the deck keeps its size, so the state is one that the game could be in as far as <code>viewer</code>
+     * knows.
+     *
+     * @param viewer the index of the player whose knowledge is kept
+     * @param random the source of randomness
+     */
+    public void redeal(int viewer, Random random) {
+        int count = 0;
+        for (int i = 0; i < this.playerCount; i++) {
+            if (i == viewer) {
+                continue;
+            }
+            for (long hand = this.hands[i]; hand != 0; hand &= hand - 1) {
+                this.hidden[count++] = Long.numberOfTrailingZeros(hand);
+            }
+        }
+        for (int i = this.deckTop; i < this.deck.length; i++) {
+            this.hidden[count++] = this.deck[i];
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = this.hidden[i];
+            this.hidden[i] = this.hidden[j];
+            this.hidden[j] = card;
+        }
+
+        int next = 0;
+        for (int i = 0; i < this.playerCount; i++) {
+            if (i == viewer) {
+                continue;
+            }
+            int size = Long.bitCount(this.hands[i]);
+            this.hands[i] = 0;
+            for (int j = 0; j < size; j++) {
+                this.hands[i] |= 1L << this.hidden[next++];
+            }
+        }
+        System.arraycopy(this.hidden, next, this.deck, this.deckTop, count - next);
+    }
+
+    /**
+     * Returns a random card of a hand.
+     *
+     * @param hand   a bit set of card ordinals, which is not empty
+     * @param random the source of randomness
+     * @return the ordinal of one of the cards
+     */
+    public static int randomCard(long hand, Random random) {
+        for (int skip = random.nextInt(Long.bitCount(hand)); skip > 0; skip--) {
+            hand &= hand - 1;
+        }
+        return Long.numberOfTrailingZeros(hand);
+    }
+}
@@ -2,9 +2,14 @@ package usecases;
 
 import entities.Card;
 import entities.Hand;
+import helpers.CardCodec;
 import usecases.IOInterfaces.CrazyEightsIO;
 import usecases.usermanagement.UserManager;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.Stack;
@@ -13,6 +18,9 @@ import java.util.Stack;
  * Class that plays the game of Crazy Eights. Contains implemented versions of the methods found in GameTemplate with
  * the game Crazy Eights in mind, such as the main game loop and sending and receiving input and output. The ruleset for
  * Crazy Eights can be found here: https://bicyclecards.com/how-to-play/crazy-eights/
+ * <p>
+ * Once the deck is empty, a player who cannot play passes. A game in which every player has passed in a row is over,
+ * won by the first player in turn order with the fewest cards.
  */
 public class CrazyEights extends GameTemplate {
     private static final int MAX_PLAYERS = 5;
@@ -20,6 +28,8 @@ public class CrazyEights extends GameTemplate {
     private final Stack<Card> PLAYING_FIELD;
     private final CrazyEightsIO CRAZY_IO;
     private char suitTracker;
+    private Player lastPlayer;
+    private int passes;
 
     /**
      * Instantiate a new CrazyEights game instance.
@@ -44,16 +54,28 @@ public class CrazyEights extends GameTemplate {
                        CrazyEightsIO crazyEightsIO, Random rand) {
         super(usernames, userManager, crazyEightsIO);
         this.CRAZY_IO = crazyEightsIO;
-        this.currPlayerIndex = 0;
         this.PLAYING_FIELD = new Stack<>();
-        this.deck.shuffle(rand);
+        this.deal(rand);
+    }
+
+    /**
+     * Shuffle the deck, deal five cards to each player and turn the next card over to start the playing field.
+     *
+     * @param random where the shuffle is drawn from
+     */
+    @Override
+    protected void deal(Random random) {
+        this.deck.shuffle(random);
         for (Player player : this.players) {
             for (int i = 0; i < 5; i++) {
                 player.addToHand(this.deck.drawCard());
             }
         }
+        this.PLAYING_FIELD.clear();
         this.PLAYING_FIELD.add(this.deck.drawCard());
         this.suitTracker = this.PLAYING_FIELD.peek().getSuit();
+        this.lastPlayer = this.currPlayer;
+        this.passes = 0;
     }
 
     /**
@@ -74,6 +96,37 @@ public class CrazyEights extends GameTemplate {
         return MIN_PLAYERS;
     }
 
+    /**
+     * Returns a copy of the state of this game, which bots can play ahead on without changing this game.
+     *
+     * @return the state of this game
+     */
+    public CrazyEightsState getState() {
+        long[] hands = new long[this.players.length];
+        for (int i = 0; i < this.players.length; i++) {
+            for (Card card : this.players[i].getHand()) {
+                hands[i] |= 1L << CardCodec.ordinal(card);
+            }
+        }
+        int[] deckCards = this.deck.getCards().stream().mapToInt(CardCodec::ordinal).toArray();
+        int winner = this.lastPlayer.isHandEmpty() ? Arrays.asList(this.players).indexOf(this.lastPlayer) : -1;
+
+        CrazyEightsState state = new CrazyEightsState(this.players.length, RANKS.length * SUITS.length);
+        state.set(hands, deckCards, CardCodec.ordinal(this.PLAYING_FIELD.peek()), CardCodec.suitIndex(this.suitTracker),
+                this.currPlayerIndex, this.passes, winner);
+        return state;
+    }
+
+    /**
+     * Returns the cards on the playing field
+     *
+     * @return a copy of every card played, from the first to the top card
+     */
+    @Override
+    public List<Card> getFieldCards() {
+        return new ArrayList<>(this.PLAYING_FIELD);
+    }
+
     /**
      * Return a String representation of this class.
      *
@@ -85,69 +138,198 @@ public class CrazyEights extends GameTemplate {
     }
 
     /**
-     * The main part of the game that shows players their hands, takes in their answers, determines if a move is valid
-     * or invalid, plays the move, and determines a winner.
+     * Return every move the current player may make. They may play any card in their hand that matches the suit or
+     * rank of the top card, or an eight together with the suit it changes to, and they may draw while the deck has
+     * cards. A player with none of these moves passes.
+     *
+     * @return the legal moves of the current player
      */
     @Override
-    public void startGame() {
-        while (!checkWin()) {
-            this.currPlayer = this.players[this.currPlayerIndex];
-            Card card = null;
-            String crd;
-            boolean looped = false;
-            this.CRAZY_IO.changePlayer(currPlayer.getUsername());
-            this.CRAZY_IO.showTopCard((this.PLAYING_FIELD.peek().getRank() + this.suitTracker));
-            this.CRAZY_IO.showHand(this.currPlayer.getHandStringFormatted());
-
-            do {
-                if (looped) {
-                    this.CRAZY_IO.sendPopup("This is not a valid move.");
-                    card = null;
+    public List<Move> legalMoves() {
+        List<Move> moves = new ArrayList<>();
+        if (this.isTerminal()) {
+            return moves;
+        }
+        for (Card card : this.currPlayer.getHand()) {
+            if (card.getRank().equals("8")) {
+                for (char suit : SUITS) {
+                    moves.add(Move.play(card.toString(), suit));
                 }
+            } else if (checkMove(card)) {
+                moves.add(Move.play(card.toString()));
+            }
+        }
+        if (!this.deck.isEmpty()) {
+            moves.add(Move.draw());
+        } else if (moves.isEmpty()) {
+            moves.add(Move.pass());
+        }
+        return moves;
+    }
+
+    /**
+     * Play a card from the current player's hand onto the playing field, have them draw a card from the deck, or have
+     * them pass, and pass the turn to the next player.
+     *
+     * @param move a play move with a playable card in the current player's hand, a draw move or a pass move
+     */
+    @Override
+    public void applyMove(Move move) {
+        this.checkLegal(move);
+        this.passes = move.getType() == Move.Type.PASS ? this.passes + 1 : 0;
+        if (move.getType() == Move.Type.DRAW) {
+            this.drawCard(this.currPlayer);
+        } else if (move.getType() == Move.Type.PLAY) {
+            String crd = move.getCard();
+            makeMove(new Card(crd.substring(0, crd.length() - 1), crd.charAt(crd.length() - 1)));
+            if (move.getSuit() != 0) {
+                this.suitTracker = move.getSuit();
+            }
+        }
+        this.lastPlayer = this.currPlayer;
+        this.currPlayerIndex = (this.currPlayerIndex + 1) % this.players.length;
+        this.currPlayer = this.players[this.currPlayerIndex];
+    }
 
-                if (!hasValidMove(currPlayer.getHand())) {
-                    this.CRAZY_IO.sendPopup("Card drawn from Deck because there are no cards to play.");
-                } else if (!this.CRAZY_IO.drawCard()) {
-                    crd = this.CRAZY_IO.getCard().toUpperCase();
-                    card = new Card(crd.substring(0, crd.length() - 1), crd.charAt(crd.length() - 1));
-                    if (card.getRank().equals("8")) {
-                        this.suitTracker = Character.toUpperCase(this.CRAZY_IO.getSuit());
-                    }
+    /**
+     * Checks if the game is over, i.e. if the last player to move has an empty hand or every player has passed in a
+     * row
+     *
+     * @return true if the last player to move has an empty hand or no player can move, false otherwise
+     */
+    @Override
+    public boolean isTerminal() {
+        return this.lastPlayer.isHandEmpty() || this.passes >= this.players.length;
+    }
+
+    /**
+     * Return the username of the player who emptied their hand, or in a game where no player can move, of every player
+     * with the fewest cards, who tie if there are several of them.
+     *
+     * @return a list holding the usernames of the winners, in turn order
+     */
+    @Override
+    public List<String> result() {
+        if (this.lastPlayer.isHandEmpty()) {
+            return Collections.singletonList(this.lastPlayer.getUsername());
+        }
+        int fewest = Integer.MAX_VALUE;
+        for (Player player : this.players) {
+            fewest = Math.min(fewest, player.getHand().getSize());
+        }
+        List<String> winners = new ArrayList<>();
+        for (Player player : this.players) {
+            if (player.getHand().getSize() == fewest) {
+                winners.add(player.getUsername());
+            }
+        }
+        return winners;
+    }
+
+    /**
+     * Shows the current player their hand and the top card, and asks them for a card to play or whether to draw,
+     * until they choose a legal move. A player without a playable card draws without being asked, or passes once the
+     * deck is empty.
+     *
+     * @return the move chosen by the current player
+     * @throws AbortGameException if the IO object gives up on the game
+     */
+    @Override
+    protected Move requestMove() throws AbortGameException {
+        this.showState();
+
+        List<Move> moves = this.legalMoves();
+        while (true) {
+            if (!hasValidMove(currPlayer.getHand())) {
+                if (this.deck.isEmpty()) {
+                    this.CRAZY_IO.sendPopup("Turn passed because there are no cards to play or draw.");
+                    return Move.pass();
+                }
+                this.CRAZY_IO.sendPopup("Card drawn from Deck because there are no cards to play.");
+                return Move.draw();
+            } else if (this.CRAZY_IO.drawCard()) {
+                if (moves.contains(Move.draw())) {
+                    return Move.draw();
                 }
+                this.CRAZY_IO.sendPopup("The deck is empty, so a card has to be played.");
+                continue;
+            }
 
-                looped = card != null && !checkMove(card);
-            } while (card != null && !checkMove(card));
-            if (card == null) {
-                currPlayer.addToHand(deck.drawCard());
-            } else {
-                makeMove(card);
+            String crd = this.CRAZY_IO.getCard().toUpperCase();
+            if (crd.equals("")) {
+                throw new AbortGameException();
+            }
+            Move move = Move.play(crd);
+            if (crd.startsWith("8")) {
+                move = Move.play(crd, Character.toUpperCase(this.CRAZY_IO.getSuit()));
+            }
+            if (moves.contains(move)) {
+                return move;
             }
-            this.currPlayerIndex = (this.currPlayerIndex + 1) % this.players.length;
+            this.CRAZY_IO.sendPopup("This is not a valid move.");
         }
+    }
 
-        this.addUserStats(this.currPlayer.getUsername());
-        this.CRAZY_IO.closeMessage(this.currPlayer.getUsername() + " Wins!!!");
+    /**
+     * Show the current player the top card, with the suit to follow, and their hand.
+     */
+    @Override
+    public void showState() {
+        this.CRAZY_IO.changePlayer(currPlayer.getUsername());
+        this.CRAZY_IO.showTopCard((this.PLAYING_FIELD.peek().getRank() + this.suitTracker));
+        this.CRAZY_IO.showHand(this.currPlayer.getHandStringFormatted());
     }
 
     /**
-     * Checks if the given card is a valid move or an invalid move
+     * Write the playing field, the suit to follow, who played last and how many players have passed in a row.
+     *
+     * @param out the buffer to write to
+     */
+    @Override
+    protected void writeGameState(ByteBuffer out) {
+        CardCodec.writeCards(out, this.PLAYING_FIELD);
+        out.put((byte) CardCodec.suitIndex(this.suitTracker));
+        CardCodec.writeVarint(out, Arrays.asList(this.players).indexOf(this.lastPlayer));
+        CardCodec.writeVarint(out, this.passes);
+    }
+
+    /**
+     * Read the state written by {@link #writeGameState(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     */
+    @Override
+    protected void readGameState(ByteBuffer in) {
+        this.PLAYING_FIELD.clear();
+        this.PLAYING_FIELD.addAll(CardCodec.readCards(in));
+        this.suitTracker = CardCodec.suit(in.get());
+        this.lastPlayer = this.players[(int) CardCodec.readVarint(in)];
+        this.passes = (int) CardCodec.readVarint(in);
+    }
+
+    /**
+     * Return the message shown to the players once the game is over.
+     *
+     * @return a message announcing the winner
+     */
+    @Override
+    protected String resultMessage() {
+        List<String> winners = this.result();
+        if (winners.size() == 1) {
+            return winners.get(0) + " Wins!!!";
+        }
+        return String.join(", ", winners) + " tie with the fewest cards!";
+    }
+
+    /**
+     * Checks if the given card in the current player's hand can be played on the top card
      *
      * @param card A card object that will be checked if it is a valid move
      * @return true if card is a valid move, false otherwise
      */
     private boolean checkMove(Card card) {
-        if (this.currPlayer.isHandEmpty()) {
-            return false;
-        } else if (card.getRank().equals("8")) {
-            return true;
-        } else {
-            int ind = currPlayer.getHand().getCards().indexOf(card);
-            if (ind == -1) {
-                return false;
-            } else {
-                return (card.getSuit() == this.suitTracker) || card.getRank().equals(this.PLAYING_FIELD.peek().getRank());
-            }
-        }
+        return card.getRank().equals("8") || (card.getSuit() == this.suitTracker)
+                || card.getRank().equals(this.PLAYING_FIELD.peek().getRank());
     }
 
     /**
@@ -178,13 +360,4 @@ public class CrazyEights extends GameTemplate {
             this.suitTracker = card.getSuit();
         }
     }
-
-    /**
-     * Checks if a player has won the game, i.e. if the player has an empty hand
-     *
-     * @return true if player has an empty hand, false otherwise
-     */
-    private boolean checkWin() {
-        return currPlayer.isHandEmpty();
-    }
 }
@@ -0,0 +1,427 @@
+package usecases;
+
+import helpers.CardCodec;
+
+import java.util.Random;
+
+/**
+ * A compact copy of the state of a game of {@link CrazyEights}, for bots that play many games ahead. It holds every
+ * hand as a bit set of card ordinals (see {@link CardCodec}) and the deck as an array, so that it can be copied,
+ * played and thrown away without allocating anything and without showing anything to the players.
+ * <p>
+ * A move is an int: {@link #DRAW}, {@link #PASS}, or <code>card &lt;&lt; 2 | suit</code> for playing the card with ordinal
+ * <code>card</code> and leaving <code>suit</code> as the suit to follow, which is the suit of the card unless it is an
+ * eight. Only the top card of the playing field is kept, which is all the rules look at.
+ * <p>
+ * As in <code>CrazyEights</code>, a player who can neither play nor draw from the deck passes, and a game in which
+ * every player has passed in a row is over, won by the player with the fewest cards.
+ */
+public final class CrazyEightsState {
+
+    /**
+     * The move of drawing a card from the deck.
+     */
+    public static final int DRAW = -1;
+
+    /**
+     * The move of passing, for a player who can neither play a card nor draw one.
+     */
+    public static final int PASS = -2;
+
+    private static final int SUIT_COUNT = 4;
+    private static final long EIGHTS = 0xFL << CardCodec.rankIndex("8") * SUIT_COUNT;
+    private static final long[] SUIT_CARDS = new long[SUIT_COUNT];
+
+    static {
+        for (int card = 0; card < CardCodec.DECK_SIZE; card++) {
+            SUIT_CARDS[card % SUIT_COUNT] |= 1L << card;
+        }
+    }
+
+    private final int playerCount;
+    private final long[] hands;
+    private final int[] deck;
+    private final int[] hidden;
+    private int deckTop;
+    private int topCard;
+    private int suit;
+    private int current;
+    private int passes;
+    private int winner;
+
+    /**
+     * Create the state of a game with no cards dealt.
+     *
+     * @param playerCount the number of players
+     * @param deckSize    the number of cards of the deck
+     */
+    CrazyEightsState(int playerCount, int deckSize) {
+        this.playerCount = playerCount;
+        this.hands = new long[playerCount];
+        this.deck = new int[deckSize];
+        this.hidden = new int[deckSize];
+    }
+
+    /**
+     * Create a copy of another state.
+     *
+     * @param other the state to copy
+     */
+    public CrazyEightsState(CrazyEightsState other) {
+        this(other.playerCount, other.deck.length);
+        this.copyFrom(other);
+    }
+
+    /**
+     * Make this state a copy of another state of a game with the same number of players.
+     *
+     * @param other the state to copy
+     */
+    public void copyFrom(CrazyEightsState other) {
+        System.arraycopy(other.hands, 0, this.hands, 0, this.playerCount);
+        System.arraycopy(other.deck, other.deckTop, this.deck, other.deckTop, other.deck.length - other.deckTop);
+        this.deckTop = other.deckTop;
+        this.topCard = other.topCard;
+        this.suit = other.suit;
+        this.current = other.current;
+        this.passes = other.passes;
+        this.winner = other.winner;
+    }
+
+    /**
+     * Set the cards of this state. Used by {@link CrazyEights} to describe itself.
+     *
+     * @param hands   the cards in the hand of every player
+     * @param deck    the cards of the deck, from the top down
+     * @param topCard the top card of the playing field
+     * @param suit    the index of the suit to follow
+     * @param current the index of the player whose turn it is
+     * @param passes  the number of players who have passed in a row
+     * @param winner  the index of the player who emptied their hand, or -1
+     */
+    void set(long[] hands, int[] deck, int topCard, int suit, int current, int passes, int winner) {
+        System.arraycopy(hands, 0, this.hands, 0, this.playerCount);
+        this.deckTop = this.deck.length - deck.length;
+        System.arraycopy(deck, 0, this.deck, this.deckTop, deck.length);
+        this.topCard = topCard;
+        this.suit = suit;
+        this.current = current;
+        this.passes = passes;
+        this.winner = winner;
+    }
+
+    /**
+     * Returns the number of players
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return this.playerCount;
+    }
+
+    /**
+     * Returns the index of the player whose turn it is
+     *
+     * @return the index of the current player
+     */
+    public int getCurrentPlayer() {
+        return this.current;
+    }
+
+    /**
+     * Returns the cards in a player's hand
+     *
+     * @param player the index of a player
+     * @return a bit set with bit <code>i</code> set if the card with ordinal <code>i</code> is in the hand
+     */
+    public long getHand(int player) {
+        return this.hands[player];
+    }
+
+    /**
+     * Returns the number of cards left in the deck
+     *
+     * @return the number of cards in the deck
+     */
+    public int getDeckSize() {
+        return this.deck.length - this.deckTop;
+    }
+
+    /**
+     * Returns the top card of the playing field
+     *
+     * @return the ordinal of the top card
+     */
+    public int getTopCard() {
+        return this.topCard;
+    }
+
+    /**
+     * Returns the suit to follow
+     *
+     * @return the index of the suit of the top card, or of the suit chosen with it if it is an eight
+     */
+    public int getSuit() {
+        return this.suit;
+    }
+
+    /**
+     * Returns the cards of a hand that may be played now.
+     *
+     * @param hand a bit set of card ordinals
+     * @return the eights of <code>hand</code> and the cards that match the suit to follow or the rank of the top card
+     */
+    public long playable(long hand) {
+        long rankCards = 0xFL << this.topCard / SUIT_COUNT * SUIT_COUNT;
+        return hand & (SUIT_CARDS[this.suit] | rankCards | EIGHTS);
+    }
+
+    /**
+     * Returns whether a card is an eight
+     *
+     * @param card the ordinal of a card
+     * @return true if the card is an eight
+     */
+    public static boolean isEight(int card) {
+        return (EIGHTS & 1L << card) != 0;
+    }
+
+    /**
+     * Returns the card of a move
+     *
+     * @param move a move that plays a card
+     * @return the ordinal of the card played
+     */
+    public static int card(int move) {
+        return move >> 2;
+    }
+
+    /**
+     * Returns the suit to follow after a move
+     *
+     * @param move a move that plays a card
+     * @return the index of the suit the move leaves to follow
+     */
+    public static int suit(int move) {
+        return move & 3;
+    }
+
+    /**
+     * Returns the {@link Move} of {@link CrazyEights} that a move stands for.
+     *
+     * @param move a move of this state
+     * @return the same move as a <code>Move</code>
+     */
+    public static Move toMove(int move) {
+        if (move == DRAW) {
+            return Move.draw();
+        } else if (move == PASS) {
+            return Move.pass();
+        }
+        String card = CardCodec.card(card(move)).toString();
+        return isEight(card(move)) ? Move.play(card, CardCodec.suit(suit(move))) : Move.play(card);
+    }
+
+    /**
+     * Put the legal moves of the current player into an array: every playable card, with one move for every suit
+     * for an eight, and drawing a card while the deck has any. A player with none of these moves has only
+     * {@link #PASS}.
+     *
+     * @param moves an array with room for every move, of which there are at most 32
+     * @return the number of moves
+     */
+    public int legalMoves(int[] moves) {
+        int count = 0;
+        for (long cards = this.playable(this.hands[this.current]); cards != 0; cards &= cards - 1) {
+            int card = Long.numberOfTrailingZeros(cards);
+            if (isEight(card)) {
+                for (int suit = 0; suit < SUIT_COUNT; suit++) {
+                    moves[count++] = card << 2 | suit;
+                }
+            } else {
+                moves[count++] = card << 2 | card % SUIT_COUNT;
+            }
+        }
+        if (this.deckTop < this.deck.length) {
+            moves[count++] = DRAW;
+        } else if (count == 0) {
+            moves[count++] = PASS;
+        }
+        return count;
+    }
+
+    /**
+     * Returns whether the game is over: a player has emptied their hand, or every player in a row has had to pass.
+     *
+     * @return true if the game is over
+     */
+    public boolean isTerminal() {
+        return this.winner >= 0 || this.passes >= this.playerCount;
+    }
+
+    /**
+     * Returns the winners, as {@link CrazyEights#result()} does: the player who emptied their hand or, in a game that
+     * is stuck, every player with the fewest cards, who tie if there are several of them.
+     *
+     * @return a bit set of the indices of the winners
+     */
+    public int getWinners() {
+        if (this.winner >= 0) {
+            return 1 << this.winner;
+        }
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < this.playerCount; i++) {
+            fewest = Math.min(fewest, Long.bitCount(this.hands[i]));
+        }
+        int winners = 0;
+        for (int i = 0; i < this.playerCount; i++) {
+            if (Long.bitCount(this.hands[i]) == fewest) {
+                winners |= 1 << i;
+            }
+        }
+        return winners;
+    }
+
+    /**
+     * Make a move of the current player, as {@link CrazyEights#applyMove(Move)} does, and pass the turn on.
+     *
+     * @param move {@link #DRAW} while the deck has cards, {@link #PASS}, or a playable card with the suit it leaves to
+     *             follow
+     */
+    public void play(int move) {
+        if (move == DRAW) {
+            this.hands[this.current] |= 1L << this.deck[this.deckTop++];
+            this.passes = 0;
+        } else if (move == PASS) {
+            this.passes++;
+        } else {
+            this.topCard = card(move);
+            this.suit = suit(move);
+            this.hands[this.current] &= ~(1L << this.topCard);
+            this.passes = 0;
+            if (this.hands[this.current] == 0) {
+                this.winner = this.current;
+            }
+        }
+        this.current = (this.current + 1) % this.playerCount;
+    }
+
+    /**
+     * Returns a move the way a simple player would make it: a random playable card other than an eight if there is
+     * one, otherwise an eight that leaves the suit the player holds the most of, otherwise a draw, or a pass once the
+     * deck is empty.
+     *
+     * @param random the source of randomness
+     * @return a legal move of the current player
+     */
+    public int greedyMove(Random random) {
+        long hand = this.hands[this.current];
+        long playable = this.playable(hand);
+        if (playable == 0) {
+            return this.deckTop < this.deck.length ? DRAW : PASS;
+        }
+        long plain = playable & ~EIGHTS;
+        if (plain != 0) {
+            int card = randomCard(plain, random);
+            return card << 2 | card % SUIT_COUNT;
+        }
+        int card = Long.numberOfTrailingZeros(playable);
+        return card << 2 | longestSuit(hand & ~(1L << card));
+    }
+
+    /**
+     * Returns the suit a hand holds the most cards of.
+     *
+     * @param hand a bit set of card ordinals
+     * @return the index of the first suit with the most cards in the hand
+     */
+    public static int longestSuit(long hand) {
+        int best = 0;
+        for (int suit = 1; suit < SUIT_COUNT; suit++) {
+            if (Long.bitCount(hand & SUIT_CARDS[suit]) > Long.bitCount(hand & SUIT_CARDS[best])) {
+                best = suit;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of cards of a suit in a hand
+     *
+     * @param hand a bit set of card ordinals
+     * @param suit the index of a suit
+     * @return the number of cards of the suit in the hand
+     */
+    public static int suitCount(long hand, int suit) {
+        return Long.bitCount(hand & SUIT_CARDS[suit]);
+    }
+
+    /**
+     * Play {@link #greedyMove(Random)} until the game is over.
+     *
+     * @param random the source of randomness
+     * @return a bit set of the indices of the winners, as {@link #getWinners()} returns
+     */
+    public int playOut(Random random) {
+        while (!this.isTerminal()) {
+            this.play(this.greedyMove(random));
+        }
+        return this.getWinners();
+    }
+
+    /**
+     * Deal the cards that <code>viewer</code> cannot see again at random. The hands of the other players keep their
+     * size and the deck keeps its size, so the state is one that the game could be in as far as <code>viewer</code>
+     * knows.
+     *
+     * @param viewer the index of the player whose knowledge is kept
+     * @param random the source of randomness
+     */
+    public void redeal(int viewer, Random random) {
+        int count = 0;
+        for (int i = 0; i < this.playerCount; i++) {
+            if (i == viewer) {
+                continue;
+            }
+            for (long hand = this.hands[i]; hand != 0; hand &= hand - 1) {
+                this.hidden[count++] = Long.numberOfTrailingZeros(hand);
+            }
+        }
+        for (int i = this.deckTop; i < this.deck.length; i++) {
+            this.hidden[count++] = this.deck[i];
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = this.hidden[i];
+            this.hidden[i] = this.hidden[j];
+            this.hidden[j] = card;
+        }
+
+        int next = 0;
+        for (int i = 0; i < this.playerCount; i++) {
+            if (i == viewer) {
+                continue;
+            }
+            int size = Long.bitCount(this.hands[i]);
+            this.hands[i] = 0;
+            for (int j = 0; j < size; j++) {
+                this.hands[i] |= 1L << this.hidden[next++];
+            }
+        }
+        System.arraycopy(this.hidden, next, this.deck, this.deckTop, count - next);
+    }
+
+    /**
+     * Returns a random card of a hand.
+     *
+     * @param hand   a bit set of card ordinals, which is not empty
+     * @param random the source of randomness
+     * @return the ordinal of one of the cards
+     */
+    private static int randomCard(long hand, Random random) {
+        for (int skip = random.nextInt(Long.bitCount(hand)); skip > 0; skip--) {
+            hand &= hand - 1;
+        }
+        return Long.numberOfTrailingZeros(hand);
+    }
+}
@@ -0,0 +1,404 @@
+package usecases;
+
+import entities.Card;
+import helpers.CardCodec;
+import usecases.IOInterfaces.GameIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Plays random but legal games of one kind and checks the rules every game should keep after every move:
+ * <ul>
+ *     <li>a game that is not over has a legal move, and a legal move can be made without an exception;</li>
+ *     <li>no card is in two places at once across the deck, the hands and the playing field, no card appears from
+ *     nowhere, and no card leaves play except in a book in Go Fish or a trick in Bura;</li>
+ *     <li>scores, books in Go Fish and points in Bura, never go down;</li>
+ *     <li>a game is over within {@value #MAX_MOVES} moves, and then has winners who are among its players.</li>
+ * </ul>
+ * A game is fully decided by its seed, which seeds its deal, and its choices, the indexes of the moves made among the
+ * legal moves of their turns, which are drawn from another <code>Random</code> of the same seed. A game that breaks a
+ * rule is shrunk to the fewest and smallest choices that still break it in the same deal, so that it can be replayed
+ * by hand.
+ */
+public final class GameFuzzer {
+
+    /**
+     * The most moves a game may take to be over.
+     */
+    public static final int MAX_MOVES = 5000;
+
+    // mixed into the seed of a game for its choices, so that they do not follow its deal
+    private static final long CHOICE_SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The rules a game is checked against.
+     */
+    public enum Rule {
+        NO_LEGAL_MOVE, MOVE_FAILED, CARDS, SCORE, TERMINATION, RESULT
+    }
+
+    private final String game;
+    private final Supplier<GameIO> ioFactory;
+
+    /**
+     * Create a fuzzer for one kind of game.
+     *
+     * @param game      the name of the game, as passed to {@link GameTemplate#gameFactory(String, List, UserManager,
+     *                  GameIO, Random)}
+     * @param ioFactory makes a fresh IO object of the game for every game played
+     */
+    public GameFuzzer(String game, Supplier<GameIO> ioFactory) {
+        this.game = game.toUpperCase();
+        this.ioFactory = ioFactory;
+    }
+
+    /**
+     * Play the game of a seed with random choices.
+     *
+     * @param playerCount the number of players
+     * @param seed        the seed of the game
+     * @return the first rule the game broke, or null if it kept every rule
+     */
+    public Failure check(int playerCount, long seed) {
+        Random random = new Random(seed ^ CHOICE_SEED);
+        return this.play(playerCount, seed, null, random);
+    }
+
+    /**
+     * Play the game of a seed with given choices, and stop after the last of them.
+     *
+     * @param playerCount the number of players
+     * @param seed        the seed of the game
+     * @param choices     the index of every move among the legal moves of its turn, wrapped around if it is too large
+     * @return the first rule the game broke, or null if it kept every rule for as long as it was played
+     */
+    public Failure replay(int playerCount, long seed, int[] choices) {
+        return this.play(playerCount, seed, choices, null);
+    }
+
+    /**
+     * Shrink a failure to the shortest choices that still break the same rule in the same deal, and then make every
+     * choice as small as it can be. A game that does not end cannot be made shorter, and is returned as it is.
+     *
+     * @param failure a failure found by {@link #check(int, long)}
+     * @return the smallest failure found
+     */
+    public Failure shrink(Failure failure) {
+        if (failure.rule == Rule.TERMINATION) {
+            return failure;
+        }
+        Failure smallest = failure;
+        // drop chunks of choices, halving the chunks whenever no chunk can be dropped
+        for (int chunk = smallest.choices.length / 2; chunk >= 1; ) {
+            boolean dropped = false;
+            for (int start = 0; start + chunk <= smallest.choices.length; start += chunk) {
+                int[] fewer = new int[smallest.choices.length - chunk];
+                System.arraycopy(smallest.choices, 0, fewer, 0, start);
+                System.arraycopy(smallest.choices, start + chunk, fewer, start, fewer.length - start);
+                Failure again = this.replay(smallest.playerCount, smallest.seed, fewer);
+                if (again != null && again.rule == failure.rule) {
+                    smallest = again;
+                    dropped = true;
+                    break;
+                }
+            }
+            if (!dropped) {
+                chunk /= 2;
+            }
+        }
+        for (int i = 0; i < smallest.choices.length; i++) {
+            for (int choice = 0; choice < smallest.choices[i]; choice++) {
+                int[] lower = smallest.choices.clone();
+                lower[i] = choice;
+                Failure again = this.replay(smallest.playerCount, smallest.seed, lower);
+                if (again != null && again.rule == failure.rule && again.choices.length <= smallest.choices.length) {
+                    smallest = again;
+                    break;
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Play a game, checking every rule after every move.
+     *
+     * @param playerCount the number of players
+     * @param seed        the seed of the deal
+     * @param choices     the choices to make, or null to draw them from <code>random</code>
+     * @param random      where choices are drawn from if none are given
+     * @return the first rule broken, or null if none was
+     */
+    private Failure play(int playerCount, long seed, int[] choices, Random random) {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            usernames.add("player" + i);
+        }
+        GameTemplate game = GameTemplate.gameFactory(this.game, usernames, new UserManager(), this.ioFactory.get(),
+                new Random(seed));
+        int limit = choices == null ? MAX_MOVES : choices.length;
+        int[] made = new int[Math.min(limit, 64)];
+        List<Move> moves = new ArrayList<>();
+
+        long inPlay = cardsInPlay(game);
+        int[] scores = this.scores(game);
+        // books can be made in the deal already
+        int total = Long.bitCount(inPlay) + this.cardsOutOfPlay(scores);
+        String broken = this.checkCards(game, inPlay, total, scores);
+        if (broken != null) {
+            return new Failure(this.game, playerCount, seed, Rule.CARDS, broken, made, 0, moves);
+        }
+
+        for (int count = 0; ; count++) {
+            if (game.isTerminal()) {
+                List<String> winners = game.result();
+                if (winners.isEmpty() || !usernames.containsAll(winners)) {
+                    return new Failure(this.game, playerCount, seed, Rule.RESULT, "the winners are " + winners, made,
+                            count, moves);
+                }
+                return null;
+            }
+            if (count == limit) {
+                return choices == null ? new Failure(this.game, playerCount, seed, Rule.TERMINATION,
+                        "the game is not over", made, count, moves) : null;
+            }
+            List<Move> legal = game.legalMoves();
+            if (legal.isEmpty()) {
+                return new Failure(this.game, playerCount, seed, Rule.NO_LEGAL_MOVE,
+                        game.getCurrentPlayer() + " has no legal move", made, count, moves);
+            }
+            int choice = choices == null ? random.nextInt(legal.size()) : choices[count] % legal.size();
+            if (count == made.length) {
+                made = Arrays.copyOf(made, Math.min(limit, made.length * 2));
+            }
+            made[count] = choice;
+            Move move = legal.get(choice);
+            moves.add(move);
+            try {
+                game.applyMove(move);
+            } catch (RuntimeException e) {
+                return new Failure(this.game, playerCount, seed, Rule.MOVE_FAILED, move + " threw " + e, made,
+                        count + 1, moves);
+            }
+
+            long now = cardsInPlay(game);
+            broken = (now & ~inPlay) != 0 ? "cards appeared from nowhere: " + describe(now & ~inPlay)
+                    : this.checkCards(game, now, total, this.scores(game));
+            if (broken != null) {
+                return new Failure(this.game, playerCount, seed, Rule.CARDS, broken, made, count + 1, moves);
+            }
+            int[] newScores = this.scores(game);
+            for (int i = 0; i < scores.length; i++) {
+                if (newScores[i] < scores[i]) {
+                    return new Failure(this.game, playerCount, seed, Rule.SCORE, "the score of player" + i
+                            + " went from " + scores[i] + " to " + newScores[i], made, count + 1, moves);
+                }
+            }
+            inPlay = now;
+            scores = newScores;
+        }
+    }
+
+    /**
+     * Check that no card is in two places and that no more cards than the rules allow have left play.
+     *
+     * @param game   the game
+     * @param inPlay the cards in play, one bit per ordinal
+     * @param total  the number of cards in the game, in play or not
+     * @param scores the scores of the players
+     * @return what is wrong, or null if nothing is
+     */
+    private String checkCards(GameTemplate game, long inPlay, int total, int[] scores) {
+        int count = game.getDeckCards().size() + game.getFieldCards().size();
+        for (int i = 0; i < game.getUsernames().size(); i++) {
+            count += game.getHand(i).size();
+        }
+        if (count != Long.bitCount(inPlay)) {
+            return "a card is in two places at once: " + (count - Long.bitCount(inPlay)) + " duplicates";
+        }
+        if (this.game.equals("BURA")) {
+            // tricks leave play, and nothing else does
+            return null;
+        }
+        int expected = total - this.cardsOutOfPlay(scores);
+        return count == expected ? null : count + " cards are in play instead of " + expected;
+    }
+
+    /**
+     * Returns the number of cards that have left play by the rules, apart from tricks in Bura
+     *
+     * @param scores the scores of the players
+     * @return the cards in the books of the players of Go Fish, or 0 for other games
+     */
+    private int cardsOutOfPlay(int[] scores) {
+        return this.game.equals("GO FISH") ? 4 * Arrays.stream(scores).sum() : 0;
+    }
+
+    /**
+     * Returns the scores of the players, which should never go down
+     *
+     * @param game the game
+     * @return the books of the players of Go Fish, the points of the players of Bura, or nothing for other games
+     */
+    private int[] scores(GameTemplate game) {
+        int[] scores = new int[game.getUsernames().size()];
+        if (game instanceof GoFish) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = ((GoFish) game).getBooks(i);
+            }
+        } else if (game instanceof Bura) {
+            BuraState state = ((Bura) game).getState();
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = state.getScore(i);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the cards in the deck, the hands and the playing field
+     *
+     * @param game the game
+     * @return a bit for the ordinal of every card in play, where a card in two places is only counted once
+     */
+    private static long cardsInPlay(GameTemplate game) {
+        long cards = bits(game.getDeckCards()) | bits(game.getFieldCards());
+        for (int i = 0; i < game.getUsernames().size(); i++) {
+            cards |= bits(game.getHand(i));
+        }
+        return cards;
+    }
+
+    /**
+     * Returns a set of cards as bits
+     *
+     * @param cards the cards
+     * @return a bit for the ordinal of every card
+     */
+    private static long bits(List<Card> cards) {
+        long bits = 0;
+        for (Card card : cards) {
+            bits |= 1L << CardCodec.ordinal(card);
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the names of a set of cards
+     *
+     * @param bits a bit for the ordinal of every card
+     * @return the cards, like <code>[AH, 10S]</code>
+     */
+    private static String describe(long bits) {
+        List<Card> cards = new ArrayList<>();
+        for (long rest = bits; rest != 0; rest &= rest - 1) {
+            cards.add(CardCodec.card(Long.numberOfTrailingZeros(rest)));
+        }
+        return cards.toString();
+    }
+
+    /**
+     * A game that broke a rule, with every choice made up to the move that broke it.
+     */
+    public static final class Failure {
+        private final String game;
+        private final int playerCount;
+        private final long seed;
+        private final Rule rule;
+        private final String message;
+        private final int[] choices;
+        private final List<Move> moves;
+
+        /**
+         * @param game        the name of the game
+         * @param playerCount the number of players
+         * @param seed        the seed of the game
+         * @param rule        the rule broken
+         * @param message     what went wrong
+         * @param choices     the choices made, of which only the first <code>count</code> count
+         * @param count       the number of moves made
+         * @param moves       the moves made
+         */
+        private Failure(String game, int playerCount, long seed, Rule rule, String message, int[] choices, int count,
+                        List<Move> moves) {
+            this.game = game;
+            this.playerCount = playerCount;
+            this.seed = seed;
+            this.rule = rule;
+            this.message = message;
+            this.choices = Arrays.copyOf(choices, count);
+            this.moves = new ArrayList<>(moves.subList(0, count));
+        }
+
+        /**
+         * Returns the number of players
+         *
+         * @return the number of players of the game
+         */
+        public int getPlayerCount() {
+            return this.playerCount;
+        }
+
+        /**
+         * Returns the seed
+         *
+         * @return the seed of the deal of the game
+         */
+        public long getSeed() {
+            return this.seed;
+        }
+
+        /**
+         * Returns the rule broken
+         *
+         * @return the first rule the game broke
+         */
+        public Rule getRule() {
+            return this.rule;
+        }
+
+        /**
+         * Returns what went wrong
+         *
+         * @return a description of how the rule was broken
+         */
+        public String getMessage() {
+            return this.message;
+        }
+
+        /**
+         * Returns the choices made
+         *
+         * @return a copy of the index of every move made among the legal moves of its turn
+         */
+        public int[] getChoices() {
+            return this.choices.clone();
+        }
+
+        /**
+         * Returns the moves made
+         *
+         * @return the moves made, the last of which broke the rule
+         */
+        public List<Move> getMoves() {
+            return new ArrayList<>(this.moves);
+        }
+
+        /**
+         * Returns how to reproduce this failure
+         *
+         * @return the game, seed and rule, followed by the moves if there are few enough to read
+         */
+        @Override
+        public String toString() {
+            String failure = String.format("%s, %d players, seed %d: %s, %s after %d moves", this.game,
+                    this.playerCount, this.seed, this.rule, this.message, this.moves.size());
+            return this.moves.size() > 100 ? failure : failure + ' ' + this.moves;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package usecases;
+
+import entities.Card;
+
+import java.util.List;
+
+/**
+ * A listener is told about everything that happens in a {@link GameTemplate} after it has been dealt, in the order it
+ * happens, on the thread that plays the game. Together with the deal, the moves and draws are enough to follow the
+ * whole game. Every method does nothing by default.
+ */
+public interface GameListener {
+
+    /**
+     * Called when a legal move is about to be made.
+     *
+     * @param game        the game the move is made in
+     * @param playerIndex the index of the player making the move, in turn order
+     * @param move        the move
+     */
+    default void moveMade(GameTemplate game, int playerIndex, Move move) {
+    }
+
+    /**
+     * Called when a player draws a card from the deck during play.
+     *
+     * @param game        the game the card is drawn in
+     * @param playerIndex the index of the player drawing the card, in turn order
+     * @param card        the card drawn
+     */
+    default void cardDrawn(GameTemplate game, int playerIndex, Card card) {
+    }
+
+    /**
+     * Called when a player of Go Fish has asked another player for a rank, once the cards caught have changed hands.
+     *
+     * @param game        the game the cards were asked for in
+     * @param playerIndex the index of the player who asked, in turn order
+     * @param askedIndex  the index of the player asked, in turn order
+     * @param rank        the rank asked for
+     * @param count       the number of cards caught, which is 0 if the player has to go fish
+     */
+    default void cardsCaught(GameTemplate game, int playerIndex, int askedIndex, String rank, int count) {
+    }
+
+    /**
+     * Called when a player of Go Fish has completed a book, once its cards have left the player's hand.
+     *
+     * @param game        the game the book was completed in
+     * @param playerIndex the index of the player, in turn order
+     * @param rank        the rank of the book
+     */
+    default void bookMade(GameTemplate game, int playerIndex, String rank) {
+    }
+
+    /**
+     * Called when the game is over.
+     *
+     * @param game    the game that is over
+     * @param winners the usernames of the winners, or an empty list if the game was aborted
+     */
+    default void gameEnded(GameTemplate game, List<String> winners) {
+    }
+
+    /**
+     * Return a listener that tells two listeners about everything, first one and then the other.
+     *
+     * @param first  the listener told first
+     * @param second the listener told second
+     * @return a listener forwarding to both listeners
+     */
+    static GameListener both(GameListener first, GameListener second) {
+        return new GameListener() {
+            @Override
+            public void moveMade(GameTemplate game, int playerIndex, Move move) {
+                first.moveMade(game, playerIndex, move);
+                second.moveMade(game, playerIndex, move);
+            }
+
+            @Override
+            public void cardDrawn(GameTemplate game, int playerIndex, Card card) {
+                first.cardDrawn(game, playerIndex, card);
+                second.cardDrawn(game, playerIndex, card);
+            }
+
+            @Override
+            public void cardsCaught(GameTemplate game, int playerIndex, int askedIndex, String rank, int count) {
+                first.cardsCaught(game, playerIndex, askedIndex, rank, count);
+                second.cardsCaught(game, playerIndex, askedIndex, rank, count);
+            }
+
+            @Override
+            public void bookMade(GameTemplate game, int playerIndex, String rank) {
+                first.bookMade(game, playerIndex, rank);
+                second.bookMade(game, playerIndex, rank);
+            }
+
+            @Override
+            public void gameEnded(GameTemplate game, List<String> winners) {
+                first.gameEnded(game, winners);
+                second.gameEnded(game, winners);
+            }
+        };
+    }
+}
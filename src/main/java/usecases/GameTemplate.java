@@ -2,18 +2,33 @@ package usecases;
 
 import entities.Card;
 import entities.Deck;
+import helpers.CardCodec;
 import usecases.IOInterfaces.*;
+import usecases.usermanagement.GameResult;
 import usecases.usermanagement.UserManager;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Abstract class on which games are built. Contains methods that all games will need to use in their implementation
  * and interacts with the stats of the Users who play the game.
+ * <p>
+ * A game is a state machine that is advanced one {@link Move} at a time with {@link #applyMove(Move)}, so it can be
+ * driven from outside by bots, servers and simulators without a thread blocked on its IO. {@link #startGame()} is a
+ * thin driver that asks the game's IO object for each move until the game is over.
+ * <p>
+ * A game can be played again with {@link #reset(long)}, which deals it anew as if it had just been made with a
+ * <code>Random</code> of the seed. Its players, deck and cards are reused, so that a simulator can play game after
+ * game on one instance without allocating for every deal.
  */
 public abstract class GameTemplate {
 
+    private static final GameListener SILENT = new GameListener() {
+    };
+
     protected static final String[] RANKS = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K"};
     protected static final char[] SUITS = {'H', 'S', 'D', 'C'};
     protected Player[] players;
@@ -23,6 +38,10 @@ public abstract class GameTemplate {
     protected List<String> usernames;
     protected GameIO gameIO;
     protected int currPlayerIndex;
+    protected GameListener listener = SILENT;
+    private final List<Card> cards;
+    private Random resetRandom;
+    private long dealtAt = System.nanoTime();
 
     /**
      * Construct a <code>GameTemplate</code>.
@@ -32,6 +51,18 @@ public abstract class GameTemplate {
      * @param gameIO      <code>gameIO</code> object for input to and output from the game
      */
     protected GameTemplate(List<String> usernames, UserManager userManager, GameIO gameIO) {
+        this(usernames, userManager, gameIO, RANKS);
+    }
+
+    /**
+     * Construct a <code>GameTemplate</code> played with the cards of some ranks in every suit.
+     *
+     * @param usernames   usernames of those playing the game
+     * @param userManager manager for storing user information
+     * @param gameIO      <code>gameIO</code> object for input to and output from the game
+     * @param ranks       the ranks of the cards of the deck, from the lowest ordinal up
+     */
+    protected GameTemplate(List<String> usernames, UserManager userManager, GameIO gameIO, String[] ranks) {
         this.userManager = userManager;
         this.usernames = usernames;
 
@@ -46,11 +77,12 @@ public abstract class GameTemplate {
 
         // Creates a deck with the cards created outside the Deck class
         List<Card> cardList = new ArrayList<>();
-        for (String i : RANKS) {
+        for (String i : ranks) {
             for (char j : SUITS) {
                 cardList.add(new Card(i, j));
             }
         }
+        this.cards = cardList;
         this.deck = new Deck(cardList);
     }
 
@@ -64,15 +96,31 @@ public abstract class GameTemplate {
      * @return the requested game instance
      */
     public static GameTemplate gameFactory(String name, List<String> usernames, UserManager userManager, GameIO gameIO) {
+        return gameFactory(name, usernames, userManager, gameIO, new Random());
+    }
+
+    /**
+     * Create a new <code>GameTemplate</code> instance based on the given game name, with its deck seeded by
+     * <code>random</code>.
+     *
+     * @param name        the game to create
+     * @param usernames   list of usernames to play the game
+     * @param userManager user management vessel
+     * @param gameIO      <code>gameIO</code> object for input to and output from the game
+     * @param random      a Random object for creating deterministic behaviour
+     * @return the requested game instance
+     */
+    public static GameTemplate gameFactory(String name, List<String> usernames, UserManager userManager, GameIO gameIO,
+                                           Random random) {
         switch (name.toUpperCase()) {
             case "BURA":
-                return new Bura(usernames, userManager, (BuraIO) gameIO);
+                return new Bura(usernames, userManager, (BuraIO) gameIO, random);
             case "CRAZY EIGHTS":
-                return new CrazyEights(usernames, userManager, (CrazyEightsIO) gameIO);
+                return new CrazyEights(usernames, userManager, (CrazyEightsIO) gameIO, random);
             case "WAR":
-                return new War(usernames, userManager, (WarIO) gameIO);
+                return new War(usernames, userManager, (WarIO) gameIO, random);
             case "GO FISH":
-                return new GoFish(usernames, userManager, (GoFishIO) gameIO);
+                return new GoFish(usernames, userManager, (GoFishIO) gameIO, random);
             default:
                 throw new IllegalArgumentException("Illegal game selection of " + name + '.');
         }
@@ -126,21 +174,7 @@ public abstract class GameTemplate {
      * @param winnerUsername the username of the winning player
      */
     protected void addUserStats(String winnerUsername) {
-        for (String u : this.usernames) {
-            if (winnerUsername.equals(u)) {
-                try {
-                    this.userManager.addGamesPlayed(u, 1);
-                } catch (UserManager.UserNotFoundException e) {
-                    e.printStackTrace();
-                }
-            } else {
-                try {
-                    this.userManager.addGamesPlayed(u, -1);
-                } catch (UserManager.UserNotFoundException e) {
-                    e.printStackTrace();
-                }
-            }
-        }
+        this.submitResult(List.of(winnerUsername));
     }
 
     /**
@@ -149,29 +183,319 @@ public abstract class GameTemplate {
      * @param tiedPlayers the usernames of the players that tied
      */
     protected void addUserStats(List<String> tiedPlayers) {
-        for (String u : this.usernames) {
-            if (tiedPlayers.contains(u)) {
-                try {
-                    this.userManager.addGamesPlayed(u, 0);
-                } catch (UserManager.UserNotFoundException e) {
-                    e.printStackTrace();
+        this.submitResult(tiedPlayers);
+    }
+
+    /**
+     * Submit the result of this game to the user manager as one {@link GameResult}, timed from when the game was
+     * dealt.
+     *
+     * @param winners the usernames of the winner, or of the players that tied
+     */
+    private void submitResult(List<String> winners) {
+        try {
+            this.userManager.submit(new GameResult(this.toString(), this.usernames, winners,
+                    System.nanoTime() - this.dealtAt));
+        } catch (UserManager.UserNotFoundException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Set the listener that is told about every move, draw and the end of this game, replacing any listener it had. A
+     * game has no listener until one is set or added.
+     *
+     * @param listener the listener of this game
+     */
+    public void setListener(GameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Add a listener to this game, which is told about everything after the listeners this game already has.
+     *
+     * @param listener another listener of this game
+     */
+    public void addListener(GameListener listener) {
+        this.listener = GameListener.both(this.listener, listener);
+    }
+
+    /**
+     * Returns the usernames of the players of this game
+     *
+     * @return the usernames of the players, in turn order
+     */
+    public List<String> getUsernames() {
+        return this.usernames;
+    }
+
+    /**
+     * Returns the cards in a player's hand
+     *
+     * @param playerIndex the index of a player in turn order
+     * @return a copy of the cards in the player's hand
+     */
+    public List<Card> getHand(int playerIndex) {
+        return new ArrayList<>(this.players[playerIndex].getHand().getCards());
+    }
+
+    /**
+     * Returns the cards left in the deck
+     *
+     * @return a copy of the cards in the deck, from the top down
+     */
+    public List<Card> getDeckCards() {
+        return this.deck.getCards();
+    }
+
+    /**
+     * Returns the cards on the playing field
+     *
+     * @return a copy of the cards played and not yet taken off the playing field, or an empty list for a game that has
+     * no playing field
+     */
+    public List<Card> getFieldCards() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Deal this game anew, exactly as a new game of the same kind and players made with <code>new Random(seed)</code>
+     * would be dealt. Listeners and the IO object are kept. Like the listeners of a new game, which are only added
+     * after it has been dealt, the listeners are not told about anything that happens while dealing, such as a book
+     * laid down in Go Fish; the IO object is shown what a new game would show it. Once the game has been dealt
+     * before, a reset allocates nothing unless the deal itself makes something happen, such as that book. Playing
+     * the game out still allocates its moves and its result.
+     *
+     * @param seed the seed of the deal
+     */
+    public void reset(long seed) {
+        if (this.resetRandom == null) {
+            this.resetRandom = new Random(seed);
+        } else {
+            this.resetRandom.setSeed(seed);
+        }
+        for (Player player : this.players) {
+            player.getHand().clear();
+        }
+        this.deck.reset(this.cards);
+        this.currPlayerIndex = 0;
+        this.currPlayer = this.players[0];
+        this.dealtAt = System.nanoTime();
+        GameListener listener = this.listener;
+        this.listener = SILENT;
+        try {
+            this.deal(this.resetRandom);
+        } finally {
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * Shuffle the full deck, which is in ordinal order, deal the hands and set up the rest of the state of a new game.
+     * The hands are empty, and the first player is to move.
+     *
+     * @param random where the shuffle is drawn from
+     */
+    protected abstract void deal(Random random);
+
+    /**
+     * Run a given game.
+     * <p>
+     * This is the entry point to the main loop of this game. Moves are requested from the game's IO object and applied
+     * until the game is over, and then the result is recorded and shown. If the IO object aborts the game, or the
+     * thread running it is interrupted, it ends without a result.
+     */
+    public void startGame() {
+        try {
+            while (!this.isTerminal()) {
+                Move move = this.requestMove();
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new AbortGameException();
                 }
-            } else {
-                try {
-                    this.userManager.addGamesPlayed(u, -1);
-                } catch (UserManager.UserNotFoundException e) {
-                    e.printStackTrace();
+                synchronized (this) {
+                    this.applyMove(move);
                 }
             }
+        } catch (AbortGameException e) {
+            this.listener.gameEnded(this, List.of());
+            return;
         }
+        this.endGame();
     }
 
     /**
-     * Run a given game.
-     * <p>
-     * This is likely the entry point to the main loop of this game.
+     * Return every move the current player may make. The list is empty once the game is over.
+     *
+     * @return the legal moves of the current player
+     */
+    public abstract List<Move> legalMoves();
+
+    /**
+     * Make <code>move</code> for the current player and advance the game to the next decision.
+     *
+     * @param move one of the moves returned by {@link #legalMoves()}
+     * @throws IllegalArgumentException if <code>move</code> is not a legal move
+     */
+    public abstract void applyMove(Move move);
+
+    /**
+     * Return whether the game is over.
+     *
+     * @return true if no more moves can be made, false otherwise
+     */
+    public abstract boolean isTerminal();
+
+    /**
+     * Return the usernames of the winners of a finished game. More than one username means those players tied.
+     *
+     * @return the usernames of the winners
+     */
+    public abstract List<String> result();
+
+    /**
+     * Return the username of the player whose move it is.
+     *
+     * @return the username of the current player
+     */
+    public String getCurrentPlayer() {
+        return this.players[this.currPlayerIndex].getUsername();
+    }
+
+    /**
+     * Show the state of the game to the current player through the game's IO object, without asking them for anything.
+     */
+    public abstract void showState();
+
+    /**
+     * Write the state of this game, i.e. everything that changes as it is played, to <code>out</code>. The state of
+     * every game fits in a few hundred bytes.
+     *
+     * @param out the buffer to write to
+     */
+    public void writeState(ByteBuffer out) {
+        CardCodec.writeVarint(out, this.currPlayerIndex);
+        for (Player player : this.players) {
+            CardCodec.writeCards(out, player.getHand().getCards());
+        }
+        CardCodec.writeCards(out, this.deck.getCards());
+        this.writeGameState(out);
+    }
+
+    /**
+     * Replace the state of this game with a state written by {@link #writeState(ByteBuffer)} of a game of the same
+     * kind with the same players.
+     *
+     * @param in the buffer to read from
+     */
+    public void readState(ByteBuffer in) {
+        this.currPlayerIndex = (int) CardCodec.readVarint(in);
+        this.currPlayer = this.players[this.currPlayerIndex];
+        for (Player player : this.players) {
+            List<Card> hand = player.getHand().getCards();
+            hand.clear();
+            hand.addAll(CardCodec.readCards(in));
+        }
+        this.deck = new Deck(CardCodec.readCards(in));
+        this.readGameState(in);
+    }
+
+    /**
+     * Returns the state of this game. While the game is run by {@link #startGame()}, its state may be saved from any
+     * thread: moves are made while holding the lock of the game, so the state saved is always between two moves.
+     *
+     * @return the bytes written by {@link #writeState(ByteBuffer)}
+     */
+    public synchronized byte[] saveState() {
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        this.writeState(out);
+        byte[] state = new byte[out.position()];
+        out.flip();
+        out.get(state);
+        return state;
+    }
+
+    /**
+     * Replace the state of this game with a state returned by {@link #saveState()}.
+     *
+     * @param state the bytes of a saved state
+     */
+    public synchronized void loadState(byte[] state) {
+        this.readState(ByteBuffer.wrap(state));
+    }
+
+    /**
+     * Write the state that only this kind of game has, after the hands and the deck.
+     *
+     * @param out the buffer to write to
+     */
+    protected abstract void writeGameState(ByteBuffer out);
+
+    /**
+     * Read the state written by {@link #writeGameState(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     */
+    protected abstract void readGameState(ByteBuffer in);
+
+    /**
+     * Show the state of the game to the current player through the game's IO object and ask them for their next move,
+     * until they choose a legal one.
+     *
+     * @return a legal move chosen by the current player
+     * @throws AbortGameException if the IO object gives up on the game
      */
-    public abstract void startGame();
+    protected abstract Move requestMove() throws AbortGameException;
+
+    /**
+     * Return the message shown to the players once the game is over.
+     *
+     * @return a message announcing the result of the game
+     */
+    protected abstract String resultMessage();
+
+    /**
+     * Record the result of a finished game in the statistics of its players and show it to them.
+     */
+    protected void endGame() {
+        List<String> winners = this.result();
+        this.listener.gameEnded(this, winners);
+        if (winners.size() == 1) {
+            this.addUserStats(winners.get(0));
+        } else {
+            this.addUserStats(winners);
+        }
+        this.gameIO.closeMessage(this.resultMessage());
+    }
+
+    /**
+     * Throw an <code>IllegalArgumentException</code> if <code>move</code> is not currently a legal move. Otherwise the
+     * move is about to be made, and the listener of this game is told about it.
+     *
+     * @param move the move to check
+     */
+    protected void checkLegal(Move move) {
+        if (!this.legalMoves().contains(move)) {
+            throw new IllegalArgumentException("Illegal move " + move + " for " + this.getCurrentPlayer() + '.');
+        }
+        this.listener.moveMade(this, this.currPlayerIndex, move);
+    }
+
+    /**
+     * Move the top card of the deck into a player's hand during play, and tell the listener of this game about it.
+     *
+     * @param player the player drawing a card
+     * @return the card drawn
+     */
+    protected Card drawCard(Player player) {
+        Card card = this.deck.drawCard();
+        player.addToHand(card);
+        for (int i = 0; i < this.players.length; i++) {
+            if (this.players[i] == player) {
+                this.listener.cardDrawn(this, i, card);
+            }
+        }
+        return card;
+    }
 
     /**
      * <code>AbortGameException</code> should be thrown when a game is forcibly terminated.
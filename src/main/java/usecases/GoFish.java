@@ -1,10 +1,13 @@
 package usecases;
 
 import entities.Card;
+import helpers.CardCodec;
 import usecases.IOInterfaces.GoFishIO;
 import usecases.usermanagement.UserManager;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Random;
@@ -20,6 +23,8 @@ public class GoFish extends GameTemplate {
     private static final int MIN_PLAYERS = 2;
     protected final HashMap<Player, Integer> SCORE_TRACKER;
     private final GoFishIO GO_FISH_IO;
+    private boolean continuedTurn = false;
+    private final int[] rankCounts = new int[RANKS.length];
 
     /**
      * Instantiate a new GoFish game instance.
@@ -43,15 +48,26 @@ public class GoFish extends GameTemplate {
     public GoFish(List<String> usernames, UserManager userManager, GoFishIO goFishIO, Random rand) {
         super(usernames, userManager, goFishIO);
         this.SCORE_TRACKER = new HashMap<>();
-        this.currPlayerIndex = 0;
-        this.deck.shuffle(rand);
         this.GO_FISH_IO = goFishIO;
+        this.deal(rand);
+    }
+
+    /**
+     * Shuffle the deck, deal seven cards to each player and lay down any books dealt.
+     *
+     * @param random where the shuffle is drawn from
+     */
+    @Override
+    protected void deal(Random random) {
+        this.deck.shuffle(random);
         for (Player player : this.players) {
             for (int i = 0; i < 7; i++) {
                 player.addToHand(this.deck.drawCard());
             }
             this.SCORE_TRACKER.put(player, 0);
         }
+        checkEveryoneForBook();
+        this.continuedTurn = false;
     }
 
     /**
@@ -82,106 +98,235 @@ public class GoFish extends GameTemplate {
     }
 
     /**
-     * The main part of the game that prompts the player to "fish" for cards, check for book in player's hand, iterate
-     * over the players, and finally output winner(s).
+     * Return every move the current player may make. A player with cards asks another player for a rank they hold,
+     * while a player without cards can only draw from the deck, which passes their turn if the deck is empty.
+     *
+     * @return the legal moves of the current player
      */
     @Override
-    public void startGame() {
-        checkEveryoneForBook();
-        while (!gameEnd()) {
-            this.currPlayer = this.players[this.currPlayerIndex];
-            this.GO_FISH_IO.changePlayer(this.currPlayer.getUsername());
-            if (!currPlayer.isHandEmpty()) {
-                try {
-                    if (!fish()) {
-                        this.GO_FISH_IO.sendPopup("Go Fish! No matches.");
+    public List<Move> legalMoves() {
+        List<Move> moves = new ArrayList<>();
+        if (this.isTerminal()) {
+            return moves;
+        }
+        if (this.currPlayer.isHandEmpty()) {
+            moves.add(Move.draw());
+            return moves;
+        }
+        for (String rank : RANKS) {
+            if (validRank(rank)) {
+                for (Player player : this.players) {
+                    if (player != this.currPlayer) {
+                        moves.add(Move.ask(rank, player.getUsername()));
                     }
-                } catch (AbortGameException e) {
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Make a move for the current player. If an ask catches cards, those cards are transferred to the current player's
+     * hand and their turn continues as long as they hold cards. Otherwise, the current player draws a card from the
+     * deck and the turn passes to the next player.
+     *
+     * @param move an ask move, or a draw move if the current player has no cards
+     */
+    @Override
+    public void applyMove(Move move) {
+        this.checkLegal(move);
+        if (move.getType() == Move.Type.ASK) {
+            Player chosenPlayer = findPlayer(move.getUsername());
+            ArrayList<Card> cardCatch = chosenPlayer.removeFromHand(move.getRank());
+            this.currPlayer.addToHand(cardCatch);
+            this.listener.cardsCaught(this, this.currPlayerIndex, this.usernames.indexOf(move.getUsername()),
+                    move.getRank(), cardCatch.size());
+
+            if (!cardCatch.isEmpty()) {
+                Player catcher = this.currPlayer;
+                this.GO_FISH_IO.sendPopup(() -> String.format("Successful catch!\n%s moved from %s's hand to %s's "
+                        + "hand.\n", cardCatch.toString(), chosenPlayer.getUsername(), catcher.getUsername()));
+                checkForBook(this.currPlayer);
+                if (!this.currPlayer.isHandEmpty()) {
+                    this.continuedTurn = true;
                     return;
                 }
+            } else {
+                this.GO_FISH_IO.sendPopup("Go Fish! No matches.");
             }
-            if (!this.deck.isEmpty()) {
-                this.currPlayer.addToHand(this.deck.drawCard());
-                this.GO_FISH_IO.sendPopup("Drawing a card from the deck.");
-                this.GO_FISH_IO.showHand(this.currPlayer.getHandStringFormatted());
+        }
+        endTurn();
+    }
+
+    /**
+     * Checks whether the game has ended. Game ends when all players' hands are empty AND the deck is empty.
+     *
+     * @return true if the game has ended; otherwise, return false (if deck is not empty or there are players with cards
+     * in their hands).
+     */
+    @Override
+    public boolean isTerminal() {
+        if (!this.deck.isEmpty()) {
+            return false;
+        } else {
+            for (Player player : players) {
+                if (!player.isHandEmpty()) {
+                    return false;
+                }
             }
+        }
+        return true;
+    }
 
-            checkForBook();
+    /**
+     * Returns the number of books a player has collected
+     *
+     * @param playerIndex the index of a player
+     * @return the number of books of the player
+     */
+    public int getBooks(int playerIndex) {
+        return this.SCORE_TRACKER.get(this.players[playerIndex]);
+    }
 
-            this.currPlayerIndex = (this.currPlayerIndex + 1) % this.players.length;
+    /**
+     * Return the usernames of the players who collected the most books.
+     *
+     * @return the usernames of the winners
+     */
+    @Override
+    public List<String> result() {
+        ArrayList<String> winners = new ArrayList<>();
+        int maxScore = 0;
+        for (Player player : players) {
+            if (SCORE_TRACKER.get(player) == maxScore) {
+                winners.add(player.getUsername());
+            } else if (SCORE_TRACKER.get(player) > maxScore) {
+                maxScore = SCORE_TRACKER.get(player);
+                winners.clear();
+                winners.add(player.getUsername());
+            }
         }
-        outputWinner();
+        return winners;
     }
 
     /**
-     * Prompts the user to select a card rank and a player to request the cards from. If there's a catch (requested
-     * player has cards of the chosen rank in hand), then those cards are transferred to current player's hand. Also
-     * checks for book after each attempt at "fishing".
+     * Prompts the current player to select a card rank and a player to request the cards from. A player without cards
+     * is not prompted and draws from the deck instead.
      *
-     * @return true if there is a catch and false if there is no catch.
+     * @return the move chosen by the current player
+     * @throws AbortGameException if the IO object gives up on the game
      */
-    private boolean fish() throws AbortGameException {
-        String rank;
-        Player chosenPlayer;
-        ArrayList<Card> cardCatch;
-        boolean loopedFish = false;
-        int initialHandSize;
-        int finalHandSize;
-        do {
-            boolean loopedRankChoice = false;
+    @Override
+    protected Move requestMove() throws AbortGameException {
+        if (this.continuedTurn) {
+            this.continuedTurn = false;
+            this.GO_FISH_IO.sendPopup("Your turn continues.\n");
+        } else {
+            this.GO_FISH_IO.changePlayer(this.currPlayer.getUsername());
+        }
+        if (this.currPlayer.isHandEmpty()) {
+            return Move.draw();
+        }
 
-            if (loopedFish) {
-                this.GO_FISH_IO.sendPopup("Your turn continues.\n");
+        this.GO_FISH_IO.showHand(this.currPlayer.getHandStringFormatted());
+        String rank = this.GO_FISH_IO.getRank();
+        while (!validRank(rank)) {
+            if (rank.equals("")) {
+                throw new AbortGameException();
             }
-            this.GO_FISH_IO.showHand(this.currPlayer.getHandStringFormatted());
-            do {
-                if (loopedRankChoice) {
-                    this.GO_FISH_IO.sendPopup("Invalid rank chosen. Try again.");
-                }
+            this.GO_FISH_IO.sendPopup("Invalid rank chosen. Try again.");
+            rank = this.GO_FISH_IO.getRank();
+        }
 
-                rank = this.GO_FISH_IO.getRank();
-                if (rank.equals("")) {
-                    throw new AbortGameException();
-                }
+        Move move = Move.ask(rank, this.GO_FISH_IO.getPlayerUsername(this.currPlayer.getUsername(), this.usernames));
+        while (!this.legalMoves().contains(move)) {
+            if (move.getUsername().equals("")) {
+                throw new AbortGameException();
+            }
+            this.GO_FISH_IO.sendPopup("Invalid player chosen. Try again.");
+            move = Move.ask(rank, this.GO_FISH_IO.getPlayerUsername(this.currPlayer.getUsername(), this.usernames));
+        }
+        return move;
+    }
 
-                if (!validRank(rank)) {
-                    loopedRankChoice = true;
-                }
+    /**
+     * Show the current player their hand.
+     */
+    @Override
+    public void showState() {
+        this.GO_FISH_IO.changePlayer(this.currPlayer.getUsername());
+        this.GO_FISH_IO.showHand(this.currPlayer.getHandStringFormatted());
+    }
 
-            } while (!validRank(rank));
+    /**
+     * Write the number of books of every player and whether the current player's turn continues.
+     *
+     * @param out the buffer to write to
+     */
+    @Override
+    protected void writeGameState(ByteBuffer out) {
+        for (Player player : this.players) {
+            CardCodec.writeVarint(out, this.SCORE_TRACKER.get(player));
+        }
+        out.put((byte) (this.continuedTurn ? 1 : 0));
+    }
 
-            chosenPlayer = requestPlayer();
+    /**
+     * Read the state written by {@link #writeGameState(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     */
+    @Override
+    protected void readGameState(ByteBuffer in) {
+        for (Player player : this.players) {
+            this.SCORE_TRACKER.put(player, (int) CardCodec.readVarint(in));
+        }
+        this.continuedTurn = in.get() == 1;
+    }
 
-            initialHandSize = this.currPlayer.getHand().getSize();
-            cardCatch = chosenPlayer.removeFromHand(rank);
-            this.currPlayer.addToHand(cardCatch);
-            finalHandSize = this.currPlayer.getHand().getSize();
+    /**
+     * Return the message shown to the players once the game is over.
+     *
+     * @return a message announcing the winners and their number of points
+     */
+    @Override
+    protected String resultMessage() {
+        List<String> winners = this.result();
+        return String.format("Winner(s): %s with %s points!\n", winners,
+                SCORE_TRACKER.get(findPlayer(winners.get(0))));
+    }
 
-            if (initialHandSize != finalHandSize) {
-                this.GO_FISH_IO.sendPopup(String.format("Successful catch!\n%s moved from %s's hand to %s's hand.\n",
-                        cardCatch.toString(), chosenPlayer.getUsername(), currPlayer.getUsername()));
-                loopedFish = true;
-            }
+    /**
+     * End the current player's turn: they draw a card from the deck if there is one, any book in their hand is
+     * removed, and the next player becomes the current player.
+     */
+    private void endTurn() {
+        if (!this.deck.isEmpty()) {
+            this.drawCard(this.currPlayer);
+            this.GO_FISH_IO.sendPopup("Drawing a card from the deck.");
+            Player drawer = this.currPlayer;
+            this.GO_FISH_IO.showHand(drawer::getHandStringFormatted);
+        }
 
-            checkForBook();
+        checkForBook(this.currPlayer);
 
-        } while (initialHandSize != finalHandSize && !this.currPlayer.isHandEmpty());
-        return initialHandSize != finalHandSize;
+        this.currPlayerIndex = (this.currPlayerIndex + 1) % this.players.length;
+        this.currPlayer = this.players[this.currPlayerIndex];
     }
 
     /**
-     * Prompts the user to choose a username (from a list of usernames) that they would like to request cards from.
+     * Return the player with the given username.
      *
-     * @return a Player object corresponding to the username chosen by the user.
+     * @param username the username of a player of this game
+     * @return a Player object corresponding to the username
      */
-    private Player requestPlayer() {
-        String chosenUsername = this.GO_FISH_IO.getPlayerUsername(this.currPlayer.getUsername(), this.usernames);
+    private Player findPlayer(String username) {
         for (Player player : this.players) {
-            if (player.getUsername().equals(chosenUsername)) {
+            if (player.getUsername().equals(username)) {
                 return player;
             }
         }
-        throw new RuntimeException();
+        throw new IllegalArgumentException("No player named " + username + '.');
     }
 
     /**
@@ -190,33 +335,34 @@ public class GoFish extends GameTemplate {
      */
     private void checkEveryoneForBook() {
         for (Player player : players) {
-            this.currPlayer = player;
-            checkForBook();
+            checkForBook(player);
         }
     }
 
     /**
-     * Checks for book (4 cards of the same rank) in current player's hand. If book is found, removes those cards. If
-     * hand is empty after removing a book of cards, draw a card from the deck.
+     * Checks for book (4 cards of the same rank) in a player's hand. If book is found, removes those cards. If hand is
+     * empty after removing a book of cards, draw a card from the deck.
+     *
+     * @param player the player whose hand is checked
      */
-    private void checkForBook() {
-        HashMap<String, Integer> numRanks = new HashMap<>();
-        for (String rank : RANKS) {
-            numRanks.put(rank, 0);
+    private void checkForBook(Player player) {
+        Arrays.fill(this.rankCounts, 0);
+        List<Card> cards = player.getHand().getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            this.rankCounts[CardCodec.rankIndex(cards.get(i).getRank())]++;
         }
-        for (Card card : this.currPlayer.getHand().getCards()) {
-            numRanks.put(card.getRank(), numRanks.get(card.getRank()) + 1);
-        }
-        for (String rank : RANKS) {
-            if (numRanks.get(rank) == 4) {
-                SCORE_TRACKER.put(this.currPlayer, SCORE_TRACKER.get(this.currPlayer) + 1);
-                currPlayer.removeFromHand(rank);
-                this.GO_FISH_IO.sendPopup(String.format("A book is found in %1$s's hand! The following cards are " +
-                        "removed: %2$sH, %2$sS, %2$sD, %2$sC\n", this.currPlayer.getUsername(), rank));
-                if (this.currPlayer.isHandEmpty() && !this.deck.isEmpty()) {
+        for (int i = 0; i < RANKS.length; i++) {
+            String rank = RANKS[i];
+            if (this.rankCounts[i] == 4) {
+                SCORE_TRACKER.put(player, SCORE_TRACKER.get(player) + 1);
+                player.removeFromHand(rank);
+                this.listener.bookMade(this, Arrays.asList(this.players).indexOf(player), rank);
+                this.GO_FISH_IO.sendPopup(() -> String.format("A book is found in %1$s's hand! The following cards "
+                        + "are removed: %2$sH, %2$sS, %2$sD, %2$sC\n", player.getUsername(), rank));
+                if (player.isHandEmpty() && !this.deck.isEmpty()) {
                     this.GO_FISH_IO.sendPopup("Hand is empty after removing the book. Drawing a card from deck.\n");
-                    this.currPlayer.addToHand(this.deck.drawCard());
-                    this.GO_FISH_IO.showHand(this.currPlayer.getHandString());
+                    this.drawCard(player);
+                    this.GO_FISH_IO.showHand(player::getHandString);
                 }
             }
         }
@@ -230,51 +376,11 @@ public class GoFish extends GameTemplate {
      * @return true if the rank is valid (hand contains a card of the said rank); otherwise, return false.
      */
     private boolean validRank(String rank) {
-        return this.currPlayer.getHandString().contains(rank);
-    }
-
-    /**
-     * Checks whether the game has ended. Game ends when all players' hands are empty AND the deck is empty.
-     *
-     * @return true if the game has ended; otherwise, return false (if deck is not empty or there are players with cards
-     * in their hands).
-     */
-    private boolean gameEnd() {
-        if (!this.deck.isEmpty()) {
-            return false;
-        } else {
-            for (Player player : players) {
-                if (!player.isHandEmpty()) {
-                    return false;
-                }
+        for (Card card : this.currPlayer.getHand()) {
+            if (card.getRank().equals(rank)) {
+                return true;
             }
         }
-        return true;
-    }
-
-    /**
-     * Outputs the winner(s) based on number of points (books) collected. Also updates user statistics by incrementing
-     * games played by 1 and whether it's a win or a loss.
-     */
-    private void outputWinner() {
-        ArrayList<String> winners = new ArrayList<>();
-        int maxScore = 0;
-        for (Player player : players) {
-            if (SCORE_TRACKER.get(player) == maxScore) {
-                winners.add(player.getUsername());
-            } else if (SCORE_TRACKER.get(player) > maxScore) {
-                maxScore = SCORE_TRACKER.get(player);
-                winners.clear();
-                winners.add(player.getUsername());
-            }
-        }
-
-        if (winners.size() == 1) {
-            this.addUserStats(winners.get(0));
-        } else {
-            this.addUserStats(winners);
-        }
-
-        this.GO_FISH_IO.closeMessage(String.format("Winner(s): %s with %s points!\n", winners, maxScore));
+        return false;
     }
 }
@@ -0,0 +1,178 @@
+package usecases;
+
+import entities.Card;
+import helpers.CardCodec;
+
+/**
+ * What every player of a game of {@link GoFish} can know about the hands of the others, from what happens in public.
+ * Asking for a rank shows that the asker holds it, the cards caught show what the asked player held of it, and a
+ * completed book shows its rank, while a card drawn from the deck is seen only by the player drawing it.
+ * <p>
+ * For every player, the tracker keeps the number of cards of each rank known to be in their hand, how many of their
+ * cards are unknown, and the ranks they are known not to hold. Ranks are bits 0 to 12 of a bit set, in the order of
+ * {@link CardCodec#rankIndex(String)}. Every event updates a fixed number of these, so following a game costs the same
+ * per move whatever the number of players.
+ * <p>
+ * A tracker follows a game as one of its listeners (see {@link GameTemplate#addListener(GameListener)}), from the
+ * moment it is created.
+ */
+public class GoFishKnowledge implements GameListener {
+
+    private static final int RANK_COUNT = 13;
+    private static final int ALL_RANKS = (1 << RANK_COUNT) - 1;
+
+    private final int[][] known;
+    private final int[] held;
+    private final int[] absent;
+    private final int[] unknown;
+    private final int[] handSizes;
+    private int books = 0;
+
+    /**
+     * Start tracking a game, which must not have moved yet. The sizes of the hands and the books completed in the deal
+     * are public, and nothing else is known yet.
+     *
+     * @param game a game that has just been dealt
+     */
+    public GoFishKnowledge(GoFish game) {
+        int playerCount = game.getUsernames().size();
+        this.known = new int[playerCount][RANK_COUNT];
+        this.held = new int[playerCount];
+        this.absent = new int[playerCount];
+        this.unknown = new int[playerCount];
+        this.handSizes = new int[playerCount];
+
+        int inPlay = 0;
+        for (int i = 0; i < playerCount; i++) {
+            this.handSizes[i] = game.getHand(i).size();
+            this.unknown[i] = this.handSizes[i];
+            for (Card card : game.getHand(i)) {
+                inPlay |= 1 << CardCodec.rankIndex(card.getRank());
+            }
+        }
+        for (Card card : game.getDeckCards()) {
+            inPlay |= 1 << CardCodec.rankIndex(card.getRank());
+        }
+        this.books = ALL_RANKS & ~inPlay;
+    }
+
+    /**
+     * Returns the number of cards in a player's hand
+     *
+     * @param player the index of a player
+     * @return the size of the player's hand
+     */
+    public int getHandSize(int player) {
+        return this.handSizes[player];
+    }
+
+    /**
+     * Returns the number of cards of a player that nobody else has seen
+     *
+     * @param player the index of a player
+     * @return the number of cards in the player's hand of unknown rank
+     */
+    public int getUnknownCount(int player) {
+        return this.unknown[player];
+    }
+
+    /**
+     * Returns the number of cards of a rank known to be in a player's hand
+     *
+     * @param player the index of a player
+     * @param rank   the index of a rank
+     * @return the number of cards of the rank the player is known to hold; they may hold more
+     */
+    public int getKnownCount(int player, int rank) {
+        return this.known[player][rank];
+    }
+
+    /**
+     * Returns the ranks a player is known to hold
+     *
+     * @param player the index of a player
+     * @return a bit set of the ranks of which the player holds at least one card
+     */
+    public int getHeld(int player) {
+        return this.held[player];
+    }
+
+    /**
+     * Returns the ranks a player is known not to hold
+     *
+     * @param player the index of a player
+     * @return a bit set of the ranks of which the player holds no card
+     */
+    public int getAbsent(int player) {
+        if (this.unknown[player] == 0) {
+            return ALL_RANKS & ~this.held[player];
+        }
+        return this.absent[player] | this.books;
+    }
+
+    /**
+     * Returns the ranks a player may hold
+     *
+     * @param player the index of a player
+     * @return a bit set of the ranks not known to be absent from the player's hand
+     */
+    public int getPossible(int player) {
+        return ALL_RANKS & ~this.getAbsent(player);
+    }
+
+    /**
+     * Returns the ranks of the completed books
+     *
+     * @return a bit set of the ranks that are out of the game
+     */
+    public int getBooks() {
+        return this.books;
+    }
+
+    /**
+     * Learn from an ask: the asker held the rank, and the player asked holds none of it now.
+     */
+    @Override
+    public void cardsCaught(GameTemplate game, int playerIndex, int askedIndex, String rank, int count) {
+        int r = CardCodec.rankIndex(rank);
+        int bit = 1 << r;
+
+        this.unknown[askedIndex] -= count - this.known[askedIndex][r];
+        this.handSizes[askedIndex] -= count;
+        this.known[askedIndex][r] = 0;
+        this.held[askedIndex] &= ~bit;
+        this.absent[askedIndex] |= bit;
+
+        if (this.known[playerIndex][r] == 0) {
+            this.known[playerIndex][r] = 1;
+            this.unknown[playerIndex]--;
+        }
+        this.known[playerIndex][r] += count;
+        this.handSizes[playerIndex] += count;
+        this.held[playerIndex] |= bit;
+        this.absent[playerIndex] &= ~bit;
+    }
+
+    /**
+     * Learn from a draw: the player has one more card, which may be of any rank.
+     */
+    @Override
+    public void cardDrawn(GameTemplate game, int playerIndex, Card card) {
+        this.handSizes[playerIndex]++;
+        this.unknown[playerIndex]++;
+        this.absent[playerIndex] = 0;
+    }
+
+    /**
+     * Learn from a book: its four cards have left the player's hand and its rank is out of the game.
+     */
+    @Override
+    public void bookMade(GameTemplate game, int playerIndex, String rank) {
+        int r = CardCodec.rankIndex(rank);
+        this.unknown[playerIndex] -= 4 - this.known[playerIndex][r];
+        this.handSizes[playerIndex] -= 4;
+        this.known[playerIndex][r] = 0;
+        this.held[playerIndex] &= ~(1 << r);
+        this.books |= 1 << r;
+    }
+}
@@ -1,7 +1,13 @@
 package usecases.IOInterfaces;
 
+import java.util.function.Supplier;
+
 /**
  * Abstract IO interface which the game specific interfaces extend
+ * <p>
+ * Messages that take work to build, such as those naming players or cards, are passed as suppliers, which an IO
+ * object only calls if it shows the message. IO objects that show text call them straight away, and headless ones,
+ * such as those of bots and simulations, never do.
  */
 public interface GameIO {
     /**
@@ -11,6 +17,16 @@ public interface GameIO {
      */
     void sendPopup(String message);
 
+    /**
+     * This method should send a popup to the user containing the message made by <code>message</code>, if the user
+     * sees popups at all.
+     *
+     * @param message makes the string that is to be sent to the user
+     */
+    default void sendPopup(Supplier<String> message) {
+        this.sendPopup(message.get());
+    }
+
     /**
      * This method should display a <code>message</code> to the user and then close the GUI.
      *
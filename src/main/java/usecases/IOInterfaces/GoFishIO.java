@@ -1,6 +1,7 @@
 package usecases.IOInterfaces;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * This class defines an interface for Go Fish. Any class that implements this interface can be given to the GoFish
@@ -22,6 +23,15 @@ public interface GoFishIO extends GameIO {
      */
     void showHand(String hand);
 
+    /**
+     * This method should display the user's hand made by <code>hand</code>, if the user sees it at all.
+     *
+     * @param hand makes a string representation of a hand of cards.
+     */
+    default void showHand(Supplier<String> hand) {
+        this.showHand(hand.get());
+    }
+
     /**
      * This method should ask the user which rank of card they would like to request from the other players.
      * The string must be one of {"A", "2", "3", "4", "5", "6", "7", "8', "9", "10", "J", "Q", "K"}.
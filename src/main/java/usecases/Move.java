@@ -0,0 +1,195 @@
+package usecases;
+
+import java.util.Objects;
+
+/**
+ * A single move in a game. Moves are created through the static factory methods, and two moves are equal if they have
+ * the same type and arguments, so a move read from a user can be checked against the legal moves of a game with
+ * <code>contains</code>.
+ * <p>
+ * Cards are represented by their string representation, such as "10H", suits by their char, such as 'H', and players
+ * by their username.
+ */
+public final class Move {
+
+    // moves without arguments are the same every time, so each is made once
+    private static final Move FLIP = new Move(Type.FLIP, null, null, null, (char) 0);
+    private static final Move DRAW = new Move(Type.DRAW, null, null, null, (char) 0);
+    private static final Move PASS = new Move(Type.PASS, null, null, null, (char) 0);
+
+    private final Type type;
+    private final String card;
+    private final String rank;
+    private final String username;
+    private final char suit;
+
+    /**
+     * @param type     the type of this move
+     * @param card     the card played, or <code>null</code>
+     * @param rank     the rank asked for, or <code>null</code>
+     * @param username the player asked, or <code>null</code>
+     * @param suit     the suit chosen, or 0 if no suit is chosen
+     */
+    private Move(Type type, String card, String rank, String username, char suit) {
+        this.type = type;
+        this.card = card;
+        this.rank = rank;
+        this.username = username;
+        this.suit = suit;
+    }
+
+    /**
+     * Return the move of flipping the top card of every player's hand.
+     *
+     * @return a flip move
+     */
+    public static Move flip() {
+        return FLIP;
+    }
+
+    /**
+     * Return the move of asking another player for all their cards of a rank.
+     *
+     * @param rank     the rank asked for
+     * @param username the username of the player asked
+     * @return an ask move
+     */
+    public static Move ask(String rank, String username) {
+        return new Move(Type.ASK, null, rank, username, (char) 0);
+    }
+
+    /**
+     * Return the move of playing a card from the current player's hand.
+     *
+     * @param card the string representation of the card played
+     * @return a play move
+     */
+    public static Move play(String card) {
+        return new Move(Type.PLAY, card, null, null, (char) 0);
+    }
+
+    /**
+     * Return the move of playing a card from the current player's hand and choosing a suit, like an eight in Crazy
+     * Eights.
+     *
+     * @param card the string representation of the card played
+     * @param suit the suit chosen
+     * @return a play move
+     */
+    public static Move play(String card, char suit) {
+        return new Move(Type.PLAY, card, null, null, suit);
+    }
+
+    /**
+     * Return the move of drawing a card from the deck.
+     *
+     * @return a draw move
+     */
+    public static Move draw() {
+        return DRAW;
+    }
+
+    /**
+     * Return the move of passing the turn without doing anything, for a player who has no other move.
+     *
+     * @return a pass move
+     */
+    public static Move pass() {
+        return PASS;
+    }
+
+    /**
+     * Returns the type of this move
+     *
+     * @return the type of this move
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the card played by this move
+     *
+     * @return the string representation of the card played, or <code>null</code> if this is not a play move
+     */
+    public String getCard() {
+        return this.card;
+    }
+
+    /**
+     * Returns the rank asked for by this move
+     *
+     * @return the rank asked for, or <code>null</code> if this is not an ask move
+     */
+    public String getRank() {
+        return this.rank;
+    }
+
+    /**
+     * Returns the player asked by this move
+     *
+     * @return the username of the player asked, or <code>null</code> if this is not an ask move
+     */
+    public String getUsername() {
+        return this.username;
+    }
+
+    /**
+     * Returns the suit chosen by this move
+     *
+     * @return the suit chosen, or 0 if this move does not choose a suit
+     */
+    public char getSuit() {
+        return this.suit;
+    }
+
+    /**
+     * Compares if an object is equal to this move
+     *
+     * @param obj An object that is being compared to this move
+     * @return true if the object is a move of the same type with the same arguments
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Move)) {
+            return false;
+        }
+        Move m = (Move) obj;
+        return this.type == m.type && this.suit == m.suit && Objects.equals(this.card, m.card)
+                && Objects.equals(this.rank, m.rank) && Objects.equals(this.username, m.username);
+    }
+
+    /**
+     * Returns a hash code consistent with <code>equals</code>
+     *
+     * @return the hash code of this move
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.type, this.card, this.rank, this.username, this.suit);
+    }
+
+    /**
+     * Returns the move as a String
+     *
+     * @return a String representing the move, such as "PLAY 8H S" or "ASK 10 alice"
+     */
+    @Override
+    public String toString() {
+        switch (this.type) {
+            case ASK:
+                return this.type + " " + this.rank + " " + this.username;
+            case PLAY:
+                return this.suit == 0 ? this.type + " " + this.card : this.type + " " + this.card + " " + this.suit;
+            default:
+                return this.type.toString();
+        }
+    }
+
+    /**
+     * The kinds of move that can be made in a game.
+     */
+    public enum Type {
+        FLIP, ASK, PLAY, DRAW, PASS
+    }
+}
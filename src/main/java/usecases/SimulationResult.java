@@ -0,0 +1,278 @@
+package usecases;
+
+import helpers.CardCodec;
+import helpers.LogHistogram;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The totals of many simulated games of one kind: how many were played, how often each seat won, how many were tied,
+ * never finished or went round in a cycle, and histograms of how many moves the finished games took, of the final
+ * scores of the players, such as books in Go Fish or points in Bura, and of the lengths of the cycles.
+ * <p>
+ * A result takes the same memory however many games it counts. Results of different ranges of games, or of different
+ * threads, are merged at the end, and a result is written to a buffer in a few hundred bytes, so that workers can send
+ * theirs to whoever collects them.
+ */
+public final class SimulationResult {
+
+    private final long[] wins;
+    private final LogHistogram lengths = new LogHistogram();
+    private final LogHistogram scores = new LogHistogram();
+    private final LogHistogram cycleLengths = new LogHistogram();
+    private long games = 0;
+    private long ties = 0;
+    private long unfinished = 0;
+    private long moves = 0;
+    private long cycles = 0;
+
+    /**
+     * Create an empty result.
+     *
+     * @param playerCount the number of players of every game
+     */
+    public SimulationResult(int playerCount) {
+        this.wins = new long[playerCount];
+    }
+
+    /**
+     * Returns the number of players of every game
+     *
+     * @return the number of seats
+     */
+    public int getPlayerCount() {
+        return this.wins.length;
+    }
+
+    /**
+     * Returns the number of games
+     *
+     * @return the number of games counted
+     */
+    public long getGames() {
+        return this.games;
+    }
+
+    /**
+     * Returns the number of games won by a seat
+     *
+     * @param seat the index of a player in turn order
+     * @return the number of games the seat won alone
+     */
+    public long getWins(int seat) {
+        return this.wins[seat];
+    }
+
+    /**
+     * Returns the number of tied games
+     *
+     * @return the number of games won by more than one player
+     */
+    public long getTies() {
+        return this.ties;
+    }
+
+    /**
+     * Returns the number of unfinished games
+     *
+     * @return the number of games stopped before they were over
+     */
+    public long getUnfinished() {
+        return this.unfinished;
+    }
+
+    /**
+     * Returns the number of moves
+     *
+     * @return the number of moves of every game counted
+     */
+    public long getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Returns the number of games found in a cycle
+     *
+     * @return the number of games stopped because they would go round in a cycle forever
+     */
+    public long getCycles() {
+        return this.cycles;
+    }
+
+    /**
+     * Returns the lengths of the finished games
+     *
+     * @return a histogram of the number of moves of every game won or tied
+     */
+    public LogHistogram getLengths() {
+        return this.lengths;
+    }
+
+    /**
+     * Returns the final scores
+     *
+     * @return a histogram of the final score of every player of every game whose scores were counted
+     */
+    public LogHistogram getScores() {
+        return this.scores;
+    }
+
+    /**
+     * Returns the lengths of the cycles
+     *
+     * @return a histogram of the number of moves after which every game found in a cycle comes back to the same state
+     */
+    public LogHistogram getCycleLengths() {
+        return this.cycleLengths;
+    }
+
+    /**
+     * Count a game won by one seat.
+     *
+     * @param seat  the index of the winner in turn order
+     * @param moves the number of moves of the game
+     */
+    public void addWin(int seat, long moves) {
+        this.wins[seat]++;
+        this.games++;
+        this.moves += moves;
+        this.lengths.record(moves);
+    }
+
+    /**
+     * Count a game won by more than one player.
+     *
+     * @param moves the number of moves of the game
+     */
+    public void addTie(long moves) {
+        this.ties++;
+        this.games++;
+        this.moves += moves;
+        this.lengths.record(moves);
+    }
+
+    /**
+     * Count a game that was stopped before it was over.
+     *
+     * @param moves the number of moves played before it was stopped
+     */
+    public void addUnfinished(long moves) {
+        this.unfinished++;
+        this.games++;
+        this.moves += moves;
+    }
+
+    /**
+     * Count a game stopped because it went round in a cycle.
+     *
+     * @param moves       the number of moves played before it was stopped
+     * @param cycleLength the number of moves of the cycle
+     */
+    public void addCycle(long moves, long cycleLength) {
+        this.cycles++;
+        this.games++;
+        this.moves += moves;
+        this.cycleLengths.record(cycleLength);
+    }
+
+    /**
+     * Count the final score of a player.
+     *
+     * @param score the score, such as the number of books or points
+     */
+    public void addScore(long score) {
+        this.scores.record(score);
+    }
+
+    /**
+     * Add the games of another result to this one.
+     *
+     * @param other a result of games with the same number of players
+     */
+    public void merge(SimulationResult other) {
+        if (other.wins.length != this.wins.length) {
+            throw new IllegalArgumentException("Results of games with different numbers of players cannot be merged.");
+        }
+        for (int i = 0; i < this.wins.length; i++) {
+            this.wins[i] += other.wins[i];
+        }
+        this.games += other.games;
+        this.ties += other.ties;
+        this.unfinished += other.unfinished;
+        this.moves += other.moves;
+        this.cycles += other.cycles;
+        this.lengths.merge(other.lengths);
+        this.scores.merge(other.scores);
+        this.cycleLengths.merge(other.cycleLengths);
+    }
+
+    /**
+     * Write this result as varints, followed by its histograms.
+     *
+     * @param out the buffer to write to
+     */
+    public void write(ByteBuffer out) {
+        CardCodec.writeVarint(out, this.wins.length);
+        for (long win : this.wins) {
+            CardCodec.writeVarint(out, win);
+        }
+        CardCodec.writeVarint(out, this.games);
+        CardCodec.writeVarint(out, this.ties);
+        CardCodec.writeVarint(out, this.unfinished);
+        CardCodec.writeVarint(out, this.moves);
+        CardCodec.writeVarint(out, this.cycles);
+        this.lengths.write(out);
+        this.scores.write(out);
+        this.cycleLengths.write(out);
+    }
+
+    /**
+     * Read a result written by {@link #write(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     * @return the result
+     */
+    public static SimulationResult read(ByteBuffer in) {
+        SimulationResult result = new SimulationResult((int) CardCodec.readVarint(in));
+        for (int i = 0; i < result.wins.length; i++) {
+            result.wins[i] = CardCodec.readVarint(in);
+        }
+        result.games = CardCodec.readVarint(in);
+        result.ties = CardCodec.readVarint(in);
+        result.unfinished = CardCodec.readVarint(in);
+        result.moves = CardCodec.readVarint(in);
+        result.cycles = CardCodec.readVarint(in);
+        result.lengths.merge(LogHistogram.read(in));
+        result.scores.merge(LogHistogram.read(in));
+        result.cycleLengths.merge(LogHistogram.read(in));
+        return result;
+    }
+
+    /**
+     * Returns a summary of this result, with the share of games every seat won.
+     *
+     * @return a line describing the result
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(this.games).append(" games, seat wins");
+        for (long win : this.wins) {
+            builder.append(String.format(" %.2f%%", this.games == 0 ? 0 : 100.0 * win / this.games));
+        }
+        builder.append(String.format(", ties %d, unfinished %d, cycles %d", this.ties, this.unfinished,
+                this.cycles));
+        builder.append(String.format("; finished games %.1f moves on average, p50 %d, p99 %d, max %d",
+                this.lengths.getMean(), this.lengths.getValueAtPercentile(50),
+                this.lengths.getValueAtPercentile(99), this.lengths.getMax()));
+        if (this.scores.getCount() > 0) {
+            builder.append(String.format("; scores %.2f on average, p50 %d, max %d", this.scores.getMean(),
+                    this.scores.getValueAtPercentile(50), this.scores.getMax()));
+        }
+        if (this.cycles > 0) {
+            builder.append(String.format("; cycles of %d moves at p50, %d at most",
+                    this.cycleLengths.getValueAtPercentile(50), this.cycleLengths.getMax()));
+        }
+        return builder.toString();
+    }
+}
@@ -1,9 +1,11 @@
 package usecases;
 
 import entities.Card;
+import helpers.CardCodec;
 import usecases.IOInterfaces.WarIO;
 import usecases.usermanagement.UserManager;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -19,6 +21,9 @@ public class War extends GameTemplate {
     private final static int MAX_PLAYERS = 2;
     private final ArrayList<Stack<Card>> PLAYING_FIELD = new ArrayList<>(Arrays.asList(new Stack<>(), new Stack<>()));
     private final WarIO WAR_IO;
+    private final Card[] lastFlipped = new Card[2];
+    private int lastPileSize = 0;
+    private boolean inWar = false;
 
     /**
      * Constructor for War. Note that usernames must be a List of length 2
@@ -31,13 +36,28 @@ public class War extends GameTemplate {
     public War(List<String> usernames, UserManager userManager, WarIO warIO, Random random) {
         super(usernames, userManager, warIO);
         this.WAR_IO = warIO;
-        this.currPlayerIndex = 0;
+        this.deal(random);
+    }
+
+    /**
+     * Shuffle the deck and deal half of it to each player, with nothing on the playing field.
+     *
+     * @param random where the shuffle is drawn from
+     */
+    @Override
+    protected void deal(Random random) {
         this.deck.shuffle(random);
         for (Player player : this.players) {
             for (int i = 0; i < 26; i++) {
                 player.addToHand(this.deck.drawCard());
             }
         }
+        this.PLAYING_FIELD.get(0).clear();
+        this.PLAYING_FIELD.get(1).clear();
+        this.lastFlipped[0] = null;
+        this.lastFlipped[1] = null;
+        this.lastPileSize = 0;
+        this.inWar = false;
     }
 
     /**
@@ -69,6 +89,18 @@ public class War extends GameTemplate {
         return MIN_PLAYERS;
     }
 
+    /**
+     * Returns the cards on the playing field
+     *
+     * @return a copy of the cards flipped by both players since the last round was won
+     */
+    @Override
+    public List<Card> getFieldCards() {
+        List<Card> cards = new ArrayList<>(this.PLAYING_FIELD.get(0));
+        cards.addAll(this.PLAYING_FIELD.get(1));
+        return cards;
+    }
+
     /**
      * Return a String representation of this class.
      *
@@ -80,65 +112,171 @@ public class War extends GameTemplate {
     }
 
     /**
-     * The main part of the game that shows players their hands, takes any input, and then acts according to the rules
-     * of the game of war. if/when the game finishes, the function also determines the winner.
+     * Return every move the current player may make. Flipping is the only move in War.
+     *
+     * @return a list holding the flip move, or an empty list if the game is over
      */
     @Override
-    public void startGame() {
-        boolean inWar = false;
-        while (!checkWin()) {
-            this.currPlayer = this.players[this.currPlayerIndex];
-            if (this.PLAYING_FIELD.get(0).isEmpty()) {
-                this.WAR_IO.displayBoard("", "", PLAYING_FIELD.get(0).size(), this.players[0].getUsername(), this.players[1].getUsername());
-            } else {
-                this.WAR_IO.displayBoard(PLAYING_FIELD.get(0).get(0).toString(), PLAYING_FIELD.get(1).get(0).toString(), PLAYING_FIELD.get(0).size(), this.players[0].getUsername(), this.players[1].getUsername());
+    public List<Move> legalMoves() {
+        return this.isTerminal() ? Collections.emptyList() : Collections.singletonList(Move.flip());
+    }
+
+    /**
+     * Flip a card for each player, or two each if the game is in a state of war, and give the playing field to the
+     * player with the higher card. If the cards tie, the game enters a state of war and the field stays put.
+     *
+     * @param move the flip move
+     */
+    @Override
+    public void applyMove(Move move) {
+        this.checkLegal(move);
+        this.currPlayerIndex = 0;
+        this.currPlayer = this.players[this.currPlayerIndex];
+
+        flipCards();
+        if (!checkWin()) {
+            if (this.inWar) {
+                flipCards();
             }
+        }
 
-            this.WAR_IO.stall();
+        Card topCard0 = this.returnTopCard(0);
+        Card topCard1 = this.returnTopCard(1);
+        this.lastFlipped[0] = topCard0;
+        this.lastFlipped[1] = topCard1;
+        this.lastPileSize = PLAYING_FIELD.get(0).size();
 
-            flipCards();
-            if (!checkWin()) {
-                if (inWar) {
-                    flipCards();
+        int winner = decideRoundWinner(topCard0, topCard1, this.inWar);
+
+        if (winner == 2) {
+            this.inWar = true;
+        } else if (winner < 2) {
+            for (int j = 0; j < 2; j++) {
+                while (!PLAYING_FIELD.get(j).empty()) {
+                    players[winner].addToHand(PLAYING_FIELD.get(j).pop());
                 }
             }
+            this.inWar = false;
+        }
+    }
 
-            Card topCard0 = this.returnTopCard(0);
-            Card topCard1 = this.returnTopCard(1);
+    /**
+     * Checks if the game has finished, i.e. if at least 1 player has an empty hand
+     *
+     * @return true if either player has an empty hand, false otherwise
+     */
+    @Override
+    public boolean isTerminal() {
+        return checkWin();
+    }
 
-            this.WAR_IO.displayBoard(topCard0.toString(), topCard1.toString(), PLAYING_FIELD.get(0).size(), this.players[0].getUsername(), this.players[1].getUsername());
+    /**
+     * Return the usernames of the winners of a finished game. The winner is the player who still has cards, and both
+     * players tie if neither does.
+     *
+     * @return the usernames of the winners
+     */
+    @Override
+    public List<String> result() {
+        if (players[0].isHandEmpty() && players[1].isHandEmpty()) {
+            return new ArrayList<>(this.usernames);
+        } else if (players[1].isHandEmpty()) {
+            return Collections.singletonList(players[0].getUsername());
+        } else {
+            return Collections.singletonList(players[1].getUsername());
+        }
+    }
+
+    /**
+     * Show the last cards flipped and wait for the players to flip again.
+     *
+     * @return the flip move
+     */
+    @Override
+    protected Move requestMove() {
+        this.displayLastFlip();
+        this.WAR_IO.stall();
+        return Move.flip();
+    }
 
+    /**
+     * Show the final flip before announcing the result.
+     */
+    @Override
+    protected void endGame() {
+        this.displayLastFlip();
+        super.endGame();
+    }
 
-            int winner = decideRoundWinner(topCard0, topCard1, inWar);
+    /**
+     * Show the cards flipped by the last move.
+     */
+    @Override
+    public void showState() {
+        this.displayLastFlip();
+    }
 
-            if (winner == 2) {
-                inWar = true;
-            } else if (winner < 2) {
-                for (int j = 0; j < 2; j++) {
-                    while (!PLAYING_FIELD.get(j).empty()) {
-                        players[winner].addToHand(PLAYING_FIELD.get(j).pop());
-                    }
-                    inWar = false;
-                }
-            }
+    /**
+     * Write both piles of the playing field, the last cards flipped and whether the game is in a state of war.
+     *
+     * @param out the buffer to write to
+     */
+    @Override
+    protected void writeGameState(ByteBuffer out) {
+        for (Stack<Card> pile : this.PLAYING_FIELD) {
+            CardCodec.writeCards(out, pile);
+        }
+        for (Card card : this.lastFlipped) {
+            CardCodec.writeVarint(out, card == null ? 0 : CardCodec.ordinal(card) + 1);
+        }
+        CardCodec.writeVarint(out, this.lastPileSize);
+        out.put((byte) (this.inWar ? 1 : 0));
+    }
 
-            this.WAR_IO.stall();
+    /**
+     * Read the state written by {@link #writeGameState(ByteBuffer)}.
+     *
+     * @param in the buffer to read from
+     */
+    @Override
+    protected void readGameState(ByteBuffer in) {
+        for (Stack<Card> pile : this.PLAYING_FIELD) {
+            pile.clear();
+            pile.addAll(CardCodec.readCards(in));
+        }
+        for (int i = 0; i < this.lastFlipped.length; i++) {
+            int card = (int) CardCodec.readVarint(in);
+            this.lastFlipped[i] = card == 0 ? null : CardCodec.card(card - 1);
         }
+        this.lastPileSize = (int) CardCodec.readVarint(in);
+        this.inWar = in.get() == 1;
+    }
 
+    /**
+     * Return the message shown to the players once the game is over.
+     *
+     * @return a message announcing who ran out of cards
+     */
+    @Override
+    protected String resultMessage() {
         if (players[0].isHandEmpty() && players[1].isHandEmpty()) {
-            this.WAR_IO.closeMessage("Somehow you two have managed to end up in an extremely improbable draw. Congratulations!\n");
-            this.addUserStats(this.usernames);
+            return "Somehow you two have managed to end up in an extremely improbable draw. Congratulations!\n";
         } else if (players[1].isHandEmpty()) {
-            this.WAR_IO.closeMessage(players[1].getUsername() + " is out of cards and can no longer participate. " + players[0].getUsername() + " wins!\n");
-            this.addUserStats(players[0].getUsername());
-        } else if (players[0].isHandEmpty()) {
-            this.WAR_IO.closeMessage(players[0].getUsername() + " is out of cards and can no longer participate. " + players[1].getUsername() + " wins!\n");
-            this.addUserStats(players[1].getUsername());
+            return players[1].getUsername() + " is out of cards and can no longer participate. " + players[0].getUsername() + " wins!\n";
         } else {
-            this.WAR_IO.closeMessage("how did you get here. " + PLAYING_FIELD.get(0).size() + " " + PLAYING_FIELD.get(1).size() + "\n");
+            return players[0].getUsername() + " is out of cards and can no longer participate. " + players[1].getUsername() + " wins!\n";
         }
     }
 
+    /**
+     * Display the cards flipped by the last move, or blank cards before the first flip.
+     */
+    private void displayLastFlip() {
+        this.WAR_IO.displayBoard(this.lastFlipped[0] == null ? "" : this.lastFlipped[0].toString(),
+                this.lastFlipped[1] == null ? "" : this.lastFlipped[1].toString(), this.lastPileSize,
+                this.players[0].getUsername(), this.players[1].getUsername());
+    }
+
     /**
      * Flips a card for each player
      */
@@ -182,10 +320,12 @@ public class War extends GameTemplate {
             }
             return 2;
         } else if (topCardHierarchy0 < topCardHierarchy1) {
-            this.WAR_IO.sendPopup(players[1].getUsername() + "'s card outranks their opponents and they win the battle!\n");
+            this.WAR_IO.sendPopup(() -> players[1].getUsername()
+                    + "'s card outranks their opponents and they win the battle!\n");
             return 1;
         } else {
-            this.WAR_IO.sendPopup(players[0].getUsername() + "'s card outranks their opponents and they win the battle!\n");
+            this.WAR_IO.sendPopup(() -> players[0].getUsername()
+                    + "'s card outranks their opponents and they win the battle!\n");
             return 0;
         }
     }
@@ -200,7 +340,7 @@ public class War extends GameTemplate {
     }
 
     /**
-     * Checks if the game has finished, i.e. if at least 1 player has an empty hand
+     * Checks if at least 1 player has an empty hand
      *
      * @return true if either player has an empty hand, false otherwise
      */
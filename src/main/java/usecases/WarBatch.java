@@ -0,0 +1,437 @@
+package usecases;
+
+import helpers.CardCodec;
+
+import java.util.Random;
+
+/**
+ * Plays many games of {@link War} at once, for statistics over deals. War has no decisions, so a game is decided by its
+ * deal, and a batch only has to play the rules as fast as possible.
+ * <p>
+ * The games of a batch are lanes that advance in lockstep, one round of every game at a time. Their state is kept
+ * as a structure of arrays: each hand is a ring buffer of card ordinals (see {@link CardCodec}) in one flat
+ * <code>byte</code> array shared by every lane, and each round runs in phases that sweep all the lanes: flipping the
+ * cards, comparing their ranks, and giving the playing field to the winner. The comparison runs on the Vector API (see
+ * {@link WarVectorKernel}) where the runtime was started with <code>--add-modules jdk.incubator.vector</code> and the
+ * CPU has vector instructions, and otherwise as a branch-free loop over plain arrays, which the JIT may still compile
+ * to vector instructions. Either way every lane gets the same outcome.
+ * <p>
+ * A round is one {@link War#applyMove(Move)}, and a lane dealt with {@link #deal(int, long)} plays exactly the game
+ * that <code>War</code> plays with a <code>Random</code> of the same seed.
+ * <p>
+ * Most deals of War never end: the cards go round in a cycle, and the game comes back to the same hands again and
+ * again. Every lane looks for a cycle the way Brent's algorithm does. Between rounds with an empty playing field, it
+ * keeps a copy of both hands taken at the first chance after round 1, 2, 4, 8 and so on, and compares the hands with
+ * that copy whenever the first player holds as many cards as in the copy. A game found in a cycle is over, with
+ * {@link #CYCLE} as its winner.
+ */
+public final class WarBatch {
+
+    /**
+     * The winner of a game that is not over.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The winner of a game in which both players ran out of cards at once.
+     */
+    public static final int TIE = 2;
+
+    /**
+     * The winner of a game that has gone round in a cycle and would never end.
+     */
+    public static final int CYCLE = 3;
+
+    private static final int SUIT_COUNT = 4;
+    private static final int HALF_DECK = CardCodec.DECK_SIZE / 2;
+    // every hand fits in a ring of 64 cards, so positions in a ring are masked rather than wrapped
+    private static final int RING = 64;
+    private static final int RING_MASK = RING - 1;
+    private static final CompareKernel VECTOR_KERNEL = vectorKernel();
+
+    private final int lanes;
+    private final byte[] hands;
+    private final int[] heads;
+    private final int[] sizes;
+    private final byte[] piles;
+    private final int[] pileSizes;
+    private final int[] top0;
+    private final int[] top1;
+    private final int[] outcomes;
+    private final boolean[] inWar;
+    private final int[] winners;
+    private final int[] rounds;
+    private final byte[] snapshots;
+    private final int[] snapshotSizes;
+    private final int[] snapshotRounds;
+    private final int[] nextSnapshots;
+    private final int[] cycleLengths;
+    private final int[] shuffled = new int[CardCodec.DECK_SIZE];
+    private final CompareKernel kernel;
+    private long totalRounds = 0;
+
+    /**
+     * Compares the ranks of the top cards of the first lanes of a batch, a whole number of vectors at a time.
+     */
+    interface CompareKernel {
+
+        /**
+         * Set the outcome of the first lanes: 0 if the first player's card ranks higher, 1 if the second's does, and
+         * {@link #TIE} if they rank the same.
+         *
+         * @param top0     the ordinal of the first player's top card in every lane
+         * @param top1     the ordinal of the second player's top card in every lane
+         * @param outcomes the array the outcomes are written to
+         * @param lanes    the number of lanes
+         * @return the number of lanes compared, from the first; the caller compares the rest
+         */
+        int compare(int[] top0, int[] top1, int[] outcomes, int lanes);
+    }
+
+    /**
+     * Create a batch that compares ranks on the Vector API where it can. Every lane starts out empty and over until
+     * it is dealt.
+     *
+     * @param lanes the number of games played at once
+     */
+    public WarBatch(int lanes) {
+        this(lanes, VECTOR_KERNEL);
+    }
+
+    /**
+     * Create a batch. Every lane starts out empty and over until it is dealt.
+     *
+     * @param lanes  the number of games played at once
+     * @param kernel the kernel of the compare sweep, or <code>null</code> to compare every lane in the scalar loop
+     */
+    WarBatch(int lanes, CompareKernel kernel) {
+        this.kernel = kernel;
+        this.lanes = lanes;
+        this.hands = new byte[lanes * 2 * RING];
+        this.heads = new int[lanes * 2];
+        this.sizes = new int[lanes * 2];
+        this.piles = new byte[lanes * 2 * HALF_DECK];
+        this.pileSizes = new int[lanes];
+        this.top0 = new int[lanes];
+        this.top1 = new int[lanes];
+        this.outcomes = new int[lanes];
+        this.inWar = new boolean[lanes];
+        this.winners = new int[lanes];
+        this.rounds = new int[lanes];
+        this.snapshots = new byte[lanes * CardCodec.DECK_SIZE];
+        this.snapshotSizes = new int[lanes];
+        this.snapshotRounds = new int[lanes];
+        this.nextSnapshots = new int[lanes];
+        this.cycleLengths = new int[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            this.winners[lane] = TIE;
+        }
+    }
+
+    /**
+     * Return the Vector API kernel, or <code>null</code> if this runtime cannot run it. The kernel is loaded
+     * reflectively so that this class still loads and runs on runtimes started without the incubator module.
+     *
+     * @return the Vector API kernel, or <code>null</code>
+     */
+    private static CompareKernel vectorKernel() {
+        try {
+            return (CompareKernel) Class.forName("usecases.WarVectorKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether ranks are compared on the Vector API
+     *
+     * @return true if the compare sweep runs on the Vector API, false if it runs in the scalar loop
+     */
+    public boolean isVectorized() {
+        return this.kernel != null;
+    }
+
+    /**
+     * Returns the number of lanes
+     *
+     * @return the number of games played at once
+     */
+    public int getLanes() {
+        return this.lanes;
+    }
+
+    /**
+     * Returns the number of rounds played so far
+     *
+     * @return the number of rounds played by every lane since the batch was created
+     */
+    public long getTotalRounds() {
+        return this.totalRounds;
+    }
+
+    /**
+     * Deal a new game in a lane, the same game that <code>War</code> deals with <code>new Random(seed)</code>.
+     *
+     * @param lane the index of the lane
+     * @param seed the seed of the deal
+     */
+    public void deal(int lane, long seed) {
+        // the same shuffle as Collections.shuffle, of the deck in the order GameTemplate creates it
+        Random random = new Random(seed);
+        int[] deck = this.shuffled;
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = i;
+        }
+        for (int i = deck.length; i > 1; i--) {
+            int j = random.nextInt(i);
+            int card = deck[i - 1];
+            deck[i - 1] = deck[j];
+            deck[j] = card;
+        }
+        this.deal(lane, deck);
+    }
+
+    /**
+     * Deal a new game in a lane from a shuffled deck. The first player gets the first half of the deck and the
+     * second player the second half, each in order from the top of their hand.
+     *
+     * @param lane the index of the lane
+     * @param deck the ordinals of the 52 cards, from the top down
+     */
+    public void deal(int lane, int[] deck) {
+        for (int p = 0; p < 2; p++) {
+            int hand = lane * 2 + p;
+            for (int i = 0; i < HALF_DECK; i++) {
+                this.hands[hand * RING + i] = (byte) deck[p * HALF_DECK + i];
+            }
+            this.heads[hand] = 0;
+            this.sizes[hand] = HALF_DECK;
+        }
+        this.pileSizes[lane] = 0;
+        this.inWar[lane] = false;
+        this.winners[lane] = NONE;
+        this.rounds[lane] = 0;
+        this.snapshotSizes[lane] = -1;
+        this.nextSnapshots[lane] = 1;
+        this.cycleLengths[lane] = 0;
+    }
+
+    /**
+     * Returns whether the game in a lane is over
+     *
+     * @param lane the index of a lane
+     * @return true if a player of the game has run out of cards, or the lane has not been dealt
+     */
+    public boolean isOver(int lane) {
+        return this.winners[lane] != NONE;
+    }
+
+    /**
+     * Returns the winner of the game in a lane
+     *
+     * @param lane the index of a lane
+     * @return 0 or 1 for the player who still has cards, {@link #TIE} if neither has, {@link #CYCLE} if the game goes
+     * round in a cycle, or {@link #NONE} if the game is not over
+     */
+    public int getWinner(int lane) {
+        return this.winners[lane];
+    }
+
+    /**
+     * Returns the number of rounds the game in a lane has played
+     *
+     * @param lane the index of a lane
+     * @return the number of rounds since the lane was dealt
+     */
+    public int getRounds(int lane) {
+        return this.rounds[lane];
+    }
+
+    /**
+     * Returns the length of the cycle of the game in a lane
+     *
+     * @param lane the index of a lane
+     * @return the number of rounds after which the game comes back to the same hands, or 0 if it has not been found
+     * in a cycle
+     */
+    public int getCycleLength(int lane) {
+        return this.cycleLengths[lane];
+    }
+
+    /**
+     * Returns the number of cards in a player's hand
+     *
+     * @param lane   the index of a lane
+     * @param player 0 or 1
+     * @return the number of cards the player holds
+     */
+    public int getHandSize(int lane, int player) {
+        return this.sizes[lane * 2 + player];
+    }
+
+    /**
+     * Play one round of every game that is not over.
+     *
+     * @return the number of games that are still not over
+     */
+    public int step() {
+        int lanes = this.lanes;
+        int[] winners = this.winners;
+
+        int played = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (winners[lane] == NONE) {
+                this.flip(lane);
+                if (this.inWar[lane] && this.sizes[lane * 2] > 0 && this.sizes[lane * 2 + 1] > 0) {
+                    this.flip(lane);
+                }
+                played++;
+            }
+        }
+
+        // 0 if the first player's card ranks higher, 1 if the second's does, TIE if they rank the same
+        int[] top0 = this.top0;
+        int[] top1 = this.top1;
+        int[] outcomes = this.outcomes;
+        int compared = this.kernel == null ? 0 : this.kernel.compare(top0, top1, outcomes, lanes);
+        for (int lane = compared; lane < lanes; lane++) {
+            int rank0 = top0[lane] / SUIT_COUNT;
+            int rank1 = top1[lane] / SUIT_COUNT;
+            int lower = (rank0 - rank1) >>> 31;
+            int same = ((rank0 ^ rank1) - 1) >>> 31;
+            outcomes[lane] = lower + same * (TIE - lower);
+        }
+
+        int going = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (winners[lane] != NONE) {
+                continue;
+            }
+            int outcome = outcomes[lane];
+            if (outcome == TIE) {
+                this.inWar[lane] = true;
+            } else {
+                this.collect(lane, outcome);
+                this.inWar[lane] = false;
+            }
+            this.rounds[lane]++;
+            boolean empty0 = this.sizes[lane * 2] == 0;
+            boolean empty1 = this.sizes[lane * 2 + 1] == 0;
+            if (empty0 || empty1) {
+                winners[lane] = empty0 && empty1 ? TIE : empty0 ? 1 : 0;
+            } else if (outcome != TIE && this.isCycle(lane)) {
+                winners[lane] = CYCLE;
+            } else {
+                going++;
+            }
+        }
+        this.totalRounds += played;
+        return going;
+    }
+
+    /**
+     * Play rounds until every game is over or has played a number of rounds.
+     *
+     * @param maxRounds the most rounds to play
+     * @return the number of games that are still not over
+     */
+    public int run(int maxRounds) {
+        int going = this.lanes;
+        for (int i = 0; i < maxRounds && going > 0; i++) {
+            going = this.step();
+        }
+        return going;
+    }
+
+    /**
+     * Compare the hands of a lane with its copy, or take a new copy if it is time to. The playing field must be empty.
+     *
+     * @param lane the index of the lane
+     * @return true if the hands are the same as in the copy, which was taken a cycle ago
+     */
+    private boolean isCycle(int lane) {
+        int size0 = this.sizes[lane * 2];
+        int snapshot = lane * CardCodec.DECK_SIZE;
+        if (this.rounds[lane] >= this.nextSnapshots[lane]) {
+            this.copyHands(lane, this.snapshots, snapshot);
+            this.snapshotSizes[lane] = size0;
+            this.snapshotRounds[lane] = this.rounds[lane];
+            this.nextSnapshots[lane] = this.rounds[lane] * 2;
+            return false;
+        }
+        if (size0 != this.snapshotSizes[lane]) {
+            return false;
+        }
+        for (int p = 0; p < 2; p++) {
+            int hand = lane * 2 + p;
+            int base = hand * RING;
+            int head = this.heads[hand];
+            for (int i = 0; i < this.sizes[hand]; i++) {
+                if (this.hands[base + (head + i & RING_MASK)] != this.snapshots[snapshot++]) {
+                    return false;
+                }
+            }
+        }
+        this.cycleLengths[lane] = this.rounds[lane] - this.snapshotRounds[lane];
+        return true;
+    }
+
+    /**
+     * Copy the cards of both hands of a lane, the first player's first and each from the top down.
+     *
+     * @param lane   the index of the lane
+     * @param to     the array to copy to
+     * @param offset the index in <code>to</code> of the first card
+     */
+    private void copyHands(int lane, byte[] to, int offset) {
+        for (int p = 0; p < 2; p++) {
+            int hand = lane * 2 + p;
+            int base = hand * RING;
+            int head = this.heads[hand];
+            for (int i = 0; i < this.sizes[hand]; i++) {
+                to[offset++] = this.hands[base + (head + i & RING_MASK)];
+            }
+        }
+    }
+
+    /**
+     * Move the top card of each player's hand onto their pile of the playing field.
+     *
+     * @param lane the index of the lane
+     */
+    private void flip(int lane) {
+        int pileSize = this.pileSizes[lane];
+        for (int p = 0; p < 2; p++) {
+            int hand = lane * 2 + p;
+            byte card = this.hands[hand * RING + this.heads[hand]];
+            this.heads[hand] = this.heads[hand] + 1 & RING_MASK;
+            this.sizes[hand]--;
+            this.piles[hand * HALF_DECK + pileSize] = card;
+        }
+        this.top0[lane] = this.piles[lane * 2 * HALF_DECK + pileSize];
+        this.top1[lane] = this.piles[(lane * 2 + 1) * HALF_DECK + pileSize];
+        this.pileSizes[lane] = pileSize + 1;
+    }
+
+    /**
+     * Give both piles of the playing field to the winner of a round, each from the top of the pile down and the first
+     * player's pile first, to the bottom of their hand.
+     *
+     * @param lane   the index of the lane
+     * @param winner 0 or 1
+     */
+    private void collect(int lane, int winner) {
+        int hand = lane * 2 + winner;
+        int base = hand * RING;
+        int tail = this.heads[hand] + this.sizes[hand];
+        int pileSize = this.pileSizes[lane];
+        for (int p = 0; p < 2; p++) {
+            int pile = (lane * 2 + p) * HALF_DECK;
+            for (int i = pileSize - 1; i >= 0; i--) {
+                this.hands[base + (tail++ & RING_MASK)] = this.piles[pile + i];
+            }
+        }
+        this.sizes[hand] += 2 * pileSize;
+        this.pileSizes[lane] = 0;
+    }
+}
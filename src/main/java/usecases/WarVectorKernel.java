@@ -0,0 +1,45 @@
+package usecases;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The compare sweep of {@link WarBatch} written with the Vector API, which compares the ranks of as many lanes at once
+ * as the CPU's widest vector holds. The Vector API is an incubator module, so this class can only be loaded when the
+ * runtime was started with <code>--add-modules jdk.incubator.vector</code>; <code>WarBatch</code> loads it
+ * reflectively, and falls back to its scalar loop when it cannot.
+ */
+final class WarVectorKernel implements WarBatch.CompareKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    // a card's rank is its ordinal divided by the 4 suits, which is a shift for ordinals that are never negative
+    private static final int RANK_SHIFT = 2;
+
+    /**
+     * Construct a <code>WarVectorKernel</code>.
+     *
+     * @throws UnsupportedOperationException if the CPU has no vectors of more than one <code>int</code>, on which the
+     *                                       Vector API would be slower than the scalar loop
+     */
+    WarVectorKernel() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("No vector instructions for int lanes.");
+        }
+    }
+
+    @Override
+    public int compare(int[] top0, int[] top1, int[] outcomes, int lanes) {
+        IntVector none = IntVector.zero(SPECIES);
+        int upper = SPECIES.loopBound(lanes);
+        for (int lane = 0; lane < upper; lane += SPECIES.length()) {
+            IntVector rank0 = IntVector.fromArray(SPECIES, top0, lane).lanewise(VectorOperators.LSHR, RANK_SHIFT);
+            IntVector rank1 = IntVector.fromArray(SPECIES, top1, lane).lanewise(VectorOperators.LSHR, RANK_SHIFT);
+            VectorMask<Integer> lower = rank0.lt(rank1);
+            VectorMask<Integer> same = rank0.eq(rank1);
+            none.blend(1, lower).blend(WarBatch.TIE, same).intoArray(outcomes, lane);
+        }
+        return upper;
+    }
+}
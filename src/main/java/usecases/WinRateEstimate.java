@@ -0,0 +1,171 @@
+package usecases;
+
+/**
+ * A running estimate of how often one seat wins a game, from batches of simulated games, with a Wilson score interval
+ * around it. The estimate is precise once the interval is no wider than asked for on either side, which a large effect
+ * reaches after far fewer games than a fixed sweep would play.
+ * <p>
+ * Every game counts, so ties, unfinished games and games found in a cycle count as games the seat did not win.
+ */
+public final class WinRateEstimate {
+
+    private final int seat;
+    private final double halfWidth;
+    private final double z;
+    private SimulationResult result;
+
+    /**
+     * Create an estimate with no games.
+     *
+     * @param seat       the index in turn order of the seat whose win rate is estimated
+     * @param halfWidth  the most the interval may reach on either side of the estimate for it to be precise, such as
+     *                   0.01 for plus or minus one percentage point
+     * @param confidence the confidence of the interval, such as 0.95
+     */
+    public WinRateEstimate(int seat, double halfWidth, double confidence) {
+        if (halfWidth <= 0 || halfWidth >= 1) {
+            throw new IllegalArgumentException("The half width of an interval must be between 0 and 1.");
+        }
+        this.seat = seat;
+        this.halfWidth = halfWidth;
+        this.z = zScore(confidence);
+    }
+
+    /**
+     * Add the games of a batch to this estimate.
+     *
+     * @param batch the totals of the games
+     */
+    public void add(SimulationResult batch) {
+        if (this.seat < 0 || this.seat >= batch.getPlayerCount()) {
+            throw new IllegalArgumentException("Games of " + batch.getPlayerCount() + " players have no seat "
+                    + this.seat + '.');
+        }
+        if (this.result == null) {
+            this.result = new SimulationResult(batch.getPlayerCount());
+        }
+        this.result.merge(batch);
+    }
+
+    /**
+     * Returns the totals of every game added
+     *
+     * @return the merged batches, or null if none were added
+     */
+    public SimulationResult getResult() {
+        return this.result;
+    }
+
+    /**
+     * Returns the number of games
+     *
+     * @return the number of games added
+     */
+    public long getGames() {
+        return this.result == null ? 0 : this.result.getGames();
+    }
+
+    /**
+     * Returns the estimated win rate
+     *
+     * @return the share of the games the seat won, or 0 if there are none
+     */
+    public double getWinRate() {
+        long games = this.getGames();
+        return games == 0 ? 0 : (double) this.result.getWins(this.seat) / games;
+    }
+
+    /**
+     * Returns the lower end of the interval
+     *
+     * @return the lowest win rate the games are consistent with
+     */
+    public double getLower() {
+        return this.center() - this.radius();
+    }
+
+    /**
+     * Returns the upper end of the interval
+     *
+     * @return the highest win rate the games are consistent with
+     */
+    public double getUpper() {
+        return this.center() + this.radius();
+    }
+
+    /**
+     * Returns whether the estimate is precise enough
+     *
+     * @return true if the interval is no wider than asked for on either side of its center
+     */
+    public boolean isPrecise() {
+        return this.getGames() > 0 && this.radius() <= this.halfWidth;
+    }
+
+    /**
+     * Returns the center of the Wilson score interval, which is pulled from the win rate towards one half.
+     *
+     * @return the center of the interval
+     */
+    private double center() {
+        long n = this.getGames();
+        if (n == 0) {
+            return 0.5;
+        }
+        double z2 = this.z * this.z;
+        return (this.getWinRate() + z2 / (2 * n)) / (1 + z2 / n);
+    }
+
+    /**
+     * Returns the distance from the center of the Wilson score interval to either end.
+     *
+     * @return half the width of the interval
+     */
+    private double radius() {
+        long n = this.getGames();
+        if (n == 0) {
+            return 0.5;
+        }
+        double p = this.getWinRate();
+        double z2 = this.z * this.z;
+        return this.z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / (1 + z2 / n);
+    }
+
+    /**
+     * Returns the number of standard deviations either side of the mean that hold a share of a normal distribution.
+     *
+     * @param confidence the share, strictly between 0 and 1
+     * @return the z score of the two-sided interval
+     */
+    static double zScore(double confidence) {
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("A confidence must be between 0 and 1.");
+        }
+        // bisect for the z at which the two tails hold what the interval does not
+        double low = 0;
+        double high = 40;
+        for (int i = 0; i < 100; i++) {
+            double mid = (low + high) / 2;
+            if (erfc(mid / Math.sqrt(2)) > 1 - confidence) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    /**
+     * Returns the complementary error function of a value, with a relative error below 1.2e-7.
+     *
+     * @param x a value that is not negative
+     * @return the complementary error function of <code>x</code>
+     */
+    private static double erfc(double x) {
+        // Numerical Recipes' erfcc, a Chebyshev fit of the tail
+        double t = 1 / (1 + 0.5 * x);
+        return t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+    }
+}
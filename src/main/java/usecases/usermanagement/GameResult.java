@@ -0,0 +1,101 @@
+package usecases.usermanagement;
+
+import java.util.List;
+
+/**
+ * The result of one finished game: what was played, who played it, who won and how long it took. A result is
+ * submitted to a {@link UserManager} as one unit, which records it in the statistics of all of its participants at
+ * once and hands it on to its listener.
+ * <p>
+ * A game with one winner was won by them and lost by everyone else. A game with more than one winner was tied by the
+ * winners and lost by everyone else.
+ */
+public final class GameResult {
+
+    private final String gameType;
+    private final List<String> participants;
+    private final List<String> winners;
+    private final long durationNanos;
+
+    /**
+     * Construct a <code>GameResult</code>.
+     *
+     * @param gameType      the name of the game, such as "Go Fish"
+     * @param participants  the usernames of everyone who played the game
+     * @param winners       the usernames of the winner, or of the players who tied
+     * @param durationNanos how long the game took, in nanoseconds
+     * @throws IllegalArgumentException if a winner did not play the game
+     */
+    public GameResult(String gameType, List<String> participants, List<String> winners, long durationNanos) {
+        if (!participants.containsAll(winners)) {
+            throw new IllegalArgumentException("Winners " + winners + " did not all play " + gameType + '.');
+        }
+        this.gameType = gameType;
+        this.participants = List.copyOf(participants);
+        this.winners = List.copyOf(winners);
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the name of the game
+     *
+     * @return the name of the game, such as "Go Fish"
+     */
+    public String getGameType() {
+        return this.gameType;
+    }
+
+    /**
+     * Returns the usernames of everyone who played the game
+     *
+     * @return the usernames of the participants, in turn order
+     */
+    public List<String> getParticipants() {
+        return this.participants;
+    }
+
+    /**
+     * Returns the usernames of the winner, or of the players who tied
+     *
+     * @return the usernames of the winners
+     */
+    public List<String> getWinners() {
+        return this.winners;
+    }
+
+    /**
+     * Returns whether the game was a tie
+     *
+     * @return true if more than one player won the game
+     */
+    public boolean isTie() {
+        return this.winners.size() > 1;
+    }
+
+    /**
+     * Returns how long the game took
+     *
+     * @return the duration of the game, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    /**
+     * Returns the outcome of the game for one of its participants
+     *
+     * @param username the username of a participant
+     * @return 1 if they won, 0 if they tied and -1 if they lost, as taken by {@link UserManager#addGamesPlayed}
+     */
+    public int getOutcome(String username) {
+        if (!this.winners.contains(username)) {
+            return -1;
+        }
+        return this.isTie() ? 0 : 1;
+    }
+
+    @Override
+    public String toString() {
+        return this.gameType + ' ' + this.participants + (this.isTie() ? " tied by " : " won by ") + this.winners;
+    }
+}
@@ -0,0 +1,120 @@
+package usecases.usermanagement;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * A result listener of a {@link UserManager} that writes every result to the user database as it comes in. Results are
+ * put in a queue, which is cheap enough to do while the manager holds its locks, and one thread takes them from the
+ * queue and adds each to the database with {@link UserDatabaseAccess#addGameResult(GameResult)}, in the order they were
+ * recorded.
+ * <p>
+ * The statistics in the database therefore always agree with the results recorded so far, and nothing has to be
+ * exported when the program stops. The first time a participant comes up, they are added to the database if they are
+ * not in it yet, because they logged in for the first time.
+ */
+public class ResultRecorder implements Consumer<GameResult>, Closeable {
+
+    private static final GameResult STOP = new GameResult("", List.of(), List.of(), 0);
+
+    private final UserDatabaseAccess database;
+    private final BlockingQueue<GameResult> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    // usernames known to be in the database, only used by the writer thread
+    private final Set<String> known = new HashSet<>();
+    private volatile boolean closed = false;
+
+    /**
+     * Construct a <code>ResultRecorder</code> and start its writer thread.
+     *
+     * @param database the user database results are written to, which no other thread should write to meanwhile
+     */
+    public ResultRecorder(UserDatabaseAccess database) {
+        this.database = database;
+        this.writer = new Thread(this::drain, "result-recorder");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queue a result to be written to the database.
+     *
+     * @param result the result of a finished game
+     * @throws IllegalStateException if this recorder has been closed
+     */
+    @Override
+    public void accept(GameResult result) {
+        if (this.closed) {
+            throw new IllegalStateException("Result " + result + " arrived after the recorder was closed.");
+        }
+        this.queue.add(result);
+    }
+
+    /**
+     * Write every queued result to the database and stop the writer thread. The database itself is left open.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.queue.add(STOP);
+        boolean interrupted = false;
+        while (this.writer.isAlive()) {
+            try {
+                this.writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Take results from the queue and write them until the recorder is closed.
+     */
+    private void drain() {
+        while (true) {
+            GameResult result;
+            try {
+                result = this.queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (result == STOP) {
+                return;
+            }
+            try {
+                this.write(result);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Write one result to the database, first adding any participant that has not come up before and is missing.
+     *
+     * @param result the result to write
+     */
+    private void write(GameResult result) {
+        for (String username : result.getParticipants()) {
+            if (this.known.add(username)) {
+                this.database.addUser(username);
+            }
+        }
+        try {
+            this.database.addGameResult(result);
+        } catch (UserDatabaseAccess.UserNotFoundException e) {
+            throw new IllegalStateException("A participant of " + result + " was removed from the database.", e);
+        }
+    }
+}
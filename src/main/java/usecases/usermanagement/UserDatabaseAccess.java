@@ -91,6 +91,25 @@ public interface UserDatabaseAccess extends AutoCloseable, Closeable {
      */
     void addUserStatistics(String username, Collection<String> statistics) throws UserNotFoundException;
 
+    /**
+     * Add the result of one game to the statistics of all of its participants.
+     * <p>
+     * The default implementation adds to each participant's statistics separately, so a participant that is missing
+     * stops it part way; implementations that can write the whole result at once should override it.
+     *
+     * @param result the result of the game
+     * @throws UserNotFoundException if a participant of the game was not found
+     */
+    default void addGameResult(GameResult result) throws UserNotFoundException {
+        for (String username : result.getParticipants()) {
+            int outcome = result.getOutcome(username);
+            this.addUserStatistics(username, Map.of(
+                    "gamesPlayed", 1,
+                    "gamesWon", outcome == 1 ? 1 : 0,
+                    "gamesTied", outcome == 0 ? 1 : 0));
+        }
+    }
+
     /**
      * Return the selected statistics for the given user.
      * <p>
@@ -117,6 +136,26 @@ public interface UserDatabaseAccess extends AutoCloseable, Closeable {
      */
     HashMap<String, Integer> getUserStatistics(String username) throws UserNotFoundException;
 
+    /**
+     * Return all the statistics for every user in this database.
+     * <p>
+     * The default implementation queries each user separately; implementations that can read everything at once
+     * should override it.
+     *
+     * @return a mapping of <code>{username: {statistic name: value}}</code>
+     */
+    default Map<String, Map<String, Integer>> getAllUserStatistics() {
+        Map<String, Map<String, Integer>> all = new HashMap<>();
+        for (String username : this.getAllUsernames()) {
+            try {
+                all.put(username, this.getUserStatistics(username));
+            } catch (UserNotFoundException e) {
+                // removed between the two queries, so it is no longer part of "all users"
+            }
+        }
+        return all;
+    }
+
     /**
      * An exception representing the event where a given username is not found.
      */
@@ -2,33 +2,55 @@ package usecases.usermanagement;
 
 import entities.User;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
 
 /**
  * Class that stores a hashmap mapping usernames to a User object. This class can add and keep track of users, and can
  * communicate with the user database to import stored users and write and take away new users to and from the database.
  * This class is also able to return the statistics of specific users by referencing their usernames.
+ * <p>
+ * Games running on different threads can share one UserManager. Its users are kept in a
+ * <code>ConcurrentHashMap</code> and their statistics in <code>LongAdder</code>s, and updates are guarded by a fixed
+ * set of striped locks, each covering the users whose username hashes to it. A game's result takes the locks of all of
+ * its participants in stripe order, so two games never wait on each other unless they share a stripe, and never
+ * deadlock. Readers take a {@link #getSnapshot(String)} optimistically, without blocking any writer, and only wait
+ * if a game was recorded for the user while they read.
+ * <p>
+ * A finished game is recorded with {@link #submit(GameResult)}, which updates every participant at once and then hands
+ * the whole result to this manager's result listener, such as a journal or a database.
  */
 public class UserManager {
 
+    private static final int STRIPES = 64;
     private final Map<String, User> users;
+    private final StampedLock[] locks = new StampedLock[STRIPES];
+    private volatile Consumer<GameResult> resultListener = result -> {
+    };
 
     /**
      * Constructs a UserManager with an empty hashmap of users
      */
     public UserManager() {
-        this.users = new HashMap<>();
+        this(Map.of());
     }
 
     /**
-     * Constructs a UserManager with a pre-existing hashmap of username to User
+     * Constructs a UserManager with a pre-existing hashmap of username to User. The users are copied into this
+     * manager's own map, so later changes to <code>users</code> are not seen by it.
      *
      * @param users hashmap that maps a username to an instance of User
      */
     public UserManager(Map<String, User> users) {
-        this.users = users;
+        this.users = new ConcurrentHashMap<>(users);
+        for (int i = 0; i < STRIPES; i++) {
+            this.locks[i] = new StampedLock();
+        }
     }
 
     /**
@@ -38,17 +60,12 @@ public class UserManager {
      * @return constructed <code>UserManager</code> from the provided database accessor
      */
     public static UserManager importFromUserDatabase(UserDatabaseAccess databaseAccessor) {
-        Set<String> usernames = databaseAccessor.getAllUsernames();
+        Map<String, Map<String, Integer>> allStatistics = databaseAccessor.getAllUserStatistics();
 
         Map<String, User> users = new HashMap<>();
-        for (String username : usernames) {
-            Map<String, Integer> statistics;
-            try {
-                statistics = databaseAccessor.getUserStatistics(username);
-            } catch (UserDatabaseAccess.UserNotFoundException e) {
-                // should never happen, but if it does
-                throw new AssertionError("User was removed from database between all username query and retrieving statistics for said user");
-            }
+        for (Map.Entry<String, Map<String, Integer>> entry : allStatistics.entrySet()) {
+            String username = entry.getKey();
+            Map<String, Integer> statistics = entry.getValue();
 
             users.put(username, new User(username,
                     statistics.get("gamesPlayed"),
@@ -66,9 +83,14 @@ public class UserManager {
      * @param databaseAccessor user database gateway
      */
     public void exportToUserDatabase(UserDatabaseAccess databaseAccessor) {
-        for (Map.Entry<String, User> entry : this.users.entrySet()) {
-            String username = entry.getKey();
-            User user = entry.getValue();
+        for (String username : this.users.keySet()) {
+            User user;
+            try {
+                user = this.getSnapshot(username);
+            } catch (UserNotFoundException e) {
+                // deleted since the export began
+                continue;
+            }
 
             if (databaseAccessor.userExists(username)) {
                 try {
@@ -104,13 +126,10 @@ public class UserManager {
      * @throws UserAlreadyExistsException if the requested username already exists within this manager
      */
     public boolean addUser(String username) throws UserAlreadyExistsException {
-        if (hasUser(username)) {
+        if (users.putIfAbsent(username, new User(username)) != null) {
             throw new UserAlreadyExistsException("Already Existing User: " + username);
-        } else {
-            User new_user = new User(username);
-            users.put(username, new_user);
-            return true;
         }
+        return true;
     }
 
     /**
@@ -120,10 +139,14 @@ public class UserManager {
      * @throws UserNotFoundException thrown when a user with a given username does not exist
      */
     public void deleteUser(String username) throws UserNotFoundException {
-        if (hasUser(username)) {
-            users.remove(username);
-        } else {
-            throw new UserNotFoundException("User Not Found: " + username);
+        StampedLock lock = this.lockOf(username);
+        long stamp = lock.writeLock();
+        try {
+            if (users.remove(username) == null) {
+                throw new UserNotFoundException("User Not Found: " + username);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
         }
     }
 
@@ -135,17 +158,102 @@ public class UserManager {
      * @throws UserNotFoundException thrown when a user with a given username does not exist
      */
     public void addGamesPlayed(String username, int result) throws UserNotFoundException {
-        if (hasUser(username)) {
+        StampedLock lock = this.lockOf(username);
+        long stamp = lock.writeLock();
+        try {
             User user = users.get(username);
-            user.addPlayed();
-            if (result == 1) {
-                user.addWin();
-            } else if (result == 0) {
-                user.addTied();
+            if (user == null) {
+                throw new UserNotFoundException("User Not Found: " + username);
+            }
+            addOutcome(user, result);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Record a finished game in the statistics of all of its participants. Either every participant is updated or,
+     * if any of them is not a user of this manager, none is. Once the result is recorded it is given to the result
+     * listener, before any other result for one of the participants can be recorded.
+     *
+     * @param result the result of the game
+     * @throws UserNotFoundException thrown when a participant of the game is not a user, naming the first such one
+     */
+    public void submit(GameResult result) throws UserNotFoundException {
+        List<String> participants = result.getParticipants();
+        int[] stripes = new int[participants.size()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = stripeOf(participants.get(i));
+        }
+        Arrays.sort(stripes);
+        int stripeCount = 0;
+        for (int stripe : stripes) {
+            if (stripeCount == 0 || stripes[stripeCount - 1] != stripe) {
+                stripes[stripeCount++] = stripe;
             }
-        } else {
+        }
+
+        long[] stamps = new long[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stamps[i] = this.locks[stripes[i]].writeLock();
+        }
+        try {
+            User[] participantUsers = new User[participants.size()];
+            for (int i = 0; i < participantUsers.length; i++) {
+                participantUsers[i] = users.get(participants.get(i));
+                if (participantUsers[i] == null) {
+                    throw new UserNotFoundException("User Not Found: " + participants.get(i));
+                }
+            }
+            for (int i = 0; i < participantUsers.length; i++) {
+                addOutcome(participantUsers[i], result.getOutcome(participants.get(i)));
+            }
+            this.resultListener.accept(result);
+        } finally {
+            for (int i = stripeCount - 1; i >= 0; i--) {
+                this.locks[stripes[i]].unlockWrite(stamps[i]);
+            }
+        }
+    }
+
+    /**
+     * Set the listener that is given every result submitted to this manager once it is recorded, replacing any
+     * listener it had. The listener is called while the participants' locks are held, so it sees the results of any
+     * one user in the order they were recorded. Games without a shared stripe reach it from several threads at once,
+     * so it must be thread-safe, and it should hand results on rather than do slow work itself.
+     *
+     * @param resultListener the listener of submitted results
+     */
+    public void setResultListener(Consumer<GameResult> resultListener) {
+        this.resultListener = resultListener;
+    }
+
+    /**
+     * Return a copy of a user's statistics as they were at one instant, with no game recorded part way. The statistics
+     * are read without locking, and read again under the user's lock only if a game was recorded for a user of the same
+     * stripe in the meantime.
+     *
+     * @param username username of the User
+     * @return a new User with the username and statistics of the user
+     * @throws UserNotFoundException thrown when a user with a given username does not exist
+     */
+    public User getSnapshot(String username) throws UserNotFoundException {
+        User user = users.get(username);
+        if (user == null) {
             throw new UserNotFoundException("User Not Found: " + username);
         }
+        StampedLock lock = this.lockOf(username);
+        long stamp = lock.tryOptimisticRead();
+        User snapshot = new User(username, user.getGamesPlayed(), user.getGamesWon(), user.getGamesTied());
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                snapshot = new User(username, user.getGamesPlayed(), user.getGamesWon(), user.getGamesTied());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return snapshot;
     }
 
     /**
@@ -156,11 +264,7 @@ public class UserManager {
      * @throws UserNotFoundException thrown when a user with a given username does not exist
      */
     public int getWins(String username) throws UserNotFoundException {
-        if (hasUser(username)) {
-            return users.get(username).getGamesWon();
-        } else {
-            throw new UserNotFoundException("User Not Found: " + username);
-        }
+        return this.userOf(username).getGamesWon();
     }
 
     /**
@@ -171,19 +275,18 @@ public class UserManager {
      * @throws UserNotFoundException thrown when a user with a given username does not exist
      */
     public int getGamesPlayed(String username) throws UserNotFoundException {
-        if (hasUser(username)) {
-            return users.get(username).getGamesPlayed();
-        } else {
-            throw new UserNotFoundException("User Not Found: " + username);
-        }
+        return this.userOf(username).getGamesPlayed();
     }
 
+    /**
+     * Returns the number of ties for a given User
+     *
+     * @param username username of the User
+     * @return the number of games tied by a given User
+     * @throws UserNotFoundException thrown when a user with a given username does not exist
+     */
     public int getGamesTied(String username) throws UserNotFoundException {
-        if (hasUser(username)) {
-            return users.get(username).getGamesTied();
-        } else {
-            throw new UserNotFoundException("User Not Found: " + username);
-        }
+        return this.userOf(username).getGamesTied();
     }
 
     /**
@@ -203,15 +306,57 @@ public class UserManager {
      * @return true if the User is already a user, false if a new User was created
      */
     public boolean login(String username) {
-        if (hasUser(username)) {
-            return true;
-        } else {
-            try {
-                addUser(username);
-            } catch (UserAlreadyExistsException e) {
-                e.printStackTrace();
-            }
-            return false;
+        return hasUser(username) || users.putIfAbsent(username, new User(username)) != null;
+    }
+
+    /**
+     * Returns the User with a given username
+     *
+     * @param username username of the User
+     * @return the User kept by this manager
+     * @throws UserNotFoundException thrown when a user with a given username does not exist
+     */
+    private User userOf(String username) throws UserNotFoundException {
+        User user = users.get(username);
+        if (user == null) {
+            throw new UserNotFoundException("User Not Found: " + username);
+        }
+        return user;
+    }
+
+    /**
+     * Returns the stripe of a username
+     *
+     * @param username a username
+     * @return the index of the lock that guards the user's statistics
+     */
+    private static int stripeOf(String username) {
+        int hash = username.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Returns the lock of a username
+     *
+     * @param username a username
+     * @return the lock that guards the user's statistics
+     */
+    private StampedLock lockOf(String username) {
+        return this.locks[stripeOf(username)];
+    }
+
+    /**
+     * Add one game to a user's statistics. The caller holds the user's lock.
+     *
+     * @param user   the user
+     * @param result 1 if the User won, 0 if it was a tie, and -1 for a loss
+     */
+    private static void addOutcome(User user, int result) {
+        user.addPlayed();
+        if (result == 1) {
+            user.addWin();
+        } else if (result == 0) {
+            user.addTied();
         }
     }
 
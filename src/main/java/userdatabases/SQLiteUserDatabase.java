@@ -1,5 +1,6 @@
 package userdatabases;
 
+import usecases.usermanagement.GameResult;
 import usecases.usermanagement.UserDatabaseAccess;
 
 import java.io.Closeable;
@@ -233,6 +234,34 @@ public class SQLiteUserDatabase implements UserDatabaseAccess, AutoCloseable, Cl
         this.addUserStatistics(username, map);
     }
 
+    /**
+     * Add the result of one game to the statistics of all of its participants in one transaction, so either every
+     * participant is updated or, if one of them is missing, none is.
+     *
+     * @param result the result of the game
+     * @throws UserNotFoundException if a participant of the game was not found
+     */
+    @Override
+    public void addGameResult(GameResult result) throws UserNotFoundException {
+        String update = "UPDATE OR ABORT users SET gamesPlayed = gamesPlayed + 1, gamesWon = gamesWon + ?, " +
+                "gamesTied = gamesTied + ? WHERE username LIKE ?";
+        try (PreparedStatement stmt = this.CONN.prepareStatement(update)) {
+            for (String username : result.getParticipants()) {
+                int outcome = result.getOutcome(username);
+                stmt.setInt(1, outcome == 1 ? 1 : 0);
+                stmt.setInt(2, outcome == 0 ? 1 : 0);
+                stmt.setString(3, username);
+                if (stmt.executeUpdate() == 0) {
+                    this.CONN.rollback();
+                    throw new UserNotFoundException("User of: " + username + ", not found.");
+                }
+            }
+            this.CONN.commit();
+        } catch (SQLException e) {
+            throw new UnexpectedSQLExceptionError("Could not add game result: " + e.getMessage());
+        }
+    }
+
     /**
      * Return the selected statistics for the given user.
      *
@@ -277,6 +306,32 @@ public class SQLiteUserDatabase implements UserDatabaseAccess, AutoCloseable, Cl
         return this.getUserStatistics(username, STATISTICS_COLUMNS);
     }
 
+    /**
+     * Return all the statistics for every user in this database, read with a single query.
+     *
+     * @return a mapping of <code>{username: {statistic name: value}}</code>
+     */
+    @Override
+    public Map<String, Map<String, Integer>> getAllUserStatistics() {
+        Map<String, Map<String, Integer>> all = new HashMap<>();
+
+        String query = "SELECT username, gamesPlayed, gamesWon, gamesTied FROM users";
+        try (PreparedStatement stmt = this.CONN.prepareStatement(query)) {
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                all.put(rs.getString(1), Map.of(
+                        "gamesPlayed", rs.getInt(2),
+                        "gamesWon", rs.getInt(3),
+                        "gamesTied", rs.getInt(4)));
+            }
+        } catch (SQLException e) {
+            throw new UnexpectedSQLExceptionError("Could not retrieve statistics for all users: " + e.getMessage());
+        }
+
+        return all;
+    }
+
     /**
      * Rollback any active transactions and close this SQLite database connection.
      */
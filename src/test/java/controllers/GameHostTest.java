@@ -0,0 +1,107 @@
+package controllers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.IOInterfaces.WarIO;
+import usecases.War;
+import usecases.usermanagement.UserManager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHostTest {
+
+    List<String> usernames = List.of("alpha", "beta");
+    UserManager userManager;
+    GameHost host;
+
+    @BeforeEach
+    void setUp() {
+        this.userManager = new UserManager();
+        for (String u : usernames) {
+            try {
+                userManager.addUser(u);
+            } catch (UserManager.UserAlreadyExistsException e) {
+                fail("User already exists, check for duplicate test inputs.");
+            }
+        }
+        this.host = new GameHost(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.host.close();
+    }
+
+    @Nested
+    class Admission {
+        @Test
+        void full() throws Exception {
+            host.open("War", usernames, userManager, RemoteIO.create("War", line -> {
+            }));
+            GameHost.Table second = host.open("Bura", usernames, userManager, RemoteIO.create("Bura", line -> {
+            }));
+
+            assertThrows(GameHost.HostFullException.class,
+                    () -> host.open("Go Fish", usernames, userManager, RemoteIO.create("Go Fish", line -> {
+                    })));
+
+            second.cancel();
+            assertTrue(second.await(5, TimeUnit.SECONDS));
+            assertNotNull(host.open("Go Fish", usernames, userManager, RemoteIO.create("Go Fish", line -> {
+            })));
+            assertEquals(2, host.getOpenTables());
+        }
+    }
+
+    @Nested
+    class Cancel {
+        @Test
+        void cancel() throws Exception {
+            BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+            RemoteIO io = RemoteIO.create("Crazy Eights", lines::add);
+            GameHost.Table table = host.open("Crazy Eights", usernames, userManager, io);
+
+            String line = lines.poll(5, TimeUnit.SECONDS);
+            while (line != null && !line.startsWith("PROMPT")) {
+                line = lines.poll(5, TimeUnit.SECONDS);
+            }
+            assertNotNull(line);
+
+            table.cancel();
+            assertTrue(table.await(5, TimeUnit.SECONDS));
+            assertNull(table.getFailure());
+            assertNull(host.getTable(table.getId()));
+            assertFalse(table.getGame().isTerminal());
+            assertEquals(0, userManager.getGamesPlayed("alpha"));
+        }
+    }
+
+    @Nested
+    class Play {
+        @Test
+        void war() throws Exception {
+            RemoteIO[] io = new RemoteIO[1];
+            io[0] = RemoteIO.create("War", line -> {
+                if (line.startsWith("PROMPT")) {
+                    io[0].receive("");
+                }
+            });
+            // most War deals cycle forever, this one ends after about two hundred flips
+            GameHost.Table table = host.open(new War(usernames, userManager, (WarIO) io[0], new Random(14)));
+
+            assertTrue(table.await(30, TimeUnit.SECONDS));
+            assertNull(table.getFailure());
+            assertTrue(table.getGame().isTerminal());
+            assertEquals(1, userManager.getGamesPlayed("alpha"));
+        }
+    }
+}
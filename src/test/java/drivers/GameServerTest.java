@@ -0,0 +1,299 @@
+package drivers;
+
+import controllers.GameHost;
+import gamelogs.Checkpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.GameTemplate;
+import usecases.usermanagement.UserManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    static final long TIMEOUT_MILLIS = 10_000;
+
+    GameHost host;
+    GameServer server;
+    Thread loop;
+    List<Client> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.host = new GameHost(16);
+        this.server = new GameServer(new InetSocketAddress("127.0.0.1", 0), this.host, new UserManager());
+        this.loop = new Thread(this.server, "game-server");
+        this.loop.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Client client : this.clients) {
+            client.socket.close();
+        }
+        this.server.close();
+        this.loop.join(TIMEOUT_MILLIS);
+        this.host.close();
+    }
+
+    Client connect() throws IOException {
+        Client client = new Client(new Socket("127.0.0.1", this.server.getPort()));
+        this.clients.add(client);
+        return client;
+    }
+
+    /**
+     * Wait until <code>condition</code> holds, failing once the timeout is up.
+     */
+    static void awaitTrue(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Answer the prompts of a Bura table with the first card in hand until the table ends.
+     */
+    static void playBura(Client client) throws Exception {
+        String[] hand = new String[0];
+        while (true) {
+            String line = client.next();
+            if (line.startsWith("HAND")) {
+                hand = cards(line);
+            } else if (line.startsWith("PROMPT")) {
+                client.send(hand[0]);
+            } else if (line.equals("END")) {
+                return;
+            }
+        }
+    }
+
+    static String[] cards(String handLine) {
+        return handLine.substring(4).replace("[", "").replace("]", "").replace(",", " ").trim().split("\\s+");
+    }
+
+    @Test
+    void playEverySeatToTheEnd() throws Exception {
+        Client client = connect();
+        client.send("PLAY BURA alpha,beta");
+        assertEquals("SEATED BURA alpha,beta", client.next());
+        playBura(client);
+
+        client.send("PLAY BURA alpha,beta");
+        assertEquals("SEATED BURA alpha,beta", client.next());
+    }
+
+    @Test
+    void invalidTables() throws Exception {
+        Client client = connect();
+        client.send("PLAY BURA alpha,alpha");
+        assertEquals("ERROR Usernames must be different", client.next());
+        client.send("PLAY CHESS alpha,beta");
+        assertEquals("ERROR Unknown game", client.next());
+        client.send("HELLO");
+        assertEquals("ERROR Unknown command", client.next());
+    }
+
+    @Test
+    void rejectedJoinsLeaveNoLobby() throws Exception {
+        Client client = connect();
+        client.send("JOIN WAR 9 alpha");
+        assertEquals("ERROR Invalid number of seats", client.next());
+        client.send("JOIN WAR two alpha");
+        assertEquals("ERROR Invalid number of seats", client.next());
+        client.send("JOIN CHESS 2 alpha");
+        assertEquals("ERROR Unknown game", client.next());
+        client.send("JOIN WAR 2 -");
+        assertEquals("ERROR Invalid username -", client.next());
+        assertEquals(0, this.server.getLobbyCount());
+
+        client.send("JOIN WAR 2 alpha");
+        assertEquals("WAIT 1", client.next());
+        assertEquals(1, this.server.getLobbyCount());
+        client.send("PLAY WAR alpha,beta");
+        assertEquals("ERROR Waiting for players", client.next());
+    }
+
+    @Test
+    void joinStartsATableOncePlayersAreSeated() throws Exception {
+        Client first = connect();
+        Client second = connect();
+        first.send("JOIN BURA 2 alpha");
+        assertEquals("WAIT 1", first.next());
+        second.send("JOIN BURA 2 beta");
+        assertEquals("SEATED BURA alpha,beta", first.next());
+        assertEquals("SEATED BURA alpha,beta", second.next());
+        assertEquals(0, this.server.getLobbyCount());
+
+        // the first seat is asked first, so the second is not being waited for
+        first.await("PROMPT");
+        second.send("7S");
+        assertEquals("ERROR Not your turn", second.await("ERROR"));
+    }
+
+    @Test
+    void quitWhileWaitingForgetsTheLobby() throws Exception {
+        Client quitter = connect();
+        quitter.send("JOIN WAR 2 alpha");
+        assertEquals("WAIT 1", quitter.next());
+        quitter.send("QUIT");
+        awaitTrue(() -> this.server.getLobbyCount() == 0);
+
+        Client other = connect();
+        other.send("JOIN WAR 2 beta");
+        assertEquals("WAIT 1", other.next());
+    }
+
+    @Test
+    void watchSwitchesTablesAndLeaveStops() throws Exception {
+        Client first = connect();
+        Client second = connect();
+        first.send("PLAY BURA alpha,beta");
+        assertEquals("SEATED BURA alpha,beta", first.next());
+        second.send("PLAY BURA gamma,delta");
+        assertEquals("SEATED BURA gamma,delta", second.next());
+
+        Client watcher = connect();
+        watcher.send("WATCH nobody");
+        assertEquals("ERROR Not playing nobody", watcher.next());
+        watcher.send("WATCH alpha");
+        assertEquals("WATCHING alpha,beta", watcher.next());
+        watcher.send("WATCH gamma");
+        watcher.await("WATCHING gamma,delta");
+
+        // move the first table on; a leaked subscription would forward its lines after the switch
+        String[] hand = cards(first.await("HAND"));
+        first.await("PROMPT");
+        first.send(hand[0]);
+        first.await("PROMPT");
+        hand = cards(second.await("HAND"));
+        second.await("PROMPT");
+        second.send(hand[0]);
+        String line;
+        List<String> seen = new ArrayList<>();
+        do {
+            line = watcher.next();
+            seen.add(line);
+        } while (!line.contains("gamma") && !line.contains("delta"));
+        for (String spectated : seen) {
+            assertFalse(spectated.contains("alpha") || spectated.contains("beta"), spectated);
+        }
+
+        watcher.send("LEAVE");
+        watcher.await("END");
+    }
+
+    @Test
+    void closingLeavesTablesToBeCheckpointed() throws Exception {
+        Client client = connect();
+        client.send("PLAY BURA alpha,beta");
+        assertEquals("SEATED BURA alpha,beta", client.next());
+        client.await("PROMPT");
+
+        this.server.close();
+        assertFalse(this.loop.isAlive());
+        List<Checkpoint> checkpoints = this.server.checkpoint();
+        assertEquals(1, checkpoints.size());
+        assertEquals(List.of("alpha", "beta"), checkpoints.get(0).getUsernames());
+    }
+
+    @Test
+    void checkpointFileKeptUntilItsGamesAreResumed() throws Exception {
+        Path path = Files.createTempFile("tables", ".ckpt");
+        try {
+            UserManager userManager = new UserManager();
+            userManager.login("alpha");
+            userManager.login("beta");
+            List<Checkpoint> checkpoints = new ArrayList<>();
+            for (String game : List.of("Bura", "War")) {
+                checkpoints.add(Checkpoint.of(GameTemplate.gameFactory(game, List.of("alpha", "beta"), userManager,
+                        RemoteIO.headless(game), new Random(1))));
+            }
+            Checkpoint.writeAll(path, checkpoints);
+            this.server.suspend(path);
+
+            Client client = connect();
+            client.send("PLAY BURA beta,alpha");
+            client.await("SEATED BURA");
+            assertTrue(Files.exists(path));
+            client.send("QUIT");
+
+            client = connect();
+            client.send("PLAY WAR alpha,beta");
+            client.await("SEATED WAR");
+            awaitTrue(() -> !Files.exists(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * A client of the server, reading its lines on a thread of its own.
+     */
+    static class Client {
+        final Socket socket;
+        final OutputStream out;
+        final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            Thread reader = new Thread(() -> {
+                try {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        this.lines.add(line);
+                    }
+                } catch (IOException e) {
+                    // the socket was closed
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        void send(String line) throws IOException {
+            this.out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            this.out.flush();
+        }
+
+        String next() throws InterruptedException {
+            String line = this.lines.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            assertNotNull(line, "Timed out waiting for a line");
+            return line;
+        }
+
+        /**
+         * Skip lines up to the next one that starts with <code>prefix</code>, and return it.
+         */
+        String await(String prefix) throws InterruptedException {
+            String line;
+            do {
+                line = this.next();
+            } while (!line.startsWith(prefix));
+            return line;
+        }
+    }
+}
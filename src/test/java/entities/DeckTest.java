@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -132,4 +133,31 @@ class DeckTest {
 
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class Reset {
+
+        @Test
+        void shufflesWhatIsLeftAsCollectionsDoes() {
+            deck.drawCard();
+            deck.drawCard();
+            List<Card> expected = new ArrayList<>(cardList.subList(2, cardList.size()));
+            Collections.shuffle(expected, new Random(7));
+            deck.shuffle(new Random(7));
+            assertEquals(expected, deck.getCards());
+        }
+
+        @Test
+        void refillsAnEmptiedDeck() {
+            while (!deck.isEmpty()) {
+                deck.drawCard();
+            }
+            assertThrows(NoSuchElementException.class, () -> deck.drawCard());
+            assertNull(deck.peek());
+
+            deck.reset(cardList);
+            assertEquals(52, deck.getSize());
+            assertEquals(cardList, deck.getCards());
+        }
+    }
+}
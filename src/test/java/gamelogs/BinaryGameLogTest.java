@@ -0,0 +1,215 @@
+package gamelogs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.GameTemplate;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGameLogTest {
+
+    static final long SEED = 12345;
+    List<String> usernames = List.of("alpha", "beta", "gamma");
+    UserManager userManager;
+    Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.path = Files.createTempFile("games", ".log");
+        Files.delete(this.path);
+        this.userManager = new UserManager();
+        for (String username : this.usernames) {
+            this.userManager.login(username);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(this.path);
+    }
+
+    /**
+     * Play a game of Bura to its end, always playing the first card in hand.
+     */
+    GameTemplate playBura(BinaryGameLog log) {
+        RemoteIO[] io = new RemoteIO[1];
+        String[][] hand = {new String[0]};
+        io[0] = RemoteIO.create("Bura", line -> {
+            if (line.startsWith("HAND")) {
+                hand[0] = line.substring(4).replace("[", "").replace("]", "").replace(",", " ").trim()
+                        .split("\\s+");
+            } else if (line.startsWith("PROMPT")) {
+                io[0].receive(hand[0][0]);
+            }
+        });
+        GameTemplate game = GameTemplate.gameFactory("Bura", this.usernames, this.userManager, io[0],
+                new Random(SEED));
+        log.record(game, SEED);
+        game.startGame();
+        return game;
+    }
+
+    @Test
+    void recordAndRead() throws IOException {
+        GameTemplate game;
+        try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+            game = playBura(log);
+        }
+
+        List<GameRecord> games = BinaryGameLog.read(this.path);
+        assertEquals(1, games.size());
+        GameRecord record = games.get(0);
+        assertEquals("Bura", record.getName());
+        assertEquals(SEED, record.getSeed());
+        assertEquals(this.usernames, record.getUsernames());
+        assertEquals(game.result(), record.getWinners());
+
+        RemoteIO silent = RemoteIO.create("Bura", line -> {
+        });
+        GameTemplate replay = GameTemplate.gameFactory("Bura", this.usernames, new UserManager(), silent,
+                new Random(SEED));
+        for (int i = 0; i < this.usernames.size(); i++) {
+            assertEquals(replay.getHand(i), record.getHand(i));
+        }
+        assertEquals(replay.getDeckCards(), record.getDeck());
+
+        int draws = 0;
+        for (int event = 0; event < record.getEventCount(); event++) {
+            Move move = record.getMove(event);
+            if (move == null) {
+                draws++;
+            } else {
+                assertEquals(replay.getUsernames().indexOf(replay.getCurrentPlayer()), record.getPlayer(event));
+                replay.applyMove(move);
+            }
+        }
+        assertTrue(draws > 0);
+        assertTrue(replay.isTerminal());
+        assertEquals(game.result(), replay.result());
+    }
+
+    @Test
+    void fewBytesPerMove() throws IOException {
+        try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+            playBura(log);
+        }
+        long dealSize = Files.size(this.path);
+        try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+            playBura(log);
+        }
+        GameRecord record = BinaryGameLog.read(this.path).get(1);
+        assertTrue((Files.size(this.path) - dealSize) < 100 + 5 * record.getEventCount());
+    }
+
+    @Test
+    void appendedGames() throws IOException {
+        for (int i = 0; i < 2; i++) {
+            try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+                playBura(log);
+            }
+        }
+        List<GameRecord> games = BinaryGameLog.read(this.path);
+        assertEquals(2, games.size());
+        assertEquals(games.get(0).getMoves(), games.get(1).getMoves());
+    }
+
+    @Test
+    void manyThreadsFillingBothBuffers() throws Exception {
+        recordFromManyThreads(1000, 64 * 1024);
+    }
+
+    @Test
+    void manyThreadsWhileFlushingEveryMillisecond() {
+        assertTimeoutPreemptively(Duration.ofMinutes(1), () -> recordFromManyThreads(1, 1024));
+    }
+
+    /**
+     * Record Bura games from 4 threads at once, until both buffers have been filled more than once, and check that
+     * every game can be read back.
+     */
+    void recordFromManyThreads(long flushMillis, int bufferSize) throws Exception {
+        int threads = 4;
+        int gamesPerThread = 200;
+        try (BinaryGameLog log = new BinaryGameLog(this.path, flushMillis, bufferSize)) {
+            List<Thread> players = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                players.add(new Thread(() -> {
+                    for (int i = 0; i < gamesPerThread; i++) {
+                        playBura(log);
+                    }
+                }));
+            }
+            players.forEach(Thread::start);
+            for (Thread player : players) {
+                player.join();
+            }
+        }
+        assertTrue(Files.size(this.path) > 2 * bufferSize);
+        List<GameRecord> games = BinaryGameLog.read(this.path);
+        assertEquals(threads * gamesPerThread, games.size());
+        for (GameRecord record : games) {
+            assertEquals(games.get(0).getMoves(), record.getMoves());
+        }
+    }
+
+    @Test
+    void truncatedLog() throws IOException {
+        try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+            playBura(log);
+        }
+        int events = BinaryGameLog.read(this.path).get(0).getEventCount();
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+        GameRecord record = BinaryGameLog.read(this.path).get(0);
+        assertFalse(record.isEnded());
+        assertTrue(record.getEventCount() < events);
+    }
+
+    @Test
+    void recordsPasses() throws IOException {
+        RemoteIO silent = RemoteIO.create("Crazy Eights", line -> {
+        });
+        Random random = new Random(SEED);
+        GameRecord record = null;
+        try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+            for (long seed = 0; record == null; seed++) {
+                GameTemplate game = GameTemplate.gameFactory("Crazy Eights", this.usernames.subList(0, 2),
+                        this.userManager, silent, new Random(seed));
+                log.record(game, seed);
+                boolean passed = false;
+                while (!game.isTerminal()) {
+                    List<Move> legal = game.legalMoves();
+                    passed |= legal.contains(Move.pass());
+                    game.applyMove(legal.get(random.nextInt(legal.size())));
+                }
+                if (passed) {
+                    log.flush();
+                    List<GameRecord> games = BinaryGameLog.read(this.path);
+                    record = games.get(games.size() - 1);
+                }
+            }
+        }
+        assertTrue(record.getMoves().contains(Move.pass()));
+    }
+
+    @Test
+    void notAGameLog() throws IOException {
+        Files.write(this.path, new byte[]{'N', 'O', 'P', 'E', 1});
+        assertThrows(IOException.class, () -> BinaryGameLog.read(this.path));
+    }
+}
@@ -0,0 +1,172 @@
+package gamelogs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import presenters.remote.RemoteIO;
+import usecases.GameTemplate;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointTest {
+
+    List<String> usernames = List.of("alpha", "beta");
+    UserManager userManager;
+
+    @BeforeEach
+    void setUp() {
+        this.userManager = new UserManager();
+        for (String username : this.usernames) {
+            this.userManager.login(username);
+        }
+    }
+
+    GameTemplate newGame(String name, long seed) {
+        return GameTemplate.gameFactory(name, this.usernames, this.userManager, RemoteIO.create(name, line -> {
+        }), new Random(seed));
+    }
+
+    /**
+     * Make a random legal move, preferring to play a card over drawing one.
+     */
+    Move randomMove(GameTemplate game, Random random) {
+        List<Move> moves = new ArrayList<>(game.legalMoves());
+        if (moves.size() > 1) {
+            moves.remove(Move.draw());
+        }
+        return moves.get(random.nextInt(moves.size()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"War", "Go Fish", "Bura", "Crazy Eights"})
+    void resume(String name) {
+        GameTemplate game = newGame(name, 14);
+        Random random = new Random(1);
+        for (int i = 0; i < 20 && !game.isTerminal(); i++) {
+            game.applyMove(randomMove(game, random));
+        }
+
+        byte[] bytes = Checkpoint.of(game).toBytes();
+        assertTrue(bytes.length < 400);
+        Checkpoint checkpoint = Checkpoint.fromBytes(bytes);
+        assertEquals(name, checkpoint.getName());
+        assertEquals(this.usernames, checkpoint.getUsernames());
+
+        List<String> lines = new ArrayList<>();
+        GameTemplate resumed = checkpoint.resume(this.userManager, RemoteIO.create(name, lines::add));
+        assertTrue(lines.isEmpty());
+        assertArrayEquals(game.saveState(), resumed.saveState());
+
+        for (int i = 0; i < 20 && !game.isTerminal(); i++) {
+            Move move = randomMove(game, random);
+            game.applyMove(move);
+            resumed.applyMove(move);
+            assertArrayEquals(game.saveState(), resumed.saveState());
+        }
+        resumed.showState();
+        assertFalse(lines.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"War", "Go Fish", "Bura", "Crazy Eights"})
+    void recordResumedGame(String name) throws IOException {
+        GameTemplate game = newGame(name, 14);
+        Random random = new Random(1);
+        for (int i = 0; i < 20 && !game.isTerminal(); i++) {
+            game.applyMove(randomMove(game, random));
+        }
+        Checkpoint checkpoint = Checkpoint.of(game);
+
+        Path path = Files.createTempFile("games", ".log");
+        Files.delete(path);
+        try {
+            GameTemplate resumed = checkpoint.resume(this.userManager, RemoteIO.create(name, line -> {
+            }));
+            try (BinaryGameLog log = new BinaryGameLog(path)) {
+                log.recordResumed(resumed, checkpoint);
+                for (int i = 0; i < 20 && !resumed.isTerminal(); i++) {
+                    resumed.applyMove(randomMove(resumed, random));
+                }
+            }
+
+            List<GameRecord> games = BinaryGameLog.read(path);
+            assertEquals(1, games.size());
+            GameRecord record = games.get(0);
+            assertEquals(name, record.getName());
+            assertEquals(this.usernames, record.getUsernames());
+            assertArrayEquals(checkpoint.toBytes(), record.getCheckpoint().toBytes());
+            for (int i = 0; i < this.usernames.size(); i++) {
+                assertEquals(game.getHand(i), record.getHand(i));
+            }
+            assertEquals(game.getDeckCards(), record.getDeck());
+
+            Replay replay = new Replay(record, RemoteIO.create(name, line -> {
+            }));
+            replay.seek(replay.getMoveCount());
+            assertArrayEquals(resumed.saveState(), replay.getGame().saveState());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void checkpointRunningGame() throws InterruptedException {
+        RemoteIO[] io = new RemoteIO[1];
+        io[0] = RemoteIO.create("War", line -> {
+            if (line.startsWith("PROMPT")) {
+                io[0].receive("f");
+            }
+        });
+        GameTemplate game = GameTemplate.gameFactory("War", this.usernames, this.userManager, io[0],
+                new Random(14));
+        Thread thread = new Thread(game::startGame);
+        thread.start();
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        while (thread.isAlive()) {
+            checkpoints.add(Checkpoint.of(game));
+        }
+        thread.join();
+
+        List<String> result = game.result();
+        for (int i = 0; i < checkpoints.size(); i += Math.max(1, checkpoints.size() / 50)) {
+            GameTemplate resumed = checkpoints.get(i).resume(this.userManager, RemoteIO.create("War", line -> {
+            }));
+            while (!resumed.isTerminal()) {
+                resumed.applyMove(Move.flip());
+            }
+            assertEquals(result, resumed.result());
+        }
+    }
+
+    @Test
+    void writeAndReadAll() throws IOException {
+        Path path = Files.createTempFile("tables", ".ckpt");
+        try {
+            List<Checkpoint> checkpoints = List.of(Checkpoint.of(newGame("Bura", 1)),
+                    Checkpoint.of(newGame("Go Fish", 2)));
+            Checkpoint.writeAll(path, checkpoints);
+            List<Checkpoint> read = Checkpoint.readAll(path);
+            assertEquals(2, read.size());
+            for (int i = 0; i < 2; i++) {
+                assertArrayEquals(checkpoints.get(i).toBytes(), read.get(i).toBytes());
+            }
+
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - 5));
+            assertThrows(IOException.class, () -> Checkpoint.readAll(path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
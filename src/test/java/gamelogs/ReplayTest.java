@@ -0,0 +1,146 @@
+package gamelogs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import presenters.remote.RemoteIO;
+import usecases.GameTemplate;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+
+    static final long SEED = 14;
+    static final int INTERVAL = 8;
+    List<String> usernames = List.of("alpha", "beta");
+    Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.path = Files.createTempFile("games", ".log");
+        Files.delete(this.path);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(this.path);
+        Files.deleteIfExists(KeyframeIndex.sidecar(this.path));
+    }
+
+    /**
+     * Record a game in which random legal moves are made, preferring to play a card over drawing one.
+     */
+    GameRecord record(String name) throws IOException {
+        try (BinaryGameLog log = new BinaryGameLog(this.path)) {
+            GameTemplate game = GameTemplate.gameFactory(name, this.usernames, new UserManager(),
+                    RemoteIO.create(name, line -> {
+                    }), new Random(SEED));
+            log.record(game, SEED);
+            Random random = new Random(SEED);
+            for (int i = 0; i < 400 && !game.isTerminal(); i++) {
+                List<Move> moves = new ArrayList<>(game.legalMoves());
+                if (moves.size() > 1) {
+                    moves.remove(Move.draw());
+                }
+                try {
+                    game.applyMove(moves.get(random.nextInt(moves.size())));
+                } catch (NoSuchElementException e) {
+                    break;
+                }
+            }
+        }
+        return BinaryGameLog.read(this.path).get(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"War", "Go Fish", "Bura", "Crazy Eights"})
+    void stateRoundTrip(String name) throws IOException {
+        GameRecord record = record(name);
+        GameTemplate game = Replay.deal(record, null);
+        for (Move move : record.getMoves()) {
+            byte[] state = game.saveState();
+            assertTrue(state.length < 300);
+            GameTemplate copy = Replay.deal(record, null);
+            copy.loadState(state);
+            assertArrayEquals(state, copy.saveState());
+            assertEquals(game.legalMoves(), copy.legalMoves());
+
+            game.applyMove(move);
+            copy.applyMove(move);
+            assertArrayEquals(game.saveState(), copy.saveState());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"War", "Go Fish", "Bura", "Crazy Eights"})
+    void seekMatchesStepping(String name) throws IOException {
+        GameRecord record = record(name);
+        List<byte[]> states = new ArrayList<>();
+        Replay stepping = new Replay(record, RemoteIO.create(name, line -> {
+        }));
+        states.add(stepping.getGame().saveState());
+        while (stepping.step()) {
+            states.add(stepping.getGame().saveState());
+        }
+
+        KeyframeIndex index = KeyframeIndex.load(this.path, List.of(record), INTERVAL);
+        Replay seeking = new Replay(record, RemoteIO.create(name, line -> {
+        }), index.getKeyframes(0));
+        int[] targets = {states.size() - 1, 0, states.size() / 2, INTERVAL + 3, INTERVAL - 1, states.size() - 2};
+        for (int target : targets) {
+            if (target >= 0 && target < states.size()) {
+                seeking.seek(target);
+                assertEquals(target, seeking.getPosition());
+                assertArrayEquals(states.get(target), seeking.getGame().saveState());
+            }
+        }
+    }
+
+    @Test
+    void sidecarIsReused() throws IOException {
+        GameRecord record = record("Go Fish");
+        KeyframeIndex built = KeyframeIndex.load(this.path, List.of(record), INTERVAL);
+        assertTrue(Files.exists(KeyframeIndex.sidecar(this.path)));
+        KeyframeIndex read = KeyframeIndex.load(this.path, List.of(record), INTERVAL * 2);
+        assertEquals(INTERVAL, read.getInterval());
+        assertEquals(built.getKeyframes(0).size(), read.getKeyframes(0).size());
+        assertEquals(record.getMoves().size() / INTERVAL + 1, read.getKeyframes(0).size());
+    }
+
+    @Test
+    void seekOnlyShowsTheTarget() throws IOException {
+        GameRecord record = record("Bura");
+        List<String> lines = new ArrayList<>();
+        Replay replay = new Replay(record, RemoteIO.create("Bura", lines::add));
+        lines.clear();
+        replay.seek(record.getMoves().size() - 1);
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("POPUP") || line.startsWith("PROMPT")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("HAND")));
+
+        lines.clear();
+        replay.step();
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("PROMPT")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("HAND")));
+    }
+
+    @Test
+    void wrongSeed() throws IOException {
+        GameRecord record = record("Go Fish");
+        GameRecord forged = new GameRecord(record.getId(), record.getName(), SEED + 1, record.getUsernames(),
+                List.of(record.getHand(0), record.getHand(1)), record.getDeck());
+        assertThrows(IllegalArgumentException.class, () -> new Replay(forged, RemoteIO.create("Go Fish", line -> {
+        })));
+    }
+}
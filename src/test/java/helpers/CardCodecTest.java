@@ -0,0 +1,68 @@
+package helpers;
+
+import entities.Card;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardCodecTest {
+
+    @Test
+    void ordinalRoundTrip() {
+        for (int i = 0; i < CardCodec.DECK_SIZE; i++) {
+            Card card = CardCodec.card(i);
+            assertEquals(i, CardCodec.ordinal(card));
+            assertEquals(i, CardCodec.ordinal(card.toString()));
+        }
+    }
+
+    @Test
+    void ordinalOrder() {
+        assertEquals(0, CardCodec.ordinal(new Card("A", 'H')));
+        assertEquals(39, CardCodec.ordinal("10C"));
+        assertEquals(51, CardCodec.ordinal(new Card("K", 'C')));
+    }
+
+    @Test
+    void illegalCard() {
+        assertThrows(IllegalArgumentException.class, () -> CardCodec.ordinal("1H"));
+        assertThrows(IllegalArgumentException.class, () -> CardCodec.ordinal("AX"));
+    }
+
+    @Test
+    void smallVarintIsOneByte() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        CardCodec.writeVarint(buffer, 127);
+        assertEquals(1, buffer.position());
+        CardCodec.writeVarint(buffer, 128);
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    void varintRoundTrip() {
+        long[] values = {0, 1, 51, 127, 128, 300, 1L << 35, Long.MAX_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (long value : values) {
+            CardCodec.writeVarint(buffer, value);
+        }
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, CardCodec.readVarint(buffer));
+        }
+    }
+
+    @Test
+    void signedVarintRoundTrip() {
+        long[] values = {0, -1, 1, -64, 64, Long.MIN_VALUE, Long.MAX_VALUE};
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (long value : values) {
+            CardCodec.writeSignedVarint(buffer, value);
+        }
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, CardCodec.readSignedVarint(buffer));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package helpers;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogHistogramTest {
+
+    @Test
+    void countsSmallValuesExactly() {
+        LogHistogram histogram = new LogHistogram();
+        for (int value = 0; value < 32; value++) {
+            histogram.record(value, value + 1);
+        }
+        for (int value = 0; value < 32; value++) {
+            assertEquals(value + 1, histogram.getCountAt(value));
+        }
+        assertEquals(528, histogram.getCount());
+        assertEquals(31, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertEquals(31, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void percentilesAreWithinASixteenth() {
+        Random random = new Random(3);
+        long[] values = new long[10_000];
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 10, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(values.length * percentile / 100) - 1];
+            long estimate = histogram.getValueAtPercentile(percentile);
+            assertTrue(estimate >= exact, percentile + "th percentile");
+            assertTrue(estimate - exact <= exact / 16, percentile + "th percentile");
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void mergesAndRoundTrips() {
+        LogHistogram first = new LogHistogram();
+        first.record(3);
+        first.record(1000, 5);
+        LogHistogram second = new LogHistogram();
+        second.record(Long.MAX_VALUE / 2);
+        first.merge(second);
+
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        first.write(buffer);
+        buffer.flip();
+        LogHistogram read = LogHistogram.read(buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(7, read.getCount());
+        assertEquals(Long.MAX_VALUE / 2, read.getMax());
+        assertEquals(1, read.getCountAt(3));
+        assertEquals(5, read.getCountAt(1000));
+        assertEquals(first.getMean(), read.getMean());
+        assertEquals(first.getValueAtPercentile(50), read.getValueAtPercentile(50));
+    }
+
+    @Test
+    void refusesNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new LogHistogram().record(-1));
+    }
+}
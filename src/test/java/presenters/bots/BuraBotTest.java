@@ -0,0 +1,61 @@
+package presenters.bots;
+
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.Bura;
+import usecases.BuraState;
+import usecases.IOInterfaces.BuraIO;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuraBotTest {
+
+    @Test
+    void choosesCardInHandWithinBudget() {
+        BuraIO io = (BuraIO) RemoteIO.create("Bura", line -> {
+        });
+        BuraBot bot = new BuraBot(io, List.of("bot"), 20, ForkJoinPool.commonPool());
+        Bura game = new Bura(List.of("bot", "human"), new UserManager(), io, new Random(3));
+        BuraState state = game.getState();
+
+        long start = System.nanoTime();
+        int card = bot.chooseCard(state);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertNotEquals(0, state.getHand(0) & 1L << card);
+        assertTrue(millis < 500, "took " + millis + " ms");
+        assertTrue(bot.getRollouts() > 0);
+        assertTrue(bot.getRolloutsPerSecond() > 0);
+    }
+
+    @Test
+    void playsBotSeatsAndAsksHumans() {
+        List<String> lines = new ArrayList<>();
+        RemoteIO remote = RemoteIO.create("Bura", lines::add);
+        BuraBot bot = new BuraBot((BuraIO) remote, List.of("bot"), 5, ForkJoinPool.commonPool());
+        Bura game = new Bura(List.of("bot", "human"), new UserManager(), bot, new Random(3));
+        bot.setGame(game);
+        Random random = new Random(4);
+        while (!game.isTerminal()) {
+            if (game.getCurrentPlayer().equals("bot")) {
+                game.applyMove(Move.play(bot.getCard()));
+            } else {
+                List<Move> moves = game.legalMoves();
+                game.applyMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+        bot.changePlayer("bot");
+        bot.showHand("AH 6S");
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("HAND")));
+        bot.changePlayer("human");
+        bot.showHand("AH 6S");
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("HAND")));
+    }
+}
@@ -0,0 +1,86 @@
+package presenters.bots;
+
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.CrazyEights;
+import usecases.CrazyEightsState;
+import usecases.IOInterfaces.CrazyEightsIO;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrazyEightsBotTest {
+
+    @Test
+    void fixedRolloutsAreReproducible() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        CrazyEightsBot first = new CrazyEightsBot(io, List.of("bot"), 300, 9);
+        CrazyEightsBot second = new CrazyEightsBot(io, List.of("bot"), 300, 9);
+        Random random = new Random(10);
+        for (int i = 0; i < 30; i++) {
+            CrazyEights game = new CrazyEights(List.of("bot", "x", "y"), new UserManager(), io,
+                    new Random(random.nextLong()));
+            CrazyEightsState state = game.getState();
+            int move = first.chooseMove(state);
+            assertEquals(move, second.chooseMove(state));
+            assertTrue(game.legalMoves().contains(CrazyEightsState.toMove(move)));
+        }
+        assertEquals(first.getRollouts(), second.getRollouts());
+    }
+
+    @Test
+    void anytimeSearchKeepsToBudget() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        CrazyEightsBot bot = new CrazyEightsBot(io, List.of("bot"), 20);
+        CrazyEights game = new CrazyEights(List.of("bot", "x"), new UserManager(), io, new Random(11));
+
+        long start = System.nanoTime();
+        int move = bot.chooseMove(game.getState());
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(game.legalMoves().contains(CrazyEightsState.toMove(move)));
+        assertTrue(millis < 500, "took " + millis + " ms");
+    }
+
+    @Test
+    void playsBotSeatsThroughTheIO() {
+        List<String> lines = new ArrayList<>();
+        RemoteIO remote = RemoteIO.create("Crazy Eights", lines::add);
+        CrazyEightsBot bot = new CrazyEightsBot((CrazyEightsIO) remote, List.of("bot"), 100, 12);
+        Random random = new Random(13);
+        for (int g = 0; g < 10; g++) {
+            CrazyEights game = new CrazyEights(List.of("bot", "human"), new UserManager(), bot,
+                    new Random(random.nextLong()));
+            bot.setGame(game);
+            while (!game.isTerminal()) {
+                CrazyEightsState state = game.getState();
+                Move move;
+                if (game.getCurrentPlayer().equals("bot")) {
+                    // like CrazyEights.requestMove, a player who can only pass is not asked
+                    if (game.legalMoves().equals(List.of(Move.pass()))) {
+                        move = Move.pass();
+                    } else if (bot.drawCard()) {
+                        move = Move.draw();
+                    } else {
+                        String card = bot.getCard();
+                        move = card.startsWith("8") ? Move.play(card, bot.getSuit()) : Move.play(card);
+                    }
+                    assertTrue(game.legalMoves().contains(move), move.toString());
+                } else {
+                    move = CrazyEightsState.toMove(state.greedyMove(random));
+                }
+                game.applyMove(move);
+            }
+        }
+        bot.changePlayer("bot");
+        bot.showHand("AH 6S");
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith("HAND")));
+    }
+}
@@ -0,0 +1,81 @@
+package presenters.bots;
+
+import helpers.CardCodec;
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.GoFish;
+import usecases.IOInterfaces.GoFishIO;
+import usecases.Move;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoFishBotTest {
+
+    @Test
+    void choosesLegalMovesThroughoutGames() {
+        GoFishIO io = (GoFishIO) RemoteIO.create("Go Fish", line -> {
+        });
+        Random random = new Random(6);
+        for (int g = 0; g < 20; g++) {
+            List<String> usernames = new ArrayList<>(List.of("a", "b", "c", "d", "e", "f", "g"));
+            GoFish game = new GoFish(usernames, new UserManager(), io, new Random(random.nextLong()));
+            GoFishBot bot = new GoFishBot(io, usernames);
+            bot.setGame(game);
+            while (!game.isTerminal()) {
+                Move move = bot.chooseMove();
+                assertTrue(game.legalMoves().contains(move), move.toString());
+                game.applyMove(move);
+            }
+        }
+    }
+
+    @Test
+    void asksPlayerKnownToHoldRank() {
+        GoFishIO io = (GoFishIO) RemoteIO.create("Go Fish", line -> {
+        });
+        Random random = new Random(7);
+        int checked = 0;
+        for (int g = 0; g < 50; g++) {
+            GoFish game = new GoFish(List.of("bot", "x", "y"), new UserManager(), io, new Random(random.nextLong()));
+            GoFishBot bot = new GoFishBot(io, List.of("bot"));
+            bot.setGame(game);
+            while (!game.isTerminal()) {
+                Move move;
+                if (game.getCurrentPlayer().equals("bot")) {
+                    move = bot.chooseMove();
+                    int asked = move.getUsername() == null ? -1 : game.getUsernames().indexOf(move.getUsername());
+                    boolean anyKnown = false;
+                    for (int i = 0; i < 3; i++) {
+                        if (i != game.getUsernames().indexOf("bot")) {
+                            anyKnown |= bot.getKnowledge().getHeld(i) != 0
+                                    && hasRank(game, bot.getKnowledge().getHeld(i));
+                        }
+                    }
+                    if (anyKnown && asked >= 0) {
+                        assertTrue(hasRank(game, bot.getKnowledge().getHeld(asked)), move.toString());
+                        checked++;
+                    }
+                } else {
+                    List<Move> moves = game.legalMoves();
+                    move = moves.get(random.nextInt(moves.size()));
+                }
+                game.applyMove(move);
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    /**
+     * Returns whether the current player holds a card of one of a set of ranks.
+     */
+    private static boolean hasRank(GoFish game, int ranks) {
+        int me = game.getUsernames().indexOf(game.getCurrentPlayer());
+        return game.getHand(me).stream()
+                .anyMatch(card -> (ranks & 1 << CardCodec.rankIndex(card.getRank())) != 0);
+    }
+}
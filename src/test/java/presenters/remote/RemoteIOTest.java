@@ -0,0 +1,46 @@
+package presenters.remote;
+
+import org.junit.jupiter.api.Test;
+import presenters.bots.GoFishBot;
+import usecases.GoFish;
+import usecases.IOInterfaces.GoFishIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteIOTest {
+
+    @Test
+    void sendsMessagesMadeBySuppliers() {
+        List<String> lines = new ArrayList<>();
+        RemoteIO io = RemoteIO.create("Go Fish", lines::add);
+        io.sendPopup(() -> "alice wins\nthe round");
+        io.showHand(() -> "AH 2S");
+        assertEquals(List.of("POPUP alice wins the round", "HAND AH 2S"), lines);
+    }
+
+    @Test
+    void headlessNeverMakesMessages() {
+        RemoteIO io = RemoteIO.headless("Go Fish");
+        io.sendPopup(() -> fail("a headless popup was made"));
+        io.showHand(() -> fail("a headless hand was made"));
+        io.sendPopup("sent nowhere");
+    }
+
+    @Test
+    void headlessGamesPlayToTheEnd() {
+        List<String> usernames = List.of("a", "b", "c");
+        GoFishIO io = (GoFishIO) RemoteIO.headless("Go Fish");
+        GoFish game = new GoFish(usernames, new UserManager(), io, new Random(3));
+        GoFishBot bot = new GoFishBot(io, usernames);
+        bot.setGame(game);
+        while (!game.isTerminal()) {
+            game.applyMove(bot.chooseMove());
+        }
+        assertFalse(game.result().isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package presenters.remote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorFeedTest {
+
+    @Test
+    void spectatorGetsLinesInOrder() {
+        SpectatorFeed feed = new SpectatorFeed(8);
+        List<String> lines = new ArrayList<>();
+        SpectatorFeed.Spectator spectator = feed.subscribe(lines::add);
+        spectator.drain(10);
+        feed.accept("MESSAGE one");
+        feed.accept("MESSAGE two");
+        feed.accept("MESSAGE three");
+        assertEquals(2, spectator.drain(2));
+        assertEquals(1, spectator.drain(10));
+        assertEquals(List.of("MESSAGE one", "MESSAGE two", "MESSAGE three"), lines);
+        assertEquals(3, feed.getPublished());
+    }
+
+    @Test
+    void turnLinesAreNotPublished() {
+        SpectatorFeed feed = new SpectatorFeed(8);
+        List<String> lines = new ArrayList<>();
+        SpectatorFeed.Spectator spectator = feed.subscribe(lines::add);
+        spectator.drain(10);
+        feed.accept("HAND AH,2S");
+        feed.accept("PROMPT Your move");
+        feed.accept("MESSAGE alpha played AH");
+        spectator.drain(10);
+        assertEquals(List.of("MESSAGE alpha played AH"), lines);
+    }
+
+    @Test
+    void newSpectatorStartsWithSnapshot() {
+        SpectatorFeed feed = new SpectatorFeed(8);
+        feed.accept("PLAYER alpha");
+        feed.accept("BOARD AH|");
+        feed.accept("MESSAGE alpha played AH");
+        feed.accept("PLAYER beta");
+        List<String> lines = new ArrayList<>();
+        SpectatorFeed.Spectator spectator = feed.subscribe(lines::add);
+        spectator.drain(10);
+        assertEquals(List.of("PLAYER beta", "BOARD AH|"), lines);
+        assertEquals(0, spectator.getSnapshots());
+
+        feed.accept("MESSAGE beta played KD");
+        spectator.drain(10);
+        assertEquals("MESSAGE beta played KD", lines.get(2));
+    }
+
+    @Test
+    void laggingSpectatorSkipsToSnapshot() {
+        SpectatorFeed feed = new SpectatorFeed(8);
+        List<String> lines = new ArrayList<>();
+        SpectatorFeed.Spectator spectator = feed.subscribe(lines::add);
+        spectator.drain(10);
+        for (int i = 0; i < 20; i++) {
+            feed.accept("PLAYER p" + i);
+        }
+        spectator.drain(100);
+        assertEquals(List.of("PLAYER p19"), lines);
+        assertEquals(1, spectator.getSnapshots());
+    }
+
+    @Test
+    void spectatorGetsEndAfterLastLine() {
+        SpectatorFeed feed = new SpectatorFeed(8);
+        List<String> lines = new ArrayList<>();
+        SpectatorFeed.Spectator spectator = feed.subscribe(lines::add);
+        spectator.drain(10);
+        feed.accept("MESSAGE alpha won");
+        feed.accept("END");
+        feed.close();
+        feed.deliver();
+        assertEquals(List.of("MESSAGE alpha won", "END"), lines);
+        assertTrue(spectator.isEnded());
+        assertTrue(feed.getSpectators().isEmpty());
+        assertEquals(0, spectator.drain(10));
+    }
+
+    @Test
+    void cancelledSpectatorGetsNothing() {
+        SpectatorFeed feed = new SpectatorFeed(8);
+        List<String> lines = new ArrayList<>();
+        SpectatorFeed.Spectator spectator = feed.subscribe(lines::add);
+        spectator.cancel();
+        feed.accept("MESSAGE alpha played AH");
+        assertEquals(0, spectator.drain(10));
+        assertTrue(lines.isEmpty());
+    }
+}
@@ -0,0 +1,111 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.IOInterfaces.BuraIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuraEndgameSolverTest {
+
+    /**
+     * Play random games until they reach an endgame in which the current player has a choice.
+     */
+    private static List<BuraState> endgames(int players, int count, long seed) {
+        Random random = new Random(seed);
+        List<BuraState> endgames = new ArrayList<>();
+        while (endgames.size() < count) {
+            Bura game = new Bura(List.of("a", "b", "c", "d", "e", "f").subList(0, players), new UserManager(),
+                    (BuraIO) RemoteIO.create("Bura", line -> {
+                    }), new Random(random.nextLong()));
+            while (!game.isTerminal()) {
+                BuraState state = game.getState();
+                if (BuraEndgameSolver.isEndgame(state) && Long.bitCount(state.getHand(state.getCurrentPlayer())) > 1) {
+                    endgames.add(state);
+                    break;
+                }
+                List<Move> moves = game.legalMoves();
+                game.applyMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+        return endgames;
+    }
+
+    /**
+     * Search every way the game can go on, without any pruning.
+     */
+    private static int minimax(BuraState state, int player) {
+        if (state.isTerminal()) {
+            int others = Integer.MIN_VALUE;
+            for (int i = 0; i < state.getPlayerCount(); i++) {
+                if (i != player) {
+                    others = Math.max(others, state.getScore(i));
+                }
+            }
+            return state.getScore(player) - others;
+        }
+        boolean maximizing = state.getCurrentPlayer() == player;
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (long hand = state.getHand(state.getCurrentPlayer()); hand != 0; hand &= hand - 1) {
+            BuraState next = new BuraState(state);
+            next.play(Long.numberOfTrailingZeros(hand));
+            int value = minimax(next, player);
+            best = maximizing ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+    @Test
+    void solveMatchesMinimax() {
+        BuraEndgameSolver solver = new BuraEndgameSolver(64);
+        for (int players = 3; players <= 4; players++) {
+            for (BuraState state : endgames(players, 40, players)) {
+                for (int player = 0; player < players; player++) {
+                    assertEquals(minimax(state, player), solver.solve(state, player));
+                }
+            }
+        }
+        assertTrue(solver.getNodes() > 0);
+    }
+
+    @Test
+    void bestCardReachesSolvedMargin() {
+        BuraEndgameSolver solver = new BuraEndgameSolver();
+        for (BuraState state : endgames(3, 40, 9)) {
+            int player = state.getCurrentPlayer();
+            int card = solver.bestCard(state);
+            assertNotEquals(0, state.getHand(player) & 1L << card);
+            BuraState next = new BuraState(state);
+            next.play(card);
+            assertEquals(minimax(state, player), minimax(next, player));
+        }
+    }
+
+    @Test
+    void onlyEndgamesAreSolved() {
+        BuraState start = new Bura(List.of("a", "b"), new UserManager(), (BuraIO) RemoteIO.create("Bura", line -> {
+        }), new Random(1)).getState();
+        assertFalse(BuraEndgameSolver.isEndgame(start));
+        assertFalse(BuraEndgameSolver.isKnown(start, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BuraEndgameSolver().bestCard(start));
+    }
+
+    @Test
+    void handsAreKnownWhenOneOpponentHoldsCards() {
+        for (BuraState state : endgames(3, 20, 5)) {
+            int holding = 0;
+            for (int i = 0; i < 3; i++) {
+                if (i != state.getCurrentPlayer() && state.getHand(i) != 0) {
+                    holding++;
+                }
+            }
+            assertEquals(state.getDeckSize() == 0 && holding <= 1,
+                    BuraEndgameSolver.isKnown(state, state.getCurrentPlayer()));
+        }
+    }
+}
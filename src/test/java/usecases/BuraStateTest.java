@@ -0,0 +1,84 @@
+package usecases;
+
+import entities.Card;
+import helpers.CardCodec;
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.IOInterfaces.BuraIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuraStateTest {
+
+    private static Bura newGame(int players, long seed) {
+        List<String> usernames = List.of("a", "b", "c", "d", "e", "f").subList(0, players);
+        return new Bura(usernames, new UserManager(), (BuraIO) RemoteIO.create("Bura", line -> {
+        }), new Random(seed));
+    }
+
+    @Test
+    void stateFollowsGame() {
+        Random random = new Random(7);
+        for (int players = 2; players <= 6; players++) {
+            Bura game = newGame(players, players);
+            BuraState state = game.getState();
+            while (!game.isTerminal()) {
+                assertFalse(state.isTerminal());
+                List<Move> moves = game.legalMoves();
+                Move move = moves.get(random.nextInt(moves.size()));
+                game.applyMove(move);
+                state.play(CardCodec.ordinal(move.getCard()));
+
+                BuraState expected = game.getState();
+                assertEquals(expected.getCurrentPlayer(), state.getCurrentPlayer());
+                assertEquals(expected.getDeckSize(), state.getDeckSize());
+                assertEquals(expected.getCardToBeat(), state.getCardToBeat());
+                for (int i = 0; i < players; i++) {
+                    assertEquals(expected.getHand(i), state.getHand(i));
+                    assertEquals(expected.getScore(i), state.getScore(i));
+                }
+            }
+            assertTrue(state.isTerminal());
+            assertEquals(game.result().get(0), game.getUsernames().get(state.getWinner()));
+        }
+    }
+
+    @Test
+    void redealKeepsViewerHandAndSizes() {
+        Bura game = newGame(3, 11);
+        game.applyMove(game.legalMoves().get(0));
+        BuraState state = game.getState();
+        BuraState copy = new BuraState(state);
+        copy.redeal(1, new Random(3));
+
+        assertEquals(state.getHand(1), copy.getHand(1));
+        assertEquals(state.getDeckSize(), copy.getDeckSize());
+        long hidden = 0;
+        long redealt = 0;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Long.bitCount(state.getHand(i)), Long.bitCount(copy.getHand(i)));
+            if (i != 1) {
+                hidden |= state.getHand(i);
+                redealt |= copy.getHand(i);
+            }
+        }
+        for (Card card : game.getDeckCards()) {
+            hidden |= 1L << CardCodec.ordinal(card);
+        }
+        assertEquals(0, redealt & ~hidden);
+    }
+
+    @Test
+    void copyIsIndependent() {
+        BuraState state = newGame(2, 5).getState();
+        BuraState copy = new BuraState(state);
+        copy.playOut(new Random(1));
+        assertTrue(copy.isTerminal());
+        assertFalse(state.isTerminal());
+        assertEquals(3, Long.bitCount(state.getHand(0)));
+    }
+}
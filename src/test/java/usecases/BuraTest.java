@@ -50,6 +50,33 @@ public class BuraTest {
         assertEquals(sumScore, 120);
     }
 
+    @Test
+    void TestApplyMove() {
+        Random random = new Random(54321);
+        while (!game.isTerminal()) {
+            List<Move> moves = game.legalMoves();
+            assertFalse(moves.isEmpty());
+            game.applyMove(moves.get(random.nextInt(moves.size())));
+        }
+        int sumScore = 0;
+        for (Player player : game.players) {
+            sumScore += game.SCORE_TRACKER.get(player);
+            for (Card card : player.getHand().getCards()) {
+                sumScore += game.ranks.get(card.getRank());
+            }
+        }
+        while (!game.deck.isEmpty()) {
+            sumScore += game.ranks.get(game.deck.drawCard().getRank());
+        }
+        assertEquals(120, sumScore);
+        assertEquals(1, game.result().size());
+    }
+
+    @Test
+    void TestIllegalMove() {
+        assertThrows(IllegalArgumentException.class, () -> game.applyMove(Move.draw()));
+    }
+
     @Test
     void TestToString() {
         assertEquals("Bura", game.toString());
@@ -0,0 +1,137 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.IOInterfaces.CrazyEightsIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrazyEightsStateTest {
+
+    @Test
+    void followsTheGame() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        Random random = new Random(14);
+        int[] moves = new int[32];
+        for (int g = 0; g < 50; g++) {
+            CrazyEights game = new CrazyEights(List.of("a", "b", "c"), new UserManager(), io,
+                    new Random(random.nextLong()));
+            CrazyEightsState state = game.getState();
+            while (!game.isTerminal()) {
+                int count = state.legalMoves(moves);
+                List<Move> expected = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    expected.add(CrazyEightsState.toMove(moves[i]));
+                }
+                assertEquals(new HashSet<>(game.legalMoves()), new HashSet<>(expected));
+
+                int move = moves[random.nextInt(count)];
+                game.applyMove(CrazyEightsState.toMove(move));
+                state.play(move);
+                CrazyEightsState actual = game.getState();
+                for (int i = 0; i < 3; i++) {
+                    assertEquals(actual.getHand(i), state.getHand(i));
+                }
+                assertEquals(actual.getCurrentPlayer(), state.getCurrentPlayer());
+                assertEquals(actual.getSuit(), state.getSuit());
+                assertEquals(actual.getDeckSize(), state.getDeckSize());
+                assertEquals(game.isTerminal(), state.isTerminal());
+            }
+        }
+    }
+
+    @Test
+    void redealKeepsViewerHandAndSizes() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        CrazyEights game = new CrazyEights(List.of("a", "b", "c"), new UserManager(), io, new Random(15));
+        CrazyEightsState state = game.getState();
+        CrazyEightsState deal = new CrazyEightsState(state);
+
+        deal.redeal(1, new Random(16));
+
+        assertEquals(state.getHand(1), deal.getHand(1));
+        assertEquals(Long.bitCount(state.getHand(0)), Long.bitCount(deal.getHand(0)));
+        assertEquals(state.getDeckSize(), deal.getDeckSize());
+        assertEquals(Long.bitCount(state.getHand(2)), Long.bitCount(deal.getHand(2)));
+        assertEquals(0, (deal.getHand(0) | deal.getHand(2)) & (state.getHand(1) | 1L << state.getTopCard()));
+    }
+
+    @Test
+    void passesOnlyOnceNothingElseIsLeft() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        Random random = new Random(18);
+        int passed = 0;
+        for (int g = 0; g < 200; g++) {
+            CrazyEights game = new CrazyEights(List.of("a", "b"), new UserManager(), io,
+                    new Random(random.nextLong()));
+            while (!game.isTerminal()) {
+                List<Move> legal = game.legalMoves();
+                assertEquals(!game.getDeckCards().isEmpty(), legal.contains(Move.draw()));
+                if (legal.contains(Move.pass())) {
+                    assertEquals(List.of(Move.pass()), legal);
+                    passed++;
+                }
+                game.applyMove(legal.get(random.nextInt(legal.size())));
+            }
+            assertFalse(game.result().isEmpty());
+        }
+        assertTrue(passed > 0);
+    }
+
+    @Test
+    void stuckGamesAreTiedByEveryPlayerWithTheFewestCards() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        Random random = new Random(19);
+        int ties = 0;
+        for (int g = 0; g < 500; g++) {
+            List<String> usernames = List.of("a", "b", "c", "d", "e");
+            CrazyEights game = new CrazyEights(usernames, new UserManager(), io, new Random(random.nextLong()));
+            while (!game.isTerminal()) {
+                List<Move> legal = game.legalMoves();
+                game.applyMove(legal.get(random.nextInt(legal.size())));
+            }
+            int winners = game.getState().getWinners();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < usernames.size(); i++) {
+                if ((winners & 1 << i) != 0) {
+                    expected.add(usernames.get(i));
+                }
+            }
+            assertEquals(expected, game.result());
+            if (expected.size() > 1) {
+                ties++;
+                int size = game.getHand(usernames.indexOf(expected.get(0))).size();
+                for (int i = 0; i < usernames.size(); i++) {
+                    assertTrue(game.getHand(i).size() >= size);
+                    assertEquals(expected.contains(usernames.get(i)), game.getHand(i).size() == size);
+                }
+            }
+        }
+        assertTrue(ties > 0);
+    }
+
+    @Test
+    void stuckGamesEnd() {
+        CrazyEightsIO io = (CrazyEightsIO) RemoteIO.create("Crazy Eights", line -> {
+        });
+        Random random = new Random(17);
+        for (int g = 0; g < 200; g++) {
+            CrazyEights game = new CrazyEights(List.of("a", "b", "c", "d", "e"), new UserManager(), io,
+                    new Random(random.nextLong()));
+            CrazyEightsState state = game.getState();
+            int winners = state.playOut(random);
+            assertTrue(state.isTerminal());
+            assertTrue(winners > 0 && winners < 1 << 5);
+        }
+    }
+}
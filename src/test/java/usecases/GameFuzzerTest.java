@@ -0,0 +1,60 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFuzzerTest {
+
+    private static GameFuzzer fuzzer(String game) {
+        return new GameFuzzer(game, () -> RemoteIO.create(game, line -> {
+        }));
+    }
+
+    @Test
+    void goFishBuraAndCrazyEightsKeepEveryRule() {
+        GameFuzzer goFish = fuzzer("Go Fish");
+        GameFuzzer bura = fuzzer("Bura");
+        GameFuzzer crazyEights = fuzzer("Crazy Eights");
+        for (long seed = 0; seed < 100; seed++) {
+            assertNull(goFish.check(2 + (int) (seed % 6), seed));
+            assertNull(bura.check(2 + (int) (seed % 5), seed));
+            assertNull(crazyEights.check(2 + (int) (seed % 4), seed));
+        }
+    }
+
+    @Test
+    void flagsAndShrinksAMoveThatThrows() {
+        // an IO that breaks whenever a book is made, which Go Fish announces while the move is applied
+        GameFuzzer goFish = new GameFuzzer("Go Fish", () -> RemoteIO.create("Go Fish", line -> {
+            if (line.contains("A book is found")) {
+                throw new IllegalStateException("book");
+            }
+        }));
+        GameFuzzer.Failure failure = null;
+        for (long seed = 0; failure == null; seed++) {
+            failure = goFish.check(2, seed);
+        }
+        assertEquals(GameFuzzer.Rule.MOVE_FAILED, failure.getRule());
+        assertTrue(failure.getMessage().contains("IllegalStateException"), failure.getMessage());
+
+        GameFuzzer.Failure shrunk = goFish.shrink(failure);
+        assertEquals(GameFuzzer.Rule.MOVE_FAILED, shrunk.getRule());
+        assertTrue(shrunk.getChoices().length <= failure.getChoices().length);
+        GameFuzzer.Failure replayed = goFish.replay(2, shrunk.getSeed(), shrunk.getChoices());
+        assertEquals(shrunk.getMoves(), replayed.getMoves());
+    }
+
+    @Test
+    void flagsWarGamesThatNeverEnd() {
+        GameFuzzer.Failure failure = fuzzer("War").check(2, 0);
+        assertEquals(GameFuzzer.Rule.TERMINATION, failure.getRule());
+        assertEquals(GameFuzzer.MAX_MOVES, failure.getMoves().size());
+    }
+
+    @Test
+    void replayStopsAfterTheLastChoice() {
+        assertNull(fuzzer("Crazy Eights").replay(3, 5, new int[]{0, 1, 2}));
+    }
+}
@@ -1,15 +1,21 @@
 package usecases;
 
+import entities.Card;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import presenters.remote.RemoteIO;
 import usecases.IOInterfaces.GameIO;
 import usecases.usermanagement.UserManager;
 
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,6 +81,56 @@ class GameTemplateTest {
         public void startGame() {
 
         }
+
+        @Override
+        public List<Move> legalMoves() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void applyMove(Move move) {
+
+        }
+
+        @Override
+        public boolean isTerminal() {
+            return true;
+        }
+
+        @Override
+        public List<String> result() {
+            return usernames;
+        }
+
+        @Override
+        protected Move requestMove() {
+            return null;
+        }
+
+        @Override
+        protected String resultMessage() {
+            return "";
+        }
+
+        @Override
+        public void showState() {
+
+        }
+
+        @Override
+        protected void writeGameState(ByteBuffer out) {
+
+        }
+
+        @Override
+        protected void readGameState(ByteBuffer in) {
+
+        }
+
+        @Override
+        protected void deal(Random random) {
+
+        }
     }
 
     @Nested
@@ -178,4 +234,129 @@ class GameTemplateTest {
             );
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class Reset {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Bura", "Crazy Eights", "War", "Go Fish"})
+        void dealsAsANewGame(String name) {
+            List<String> players = name.equals("War") ? usernames.subList(0, 2) : usernames;
+            GameTemplate game = GameTemplate.gameFactory(name, players, new UserManager(),
+                    RemoteIO.create(name, line -> {
+                    }), new Random(0));
+            Random moves = new Random(1);
+            for (long seed = 0; seed < 200; seed++) {
+                // play some of the last game first, so that reset has something to clear
+                for (int i = 0; i < 20 && !game.isTerminal(); i++) {
+                    List<Move> legal = game.legalMoves();
+                    game.applyMove(legal.get(moves.nextInt(legal.size())));
+                }
+                game.reset(seed);
+                GameTemplate fresh = GameTemplate.gameFactory(name, players, new UserManager(),
+                        RemoteIO.create(name, line -> {
+                        }), new Random(seed));
+                assertArrayEquals(fresh.saveState(), game.saveState(), name + " seed " + seed);
+            }
+        }
+
+        @Test
+        void listenersAreNotToldAboutTheDeal() {
+            GameTemplate game = GameTemplate.gameFactory("Go Fish", usernames, userManager,
+                    RemoteIO.create("Go Fish", line -> {
+                    }), new Random(0));
+            int[] calls = {0};
+            game.setListener(new GameListener() {
+                @Override
+                public void bookMade(GameTemplate game, int playerIndex, String rank) {
+                    calls[0]++;
+                }
+
+                @Override
+                public void cardDrawn(GameTemplate game, int playerIndex, Card card) {
+                    calls[0]++;
+                }
+            });
+            int books = 0;
+            for (long seed = 0; books == 0; seed++) {
+                game.reset(seed);
+                for (int i = 0; i < usernames.size(); i++) {
+                    books += ((GoFish) game).getBooks(i);
+                }
+            }
+            assertEquals(0, calls[0]);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Bura", "Crazy Eights", "War", "Go Fish"})
+        void resetAllocatesNothing(String name) {
+            List<String> players = name.equals("War") ? usernames.subList(0, 2) : usernames;
+            GameTemplate game = GameTemplate.gameFactory(name, players, new UserManager(),
+                    RemoteIO.create(name, line -> {
+                    }), new Random(0));
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            for (int seed = 0; seed < 20_000; seed++) {
+                game.reset(seed);
+            }
+
+            int games = 10_000;
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int seed = 0; seed < games; seed++) {
+                game.reset(seed);
+            }
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            // Go Fish allocates to lay down the rare book that is dealt
+            assertTrue(allocated / games < (name.equals("Go Fish") ? 64 : 1),
+                    name + " allocated " + allocated + " bytes in " + games + " resets");
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"Bura", "Crazy Eights", "War", "Go Fish"})
+        void reusedGamesAllocateLessThanNewGames(String name) {
+            List<String> players = name.equals("War") ? usernames.subList(0, 2) : usernames;
+            GameIO io = RemoteIO.headless(name);
+            GameTemplate reused = GameTemplate.gameFactory(name, players, userManager, io, new Random(0));
+            Random moves = new Random(0);
+            int games = 2000;
+            for (int pass = 0; pass < 2; pass++) {
+                long before = allocatedBytes();
+                for (int seed = 0; seed < games; seed++) {
+                    reused.reset(seed);
+                    playOut(reused, moves);
+                }
+                long reusing = allocatedBytes() - before;
+
+                before = allocatedBytes();
+                for (int seed = 0; seed < games; seed++) {
+                    playOut(GameTemplate.gameFactory(name, players, userManager, io, new Random(seed)), moves);
+                }
+                long creating = allocatedBytes() - before;
+                // the first pass only warms up
+                if (pass == 1) {
+                    assertTrue(reusing < creating, name + " allocated " + reusing / games
+                            + " bytes per reused game and " + creating / games + " per new game");
+                }
+            }
+        }
+
+        /**
+         * Play random legal moves until the game is over, or has gone on for so long that it must be stuck.
+         */
+        void playOut(GameTemplate game, Random random) {
+            for (int i = 0; i < 5000 && !game.isTerminal(); i++) {
+                List<Move> legal = game.legalMoves();
+                game.applyMove(legal.get(random.nextInt(legal.size())));
+            }
+        }
+
+        /**
+         * Returns the number of bytes the current thread has allocated so far
+         */
+        long allocatedBytes() {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
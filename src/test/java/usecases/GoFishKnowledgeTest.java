@@ -0,0 +1,88 @@
+package usecases;
+
+import entities.Card;
+import helpers.CardCodec;
+import org.junit.jupiter.api.Test;
+import presenters.remote.RemoteIO;
+import usecases.IOInterfaces.GoFishIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GoFishKnowledgeTest {
+
+    @Test
+    void agreesWithHandsThroughoutRandomGames() {
+        GoFishIO io = (GoFishIO) RemoteIO.create("Go Fish", line -> {
+        });
+        Random random = new Random(5);
+        for (int g = 0; g < 50; g++) {
+            List<String> usernames = new ArrayList<>();
+            for (int i = 0; i < 2 + g % 6; i++) {
+                usernames.add("player" + i);
+            }
+            GoFish game = new GoFish(usernames, new UserManager(), io, new Random(random.nextLong()));
+            GoFishKnowledge knowledge = new GoFishKnowledge(game);
+            game.addListener(knowledge);
+            check(game, knowledge);
+            while (!game.isTerminal()) {
+                List<Move> moves = game.legalMoves();
+                game.applyMove(moves.get(random.nextInt(moves.size())));
+                check(game, knowledge);
+            }
+        }
+    }
+
+    @Test
+    void learnsFromAsks() {
+        GoFishIO io = (GoFishIO) RemoteIO.create("Go Fish", line -> {
+        });
+        GoFish game = new GoFish(List.of("a", "b", "c"), new UserManager(), io, new Random(8));
+        GoFishKnowledge knowledge = new GoFishKnowledge(game);
+        game.addListener(knowledge);
+        int player = game.getUsernames().indexOf(game.getCurrentPlayer());
+        String rank = game.getHand(player).get(0).getRank();
+        int other = (player + 1) % 3;
+        int r = CardCodec.rankIndex(rank);
+
+        game.applyMove(Move.ask(rank, game.getUsernames().get(other)));
+
+        assertNotEquals(0, knowledge.getAbsent(other) & 1 << r);
+        if ((knowledge.getBooks() & 1 << r) == 0) {
+            assertTrue(knowledge.getKnownCount(player, r) >= 1);
+        }
+    }
+
+    /**
+     * Check that nothing the knowledge claims contradicts the actual hands of a game.
+     */
+    private static void check(GoFish game, GoFishKnowledge knowledge) {
+        int books = 0;
+        for (int i = 0; i < game.getUsernames().size(); i++) {
+            int[] counts = new int[13];
+            int ranks = 0;
+            for (Card card : game.getHand(i)) {
+                counts[CardCodec.rankIndex(card.getRank())]++;
+                ranks |= 1 << CardCodec.rankIndex(card.getRank());
+            }
+            assertEquals(game.getHand(i).size(), knowledge.getHandSize(i));
+            assertEquals(knowledge.getHeld(i), knowledge.getHeld(i) & ranks);
+            assertEquals(0, knowledge.getAbsent(i) & ranks);
+            int known = 0;
+            for (int r = 0; r < 13; r++) {
+                assertTrue(knowledge.getKnownCount(i, r) <= counts[r]);
+                known += knowledge.getKnownCount(i, r);
+            }
+            assertEquals(game.getHand(i).size() - known, knowledge.getUnknownCount(i));
+            books |= ranks;
+        }
+        for (Card card : game.getDeckCards()) {
+            books |= 1 << CardCodec.rankIndex(card.getRank());
+        }
+        assertEquals((1 << 13) - 1 & ~books, knowledge.getBooks());
+    }
+}
@@ -60,6 +60,23 @@ public class GoFishTest {
         assertEquals(13, scoreSum);
     }
 
+    @Test
+    void TestApplyMove() {
+        Random random = new Random(54321);
+        while (!game.isTerminal()) {
+            List<Move> moves = game.legalMoves();
+            assertFalse(moves.isEmpty());
+            game.applyMove(moves.get(random.nextInt(moves.size())));
+        }
+        assertTrue(game.legalMoves().isEmpty());
+        int scoreSum = 0;
+        for (int score : game.SCORE_TRACKER.values()) {
+            scoreSum += score;
+        }
+        assertEquals(13, scoreSum);
+        assertFalse(game.result().isEmpty());
+    }
+
     static class FakeGoFishGUI implements GoFishIO {
 
         protected static final String p1 = "Test User-1";
@@ -0,0 +1,83 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationResultTest {
+
+    @Test
+    void countsGames() {
+        SimulationResult result = new SimulationResult(3);
+        result.addWin(1, 40);
+        result.addWin(1, 20);
+        result.addTie(30);
+        result.addUnfinished(5000);
+
+        assertEquals(4, result.getGames());
+        assertEquals(0, result.getWins(0));
+        assertEquals(2, result.getWins(1));
+        assertEquals(1, result.getTies());
+        assertEquals(1, result.getUnfinished());
+        assertEquals(5090, result.getMoves());
+        assertEquals(3, result.getLengths().getCount());
+        assertEquals(40, result.getLengths().getMax());
+        assertEquals(30, result.getLengths().getValueAtPercentile(50));
+    }
+
+    @Test
+    void countsCyclesAndScores() {
+        SimulationResult result = new SimulationResult(4);
+        result.addCycle(600, 24);
+        result.addWin(2, 50);
+        for (int books : new int[]{1, 4, 4, 4}) {
+            result.addScore(books);
+        }
+
+        assertEquals(2, result.getGames());
+        assertEquals(1, result.getCycles());
+        assertEquals(650, result.getMoves());
+        assertEquals(1, result.getLengths().getCount());
+        assertEquals(24, result.getCycleLengths().getMax());
+        assertEquals(4, result.getScores().getCount());
+        assertEquals(3, result.getScores().getCountAt(4));
+        assertEquals(3.25, result.getScores().getMean());
+    }
+
+    @Test
+    void mergesAndRoundTrips() {
+        SimulationResult first = new SimulationResult(2);
+        first.addWin(0, 10);
+        SimulationResult second = new SimulationResult(2);
+        second.addWin(1, 1_000_000_000_000L);
+        second.addTie(3);
+        second.addCycle(0, 12);
+        second.addScore(7);
+        first.merge(second);
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        first.write(buffer);
+        buffer.flip();
+        SimulationResult read = SimulationResult.read(buffer);
+
+        assertEquals(2, read.getPlayerCount());
+        assertEquals(4, read.getGames());
+        assertEquals(1, read.getCycles());
+        assertEquals(12, read.getCycleLengths().getMax());
+        assertEquals(1, read.getScores().getCountAt(7));
+        assertEquals(3, read.getLengths().getCount());
+        assertEquals(1, read.getWins(0));
+        assertEquals(1, read.getWins(1));
+        assertEquals(1, read.getTies());
+        assertEquals(1_000_000_000_013L, read.getMoves());
+        assertEquals(first.toString(), read.toString());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void refusesToMergeDifferentTables() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulationResult(2).merge(new SimulationResult(3)));
+    }
+}
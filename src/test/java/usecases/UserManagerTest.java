@@ -5,13 +5,22 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import usecases.usermanagement.GameResult;
 import usecases.usermanagement.UserDatabaseAccess;
 import usecases.usermanagement.UserManager;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -130,6 +139,118 @@ class UserManagerTest {
         assertFalse(usrManager.login("random"));
     }
 
+    @Nested
+    class Submit {
+
+        @Test
+        void recordsEveryParticipant() throws UserManager.UserNotFoundException {
+            usrManager.submit(new GameResult("War", List.of("usrname", "gamerboy123"), List.of("gamerboy123"), 5));
+            usrManager.submit(new GameResult("Bura", List.of("usrname", "gamerboy123"),
+                    List.of("usrname", "gamerboy123"), 5));
+            assertEquals(2, usrManager.getGamesPlayed("usrname"));
+            assertEquals(0, usrManager.getWins("usrname"));
+            assertEquals(1, usrManager.getGamesTied("usrname"));
+            assertEquals(2, usrManager.getGamesPlayed("gamerboy123"));
+            assertEquals(1, usrManager.getWins("gamerboy123"));
+            assertEquals(1, usrManager.getGamesTied("gamerboy123"));
+        }
+
+        @Test
+        void recordsNothingForAMissingUser() throws UserManager.UserNotFoundException {
+            GameResult result = new GameResult("Go Fish", List.of("usrname", "nobody"), List.of("usrname"), 5);
+            assertThrows(UserManager.UserNotFoundException.class, () -> usrManager.submit(result));
+            assertEquals(0, usrManager.getGamesPlayed("usrname"));
+            assertEquals(0, usrManager.getWins("usrname"));
+        }
+
+        @Test
+        void handsEachResultToTheListener() throws UserManager.UserNotFoundException {
+            List<GameResult> submitted = new ArrayList<>();
+            usrManager.setResultListener(submitted::add);
+            GameResult result = new GameResult("War", List.of("usrname", "gamerboy123"), List.of("usrname"), 5);
+            usrManager.submit(result);
+            assertThrows(UserManager.UserNotFoundException.class, () -> usrManager.submit(
+                    new GameResult("War", List.of("usrname", "nobody"), List.of("usrname"), 5)));
+            assertEquals(List.of(result), submitted);
+        }
+
+        @Test
+        void refusesWinnersWhoDidNotPlay() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new GameResult("War", List.of("usrname"), List.of("gamerboy123"), 5));
+        }
+    }
+
+    @Nested
+    class Concurrent {
+
+        @Test
+        void countsEveryGameAndSnapshotsWholeGames() throws Exception {
+            UserManager userManager = new UserManager();
+            String[] usernames = new String[40];
+            for (int i = 0; i < usernames.length; i++) {
+                usernames[i] = "user" + i;
+                userManager.addUser(usernames[i]);
+            }
+            int threads = 4;
+            int gamesPerThread = 5000;
+            AtomicBoolean done = new AtomicBoolean();
+            AtomicInteger tornSnapshots = new AtomicInteger();
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    try {
+                        User snapshot = userManager.getSnapshot("user0");
+                        if (snapshot.getGamesPlayed() != snapshot.getGamesWon()) {
+                            tornSnapshots.incrementAndGet();
+                        }
+                    } catch (UserManager.UserNotFoundException e) {
+                        fail(e);
+                    }
+                }
+            });
+            reader.start();
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int g = 0; g < gamesPerThread; g++) {
+                        // the same players in opposite orders on different threads, so lock order matters
+                        String other = usernames[1 + (g + thread) % (usernames.length - 1)];
+                        List<String> players = thread % 2 == 0 ? List.of("user0", other) : List.of(other, "user0");
+                        userManager.submit(new GameResult("War", players, List.of("user0"), 1));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            done.set(true);
+            reader.join();
+
+            assertEquals(threads * gamesPerThread, userManager.getGamesPlayed("user0"));
+            assertEquals(threads * gamesPerThread, userManager.getWins("user0"));
+            int othersPlayed = 0;
+            for (int i = 1; i < usernames.length; i++) {
+                othersPlayed += userManager.getGamesPlayed(usernames[i]);
+                assertEquals(0, userManager.getWins(usernames[i]));
+            }
+            assertEquals(threads * gamesPerThread, othersPlayed);
+            assertEquals(0, tornSnapshots.get());
+        }
+
+        @Test
+        void copiesTheUsersItIsGiven() {
+            Map<String, User> users = new HashMap<>();
+            UserManager userManager = new UserManager(users);
+            users.put("late", new User("late"));
+            assertFalse(userManager.hasUser("late"));
+        }
+    }
+
     @Nested
     class DatabaseImport {
         UserDatabaseAccess udb;
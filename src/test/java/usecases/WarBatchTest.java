@@ -0,0 +1,181 @@
+package usecases;
+
+import entities.Card;
+import org.junit.jupiter.api.Test;
+import usecases.IOInterfaces.WarIO;
+import usecases.usermanagement.UserManager;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarBatchTest {
+
+    private static final int MAX_ROUNDS = 5000;
+
+    @Test
+    void matchesStartGameForTheSameSeeds() throws Exception {
+        int lanes = 200;
+        WarBatch batch = new WarBatch(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            batch.deal(lane, 1000 + lane);
+        }
+        batch.run(MAX_ROUNDS);
+
+        UserManager userManager = new UserManager();
+        userManager.addUser("first");
+        userManager.addUser("second");
+        int finished = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (!batch.isOver(lane) || batch.getWinner(lane) == WarBatch.CYCLE) {
+                continue;
+            }
+            CountingWarIO io = new CountingWarIO();
+            War war = new War(List.of("first", "second"), userManager, io, new Random(1000 + lane));
+            war.startGame();
+
+            List<String> expected = batch.getWinner(lane) == WarBatch.TIE ? List.of("first", "second")
+                    : List.of(batch.getWinner(lane) == 0 ? "first" : "second");
+            assertEquals(expected, war.result(), "seed " + (1000 + lane));
+            assertEquals(io.flips, batch.getRounds(lane), "seed " + (1000 + lane));
+            finished++;
+        }
+        // most deals of War go round in circles forever, so only some of the games finish
+        assertTrue(finished > 0);
+    }
+
+    @Test
+    void followsEveryRoundOfApplyMove() {
+        WarBatch batch = new WarBatch(3);
+        War[] wars = new War[3];
+        for (int lane = 0; lane < 3; lane++) {
+            batch.deal(lane, 7 * lane);
+            wars[lane] = new War(List.of("first", "second"), new UserManager(), new CountingWarIO(),
+                    new Random(7 * lane));
+        }
+        for (int round = 0; round < 1000; round++) {
+            batch.step();
+            for (int lane = 0; lane < 3; lane++) {
+                if (batch.getWinner(lane) == WarBatch.CYCLE) {
+                    // the batch stops a game that goes round in a cycle, which War would play forever
+                    assertFalse(wars[lane].isTerminal());
+                    continue;
+                }
+                if (!wars[lane].isTerminal()) {
+                    wars[lane].applyMove(Move.flip());
+                }
+                assertEquals(wars[lane].isTerminal(), batch.isOver(lane));
+                assertEquals(wars[lane].getHand(0).size(), batch.getHandSize(lane, 0));
+                assertEquals(wars[lane].getHand(1).size(), batch.getHandSize(lane, 1));
+            }
+        }
+    }
+
+    @Test
+    void vectorAndScalarComparesAgree() {
+        // a number of lanes that leaves some for the scalar loop after the last whole vector
+        int lanes = 61;
+        WarBatch vector = new WarBatch(lanes, new WarVectorKernel());
+        WarBatch scalar = new WarBatch(lanes, null);
+        assertTrue(vector.isVectorized());
+        assertFalse(scalar.isVectorized());
+        for (int lane = 0; lane < lanes; lane++) {
+            vector.deal(lane, lane);
+            scalar.deal(lane, lane);
+        }
+        for (int round = 0; round < 2000; round++) {
+            assertEquals(scalar.step(), vector.step());
+            for (int lane = 0; lane < lanes; lane++) {
+                assertEquals(scalar.getWinner(lane), vector.getWinner(lane));
+                assertEquals(scalar.getHandSize(lane, 0), vector.getHandSize(lane, 0));
+            }
+        }
+        assertEquals(scalar.getTotalRounds(), vector.getTotalRounds());
+    }
+
+    @Test
+    void cyclesAreReal() {
+        int lanes = 200;
+        WarBatch batch = new WarBatch(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            batch.deal(lane, lane);
+        }
+        batch.run(MAX_ROUNDS);
+
+        int cycles = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            if (batch.getWinner(lane) != WarBatch.CYCLE) {
+                continue;
+            }
+            int rounds = batch.getRounds(lane);
+            int length = batch.getCycleLength(lane);
+            assertTrue(length > 0 && length <= rounds);
+
+            // the hands after the game was stopped come back after every further cycle
+            War war = new War(List.of("first", "second"), new UserManager(), new CountingWarIO(), new Random(lane));
+            for (int round = 0; round < rounds; round++) {
+                war.applyMove(Move.flip());
+            }
+            List<Card> hand0 = List.copyOf(war.getHand(0));
+            List<Card> hand1 = List.copyOf(war.getHand(1));
+            for (int round = 0; round < 3 * length; round++) {
+                war.applyMove(Move.flip());
+                assertFalse(war.isTerminal(), "seed " + lane);
+            }
+            assertEquals(hand0, war.getHand(0), "seed " + lane);
+            assertEquals(hand1, war.getHand(1), "seed " + lane);
+            cycles++;
+        }
+        assertTrue(cycles > 0);
+    }
+
+    @Test
+    void lanesCanBeDealtAgain() {
+        WarBatch batch = new WarBatch(2);
+        batch.deal(0, 5);
+        batch.run(MAX_ROUNDS);
+        int winner = batch.getWinner(0);
+        int rounds = batch.getRounds(0);
+
+        batch.deal(0, 5);
+        assertFalse(batch.isOver(0));
+        assertTrue(batch.isOver(1));
+        batch.run(MAX_ROUNDS);
+
+        assertEquals(winner, batch.getWinner(0));
+        assertEquals(rounds, batch.getRounds(0));
+    }
+
+    /**
+     * A War IO object that shows nothing and counts the flips it is asked for.
+     */
+    private static class CountingWarIO implements WarIO {
+        private int flips = 0;
+
+        @Override
+        public void changePlayer(String username) {
+        }
+
+        @Override
+        public void displayBoard(String card1, String card2, int pileSize, String username1, String username2) {
+        }
+
+        @Override
+        public void stall() {
+            this.flips++;
+        }
+
+        @Override
+        public void sendPopup(String message) {
+        }
+
+        @Override
+        public void closeMessage(String message) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
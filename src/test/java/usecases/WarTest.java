@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class WarTest {
     public War war;
@@ -96,6 +97,22 @@ public class WarTest {
 
     }
 
+    @Test
+    void legalMovesTest() {
+        assertEquals(List.of(Move.flip()), this.war.legalMoves());
+        assertThrows(IllegalArgumentException.class, () -> this.war.applyMove(Move.draw()));
+    }
+
+    @Test
+    void applyMoveTest() {
+        Card p1Card = this.war.players[0].getHand().getCards().get(0);
+        Card p2Card = this.war.players[1].getHand().getCards().get(0);
+        this.war.applyMove(Move.flip());
+        int winner = this.war.decideRoundWinner(p1Card, p2Card, false);
+        assertEquals(winner == 0 ? 27 : 25, this.war.players[0].getHand().getSize());
+        assertEquals(winner == 1 ? 27 : 25, this.war.players[1].getHand().getSize());
+    }
+
     static class FakeWarGUI implements WarIO {
 
         @Override
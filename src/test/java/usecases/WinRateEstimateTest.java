@@ -0,0 +1,69 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WinRateEstimateTest {
+
+    @Test
+    void zScoresMatchTheNormalTable() {
+        assertEquals(1.6449, WinRateEstimate.zScore(0.90), 1e-3);
+        assertEquals(1.9600, WinRateEstimate.zScore(0.95), 1e-3);
+        assertEquals(2.5758, WinRateEstimate.zScore(0.99), 1e-3);
+    }
+
+    @Test
+    void narrowsUntilPrecise() {
+        WinRateEstimate estimate = new WinRateEstimate(0, 0.01, 0.95);
+        assertFalse(estimate.isPrecise());
+        assertEquals(0, estimate.getLower());
+        assertEquals(1, estimate.getUpper());
+
+        SimulationResult batch = new SimulationResult(2);
+        for (int i = 0; i < 1000; i++) {
+            batch.addWin(i % 4 == 0 ? 1 : 0, 10);
+        }
+        estimate.add(batch);
+        assertEquals(0.75, estimate.getWinRate());
+        assertTrue(estimate.getLower() < 0.75 && estimate.getUpper() > 0.75);
+        assertFalse(estimate.isPrecise());
+
+        for (int i = 0; i < 7; i++) {
+            estimate.add(batch);
+        }
+        // 1.96 * sqrt(0.75 * 0.25 / 8000) is just under 0.01
+        assertEquals(8000, estimate.getGames());
+        assertTrue(estimate.isPrecise());
+        assertEquals(0.7405, estimate.getLower(), 1e-3);
+        assertEquals(0.7594, estimate.getUpper(), 1e-3);
+    }
+
+    @Test
+    void stopsRarelyOutsideTheInterval() {
+        Random random = new Random(11);
+        int misses = 0;
+        for (int run = 0; run < 400; run++) {
+            WinRateEstimate estimate = new WinRateEstimate(0, 0.05, 0.95);
+            while (!estimate.isPrecise()) {
+                SimulationResult batch = new SimulationResult(2);
+                for (int i = 0; i < 50; i++) {
+                    batch.addWin(random.nextDouble() < 0.3 ? 0 : 1, 1);
+                }
+                estimate.add(batch);
+            }
+            if (estimate.getLower() > 0.3 || estimate.getUpper() < 0.3) {
+                misses++;
+            }
+        }
+        assertTrue(misses < 40, misses + " of 400 intervals missed");
+    }
+
+    @Test
+    void refusesMissingSeats() {
+        WinRateEstimate estimate = new WinRateEstimate(3, 0.01, 0.95);
+        assertThrows(IllegalArgumentException.class, () -> estimate.add(new SimulationResult(2)));
+    }
+}
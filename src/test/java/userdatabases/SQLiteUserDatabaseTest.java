@@ -4,7 +4,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import usecases.usermanagement.GameResult;
+import usecases.usermanagement.ResultRecorder;
 import usecases.usermanagement.UserDatabaseAccess;
+import usecases.usermanagement.UserManager;
 
 import java.io.File;
 import java.util.*;
@@ -176,6 +179,85 @@ class SQLiteUserDatabaseTest {
         }
     }
 
+    @Nested
+    class AddGameResult {
+        @BeforeEach
+        void setUp() {
+            db.addUser("alpha");
+            db.addUser("beta");
+            db.addUser("gamma");
+        }
+
+        @Test
+        void win() throws UserDatabaseAccess.UserNotFoundException {
+            db.addGameResult(new GameResult("War", List.of("alpha", "beta"), List.of("beta"), 0));
+
+            assertAll(
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 0, "gamesTied", 0),
+                            db.getUserStatistics("alpha")),
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 1, "gamesTied", 0),
+                            db.getUserStatistics("beta")),
+                    () -> assertEquals(Map.of("gamesPlayed", 0, "gamesWon", 0, "gamesTied", 0),
+                            db.getUserStatistics("gamma"))
+            );
+        }
+
+        @Test
+        void tie() throws UserDatabaseAccess.UserNotFoundException {
+            db.addGameResult(new GameResult("Go Fish", List.of("alpha", "beta", "gamma"), List.of("alpha", "gamma"),
+                    0));
+
+            assertAll(
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 0, "gamesTied", 1),
+                            db.getUserStatistics("alpha")),
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 0, "gamesTied", 0),
+                            db.getUserStatistics("beta")),
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 0, "gamesTied", 1),
+                            db.getUserStatistics("gamma"))
+            );
+        }
+
+        @Test
+        void committed() throws UserDatabaseAccess.UserNotFoundException {
+            db.addGameResult(new GameResult("War", List.of("alpha", "beta"), List.of("alpha"), 0));
+            db.close();
+            db = new SQLiteUserDatabase(filePath);
+
+            assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 1, "gamesTied", 0), db.getUserStatistics("alpha"));
+        }
+
+        @Test
+        void missingParticipantRollsBack() throws UserDatabaseAccess.UserNotFoundException {
+            GameResult result = new GameResult("Bura", List.of("alpha", "beta", "delta"), List.of("alpha"), 0);
+            assertThrows(UserDatabaseAccess.UserNotFoundException.class, () -> db.addGameResult(result));
+            db.close();
+            db = new SQLiteUserDatabase(filePath);
+
+            assertEquals(Map.of("gamesPlayed", 0, "gamesWon", 0, "gamesTied", 0), db.getUserStatistics("alpha"));
+            assertEquals(Map.of("gamesPlayed", 0, "gamesWon", 0, "gamesTied", 0), db.getUserStatistics("beta"));
+        }
+
+        @Test
+        void recordedFromAUserManager() throws Exception {
+            UserManager userManager = UserManager.importFromUserDatabase(db);
+            userManager.login("delta");
+            try (ResultRecorder recorder = new ResultRecorder(db)) {
+                userManager.setResultListener(recorder);
+                userManager.submit(new GameResult("War", List.of("alpha", "delta"), List.of("delta"), 0));
+                userManager.submit(new GameResult("War", List.of("delta", "beta"), List.of("delta", "beta"), 0));
+            }
+
+            assertAll(
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 0, "gamesTied", 0),
+                            db.getUserStatistics("alpha")),
+                    () -> assertEquals(Map.of("gamesPlayed", 1, "gamesWon", 0, "gamesTied", 1),
+                            db.getUserStatistics("beta")),
+                    () -> assertEquals(Map.of("gamesPlayed", 2, "gamesWon", 1, "gamesTied", 1),
+                            db.getUserStatistics("delta"))
+            );
+        }
+    }
+
     @Nested
     class GetUserStatistics {
 
@@ -217,6 +299,20 @@ class SQLiteUserDatabaseTest {
                 assertEquals(resultStatistics, alphaStat);
             }
         }
+
+        @Nested
+        class AllUsers {
+            @Test
+            void getAllUserStatistics() {
+                Map<String, Map<String, Integer>> all = db.getAllUserStatistics();
+
+                assertAll(
+                        () -> assertEquals(Set.of("alpha", "beta"), all.keySet()),
+                        () -> assertEquals(Map.of("gamesPlayed", 101, "gamesWon", 200, "gamesTied", 0), all.get("alpha")),
+                        () -> assertEquals(Map.of("gamesPlayed", 0, "gamesWon", 0, "gamesTied", 0), all.get("beta"))
+                );
+            }
+        }
     }
 
     @Nested